@@ -0,0 +1,7 @@
+package com.intelliquiz.api.application.events;
+
+/**
+ * Published when a quiz's questions are added, edited, deleted or reordered,
+ * so anything holding a compiled copy of them can drop it.
+ */
+public record QuestionsChangedEvent(Long quizId) {}
@@ -0,0 +1,7 @@
+package com.intelliquiz.api.application.events;
+
+/**
+ * Published when a quiz's live session is activated, so per-quiz live state can be
+ * prepared before hosts and teams connect.
+ */
+public record QuizActivatedEvent(Long quizId) {}
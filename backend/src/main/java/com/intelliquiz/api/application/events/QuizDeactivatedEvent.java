@@ -0,0 +1,7 @@
+package com.intelliquiz.api.application.events;
+
+/**
+ * Published when a quiz's live session ends, by deactivation or by deleting the quiz,
+ * so per-quiz live state can be dropped.
+ */
+public record QuizDeactivatedEvent(Long quizId) {}
@@ -0,0 +1,6 @@
+package com.intelliquiz.api.application.events;
+
+/**
+ * Published when a team is removed from a quiz, so anything granting the team access can revoke it.
+ */
+public record TeamRemovedEvent(Long quizId, Long teamId) {}
@@ -0,0 +1,7 @@
+package com.intelliquiz.api.application.events;
+
+/**
+ * Published when a user's quiz assignments or permissions change, or the user is deleted,
+ * so cached permissions of the user can be dropped.
+ */
+public record UserPermissionsChangedEvent(Long userId) {}
@@ -0,0 +1,204 @@
+package com.intelliquiz.api.application.services;
+
+import com.intelliquiz.api.application.events.QuizActivatedEvent;
+import com.intelliquiz.api.application.events.QuizDeactivatedEvent;
+import com.intelliquiz.api.domain.entities.Quiz;
+import com.intelliquiz.api.domain.entities.Team;
+import com.intelliquiz.api.domain.ports.QuizRepository;
+import com.intelliquiz.api.domain.ports.TeamRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Holds the team access codes and proctor PIN of every live quiz in memory.
+ *
+ * A quiz is indexed when it is activated and dropped when it is deactivated or deleted;
+ * teams registered or removed meanwhile are added or dropped as they change. A PIN that a
+ * team code equals is held back while that team exists, as the team wins resolution. A code found
+ * here resolves exactly as {@link AccessResolutionService} would resolve it from the database.
+ * A code not found here may still be valid (e.g. while a quiz is being indexed), so callers
+ * fall back to the database on a miss.
+ */
+@Service
+public class AccessCodeIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(AccessCodeIndex.class);
+
+    private final QuizRepository quizRepository;
+    private final TeamRepository teamRepository;
+
+    // Normalized team access code -> team of a live quiz
+    private final Map<String, Entry> teamCodes = new ConcurrentHashMap<>();
+    // Normalized proctor PIN -> live quiz
+    private final Map<String, Entry> proctorPins = new ConcurrentHashMap<>();
+    // Normalized proctor PIN -> live quiz, for PINs held back because a team code equals them
+    private final Map<String, Entry> shadowedPins = new ConcurrentHashMap<>();
+    // Quiz ID -> team codes indexed for it; present while the quiz is indexed
+    private final Map<Long, Set<String>> codesByQuiz = new ConcurrentHashMap<>();
+
+    public AccessCodeIndex(QuizRepository quizRepository, TeamRepository teamRepository) {
+        this.quizRepository = quizRepository;
+        this.teamRepository = teamRepository;
+    }
+
+    /**
+     * Looks up a normalized access code. Team codes take precedence over proctor PINs.
+     */
+    public Optional<Entry> find(String normalizedCode) {
+        Entry team = teamCodes.get(normalizedCode);
+        return team != null ? Optional.of(team) : Optional.ofNullable(proctorPins.get(normalizedCode));
+    }
+
+    /**
+     * Indexes a quiz's proctor PIN and team codes if the quiz is live.
+     */
+    public void warm(Long quizId) {
+        Optional<Quiz> found = quizRepository.findById(quizId);
+        if (found.isEmpty() || !found.get().isLiveSession()) {
+            return;
+        }
+        Quiz quiz = found.get();
+        // Registered before the teams are read, so a team added meanwhile is not missed
+        codesByQuiz.putIfAbsent(quizId, ConcurrentHashMap.newKeySet());
+        int teams = 0;
+        for (Team team : teamRepository.findByQuiz(quiz)) {
+            addTeam(quizId, team);
+            teams++;
+        }
+        String pin = normalize(quiz.getProctorPin());
+        // A team code equal to the PIN wins during resolution; hold such a PIN back until the team is removed
+        if (pin != null) {
+            if (!teamCodes.containsKey(pin) && teamRepository.findByAccessCode(pin).isEmpty()) {
+                proctorPins.put(pin, Entry.host(quizId));
+            } else {
+                shadowedPins.put(pin, Entry.host(quizId));
+            }
+        }
+        logger.info("Indexed access codes of quiz {} ({} teams)", quizId, teams);
+    }
+
+    /**
+     * Warms every quiz that is currently live, e.g. on startup.
+     */
+    public void warmLiveQuizzes() {
+        for (Quiz quiz : quizRepository.findByIsLiveSessionTrue()) {
+            warm(quiz.getId());
+        }
+    }
+
+    /**
+     * Drops a quiz's proctor PIN and team codes.
+     */
+    public void evict(Long quizId) {
+        Set<String> codes = codesByQuiz.remove(quizId);
+        if (codes != null) {
+            codes.forEach(teamCodes::remove);
+        }
+        proctorPins.values().removeIf(entry -> entry.quizId().equals(quizId));
+        shadowedPins.values().removeIf(entry -> entry.quizId().equals(quizId));
+    }
+
+    /**
+     * Records a newly registered team; indexed only if its quiz is.
+     */
+    public void teamRegistered(Team team) {
+        String code = normalize(team.getAccessCode());
+        if (code == null) {
+            return;
+        }
+        // The team code now shadows any PIN it equals, whether or not its quiz is live
+        Entry pin = proctorPins.remove(code);
+        if (pin != null) {
+            shadowedPins.put(code, pin);
+        }
+        addTeam(team.getQuiz().getId(), team);
+    }
+
+    /**
+     * Drops a removed team's code, and indexes the PIN it shadowed if no other team has it.
+     */
+    public void teamRemoved(Long quizId, String accessCode) {
+        String code = normalize(accessCode);
+        if (code == null) {
+            return;
+        }
+        teamCodes.remove(code);
+        Set<String> codes = codesByQuiz.get(quizId);
+        if (codes != null) {
+            codes.remove(code);
+        }
+        Entry pin = shadowedPins.get(code);
+        if (pin != null && isIndexed(pin.quizId()) && teamRepository.findByAccessCode(code).isEmpty()
+                && shadowedPins.remove(code, pin)) {
+            proctorPins.put(code, pin);
+            // The quiz may have been evicted meanwhile; don't leave its PIN behind
+            if (!isIndexed(pin.quizId())) {
+                proctorPins.remove(code, pin);
+            }
+        }
+    }
+
+    public boolean isIndexed(Long quizId) {
+        return codesByQuiz.containsKey(quizId);
+    }
+
+    /**
+     * Gets the quizzes whose codes are indexed (a copy).
+     */
+    public Set<Long> indexedQuizzes() {
+        return Set.copyOf(codesByQuiz.keySet());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onQuizActivated(QuizActivatedEvent event) {
+        warm(event.quizId());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onQuizDeactivated(QuizDeactivatedEvent event) {
+        evict(event.quizId());
+    }
+
+    /**
+     * Normalizes a code the way {@link AccessResolutionService} does.
+     */
+    static String normalize(String code) {
+        return code == null || code.isBlank() ? null : code.trim().toUpperCase();
+    }
+
+    private void addTeam(Long quizId, Team team) {
+        String code = normalize(team.getAccessCode());
+        Set<String> codes = codesByQuiz.get(quizId);
+        if (code == null || codes == null) {
+            return;
+        }
+        codes.add(code);
+        Entry entry = Entry.participant(quizId, team.getId());
+        teamCodes.put(code, entry);
+        // The quiz may have been evicted meanwhile; don't leave its team behind
+        if (codesByQuiz.get(quizId) != codes) {
+            teamCodes.remove(code, entry);
+        }
+    }
+
+    /**
+     * What an indexed code resolves to.
+     */
+    public record Entry(RouteType routeType, Long quizId, Long teamId) {
+
+        static Entry participant(Long quizId, Long teamId) {
+            return new Entry(RouteType.PARTICIPANT, quizId, teamId);
+        }
+
+        static Entry host(Long quizId) {
+            return new Entry(RouteType.HOST, quizId, null);
+        }
+    }
+}
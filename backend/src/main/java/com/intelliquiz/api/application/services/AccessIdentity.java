@@ -0,0 +1,25 @@
+package com.intelliquiz.api.application.services;
+
+/**
+ * Who an access code identifies: the route and the quiz and team IDs, without the entities.
+ * Enough to admit a WebSocket connection.
+ */
+public record AccessIdentity(
+    RouteType routeType,
+    Long quizId,
+    Long teamId,
+    String errorMessage
+) {
+    public static AccessIdentity of(AccessCodeIndex.Entry entry) {
+        return new AccessIdentity(entry.routeType(), entry.quizId(), entry.teamId(), null);
+    }
+
+    public static AccessIdentity of(AccessResolutionResult result) {
+        return switch (result.routeType()) {
+            case PARTICIPANT -> new AccessIdentity(RouteType.PARTICIPANT,
+                    result.team().getQuiz().getId(), result.team().getId(), null);
+            case HOST -> new AccessIdentity(RouteType.HOST, result.quiz().getId(), null, null);
+            case INVALID -> new AccessIdentity(RouteType.INVALID, null, null, result.errorMessage());
+        };
+    }
+}
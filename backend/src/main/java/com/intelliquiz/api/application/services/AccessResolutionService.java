@@ -12,16 +12,22 @@ import java.util.Optional;
 /**
  * Application service for resolving access codes at the universal gate.
  * Determines if an access code is a team code, proctor PIN, or invalid.
+ *
+ * Codes of live quizzes are answered from the {@link AccessCodeIndex}; anything the index
+ * does not hold is resolved from the database as before, so results are the same either way.
  */
 @Service
 public class AccessResolutionService {
 
     private final TeamRepository teamRepository;
     private final QuizRepository quizRepository;
+    private final AccessCodeIndex accessCodeIndex;
 
-    public AccessResolutionService(TeamRepository teamRepository, QuizRepository quizRepository) {
+    public AccessResolutionService(TeamRepository teamRepository, QuizRepository quizRepository,
+                                   AccessCodeIndex accessCodeIndex) {
         this.teamRepository = teamRepository;
         this.quizRepository = quizRepository;
+        this.accessCodeIndex = accessCodeIndex;
     }
 
     /**
@@ -42,6 +48,39 @@ public class AccessResolutionService {
 
         String normalizedCode = accessCode.trim().toUpperCase();
 
+        // A live quiz's code only needs its entity, loaded by primary key
+        Optional<AccessCodeIndex.Entry> indexed = accessCodeIndex.find(normalizedCode);
+        if (indexed.isPresent()) {
+            AccessCodeIndex.Entry entry = indexed.get();
+            Optional<AccessResolutionResult> result = entry.routeType() == RouteType.PARTICIPANT
+                    ? teamRepository.findById(entry.teamId()).map(AccessResolutionResult::participant)
+                    : quizRepository.findById(entry.quizId()).map(AccessResolutionResult::host);
+            if (result.isPresent()) {
+                return result.get();
+            }
+        }
+
+        return resolveFromDatabase(normalizedCode);
+    }
+
+    /**
+     * Resolves an access code to the identity it grants, for admitting WebSocket connections.
+     * Codes of live quizzes are answered from memory without touching the database.
+     *
+     * @param accessCode the access code to resolve
+     * @return AccessIdentity with route type and IDs, or the reason it is invalid
+     */
+    public AccessIdentity resolveIdentity(String accessCode) {
+        if (accessCode != null && !accessCode.isBlank()) {
+            Optional<AccessCodeIndex.Entry> indexed = accessCodeIndex.find(accessCode.trim().toUpperCase());
+            if (indexed.isPresent()) {
+                return AccessIdentity.of(indexed.get());
+            }
+        }
+        return AccessIdentity.of(resolve(accessCode));
+    }
+
+    private AccessResolutionResult resolveFromDatabase(String normalizedCode) {
         // First, check if it's a team access code
         Optional<Team> team = teamRepository.findByAccessCode(normalizedCode);
         if (team.isPresent()) {
@@ -12,14 +12,17 @@ import java.util.List;
 /**
  * Application service for authorization checks.
  * Verifies user permissions for quiz access and operations.
+ * Quiz-level checks are answered from the {@link PermissionIndex} without loading assignments.
  */
 @Service
 public class AuthorizationService {
 
     private final QuizRepository quizRepository;
+    private final PermissionIndex permissionIndex;
 
-    public AuthorizationService(QuizRepository quizRepository) {
+    public AuthorizationService(QuizRepository quizRepository, PermissionIndex permissionIndex) {
         this.quizRepository = quizRepository;
+        this.permissionIndex = permissionIndex;
     }
 
     /**
@@ -36,10 +39,7 @@ public class AuthorizationService {
             return; // Super admins have access to all quizzes
         }
 
-        boolean hasAccess = user.getAssignments().stream()
-                .anyMatch(a -> a.getQuiz() != null && a.getQuiz().getId().equals(quiz.getId()));
-
-        if (!hasAccess) {
+        if (!permissionIndex.permissionsOf(user).canAccess(quiz.getId())) {
             throw new AuthorizationException("User does not have access to this quiz");
         }
     }
@@ -54,7 +54,7 @@ public class AuthorizationService {
      * @throws AuthorizationException if the user doesn't have the permission
      */
     public void checkPermission(User user, Quiz quiz, AdminPermission permission) {
-        if (!user.hasPermissionFor(quiz, permission)) {
+        if (!permissionIndex.permissionsOf(user).has(quiz.getId(), permission)) {
             throw new AuthorizationException(
                     "User does not have " + permission + " permission for this quiz");
         }
@@ -0,0 +1,84 @@
+package com.intelliquiz.api.application.services;
+
+import com.intelliquiz.api.domain.entities.Quiz;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+/**
+ * Holds the live leaderboard of each quiz in play.
+ *
+ * A quiz's leaderboard is seeded from its teams on first use and then kept current as
+ * submissions are graded and teams are registered, renamed or removed. Bulk changes such
+ * as a score reset evict it so the next use reseeds. Changes made in a transaction are
+ * applied once it commits, so a rolled-back change never shows.
+ */
+@Service
+public class LeaderboardService {
+
+    private final Map<Long, LiveLeaderboard> leaderboards = new ConcurrentHashMap<>();
+
+    /**
+     * Gets the live leaderboard for a quiz, seeding it from the quiz's teams if there is none yet.
+     */
+    public LiveLeaderboard forQuiz(Quiz quiz) {
+        return leaderboards.computeIfAbsent(quiz.getId(), id -> LiveLeaderboard.of(quiz.getTeams()));
+    }
+
+    /**
+     * Gets the live leaderboard for a quiz, creating an empty one if there is none yet.
+     * For callers that are about to update every team anyway, so seeding would be wasted.
+     */
+    public LiveLeaderboard getOrCreate(Long quizId) {
+        return leaderboards.computeIfAbsent(quizId, id -> new LiveLeaderboard());
+    }
+
+    /**
+     * Gets the live leaderboard for a quiz if one is being kept.
+     */
+    public Optional<LiveLeaderboard> find(Long quizId) {
+        return Optional.ofNullable(leaderboards.get(quizId));
+    }
+
+    /**
+     * Drops a quiz's leaderboard; the next {@link #forQuiz(Quiz)} reseeds it.
+     */
+    public void evict(Long quizId) {
+        leaderboards.remove(quizId);
+    }
+
+    /**
+     * Applies a change to a quiz's leaderboard, if one is being kept, once the current
+     * transaction commits; nothing is applied if it rolls back. Outside a transaction the
+     * change is applied at once.
+     */
+    public void updateAfterCommit(Long quizId, Consumer<LiveLeaderboard> change) {
+        afterCommit(() -> find(quizId).ifPresent(change));
+    }
+
+    /**
+     * Drops a quiz's leaderboard once the current transaction commits, so it is not reseeded
+     * from rows the transaction has yet to commit. Outside a transaction it is dropped at once.
+     */
+    public void evictAfterCommit(Long quizId) {
+        afterCommit(() -> evict(quizId));
+    }
+
+    private static void afterCommit(Runnable task) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            task.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                task.run();
+            }
+        });
+    }
+}
@@ -0,0 +1,307 @@
+package com.intelliquiz.api.application.services;
+
+import com.intelliquiz.api.domain.entities.Team;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.SplittableRandom;
+import java.util.TreeSet;
+
+/**
+ * In-memory leaderboard of one quiz, updated as teams are graded.
+ *
+ * Teams get a dense index on first sight; scores are kept in an order-statistic treap with one
+ * node per distinct score, each node holding the indexes of the teams on that score and the
+ * number of teams in its subtree. Rank, tie-group size and score updates are O(log n);
+ * the top K standings are O(log n + K).
+ *
+ * Ranking is competition style: teams on the same score share a rank and the next score skips
+ * accordingly (100, 100, 50 ranks 1, 1, 3). Teams on the same score are listed in the order they
+ * were first added.
+ */
+public class LiveLeaderboard {
+
+    private final Map<Long, Integer> indexByTeamId = new HashMap<>();
+    private Long[] teamIds = new Long[16];
+    private String[] teamNames = new String[16];
+    private int[] scores = new int[16];
+    private int nextIndex;
+
+    private final SplittableRandom random = new SplittableRandom();
+    private Node root;
+
+    /**
+     * Builds a leaderboard from the teams' current total scores.
+     */
+    public static LiveLeaderboard of(Collection<Team> teams) {
+        LiveLeaderboard leaderboard = new LiveLeaderboard();
+        for (Team team : teams) {
+            leaderboard.update(team.getId(), team.getName(), team.getTotalScore());
+        }
+        return leaderboard;
+    }
+
+    /**
+     * Adds a team or moves it to its new total score.
+     */
+    public synchronized void update(Long teamId, String teamName, int score) {
+        Integer index = indexByTeamId.get(teamId);
+        if (index == null) {
+            index = allocate(teamId);
+        } else {
+            if (scores[index] == score) {
+                teamNames[index] = teamName;
+                return;
+            }
+            root = remove(root, scores[index], index);
+        }
+        teamNames[index] = teamName;
+        scores[index] = score;
+        root = insert(root, score, index);
+    }
+
+    /**
+     * Convenience for {@link #update(Long, String, int)} from a team entity.
+     */
+    public void update(Team team) {
+        update(team.getId(), team.getName(), team.getTotalScore());
+    }
+
+    /**
+     * Removes a team from the leaderboard, if present.
+     */
+    public synchronized void remove(Long teamId) {
+        Integer index = indexByTeamId.remove(teamId);
+        if (index != null) {
+            root = remove(root, scores[index], index);
+            teamIds[index] = null;
+            teamNames[index] = null;
+        }
+    }
+
+    /**
+     * Gets the team's rank (1 = best), or 0 if the team is not on the leaderboard.
+     */
+    public synchronized int rank(Long teamId) {
+        Integer index = indexByTeamId.get(teamId);
+        return index == null ? 0 : countAbove(scores[index]) + 1;
+    }
+
+    /**
+     * Gets how many teams share the team's score (1 when not tied), or 0 if the team is not on the leaderboard.
+     */
+    public synchronized int tieGroupSize(Long teamId) {
+        Integer index = indexByTeamId.get(teamId);
+        if (index == null) {
+            return 0;
+        }
+        Node node = find(scores[index]);
+        return node == null ? 0 : node.members.size();
+    }
+
+    /**
+     * Gets the standing of a single team.
+     */
+    public synchronized Optional<Standing> standing(Long teamId) {
+        Integer index = indexByTeamId.get(teamId);
+        if (index == null) {
+            return Optional.empty();
+        }
+        int score = scores[index];
+        return Optional.of(new Standing(countAbove(score) + 1, teamId, teamNames[index], score,
+                find(score).members.size()));
+    }
+
+    /**
+     * Gets the first {@code limit} standings, best first.
+     */
+    public synchronized List<Standing> top(int limit) {
+        List<Standing> standings = new ArrayList<>(Math.min(Math.max(limit, 0), size(root)));
+        Deque<Node> stack = new ArrayDeque<>();
+        Node node = root;
+        int position = 0;
+        // Reverse in-order walk: highest score first
+        while ((node != null || !stack.isEmpty()) && standings.size() < limit) {
+            while (node != null) {
+                stack.push(node);
+                node = node.right;
+            }
+            node = stack.pop();
+            int rank = position + 1;
+            for (int index : node.members) {
+                if (standings.size() == limit) {
+                    break;
+                }
+                standings.add(new Standing(rank, teamIds[index], teamNames[index], node.score, node.members.size()));
+            }
+            position += node.members.size();
+            node = node.left;
+        }
+        return standings;
+    }
+
+    /**
+     * Gets all standings, best first.
+     */
+    public synchronized List<Standing> standings() {
+        return top(size(root));
+    }
+
+    /**
+     * Gets the number of teams on the leaderboard.
+     */
+    public synchronized int size() {
+        return size(root);
+    }
+
+    private int allocate(Long teamId) {
+        if (nextIndex == teamIds.length) {
+            int capacity = teamIds.length * 2;
+            teamIds = Arrays.copyOf(teamIds, capacity);
+            teamNames = Arrays.copyOf(teamNames, capacity);
+            scores = Arrays.copyOf(scores, capacity);
+        }
+        int index = nextIndex++;
+        teamIds[index] = teamId;
+        indexByTeamId.put(teamId, index);
+        return index;
+    }
+
+    private int countAbove(int score) {
+        int count = 0;
+        Node node = root;
+        while (node != null) {
+            if (node.score > score) {
+                count += node.members.size() + size(node.right);
+                node = node.left;
+            } else {
+                node = node.right;
+            }
+        }
+        return count;
+    }
+
+    private Node find(int score) {
+        Node node = root;
+        while (node != null && node.score != score) {
+            node = score < node.score ? node.left : node.right;
+        }
+        return node;
+    }
+
+    private Node insert(Node node, int score, int index) {
+        if (node == null) {
+            node = new Node(score, random.nextInt());
+            node.members.add(index);
+            node.size = 1;
+            return node;
+        }
+        if (score < node.score) {
+            node.left = insert(node.left, score, index);
+            if (node.left.priority > node.priority) {
+                node = rotateRight(node);
+            }
+        } else if (score > node.score) {
+            node.right = insert(node.right, score, index);
+            if (node.right.priority > node.priority) {
+                node = rotateLeft(node);
+            }
+        } else {
+            node.members.add(index);
+        }
+        node.recount();
+        return node;
+    }
+
+    private Node remove(Node node, int score, int index) {
+        if (node == null) {
+            return null;
+        }
+        if (score < node.score) {
+            node.left = remove(node.left, score, index);
+        } else if (score > node.score) {
+            node.right = remove(node.right, score, index);
+        } else {
+            node.members.remove(index);
+            if (node.members.isEmpty()) {
+                return merge(node.left, node.right);
+            }
+        }
+        node.recount();
+        return node;
+    }
+
+    // Joins two treaps where every score in the left is below every score in the right
+    private Node merge(Node left, Node right) {
+        if (left == null) {
+            return right;
+        }
+        if (right == null) {
+            return left;
+        }
+        if (left.priority > right.priority) {
+            left.right = merge(left.right, right);
+            left.recount();
+            return left;
+        }
+        right.left = merge(left, right.left);
+        right.recount();
+        return right;
+    }
+
+    private Node rotateRight(Node node) {
+        Node pivot = node.left;
+        node.left = pivot.right;
+        pivot.right = node;
+        node.recount();
+        pivot.recount();
+        return pivot;
+    }
+
+    private Node rotateLeft(Node node) {
+        Node pivot = node.right;
+        node.right = pivot.left;
+        pivot.left = node;
+        node.recount();
+        pivot.recount();
+        return pivot;
+    }
+
+    private static int size(Node node) {
+        return node == null ? 0 : node.size;
+    }
+
+    private static final class Node {
+        final int score;
+        final int priority;
+        final TreeSet<Integer> members = new TreeSet<>();
+        int size;
+        Node left;
+        Node right;
+
+        Node(int score, int priority) {
+            this.score = score;
+            this.priority = priority;
+        }
+
+        void recount() {
+            size = members.size() + LiveLeaderboard.size(left) + LiveLeaderboard.size(right);
+        }
+    }
+
+    /**
+     * A team's position on the leaderboard.
+     */
+    public record Standing(int rank, Long teamId, String teamName, int score, int tieGroupSize) {
+        public boolean isTied() {
+            return tieGroupSize > 1;
+        }
+    }
+}
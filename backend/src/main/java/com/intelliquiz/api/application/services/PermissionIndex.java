@@ -0,0 +1,114 @@
+package com.intelliquiz.api.application.services;
+
+import com.intelliquiz.api.application.events.UserPermissionsChangedEvent;
+import com.intelliquiz.api.domain.entities.QuizAssignment;
+import com.intelliquiz.api.domain.entities.User;
+import com.intelliquiz.api.domain.enums.AdminPermission;
+import com.intelliquiz.api.infrastructure.config.GameProperties;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Holds each admin's quiz permissions in memory as one {@link AdminPermission} mask per quiz.
+ *
+ * A user's masks are built from their assignments on the first check and reused by later
+ * requests, so a check is a map lookup and a bit test instead of walking the lazily loaded
+ * assignments, quizzes and permission sets. They are dropped when
+ * {@link UserManagementService} changes the user's assignments or permissions, once the
+ * change is committed, and are built again once older than
+ * {@code game.permission-cache-ttl-millis}, so a change made on another node is seen here
+ * within that time.
+ */
+@Service
+public class PermissionIndex {
+
+    private final long ttlMillis;
+
+    // User ID -> permissions as of the user's last build
+    private final Map<Long, Built> permissionsByUser = new ConcurrentHashMap<>();
+
+    public PermissionIndex(GameProperties gameProperties) {
+        this.ttlMillis = gameProperties.getPermissionCacheTtlMillis();
+    }
+
+    /**
+     * Gets a user's permissions, building them from the user's assignments if not cached or
+     * cached for too long.
+     */
+    public UserPermissions permissionsOf(User user) {
+        if (user.getId() == null) {
+            return UserPermissions.of(user);
+        }
+        long now = System.currentTimeMillis();
+        Built built = permissionsByUser.get(user.getId());
+        if (built == null || isExpired(built, now)) {
+            built = new Built(UserPermissions.of(user), now);
+            permissionsByUser.put(user.getId(), built);
+        }
+        return built.permissions();
+    }
+
+    /**
+     * Drops a user's cached permissions.
+     */
+    public void invalidate(Long userId) {
+        permissionsByUser.remove(userId);
+    }
+
+    public boolean isCached(Long userId) {
+        Built built = permissionsByUser.get(userId);
+        return built != null && !isExpired(built, System.currentTimeMillis());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserPermissionsChanged(UserPermissionsChangedEvent event) {
+        invalidate(event.userId());
+    }
+
+    private boolean isExpired(Built built, long now) {
+        return now - built.builtAt() >= ttlMillis;
+    }
+
+    private record Built(UserPermissions permissions, long builtAt) {}
+
+    /**
+     * A user's permissions: everything for a super admin, otherwise a mask per assigned quiz.
+     */
+    public record UserPermissions(boolean superAdmin, Map<Long, Long> masks) {
+
+        static UserPermissions of(User user) {
+            if (user.isSuperAdmin()) {
+                return new UserPermissions(true, Map.of());
+            }
+            Map<Long, Long> masks = new HashMap<>();
+            for (QuizAssignment assignment : user.getAssignments()) {
+                if (assignment.getQuiz() != null) {
+                    masks.merge(assignment.getQuiz().getId(), assignment.permissionMask(), (a, b) -> a | b);
+                }
+            }
+            return new UserPermissions(false, Map.copyOf(masks));
+        }
+
+        /**
+         * Checks whether the user is a super admin or has an assignment for the quiz.
+         */
+        public boolean canAccess(Long quizId) {
+            return superAdmin || (quizId != null && masks.containsKey(quizId));
+        }
+
+        /**
+         * Checks whether the user is a super admin or has the permission for the quiz.
+         */
+        public boolean has(Long quizId, AdminPermission permission) {
+            if (superAdmin) {
+                return true;
+            }
+            Long mask = quizId != null ? masks.get(quizId) : null;
+            return mask != null && (mask & permission.mask()) != 0;
+        }
+    }
+}
@@ -2,11 +2,13 @@ package com.intelliquiz.api.application.services;
 
 import com.intelliquiz.api.application.commands.CreateQuestionCommand;
 import com.intelliquiz.api.application.commands.UpdateQuestionCommand;
+import com.intelliquiz.api.application.events.QuestionsChangedEvent;
 import com.intelliquiz.api.domain.entities.Question;
 import com.intelliquiz.api.domain.entities.Quiz;
 import com.intelliquiz.api.domain.exceptions.EntityNotFoundException;
 import com.intelliquiz.api.domain.ports.QuestionRepository;
 import com.intelliquiz.api.domain.ports.QuizRepository;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -15,6 +17,7 @@ import java.util.List;
 /**
  * Application service for question management operations.
  * Handles CRUD operations and reordering of questions within a quiz.
+ * Every change publishes a {@link QuestionsChangedEvent} for the quiz.
  */
 @Service
 @Transactional
@@ -22,11 +25,14 @@ public class QuestionManagementService {
 
     private final QuestionRepository questionRepository;
     private final QuizRepository quizRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     public QuestionManagementService(QuestionRepository questionRepository, 
-                                      QuizRepository quizRepository) {
+                                      QuizRepository quizRepository,
+                                      ApplicationEventPublisher eventPublisher) {
         this.questionRepository = questionRepository;
         this.quizRepository = quizRepository;
+        this.eventPublisher = eventPublisher;
     }
 
     /**
@@ -60,7 +66,9 @@ public class QuestionManagementService {
         question.validateOptions();
 
         quiz.addQuestion(question);
-        return questionRepository.save(question);
+        Question saved = questionRepository.save(question);
+        eventPublisher.publishEvent(new QuestionsChangedEvent(quizId));
+        return saved;
     }
 
     /**
@@ -91,7 +99,9 @@ public class QuestionManagementService {
         question.validatePoints();
         question.validateOptions();
 
-        return questionRepository.save(question);
+        Question saved = questionRepository.save(question);
+        eventPublisher.publishEvent(new QuestionsChangedEvent(question.getQuiz().getId()));
+        return saved;
     }
 
     /**
@@ -104,6 +114,7 @@ public class QuestionManagementService {
         Quiz quiz = question.getQuiz();
         quiz.removeQuestion(question);
         questionRepository.delete(question);
+        eventPublisher.publishEvent(new QuestionsChangedEvent(quiz.getId()));
     }
 
     /**
@@ -143,5 +154,6 @@ public class QuestionManagementService {
                         questionRepository.save(q);
                     });
         }
+        eventPublisher.publishEvent(new QuestionsChangedEvent(quizId));
     }
 }
@@ -2,11 +2,13 @@ package com.intelliquiz.api.application.services;
 
 import com.intelliquiz.api.application.commands.CreateQuizCommand;
 import com.intelliquiz.api.application.commands.UpdateQuizCommand;
+import com.intelliquiz.api.application.events.QuizDeactivatedEvent;
 import com.intelliquiz.api.domain.entities.Quiz;
 import com.intelliquiz.api.domain.enums.QuizStatus;
 import com.intelliquiz.api.domain.exceptions.EntityNotFoundException;
 import com.intelliquiz.api.domain.ports.QuizRepository;
 import com.intelliquiz.api.domain.services.CodeGenerationService;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -22,11 +24,14 @@ public class QuizManagementService {
 
     private final QuizRepository quizRepository;
     private final CodeGenerationService codeGenerationService;
+    private final ApplicationEventPublisher eventPublisher;
 
     public QuizManagementService(QuizRepository quizRepository, 
-                                  CodeGenerationService codeGenerationService) {
+                                  CodeGenerationService codeGenerationService,
+                                  ApplicationEventPublisher eventPublisher) {
         this.quizRepository = quizRepository;
         this.codeGenerationService = codeGenerationService;
+        this.eventPublisher = eventPublisher;
     }
 
     /**
@@ -68,6 +73,7 @@ public class QuizManagementService {
 
     /**
      * Deletes a quiz and all related entities (cascade).
+     * Deleting a live quiz ends its session, so a {@link QuizDeactivatedEvent} is published.
      * 
      * @param quizId the ID of the quiz to delete
      * @throws EntityNotFoundException if the quiz doesn't exist
@@ -75,7 +81,11 @@ public class QuizManagementService {
     public void deleteQuiz(Long quizId) {
         Quiz quiz = quizRepository.findById(quizId)
                 .orElseThrow(() -> new EntityNotFoundException("Quiz", quizId));
+        boolean wasLive = quiz.isLiveSession();
         quizRepository.delete(quiz);
+        if (wasLive) {
+            eventPublisher.publishEvent(new QuizDeactivatedEvent(quizId));
+        }
     }
 
     /**
@@ -1,8 +1,14 @@
 package com.intelliquiz.api.application.services;
 
+import com.intelliquiz.api.application.events.QuizActivatedEvent;
+import com.intelliquiz.api.application.events.QuizDeactivatedEvent;
 import com.intelliquiz.api.domain.entities.Quiz;
 import com.intelliquiz.api.domain.exceptions.EntityNotFoundException;
+import com.intelliquiz.api.domain.exceptions.InvalidQuizStateException;
+import com.intelliquiz.api.domain.exceptions.SessionCapacityExceededException;
 import com.intelliquiz.api.domain.ports.QuizRepository;
+import com.intelliquiz.api.infrastructure.config.GameProperties;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -11,42 +17,70 @@ import java.util.Optional;
 
 /**
  * Application service for managing quiz sessions.
- * Handles activation/deactivation with single-session rule enforcement.
+ * Any number of quizzes can be live at once, up to the node's capacity: activation is refused
+ * beyond {@code game.max-live-quizzes} live quizzes or {@code game.max-connected-teams} teams
+ * registered to them on the activating node, and for a quiz whose proctor PIN another live quiz,
+ * on any node, already uses.
+ * Activations are admitted one at a time, across nodes, under a database lock held until
+ * the activating transaction commits.
+ * Activating a quiz publishes a {@link QuizActivatedEvent}; deactivating one publishes a
+ * {@link QuizDeactivatedEvent}.
  */
 @Service
 @Transactional
 public class QuizSessionService {
 
     private final QuizRepository quizRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final GameProperties gameProperties;
 
-    public QuizSessionService(QuizRepository quizRepository) {
+    public QuizSessionService(QuizRepository quizRepository, ApplicationEventPublisher eventPublisher,
+                              GameProperties gameProperties) {
         this.quizRepository = quizRepository;
+        this.eventPublisher = eventPublisher;
+        this.gameProperties = gameProperties;
     }
 
     /**
-     * Activates a quiz session.
-     * Enforces the single-session rule by deactivating any other active quiz.
+     * Activates a quiz session alongside any other live quizzes.
+     * Activating a quiz that is already live only publishes its event again.
      * 
      * @param quizId the ID of the quiz to activate
      * @return the activated quiz
      * @throws EntityNotFoundException if the quiz doesn't exist
+     * @throws SessionCapacityExceededException if the node has no room for the quiz or its teams
+     * @throws InvalidQuizStateException if another live quiz has the same proctor PIN
      */
     public Quiz activateSession(Long quizId) {
+        // Taken before anything is read and held until commit, so the next activation sees this one
+        quizRepository.lockActivations();
         Quiz quiz = quizRepository.findById(quizId)
                 .orElseThrow(() -> new EntityNotFoundException("Quiz", quizId));
 
-        // Deactivate any other active quizzes (single-session rule)
-        List<Quiz> activeQuizzes = quizRepository.findByIsLiveSessionTrue();
-        for (Quiz activeQuiz : activeQuizzes) {
-            if (!activeQuiz.getId().equals(quizId)) {
-                activeQuiz.deactivate();
-                quizRepository.save(activeQuiz);
-            }
+        if (!quiz.isLiveSession()) {
+            admit(quiz);
         }
-
-        // Activate the requested quiz
         quiz.activate();
-        return quizRepository.save(quiz);
+        Quiz saved = quizRepository.save(quiz);
+        eventPublisher.publishEvent(new QuizActivatedEvent(quizId));
+        return saved;
+    }
+
+    // Checks the quiz against the other live quizzes: their number and teams on this node, and their PINs
+    private void admit(Quiz quiz) {
+        QuizRepository.LiveLoad load = quizRepository.countLiveLoad(quiz.getId());
+        if (load.otherQuizzes() >= gameProperties.getMaxLiveQuizzes()) {
+            throw new SessionCapacityExceededException("Cannot activate quiz " + quiz.getId() + ": "
+                    + load.otherQuizzes() + " quizzes are already live (limit " + gameProperties.getMaxLiveQuizzes() + ")");
+        }
+        if (load.teams() > gameProperties.getMaxConnectedTeams()) {
+            throw new SessionCapacityExceededException("Cannot activate quiz " + quiz.getId() + ": live quizzes would have "
+                    + load.teams() + " teams (limit " + gameProperties.getMaxConnectedTeams() + ")");
+        }
+        String pin = quiz.getProctorPin();
+        if (pin != null && quizRepository.existsLiveWithProctorPin(pin, quiz.getId())) {
+            throw new InvalidQuizStateException("Another live quiz uses the same proctor PIN");
+        }
     }
 
     /**
@@ -61,16 +95,26 @@ public class QuizSessionService {
                 .orElseThrow(() -> new EntityNotFoundException("Quiz", quizId));
 
         quiz.deactivate();
-        return quizRepository.save(quiz);
+        Quiz saved = quizRepository.save(quiz);
+        eventPublisher.publishEvent(new QuizDeactivatedEvent(quizId));
+        return saved;
     }
 
     /**
-     * Gets the currently active quiz session, if any.
+     * Gets a currently active quiz session, if any.
+     * With several live quizzes this is one of them; see {@link #getActiveSessions()}.
      * 
-     * @return Optional containing the active quiz, or empty if none
+     * @return Optional containing an active quiz, or empty if none
      */
     public Optional<Quiz> getActiveSession() {
         List<Quiz> activeQuizzes = quizRepository.findByIsLiveSessionTrue();
         return activeQuizzes.isEmpty() ? Optional.empty() : Optional.of(activeQuizzes.get(0));
     }
+
+    /**
+     * Gets every currently active quiz session.
+     */
+    public List<Quiz> getActiveSessions() {
+        return quizRepository.findByIsLiveSessionTrue();
+    }
 }
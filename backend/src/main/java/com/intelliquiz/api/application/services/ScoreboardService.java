@@ -1,15 +1,12 @@
 package com.intelliquiz.api.application.services;
 
 import com.intelliquiz.api.domain.entities.Quiz;
-import com.intelliquiz.api.domain.entities.Team;
 import com.intelliquiz.api.domain.exceptions.EntityNotFoundException;
 import com.intelliquiz.api.domain.ports.QuizRepository;
 import com.intelliquiz.api.domain.ports.TeamRepository;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.util.ArrayList;
-import java.util.Comparator;
 import java.util.List;
 
 /**
@@ -22,80 +19,50 @@ public class ScoreboardService {
 
     private final QuizRepository quizRepository;
     private final TeamRepository teamRepository;
+    private final LeaderboardService leaderboardService;
 
-    public ScoreboardService(QuizRepository quizRepository, TeamRepository teamRepository) {
+    public ScoreboardService(QuizRepository quizRepository, TeamRepository teamRepository,
+                             LeaderboardService leaderboardService) {
         this.quizRepository = quizRepository;
         this.teamRepository = teamRepository;
+        this.leaderboardService = leaderboardService;
     }
 
     /**
      * Gets the scoreboard for a quiz with rankings.
      * Teams are sorted by total score descending.
      * Ties are handled by assigning the same rank.
+     * While the quiz is in play the live leaderboard is used instead of reloading the teams.
      */
     public List<ScoreboardEntry> getScoreboard(Long quizId) {
         Quiz quiz = quizRepository.findById(quizId)
                 .orElseThrow(() -> new EntityNotFoundException("Quiz", quizId));
 
-        List<Team> teams = teamRepository.findByQuiz(quiz);
-        
-        // Sort teams by score descending
-        List<Team> sortedTeams = teams.stream()
-                .sorted(Comparator.comparingInt(Team::getTotalScore).reversed())
-                .toList();
-
-        return assignRanks(sortedTeams);
+        LiveLeaderboard leaderboard = leaderboardService.find(quizId)
+                .orElseGet(() -> LiveLeaderboard.of(teamRepository.findByQuiz(quiz)));
+        return toEntries(leaderboard.standings());
     }
 
     /**
-     * Gets the scoreboard using the Quiz entity's getLeaderboard() method.
+     * Gets the scoreboard from the Quiz entity's teams.
      */
     public List<ScoreboardEntry> getLeaderboard(Long quizId) {
         Quiz quiz = quizRepository.findById(quizId)
                 .orElseThrow(() -> new EntityNotFoundException("Quiz", quizId));
 
-        List<Team> sortedTeams = quiz.getLeaderboard();
-        return assignRanks(sortedTeams);
+        LiveLeaderboard leaderboard = leaderboardService.find(quizId)
+                .orElseGet(() -> LiveLeaderboard.of(quiz.getTeams()));
+        return toEntries(leaderboard.standings());
     }
 
     /**
-     * Assigns ranks to teams, handling ties by giving the same rank.
+     * Maps leaderboard standings to entries; ranks and ties come from the leaderboard.
      * Example: If two teams tie for 1st, both get rank 1, next team gets rank 3.
      */
-    private List<ScoreboardEntry> assignRanks(List<Team> sortedTeams) {
-        List<ScoreboardEntry> entries = new ArrayList<>();
-        
-        int currentRank = 1;
-        int previousScore = Integer.MAX_VALUE;
-        int teamsAtPreviousRank = 0;
-
-        for (int i = 0; i < sortedTeams.size(); i++) {
-            Team team = sortedTeams.get(i);
-            int score = team.getTotalScore();
-
-            if (score < previousScore) {
-                currentRank = i + 1;
-                previousScore = score;
-                teamsAtPreviousRank = 1;
-            } else {
-                teamsAtPreviousRank++;
-            }
-
-            // Check if this team is tied with others
-            boolean isTied = sortedTeams.stream()
-                    .filter(t -> t.getTotalScore() == score)
-                    .count() > 1;
-
-            entries.add(new ScoreboardEntry(
-                    currentRank,
-                    team.getId(),
-                    team.getName(),
-                    score,
-                    isTied
-            ));
-        }
-
-        return entries;
+    private List<ScoreboardEntry> toEntries(List<LiveLeaderboard.Standing> standings) {
+        return standings.stream()
+                .map(s -> new ScoreboardEntry(s.rank(), s.teamId(), s.teamName(), s.score(), s.isTied()))
+                .toList();
     }
 
     /**
@@ -24,13 +24,16 @@ public class SubmissionService {
     private final SubmissionRepository submissionRepository;
     private final TeamRepository teamRepository;
     private final QuestionRepository questionRepository;
+    private final LeaderboardService leaderboardService;
 
     public SubmissionService(SubmissionRepository submissionRepository,
                               TeamRepository teamRepository,
-                              QuestionRepository questionRepository) {
+                              QuestionRepository questionRepository,
+                              LeaderboardService leaderboardService) {
         this.submissionRepository = submissionRepository;
         this.teamRepository = teamRepository;
         this.questionRepository = questionRepository;
+        this.leaderboardService = leaderboardService;
     }
 
     /**
@@ -92,6 +95,7 @@ public class SubmissionService {
         
         team.addSubmission(submission);
         teamRepository.save(team);
+        leaderboardService.updateAfterCommit(team.getQuiz().getId(), leaderboard -> leaderboard.update(team));
         
         return submissionRepository.save(submission);
     }
@@ -1,34 +1,58 @@
 package com.intelliquiz.api.application.services;
 
+import com.intelliquiz.api.application.events.TeamRemovedEvent;
 import com.intelliquiz.api.domain.entities.Quiz;
 import com.intelliquiz.api.domain.entities.Team;
 import com.intelliquiz.api.domain.exceptions.EntityNotFoundException;
 import com.intelliquiz.api.domain.ports.QuizRepository;
+import com.intelliquiz.api.domain.ports.TeamBatchRepository;
+import com.intelliquiz.api.domain.ports.TeamBatchRepository.NewTeam;
 import com.intelliquiz.api.domain.ports.TeamRepository;
 import com.intelliquiz.api.domain.services.CodeGenerationService;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Set;
+import java.util.function.Predicate;
 
 /**
  * Application service for team registration operations.
- * Handles team registration, removal, and score management.
+ * Handles team registration, single or in bulk, removal, and score management.
+ * Registrations and removals are passed on to the {@link AccessCodeIndex}; a removal also
+ * publishes a {@link TeamRemovedEvent}.
  */
 @Service
 @Transactional
 public class TeamRegistrationService {
 
+    public static final int MAX_BULK_TEAMS = 10_000;
+    private static final int MAX_TEAM_NAME_LENGTH = 100;
+
     private final TeamRepository teamRepository;
+    private final TeamBatchRepository teamBatchRepository;
     private final QuizRepository quizRepository;
     private final CodeGenerationService codeGenerationService;
+    private final LeaderboardService leaderboardService;
+    private final AccessCodeIndex accessCodeIndex;
+    private final ApplicationEventPublisher eventPublisher;
 
     public TeamRegistrationService(TeamRepository teamRepository,
+                                    TeamBatchRepository teamBatchRepository,
                                     QuizRepository quizRepository,
-                                    CodeGenerationService codeGenerationService) {
+                                    CodeGenerationService codeGenerationService,
+                                    LeaderboardService leaderboardService,
+                                    AccessCodeIndex accessCodeIndex,
+                                    ApplicationEventPublisher eventPublisher) {
         this.teamRepository = teamRepository;
+        this.teamBatchRepository = teamBatchRepository;
         this.quizRepository = quizRepository;
         this.codeGenerationService = codeGenerationService;
+        this.leaderboardService = leaderboardService;
+        this.accessCodeIndex = accessCodeIndex;
+        this.eventPublisher = eventPublisher;
     }
 
     /**
@@ -38,11 +62,54 @@ public class TeamRegistrationService {
         Quiz quiz = quizRepository.findById(quizId)
                 .orElseThrow(() -> new EntityNotFoundException("Quiz", quizId));
 
-        String accessCode = generateUniqueAccessCode();
+        String accessCode = generateUniqueAccessCode(code -> teamRepository.findByAccessCode(code).isPresent());
         Team team = new Team(quiz, teamName, accessCode);
         
         quiz.addTeam(team);
-        return teamRepository.save(team);
+        Team saved = teamRepository.save(team);
+        leaderboardService.updateAfterCommit(quizId, leaderboard -> leaderboard.update(saved));
+        accessCodeIndex.teamRegistered(saved);
+        return saved;
+    }
+
+    /**
+     * Registers many teams for a quiz at once, e.g. from a roster.
+     * Access codes are generated in memory against the codes already in use, loaded once,
+     * and the teams are inserted in batches rather than one by one.
+     *
+     * @return the registered teams, in the order of {@code teamNames}
+     */
+    public List<Team> registerTeams(Long quizId, List<String> teamNames) {
+        if (teamNames.size() > MAX_BULK_TEAMS) {
+            throw new IllegalArgumentException("At most " + MAX_BULK_TEAMS + " teams can be registered at once");
+        }
+        for (int i = 0; i < teamNames.size(); i++) {
+            validateTeamName(teamNames.get(i), i + 1);
+        }
+        Quiz quiz = quizRepository.findById(quizId)
+                .orElseThrow(() -> new EntityNotFoundException("Quiz", quizId));
+        if (teamNames.isEmpty()) {
+            return List.of();
+        }
+
+        Set<String> usedCodes = teamBatchRepository.findAllAccessCodes();
+        List<NewTeam> newTeams = new ArrayList<>(teamNames.size());
+        for (String name : teamNames) {
+            String accessCode = generateUniqueAccessCode(usedCodes::contains);
+            usedCodes.add(accessCode);
+            newTeams.add(new NewTeam(name, accessCode));
+        }
+        List<Long> ids = teamBatchRepository.insertTeams(quizId, newTeams);
+
+        List<Team> teams = new ArrayList<>(newTeams.size());
+        for (int i = 0; i < newTeams.size(); i++) {
+            Team team = new Team(quiz, newTeams.get(i).name(), newTeams.get(i).accessCode());
+            team.setId(ids.get(i));
+            teams.add(team);
+        }
+        leaderboardService.updateAfterCommit(quizId, leaderboard -> teams.forEach(leaderboard::update));
+        teams.forEach(accessCodeIndex::teamRegistered);
+        return teams;
     }
 
     /**
@@ -55,6 +122,9 @@ public class TeamRegistrationService {
         Quiz quiz = team.getQuiz();
         quiz.removeTeam(team);
         teamRepository.delete(team);
+        leaderboardService.updateAfterCommit(quiz.getId(), leaderboard -> leaderboard.remove(teamId));
+        accessCodeIndex.teamRemoved(quiz.getId(), team.getAccessCode());
+        eventPublisher.publishEvent(new TeamRemovedEvent(quiz.getId(), teamId));
     }
 
     /**
@@ -94,6 +164,7 @@ public class TeamRegistrationService {
             team.resetScore();
             teamRepository.save(team);
         }
+        leaderboardService.evictAfterCommit(quizId);
     }
 
     /**
@@ -104,13 +175,28 @@ public class TeamRegistrationService {
                 .orElseThrow(() -> new EntityNotFoundException("Team", teamId));
         
         team.setName(newName);
-        return teamRepository.save(team);
+        Team saved = teamRepository.save(team);
+        leaderboardService.updateAfterCommit(team.getQuiz().getId(), leaderboard -> leaderboard.update(saved));
+        return saved;
+    }
+
+    /**
+     * Applies the rules of CreateTeamRequest to a name in a bulk registration.
+     */
+    private void validateTeamName(String name, int position) {
+        if (name == null || name.isBlank()) {
+            throw new IllegalArgumentException("Team name is required (team " + position + ")");
+        }
+        if (name.length() > MAX_TEAM_NAME_LENGTH) {
+            throw new IllegalArgumentException(
+                    "Team name must not exceed " + MAX_TEAM_NAME_LENGTH + " characters (team " + position + ")");
+        }
     }
 
     /**
      * Generates a unique access code that doesn't already exist.
      */
-    private String generateUniqueAccessCode() {
+    private String generateUniqueAccessCode(Predicate<String> isTaken) {
         String code;
         int attempts = 0;
         int maxAttempts = 100;
@@ -118,7 +204,7 @@ public class TeamRegistrationService {
         do {
             code = codeGenerationService.generateTeamAccessCode();
             attempts++;
-        } while (teamRepository.findByAccessCode(code).isPresent() && attempts < maxAttempts);
+        } while (isTaken.test(code) && attempts < maxAttempts);
         
         if (attempts >= maxAttempts) {
             throw new IllegalStateException("Unable to generate unique access code after " + maxAttempts + " attempts");
@@ -2,6 +2,7 @@ package com.intelliquiz.api.application.services;
 
 import com.intelliquiz.api.application.commands.CreateUserCommand;
 import com.intelliquiz.api.application.commands.UpdateUserCommand;
+import com.intelliquiz.api.application.events.UserPermissionsChangedEvent;
 import com.intelliquiz.api.domain.entities.Quiz;
 import com.intelliquiz.api.domain.entities.QuizAssignment;
 import com.intelliquiz.api.domain.entities.User;
@@ -11,6 +12,7 @@ import com.intelliquiz.api.domain.ports.PasswordHashingService;
 import com.intelliquiz.api.domain.ports.QuizAssignmentRepository;
 import com.intelliquiz.api.domain.ports.QuizRepository;
 import com.intelliquiz.api.domain.ports.UserRepository;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -29,15 +31,18 @@ public class UserManagementService {
     private final QuizRepository quizRepository;
     private final QuizAssignmentRepository quizAssignmentRepository;
     private final PasswordHashingService passwordHashingService;
+    private final ApplicationEventPublisher eventPublisher;
 
     public UserManagementService(UserRepository userRepository,
                                   QuizRepository quizRepository,
                                   QuizAssignmentRepository quizAssignmentRepository,
-                                  PasswordHashingService passwordHashingService) {
+                                  PasswordHashingService passwordHashingService,
+                                  ApplicationEventPublisher eventPublisher) {
         this.userRepository = userRepository;
         this.quizRepository = quizRepository;
         this.quizAssignmentRepository = quizAssignmentRepository;
         this.passwordHashingService = passwordHashingService;
+        this.eventPublisher = eventPublisher;
     }
 
     /**
@@ -88,6 +93,7 @@ public class UserManagementService {
         
         // Assignments are cascade deleted via orphanRemoval
         userRepository.delete(user);
+        eventPublisher.publishEvent(new UserPermissionsChangedEvent(userId));
     }
 
     /**
@@ -133,7 +139,9 @@ public class UserManagementService {
                 });
 
         assignment.setPermissions(permissions);
-        return quizAssignmentRepository.save(assignment);
+        QuizAssignment saved = quizAssignmentRepository.save(assignment);
+        eventPublisher.publishEvent(new UserPermissionsChangedEvent(userId));
+        return saved;
     }
 
     /**
@@ -151,6 +159,7 @@ public class UserManagementService {
                     user.removeAssignment(assignment);
                     quiz.removeAssignment(assignment);
                     quizAssignmentRepository.delete(assignment);
+                    eventPublisher.publishEvent(new UserPermissionsChangedEvent(userId));
                 });
     }
 
@@ -182,7 +191,9 @@ public class UserManagementService {
                 });
 
         assignment.grantPermission(permission);
-        return quizAssignmentRepository.save(assignment);
+        QuizAssignment saved = quizAssignmentRepository.save(assignment);
+        eventPublisher.publishEvent(new UserPermissionsChangedEvent(userId));
+        return saved;
     }
 
     /**
@@ -199,6 +210,8 @@ public class UserManagementService {
                 .orElseThrow(() -> new EntityNotFoundException("QuizAssignment for user " + userId + " and quiz " + quizId + " not found"));
 
         assignment.revokePermission(permission);
-        return quizAssignmentRepository.save(assignment);
+        QuizAssignment saved = quizAssignmentRepository.save(assignment);
+        eventPublisher.publishEvent(new UserPermissionsChangedEvent(userId));
+        return saved;
     }
 }
@@ -39,6 +39,12 @@ public class Quiz {
     @Enumerated(EnumType.STRING)
     private QuizStatus status;
 
+    // Moves on whenever the quiz's participant tokens are revoked. Only changed by bulk update:
+    // never written from the entity, so saving a quiz loaded earlier cannot move it back
+    @Column(name = "token_epoch", nullable = false, insertable = false, updatable = false,
+            columnDefinition = "BIGINT DEFAULT 0 NOT NULL")
+    private long tokenEpoch;
+
     @OneToMany(mappedBy = "quiz", cascade = CascadeType.ALL)
     @JsonManagedReference("quiz-questions")
     private List<Question> questions = new ArrayList<>();
@@ -179,6 +185,15 @@ public class Quiz {
         this.status = status;
     }
 
+    @JsonIgnore
+    public long getTokenEpoch() {
+        return tokenEpoch;
+    }
+
+    public void setTokenEpoch(long tokenEpoch) {
+        this.tokenEpoch = tokenEpoch;
+    }
+
     public List<Question> getQuestions() {
         return questions;
     }
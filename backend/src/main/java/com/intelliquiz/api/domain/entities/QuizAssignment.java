@@ -126,4 +126,13 @@ public class QuizAssignment {
     public void revokeAllPermissions() {
         permissions.clear();
     }
+
+    /**
+     * Packs this assignment's permissions into a mask of {@link AdminPermission#mask()} bits.
+     * 
+     * @return the permission mask
+     */
+    public long permissionMask() {
+        return AdminPermission.maskOf(permissions);
+    }
 }
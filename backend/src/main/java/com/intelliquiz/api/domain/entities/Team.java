@@ -27,7 +27,9 @@ public class Team {
     @Column(nullable = false)
     private String name;
 
-    @Column(name = "access_code", nullable = false)
+    // The schema is kept by ddl-auto=update, which adds this unique constraint to an existing
+    // table; it cannot while two teams share a code, which is reported on startup
+    @Column(name = "access_code", nullable = false, unique = true)
     private String accessCode;
 
     @Column(name = "total_score")
@@ -2,6 +2,8 @@ package com.intelliquiz.api.domain.enums;
 
 import io.swagger.v3.oas.annotations.media.Schema;
 
+import java.util.Collection;
+
 /**
  * Granular quiz-level permissions for admin users.
  */
@@ -25,5 +27,23 @@ public enum AdminPermission {
     /**
      * Access live session controls and proctor PIN.
      */
-    CAN_HOST_GAME
+    CAN_HOST_GAME;
+
+    /**
+     * Gets this permission's bit in a permission mask.
+     */
+    public long mask() {
+        return 1L << ordinal();
+    }
+
+    /**
+     * Packs permissions into a mask of their bits.
+     */
+    public static long maskOf(Collection<AdminPermission> permissions) {
+        long mask = 0;
+        for (AdminPermission permission : permissions) {
+            mask |= permission.mask();
+        }
+        return mask;
+    }
 }
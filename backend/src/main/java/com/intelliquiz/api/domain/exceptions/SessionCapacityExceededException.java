@@ -0,0 +1,11 @@
+package com.intelliquiz.api.domain.exceptions;
+
+/**
+ * Thrown when activating a quiz would exceed the node's limit on live quizzes or teams.
+ */
+public class SessionCapacityExceededException extends DomainException {
+
+    public SessionCapacityExceededException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,35 @@
+package com.intelliquiz.api.domain.ports;
+
+import java.util.List;
+
+/**
+ * Outbound port for grading a whole question when it closes.
+ */
+public interface QuestionGradingRepository {
+
+    /**
+     * Grades every ungraded submission for a question and adds the awarded points to each
+     * team's total score, atomically. An answer is correct when, trimmed, it equals the
+     * correct key ignoring case (as {@code Question.isCorrectAnswer}).
+     *
+     * @return the outcome for every team in the quiz, including teams that did not submit
+     */
+    List<TeamGrade> gradeQuestion(Long quizId, Long questionId, String correctKey, int points);
+
+    /**
+     * A team's submission outcome for a question and its total score after grading.
+     * {@code submittedAnswer} is null when the team did not submit.
+     */
+    record TeamGrade(
+            Long teamId,
+            String teamName,
+            String submittedAnswer,
+            boolean isCorrect,
+            int awardedPoints,
+            int totalScore
+    ) {
+        public boolean hasSubmitted() {
+            return submittedAnswer != null;
+        }
+    }
+}
@@ -18,7 +18,44 @@ public interface QuizRepository {
 
     List<Quiz> findByIsLiveSessionTrue();
 
+    /**
+     * Counts, in one query, the live quizzes this node runs other than the given quiz, and the
+     * teams registered to those and to the given quiz. A single node runs every live quiz.
+     */
+    LiveLoad countLiveLoad(Long quizId);
+
+    /**
+     * Checks whether a live quiz other than the given one has the proctor PIN, ignoring case.
+     */
+    boolean existsLiveWithProctorPin(String proctorPin, Long quizId);
+
+    /**
+     * Waits for the database lock on activating quizzes, held until the current transaction
+     * ends, so activations on every node are admitted one at a time. PostgreSQL only.
+     */
+    void lockActivations();
+
     void delete(Quiz quiz);
 
     void deleteById(Long id);
+
+    /**
+     * Gets the quiz's participant token revocation epoch; 0 if there is no such quiz.
+     */
+    long findTokenEpoch(Long id);
+
+    /**
+     * Moves the quiz's participant token revocation epoch on, in a transaction of its own.
+     *
+     * @return the new epoch; 0 if there is no such quiz
+     */
+    long incrementTokenEpoch(Long id);
+
+    /**
+     * Live quizzes counted against a node's capacity.
+     *
+     * @param otherQuizzes live quizzes the node runs, other than the one being activated
+     * @param teams teams registered to those and to the one being activated
+     */
+    record LiveLoad(long otherQuizzes, long teams) {}
 }
@@ -0,0 +1,21 @@
+package com.intelliquiz.api.domain.ports;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+
+/**
+ * Outbound port for bulk submission writes on the live game path.
+ */
+public interface SubmissionBatchRepository {
+
+    /**
+     * Inserts or updates the answer of each team for a question in a single batch.
+     * Existing rows are reset to ungraded so the question can be graded afresh.
+     */
+    void upsertAnswers(Long questionId, Collection<PendingAnswer> answers);
+
+    /**
+     * A team's latest answer for a question, not yet persisted.
+     */
+    record PendingAnswer(Long teamId, String answer, LocalDateTime submittedAt) {}
+}
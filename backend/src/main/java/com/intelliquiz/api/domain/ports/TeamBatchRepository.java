@@ -0,0 +1,33 @@
+package com.intelliquiz.api.domain.ports;
+
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Outbound port for registering many teams at once.
+ */
+public interface TeamBatchRepository {
+
+    /**
+     * Loads the access code of every team, across all quizzes.
+     */
+    Set<String> findAllAccessCodes();
+
+    /**
+     * Finds the access codes held by more than one team.
+     */
+    Set<String> findDuplicateAccessCodes();
+
+    /**
+     * Inserts teams for a quiz in batches, with a score of zero.
+     * Fails without inserting any team if an access code is already taken.
+     *
+     * @return the generated IDs, in the order of {@code teams}
+     */
+    List<Long> insertTeams(Long quizId, List<NewTeam> teams);
+
+    /**
+     * A team to insert, with its access code already chosen.
+     */
+    record NewTeam(String name, String accessCode) {}
+}
@@ -3,7 +3,10 @@ package com.intelliquiz.api.infrastructure.adapters.persistence.impl;
 import com.intelliquiz.api.domain.entities.Quiz;
 import com.intelliquiz.api.domain.ports.QuizRepository;
 import com.intelliquiz.api.infrastructure.adapters.persistence.spring.SpringQuizRepository;
+import com.intelliquiz.api.infrastructure.cluster.QuizOwnership;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.Optional;
@@ -14,10 +17,15 @@ import java.util.Optional;
 @Component
 public class QuizRepositoryImpl implements QuizRepository {
 
+    // First key of the activation lock ("IA"); quiz ownership locks use their own namespace
+    static final int ACTIVATION_LOCK_NAMESPACE = 0x4941;
+
     private final SpringQuizRepository springQuizRepository;
+    private final QuizOwnership ownership;
 
-    public QuizRepositoryImpl(SpringQuizRepository springQuizRepository) {
+    public QuizRepositoryImpl(SpringQuizRepository springQuizRepository, QuizOwnership ownership) {
         this.springQuizRepository = springQuizRepository;
+        this.ownership = ownership;
     }
 
     @Override
@@ -40,6 +48,28 @@ public class QuizRepositoryImpl implements QuizRepository {
         return springQuizRepository.findByIsLiveSessionTrue();
     }
 
+    // In a cluster a node runs the quizzes it owns; the one being activated is claimed after commit
+    @Override
+    public LiveLoad countLiveLoad(Long quizId) {
+        SpringQuizRepository.LiveLoadRow row = ownership.isClustered()
+                ? springQuizRepository.countLiveLoadAmong(quizId, ownership.ownedQuizzes())
+                : springQuizRepository.countLiveLoad(quizId);
+        return new LiveLoad(row.getOtherQuizzes(), row.getTeams());
+    }
+
+    @Override
+    public boolean existsLiveWithProctorPin(String proctorPin, Long quizId) {
+        return springQuizRepository.existsByIsLiveSessionTrueAndIdNotAndProctorPinIgnoreCase(quizId, proctorPin);
+    }
+
+    // pg_advisory_xact_lock is PostgreSQL only: the H2 test database has no such function, so
+    // activation is tested with this port mocked, never against H2
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void lockActivations() {
+        springQuizRepository.lockAdvisory(ACTIVATION_LOCK_NAMESPACE);
+    }
+
     @Override
     public void delete(Quiz quiz) {
         springQuizRepository.delete(quiz);
@@ -49,4 +79,17 @@ public class QuizRepositoryImpl implements QuizRepository {
     public void deleteById(Long id) {
         springQuizRepository.deleteById(id);
     }
+
+    @Override
+    public long findTokenEpoch(Long id) {
+        return springQuizRepository.findTokenEpochById(id).orElse(0L);
+    }
+
+    // Called after the revoking transaction has committed, so it cannot join that one
+    @Override
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public long incrementTokenEpoch(Long id) {
+        springQuizRepository.incrementTokenEpoch(id);
+        return findTokenEpoch(id);
+    }
 }
@@ -0,0 +1,65 @@
+package com.intelliquiz.api.infrastructure.adapters.persistence.jdbc;
+
+import com.intelliquiz.api.domain.ports.QuestionGradingRepository;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+/**
+ * Implementation of QuestionGradingRepository port using set-based SQL.
+ * A question is graded with one UPDATE on team, one UPDATE on submission and one SELECT
+ * for the results, whatever the number of teams.
+ */
+@Component
+public class JdbcQuestionGradingRepository implements QuestionGradingRepository {
+
+    // Same rule as Question.isCorrectAnswer: trimmed answer equals the key, ignoring case.
+    // String.trim() also strips tabs and line breaks, plain SQL TRIM only spaces.
+    private static final String IS_CORRECT =
+            "LOWER(TRIM(BOTH ' ' || CHR(9) || CHR(10) || CHR(13) FROM s.submitted_answer)) = LOWER(?)";
+
+    // Runs before the submissions are marked graded, so only new points are added
+    private static final String ADD_POINTS_SQL =
+            "UPDATE team t SET total_score = t.total_score + ? * (" +
+            "SELECT COUNT(*) FROM submission s " +
+            "WHERE s.team_id = t.id AND s.question_id = ? AND s.is_graded = FALSE AND " + IS_CORRECT + ") " +
+            "WHERE t.id IN (" +
+            "SELECT s.team_id FROM submission s " +
+            "WHERE s.question_id = ? AND s.is_graded = FALSE AND " + IS_CORRECT + ")";
+
+    private static final String GRADE_SQL =
+            "UPDATE submission s SET " +
+            "is_correct = CASE WHEN " + IS_CORRECT + " THEN TRUE ELSE FALSE END, " +
+            "awarded_points = CASE WHEN " + IS_CORRECT + " THEN ? ELSE 0 END, " +
+            "is_graded = TRUE " +
+            "WHERE s.question_id = ? AND s.is_graded = FALSE";
+
+    private static final String RESULTS_SQL =
+            "SELECT t.id, t.name, t.total_score, s.submitted_answer, s.is_correct, s.awarded_points " +
+            "FROM team t LEFT JOIN submission s ON s.team_id = t.id AND s.question_id = ? " +
+            "WHERE t.quiz_id = ? ORDER BY t.id";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public JdbcQuestionGradingRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    @Transactional
+    public List<TeamGrade> gradeQuestion(Long quizId, Long questionId, String correctKey, int points) {
+        jdbcTemplate.update(ADD_POINTS_SQL, points, questionId, correctKey, questionId, correctKey);
+        jdbcTemplate.update(GRADE_SQL, correctKey, correctKey, points, questionId);
+
+        return jdbcTemplate.query(RESULTS_SQL, (rs, rowNum) -> new TeamGrade(
+                rs.getLong("id"),
+                rs.getString("name"),
+                rs.getString("submitted_answer"),
+                rs.getBoolean("is_correct"),
+                rs.getInt("awarded_points"),
+                rs.getInt("total_score")
+        ), questionId, quizId);
+    }
+}
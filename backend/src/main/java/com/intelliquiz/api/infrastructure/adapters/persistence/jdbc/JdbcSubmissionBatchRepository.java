@@ -0,0 +1,64 @@
+package com.intelliquiz.api.infrastructure.adapters.persistence.jdbc;
+
+import com.intelliquiz.api.domain.ports.SubmissionBatchRepository;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Implementation of SubmissionBatchRepository port using JDBC batch statements.
+ * Writes a whole question's answers with one UPDATE batch and one INSERT batch.
+ */
+@Component
+public class JdbcSubmissionBatchRepository implements SubmissionBatchRepository {
+
+    private static final String UPDATE_SQL =
+            "UPDATE submission SET submitted_answer = ?, submitted_at = ?, is_graded = FALSE " +
+            "WHERE team_id = ? AND question_id = ?";
+
+    private static final String INSERT_SQL =
+            "INSERT INTO submission (team_id, question_id, submitted_answer, is_correct, awarded_points, submitted_at, is_graded) " +
+            "VALUES (?, ?, ?, FALSE, 0, ?, FALSE)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public JdbcSubmissionBatchRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    @Transactional
+    public void upsertAnswers(Long questionId, Collection<PendingAnswer> answers) {
+        if (answers.isEmpty()) {
+            return;
+        }
+
+        List<PendingAnswer> rows = List.copyOf(answers);
+        List<Object[]> updateArgs = new ArrayList<>(rows.size());
+        for (PendingAnswer row : rows) {
+            updateArgs.add(new Object[]{
+                    row.answer(), Timestamp.valueOf(row.submittedAt()), row.teamId(), questionId
+            });
+        }
+        int[] updated = jdbcTemplate.batchUpdate(UPDATE_SQL, updateArgs);
+
+        // Rows the UPDATE did not touch are first-time answers
+        List<Object[]> insertArgs = new ArrayList<>();
+        for (int i = 0; i < rows.size(); i++) {
+            if (updated[i] == 0) {
+                PendingAnswer row = rows.get(i);
+                insertArgs.add(new Object[]{
+                        row.teamId(), questionId, row.answer(), Timestamp.valueOf(row.submittedAt())
+                });
+            }
+        }
+        if (!insertArgs.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_SQL, insertArgs);
+        }
+    }
+}
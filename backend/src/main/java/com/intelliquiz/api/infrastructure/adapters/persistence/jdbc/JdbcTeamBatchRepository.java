@@ -0,0 +1,84 @@
+package com.intelliquiz.api.infrastructure.adapters.persistence.jdbc;
+
+import com.intelliquiz.api.domain.ports.TeamBatchRepository;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Implementation of TeamBatchRepository port using JDBC batch statements.
+ * Teams are inserted with one INSERT batch per {@value #BATCH_SIZE} teams; the unique
+ * constraint on team.access_code rejects the whole registration if a code was taken meanwhile.
+ */
+@Component
+public class JdbcTeamBatchRepository implements TeamBatchRepository {
+
+    static final int BATCH_SIZE = 500;
+
+    private static final String ACCESS_CODES_SQL = "SELECT access_code FROM team";
+
+    private static final String DUPLICATE_ACCESS_CODES_SQL =
+            "SELECT access_code FROM team GROUP BY access_code HAVING COUNT(*) > 1";
+
+    private static final String INSERT_SQL =
+            "INSERT INTO team (quiz_id, name, access_code, total_score) VALUES (?, ?, ?, 0)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public JdbcTeamBatchRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public Set<String> findAllAccessCodes() {
+        return new HashSet<>(jdbcTemplate.queryForList(ACCESS_CODES_SQL, String.class));
+    }
+
+    @Override
+    public Set<String> findDuplicateAccessCodes() {
+        return new HashSet<>(jdbcTemplate.queryForList(DUPLICATE_ACCESS_CODES_SQL, String.class));
+    }
+
+    @Override
+    @Transactional
+    public List<Long> insertTeams(Long quizId, List<NewTeam> teams) {
+        List<Long> ids = new ArrayList<>(teams.size());
+        for (int from = 0; from < teams.size(); from += BATCH_SIZE) {
+            List<NewTeam> batch = teams.subList(from, Math.min(from + BATCH_SIZE, teams.size()));
+            KeyHolder keyHolder = new GeneratedKeyHolder();
+            jdbcTemplate.batchUpdate(
+                    connection -> connection.prepareStatement(INSERT_SQL, new String[]{"id"}),
+                    new BatchPreparedStatementSetter() {
+                        @Override
+                        public void setValues(PreparedStatement ps, int i) throws SQLException {
+                            NewTeam team = batch.get(i);
+                            ps.setLong(1, quizId);
+                            ps.setString(2, team.name());
+                            ps.setString(3, team.accessCode());
+                        }
+
+                        @Override
+                        public int getBatchSize() {
+                            return batch.size();
+                        }
+                    },
+                    keyHolder);
+            // One row of keys per inserted team, holding only the ID (its column label varies by driver)
+            for (Map<String, Object> keys : keyHolder.getKeyList()) {
+                ids.add(((Number) keys.values().iterator().next()).longValue());
+            }
+        }
+        return ids;
+    }
+}
@@ -2,9 +2,14 @@ package com.intelliquiz.api.infrastructure.adapters.persistence.spring;
 
 import com.intelliquiz.api.domain.entities.Quiz;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 /**
  * Spring Data JPA repository for Quiz entity.
@@ -13,4 +18,34 @@ import java.util.List;
 public interface SpringQuizRepository extends JpaRepository<Quiz, Long> {
 
     List<Quiz> findByIsLiveSessionTrue();
+
+    // Live quizzes other than the given one, and the teams of those and of the given one
+    @Query("SELECT COUNT(DISTINCT CASE WHEN q.id <> :quizId THEN q.id END) AS otherQuizzes, COUNT(t.id) AS teams " +
+           "FROM Quiz q LEFT JOIN q.teams t WHERE q.id = :quizId OR q.isLiveSession = true")
+    LiveLoadRow countLiveLoad(@Param("quizId") Long quizId);
+
+    // The same, for the live quizzes among the given ones
+    @Query("SELECT COUNT(DISTINCT CASE WHEN q.id <> :quizId THEN q.id END) AS otherQuizzes, COUNT(t.id) AS teams " +
+           "FROM Quiz q LEFT JOIN q.teams t WHERE q.id = :quizId OR (q.isLiveSession = true AND q.id IN :quizIds)")
+    LiveLoadRow countLiveLoadAmong(@Param("quizId") Long quizId, @Param("quizIds") Collection<Long> quizIds);
+
+    boolean existsByIsLiveSessionTrueAndIdNotAndProctorPinIgnoreCase(Long id, String proctorPin);
+
+    // Transaction-scoped advisory lock (PostgreSQL only); the void function is selected from to return a row
+    @Query(value = "SELECT 1 FROM pg_advisory_xact_lock(:namespace, 0)", nativeQuery = true)
+    Integer lockAdvisory(@Param("namespace") int namespace);
+
+    @Query("SELECT q.tokenEpoch FROM Quiz q WHERE q.id = :id")
+    Optional<Long> findTokenEpochById(@Param("id") Long id);
+
+    // Native, as the column is not updatable through the entity
+    @Modifying
+    @Query(value = "UPDATE quiz SET token_epoch = token_epoch + 1 WHERE id = :id", nativeQuery = true)
+    int incrementTokenEpoch(@Param("id") Long id);
+
+    interface LiveLoadRow {
+        long getOtherQuizzes();
+
+        long getTeams();
+    }
 }
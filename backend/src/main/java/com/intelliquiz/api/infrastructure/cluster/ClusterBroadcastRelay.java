@@ -0,0 +1,154 @@
+package com.intelliquiz.api.infrastructure.cluster;
+
+import com.intelliquiz.api.infrastructure.config.ClientOutboundQueues;
+import com.intelliquiz.api.infrastructure.config.QuizBroadcastService;
+import com.intelliquiz.api.infrastructure.config.WebSocketAuthInterceptor.QuizPrincipal;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.event.EventListener;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.support.ChannelInterceptor;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.stereotype.Component;
+import org.springframework.util.MimeTypeUtils;
+import org.springframework.web.socket.messaging.SessionConnectEvent;
+import org.springframework.web.socket.messaging.SessionDisconnectEvent;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Broker channel interceptor that publishes the frames of quizzes this node owns on the
+ * {@link ClusterBus}, so every node delivers them to its own clients; and the inverse, turning
+ * a relayed frame back into a broker message.
+ *
+ * Published are frames to an owned quiz's topics, to team queues (only owners send those) and
+ * to user destinations of sessions connected to other nodes. Frames are sent as encoded, with
+ * their conflation and sequence headers, so a relayed frame fans out exactly as a local one. The relay also
+ * keeps the sessions connected to this node, which decide where a user destination is served.
+ */
+@Component
+@ConditionalOnProperty(name = "game.cluster-enabled", havingValue = "true")
+public class ClusterBroadcastRelay implements ChannelInterceptor {
+
+    /** Marks a frame relayed from another node, so it is delivered here and not published again. */
+    static final String RELAYED_HEADER = "clusterRelayedFrom";
+
+    private static final String QUIZ_TOPIC_PREFIX = "/topic/quiz/";
+    private static final String TEAM_QUEUE_PREFIX = "/queue/team/";
+    private static final String USER_PREFIX = "/user/";
+
+    private final QuizOwnership ownership;
+    private final ClusterBus bus;
+
+    // Session ID -> principal, for sessions connected to this node
+    private final Map<String, QuizPrincipal> localSessions = new ConcurrentHashMap<>();
+
+    public ClusterBroadcastRelay(QuizOwnership ownership, ClusterBus bus) {
+        this.ownership = ownership;
+        this.bus = bus;
+    }
+
+    @Override
+    public Message<?> preSend(Message<?> message, MessageChannel channel) {
+        if (SimpMessageHeaderAccessor.getMessageType(message.getHeaders()) != SimpMessageType.MESSAGE
+                || message.getHeaders().containsKey(RELAYED_HEADER)
+                || !(message.getPayload() instanceof byte[] payload)) {
+            return message;
+        }
+        String destination = SimpMessageHeaderAccessor.getDestination(message.getHeaders());
+        if (destination == null) {
+            return message;
+        }
+
+        Long quizId = null;
+        if (destination.startsWith(QUIZ_TOPIC_PREFIX)) {
+            quizId = quizOf(destination);
+            if (quizId == null || !ownership.isLocal(quizId)) {
+                return message;
+            }
+        } else if (destination.startsWith(USER_PREFIX)) {
+            if (localSessions.containsKey(userSessionOf(message, destination))) {
+                return message;
+            }
+        } else if (!destination.startsWith(TEAM_QUEUE_PREFIX)) {
+            return message;
+        }
+        bus.publish(ClusterMessage.frame(ownership.nodeId(), quizId, destination, conflationKeyOf(message),
+                SimpMessageHeaderAccessor.getFirstNativeHeader(QuizBroadcastService.SEQUENCE_HEADER, message.getHeaders()),
+                payload));
+        return message;
+    }
+
+    /**
+     * Rebuilds a frame another node published, for this node's broker channel.
+     */
+    static Message<byte[]> toBrokerMessage(ClusterMessage frame) {
+        SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.create(SimpMessageType.MESSAGE);
+        accessor.setDestination(frame.destination());
+        accessor.setContentType(MimeTypeUtils.APPLICATION_JSON);
+        if (frame.conflationKey() != null) {
+            accessor.setNativeHeader(ClientOutboundQueues.CONFLATION_HEADER, frame.conflationKey());
+        }
+        if (frame.sequence() != null) {
+            accessor.setNativeHeader(QuizBroadcastService.SEQUENCE_HEADER, frame.sequence());
+        }
+        accessor.setHeader(RELAYED_HEADER, frame.origin());
+        return MessageBuilder.createMessage(frame.payload(), accessor.getMessageHeaders());
+    }
+
+    /**
+     * Gets the sessions of a quiz connected to this node.
+     */
+    public Map<String, QuizPrincipal> localSessions(Long quizId) {
+        Map<String, QuizPrincipal> sessions = new ConcurrentHashMap<>();
+        localSessions.forEach((sessionId, principal) -> {
+            if (principal.quizId().equals(quizId)) {
+                sessions.put(sessionId, principal);
+            }
+        });
+        return sessions;
+    }
+
+    @EventListener
+    public void onConnect(SessionConnectEvent event) {
+        String sessionId = SimpMessageHeaderAccessor.getSessionId(event.getMessage().getHeaders());
+        if (sessionId != null && event.getUser() instanceof QuizPrincipal principal) {
+            onConnectedSession(sessionId, principal);
+        }
+    }
+
+    void onConnectedSession(String sessionId, QuizPrincipal principal) {
+        localSessions.put(sessionId, principal);
+    }
+
+    @EventListener
+    public void onDisconnect(SessionDisconnectEvent event) {
+        localSessions.remove(event.getSessionId());
+    }
+
+    static Long quizOf(String destination) {
+        int end = destination.indexOf('/', QUIZ_TOPIC_PREFIX.length());
+        try {
+            return Long.valueOf(destination.substring(QUIZ_TOPIC_PREFIX.length(), end < 0 ? destination.length() : end));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    // The session a user destination frame goes to: its session header, else the name after /user/
+    private static String userSessionOf(Message<?> message, String destination) {
+        String sessionId = SimpMessageHeaderAccessor.getSessionId(message.getHeaders());
+        if (sessionId != null) {
+            return sessionId;
+        }
+        int end = destination.indexOf('/', USER_PREFIX.length());
+        return destination.substring(USER_PREFIX.length(), end < 0 ? destination.length() : end);
+    }
+
+    private static String conflationKeyOf(Message<?> message) {
+        return SimpMessageHeaderAccessor.getFirstNativeHeader(ClientOutboundQueues.CONFLATION_HEADER, message.getHeaders());
+    }
+}
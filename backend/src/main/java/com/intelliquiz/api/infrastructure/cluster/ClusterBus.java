@@ -0,0 +1,23 @@
+package com.intelliquiz.api.infrastructure.cluster;
+
+import java.util.function.Consumer;
+
+/**
+ * Broadcast channel between the nodes of a cluster.
+ *
+ * Every message published is delivered to every node's listeners, including the publisher's
+ * own (listeners skip messages from their own node). Messages from one publishing node are
+ * delivered in the order published; delivery is at most once.
+ */
+public interface ClusterBus {
+
+    /**
+     * Publishes a message without waiting for it to be delivered.
+     */
+    void publish(ClusterMessage message);
+
+    /**
+     * Adds a listener, called on the bus's delivery thread.
+     */
+    void subscribe(Consumer<ClusterMessage> listener);
+}
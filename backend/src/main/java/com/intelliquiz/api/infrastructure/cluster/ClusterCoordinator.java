@@ -0,0 +1,316 @@
+package com.intelliquiz.api.infrastructure.cluster;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.intelliquiz.api.application.events.QuizActivatedEvent;
+import com.intelliquiz.api.application.services.AccessCodeIndex;
+import com.intelliquiz.api.domain.entities.Quiz;
+import com.intelliquiz.api.domain.ports.QuizRepository;
+import com.intelliquiz.api.infrastructure.config.GameProperties;
+import com.intelliquiz.api.infrastructure.config.QuizSessionManager;
+import com.intelliquiz.api.infrastructure.config.WebSocketAuthInterceptor.QuizPrincipal;
+import com.intelliquiz.api.infrastructure.config.WebSocketEventListener;
+import com.intelliquiz.api.infrastructure.websocket.GameFlowService;
+import com.intelliquiz.api.infrastructure.websocket.LiveSessionPreparer;
+import com.intelliquiz.api.infrastructure.websocket.QuizActors;
+import com.intelliquiz.api.infrastructure.websocket.QuizCheckpoint;
+import com.intelliquiz.api.infrastructure.websocket.QuizCheckpoints;
+import com.intelliquiz.api.infrastructure.websocket.SubmissionBuffer;
+import com.intelliquiz.api.infrastructure.websocket.SubmissionJournal;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.event.EventListener;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.socket.messaging.SessionConnectEvent;
+import org.springframework.web.socket.messaging.SessionDisconnectEvent;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Runs this node's part of a cluster: claiming live quizzes, renewing them, taking over those
+ * whose owner has died, and carrying the {@link ClusterBus} messages between nodes.
+ *
+ * Every heartbeat the node renews the quizzes it owns with their current state, gives up the
+ * ones it has lost, ends the ones no longer live, and tries to claim every live quiz nobody
+ * holds. A claimed quiz is resumed from the checkpoint its last owner stored, with the answers
+ * to its open question stored alongside; the other nodes then announce their clients of the quiz
+ * to the new owner, which registers them as its own.
+ *
+ * Each heartbeat also tells the other nodes this one is up. The clients a node announced are
+ * dropped once it has not been heard from for the takeover time, so the clients of a dead node
+ * stop counting as connected.
+ */
+@Component
+@ConditionalOnProperty(name = "game.cluster-enabled", havingValue = "true")
+public class ClusterCoordinator {
+
+    private static final Logger logger = LoggerFactory.getLogger(ClusterCoordinator.class);
+
+    private final QuizOwnership ownership;
+    private final ClusterBus bus;
+    private final ClusterBroadcastRelay relay;
+    private final QuizRepository quizRepository;
+    private final AccessCodeIndex accessCodeIndex;
+    private final QuizSessionManager sessionManager;
+    private final QuizCheckpoints checkpoints;
+    private final SubmissionBuffer submissionBuffer;
+    private final GameFlowService gameFlowService;
+    private final LiveSessionPreparer liveSessionPreparer;
+    private final WebSocketEventListener eventListener;
+    private final QuizActors actors;
+    private final ObjectMapper objectMapper;
+    private final MessageChannel clientInboundChannel;
+    private final MessageChannel brokerChannel;
+    private final RemoteSessions remoteSessions;
+    private final ScheduledExecutorService heartbeat;
+
+    public ClusterCoordinator(
+            GameProperties gameProperties,
+            QuizOwnership ownership,
+            ClusterBus bus,
+            ClusterBroadcastRelay relay,
+            QuizRepository quizRepository,
+            AccessCodeIndex accessCodeIndex,
+            QuizSessionManager sessionManager,
+            QuizCheckpoints checkpoints,
+            SubmissionBuffer submissionBuffer,
+            GameFlowService gameFlowService,
+            LiveSessionPreparer liveSessionPreparer,
+            WebSocketEventListener eventListener,
+            QuizActors actors,
+            ObjectMapper objectMapper,
+            @Qualifier("clientInboundChannel") MessageChannel clientInboundChannel,
+            @Qualifier("brokerChannel") MessageChannel brokerChannel
+    ) {
+        this.ownership = ownership;
+        this.bus = bus;
+        this.relay = relay;
+        this.quizRepository = quizRepository;
+        this.accessCodeIndex = accessCodeIndex;
+        this.sessionManager = sessionManager;
+        this.checkpoints = checkpoints;
+        this.submissionBuffer = submissionBuffer;
+        this.gameFlowService = gameFlowService;
+        this.liveSessionPreparer = liveSessionPreparer;
+        this.eventListener = eventListener;
+        this.actors = actors;
+        this.objectMapper = objectMapper;
+        this.clientInboundChannel = clientInboundChannel;
+        this.brokerChannel = brokerChannel;
+        this.remoteSessions = new RemoteSessions(gameProperties.getClusterTakeoverMillis());
+
+        bus.subscribe(this::onMessage);
+        this.heartbeat = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "cluster-heartbeat");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long interval = gameProperties.getClusterHeartbeatMillis();
+        heartbeat.scheduleWithFixedDelay(this::heartbeat, interval, interval, TimeUnit.MILLISECONDS);
+        logger.info("Node {} joined the cluster", ownership.nodeId());
+    }
+
+    /**
+     * The node that activates a quiz claims it first.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onQuizActivated(QuizActivatedEvent event) {
+        ownership.claim(event.quizId());
+    }
+
+    @EventListener
+    public void onConnect(SessionConnectEvent event) {
+        String sessionId = SimpMessageHeaderAccessor.getSessionId(event.getMessage().getHeaders());
+        if (sessionId != null && event.getUser() instanceof QuizPrincipal principal
+                && !ownership.isLocal(principal.quizId())) {
+            bus.publish(ClusterMessage.connected(ownership.nodeId(), principal, sessionId));
+        }
+    }
+
+    @EventListener
+    public void onDisconnect(SessionDisconnectEvent event) {
+        if (event.getUser() instanceof QuizPrincipal principal && !ownership.isLocal(principal.quizId())) {
+            bus.publish(ClusterMessage.disconnected(ownership.nodeId(), principal, event.getSessionId()));
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        heartbeat.shutdownNow();
+    }
+
+    // ==================== Heartbeat ====================
+
+    void heartbeat() {
+        try {
+            bus.publish(ClusterMessage.alive(ownership.nodeId()));
+            for (String sessionId : remoteSessions.expire(System.currentTimeMillis())) {
+                eventListener.sessionDisconnected(sessionId);
+            }
+
+            for (Long quizId : ownership.heartbeat(snapshots())) {
+                logger.warn("Node {} lost quiz {}; handing it over", ownership.nodeId(), quizId);
+                tellQuietly(quizId, () -> gameFlowService.handOver(quizId));
+            }
+
+            Set<Long> live = quizRepository.findByIsLiveSessionTrue().stream()
+                    .map(Quiz::getId)
+                    .collect(Collectors.toSet());
+
+            for (Long quizId : ownership.ownedQuizzes()) {
+                if (!live.contains(quizId)) {
+                    endOwned(quizId);
+                }
+            }
+
+            // Access codes are looked up on whichever node a client signs in to
+            for (Long quizId : live) {
+                if (!accessCodeIndex.isIndexed(quizId)) {
+                    accessCodeIndex.warm(quizId);
+                }
+            }
+            for (Long quizId : accessCodeIndex.indexedQuizzes()) {
+                if (!live.contains(quizId)) {
+                    accessCodeIndex.evict(quizId);
+                }
+            }
+
+            for (Long quizId : live) {
+                if (ownership.isLocal(quizId)) {
+                    continue;
+                }
+                if (ownership.claim(quizId)) {
+                    takeOver(quizId);
+                } else if (sessionManager.getSession(quizId).isPresent()) {
+                    // Prepared here on activation, but another node got the quiz
+                    sessionManager.clearQuizSession(quizId);
+                }
+            }
+        } catch (RuntimeException e) {
+            logger.error("Cluster heartbeat failed: {}", e.getMessage(), e);
+        }
+    }
+
+    private Map<Long, String> snapshots() {
+        Map<Long, String> states = new HashMap<>();
+        for (Long quizId : ownership.ownedQuizzes()) {
+            try {
+                QuizCheckpoint checkpoint = checkpoints.capture(quizId);
+                List<SubmissionJournal.JournaledAnswer> answers = checkpoint.questionId() != null
+                        ? submissionBuffer.openAnswers(checkpoint.questionId())
+                        : List.of();
+                states.put(quizId, objectMapper.writeValueAsString(new QuizState(checkpoint, answers)));
+            } catch (JsonProcessingException e) {
+                logger.warn("Failed to encode state of quiz {}: {}", quizId, e.getMessage());
+            }
+        }
+        return states;
+    }
+
+    private void endOwned(Long quizId) {
+        if (sessionManager.getSession(quizId).isEmpty()) {
+            ownership.release(quizId);
+            return;
+        }
+        tellQuietly(quizId, () -> {
+            gameFlowService.endQuiz(quizId);
+            ownership.release(quizId);
+        });
+    }
+
+    /**
+     * Resumes a quiz this node has just claimed, from its last owner's checkpoint and the answers
+     * stored with it, and asks the other nodes for its clients. Answers the last owner accepted
+     * after its last heartbeat are lost; those teams can answer the question again.
+     */
+    private void takeOver(Long quizId) {
+        QuizState state = ownership.lastState(quizId)
+                .map(this::decodeState)
+                .orElse(null);
+        tellQuietly(quizId, () -> {
+            liveSessionPreparer.prepare(quizId);
+            relay.localSessions(quizId).forEach((sessionId, principal) ->
+                    eventListener.sessionConnected(principal, sessionId));
+            if (state != null && state.checkpoint() != null) {
+                gameFlowService.resume(state.checkpoint(), state.answers() != null ? state.answers() : List.of());
+            }
+            bus.publish(ClusterMessage.ownerChanged(ownership.nodeId(), quizId));
+        });
+    }
+
+    private QuizState decodeState(String json) {
+        try {
+            return objectMapper.readValue(json, QuizState.class);
+        } catch (JsonProcessingException e) {
+            logger.warn("Ignored undecodable quiz state: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    private void tellQuietly(Long quizId, Runnable task) {
+        try {
+            actors.tell(quizId, task);
+        } catch (RejectedExecutionException e) {
+            logger.warn("Quiz {} is too busy to take a cluster task; retrying next heartbeat", quizId);
+        }
+    }
+
+    // ==================== Bus messages ====================
+
+    void onMessage(ClusterMessage message) {
+        if (ownership.nodeId().equals(message.origin())) {
+            return;
+        }
+        if (remoteSessions.heard(message.origin(), System.currentTimeMillis())) {
+            // New to this node, or back after its clients were dropped: have them announced again
+            for (Long quizId : ownership.ownedQuizzes()) {
+                bus.publish(ClusterMessage.ownerChanged(ownership.nodeId(), quizId));
+            }
+        }
+        switch (message.kind()) {
+            case FRAME -> brokerChannel.send(ClusterBroadcastRelay.toBrokerMessage(message));
+            case INBOUND -> {
+                if (ownership.isLocal(message.quizId())) {
+                    clientInboundChannel.send(ClusterInboundForwarder.toInboundMessage(message));
+                }
+            }
+            case CONNECTED -> {
+                if (ownership.isLocal(message.quizId())) {
+                    eventListener.sessionConnected(message.principal(), message.sessionId());
+                    remoteSessions.connected(message.origin(), message.sessionId());
+                }
+            }
+            case DISCONNECTED -> {
+                remoteSessions.disconnected(message.origin(), message.sessionId());
+                if (ownership.isLocal(message.quizId())) {
+                    eventListener.sessionDisconnected(message.sessionId());
+                }
+            }
+            case OWNER_CHANGED -> relay.localSessions(message.quizId()).forEach((sessionId, principal) ->
+                    bus.publish(ClusterMessage.connected(ownership.nodeId(), principal, sessionId)));
+            case ALIVE -> {
+                // Its lease was renewed above
+            }
+        }
+    }
+
+    /**
+     * What an owner stores with each heartbeat for the node that may take the quiz over: its
+     * checkpoint, and the answers held for the question it has open.
+     */
+    record QuizState(QuizCheckpoint checkpoint, List<SubmissionJournal.JournaledAnswer> answers) {}
+}
@@ -0,0 +1,105 @@
+package com.intelliquiz.api.infrastructure.cluster;
+
+import com.intelliquiz.api.infrastructure.config.WebSocketAuthInterceptor.QuizPrincipal;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.support.ChannelInterceptor;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.stereotype.Component;
+import org.springframework.util.MimeTypeUtils;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Inbound channel interceptor that hands a quiz's host commands, answers, status and catch-up
+ * requests to the node that owns the quiz, when that is not this node.
+ *
+ * The message is published on the {@link ClusterBus} and not handled here; the owner's
+ * {@link ClusterCoordinator} puts it on its own inbound channel as if the client had sent it
+ * there. Clock pings stay on the node the client is connected to, which measures its latency.
+ */
+@Component
+@ConditionalOnProperty(name = "game.cluster-enabled", havingValue = "true")
+public class ClusterInboundForwarder implements ChannelInterceptor {
+
+    private static final Logger logger = LoggerFactory.getLogger(ClusterInboundForwarder.class);
+
+    /** Marks a message another node forwarded, so it is never forwarded again. */
+    static final String FORWARDED_HEADER = "clusterForwardedFrom";
+
+    private static final String QUIZ_PREFIX = "/app/quiz/";
+    private static final Set<String> OWNER_ACTIONS = Set.of("command", "submit", "status", "resume");
+
+    private final QuizOwnership ownership;
+    private final ClusterBus bus;
+
+    public ClusterInboundForwarder(QuizOwnership ownership, ClusterBus bus) {
+        this.ownership = ownership;
+        this.bus = bus;
+    }
+
+    @Override
+    public Message<?> preSend(Message<?> message, MessageChannel channel) {
+        if (SimpMessageHeaderAccessor.getMessageType(message.getHeaders()) != SimpMessageType.MESSAGE) {
+            return message;
+        }
+        Long quizId = ownedQuizOf(SimpMessageHeaderAccessor.getDestination(message.getHeaders()));
+        if (quizId == null || ownership.isLocal(quizId)) {
+            return message;
+        }
+
+        String destination = SimpMessageHeaderAccessor.getDestination(message.getHeaders());
+        if (message.getHeaders().containsKey(FORWARDED_HEADER)) {
+            // Ownership moved while the message was on its way; the client retries or resyncs
+            logger.warn("Dropped {} forwarded to this node, which no longer owns quiz {}", destination, quizId);
+            return null;
+        }
+        if (!(SimpMessageHeaderAccessor.getUser(message.getHeaders()) instanceof QuizPrincipal principal)
+                || !(message.getPayload() instanceof byte[] payload)) {
+            return message;
+        }
+        bus.publish(ClusterMessage.inbound(ownership.nodeId(), principal,
+                SimpMessageHeaderAccessor.getSessionId(message.getHeaders()), quizId, destination, payload));
+        return null;
+    }
+
+    /**
+     * Rebuilds a message another node forwarded, for this node's inbound channel, as sent by
+     * the client from a session of its own.
+     */
+    static Message<byte[]> toInboundMessage(ClusterMessage inbound) {
+        SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.create(SimpMessageType.MESSAGE);
+        accessor.setDestination(inbound.destination());
+        accessor.setSessionId(inbound.sessionId());
+        // Message handlers expect the attributes of a session; a forwarded one has none
+        accessor.setSessionAttributes(new ConcurrentHashMap<>());
+        accessor.setUser(inbound.principal());
+        accessor.setContentType(MimeTypeUtils.APPLICATION_JSON);
+        accessor.setHeader(FORWARDED_HEADER, inbound.origin());
+        return MessageBuilder.createMessage(inbound.payload(), accessor.getMessageHeaders());
+    }
+
+    /**
+     * Gets the quiz of an {@code /app/quiz/{id}/{action}} destination whose action its owner handles.
+     */
+    static Long ownedQuizOf(String destination) {
+        if (destination == null || !destination.startsWith(QUIZ_PREFIX)) {
+            return null;
+        }
+        int slash = destination.indexOf('/', QUIZ_PREFIX.length());
+        if (slash < 0 || !OWNER_ACTIONS.contains(destination.substring(slash + 1))) {
+            return null;
+        }
+        try {
+            return Long.valueOf(destination.substring(QUIZ_PREFIX.length(), slash));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+}
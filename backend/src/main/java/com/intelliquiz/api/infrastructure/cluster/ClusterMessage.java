@@ -0,0 +1,84 @@
+package com.intelliquiz.api.infrastructure.cluster;
+
+import com.intelliquiz.api.infrastructure.config.WebSocketAuthInterceptor.QuizPrincipal;
+
+/**
+ * A message between the nodes of a cluster, sent on the {@link ClusterBus}.
+ *
+ * @param kind what the message carries
+ * @param origin ID of the sending node
+ * @param quizId the quiz it concerns (null for a frame to a user destination, or a node's heartbeat)
+ * @param destination the STOMP destination of a frame or forwarded message
+ * @param sessionId the client session a forwarded message or session event belongs to
+ * @param teamId the client's team (null for a host)
+ * @param host whether the client is the quiz's host
+ * @param conflationKey the conflation header of a frame, if it has one
+ * @param sequence the sequence header of a quiz topic frame, if it has one
+ * @param payload the encoded body of a frame or forwarded message
+ */
+public record ClusterMessage(
+        Kind kind,
+        String origin,
+        Long quizId,
+        String destination,
+        String sessionId,
+        Long teamId,
+        boolean host,
+        String conflationKey,
+        String sequence,
+        byte[] payload
+) {
+
+    public enum Kind {
+        /** A frame the quiz's owner sent to its clients, for every node to deliver to its own. */
+        FRAME,
+        /** A client message to the quiz's application destinations, for its owner to handle. */
+        INBOUND,
+        /** A client of the quiz connected to the origin node. */
+        CONNECTED,
+        /** A client of the quiz disconnected from the origin node. */
+        DISCONNECTED,
+        /** The origin node took the quiz over; nodes announce their clients of it again. */
+        OWNER_CHANGED,
+        /** The origin node is up; sent every heartbeat, as the lease on the clients it announced. */
+        ALIVE
+    }
+
+    public static ClusterMessage frame(String origin, Long quizId, String destination, String conflationKey,
+                                       String sequence, byte[] payload) {
+        return new ClusterMessage(Kind.FRAME, origin, quizId, destination, null, null, false, conflationKey, sequence, payload);
+    }
+
+    public static ClusterMessage inbound(String origin, QuizPrincipal principal, String sessionId,
+                                         Long quizId, String destination, byte[] payload) {
+        return new ClusterMessage(Kind.INBOUND, origin, quizId, destination, sessionId,
+                principal.teamId(), principal.isHost(), null, null, payload);
+    }
+
+    public static ClusterMessage connected(String origin, QuizPrincipal principal, String sessionId) {
+        return new ClusterMessage(Kind.CONNECTED, origin, principal.quizId(), null, sessionId,
+                principal.teamId(), principal.isHost(), null, null, null);
+    }
+
+    public static ClusterMessage disconnected(String origin, QuizPrincipal principal, String sessionId) {
+        return new ClusterMessage(Kind.DISCONNECTED, origin, principal.quizId(), null, sessionId,
+                principal.teamId(), principal.isHost(), null, null, null);
+    }
+
+    public static ClusterMessage ownerChanged(String origin, Long quizId) {
+        return new ClusterMessage(Kind.OWNER_CHANGED, origin, quizId, null, null, null, false, null, null, null);
+    }
+
+    public static ClusterMessage alive(String origin) {
+        return new ClusterMessage(Kind.ALIVE, origin, null, null, null, null, false, null, null, null);
+    }
+
+    /**
+     * Rebuilds the principal of the client a message is about, as the origin node authenticated it.
+     */
+    public QuizPrincipal principal() {
+        return host
+                ? new QuizPrincipal("host-" + quizId, quizId, null, true)
+                : new QuizPrincipal("team-" + teamId, quizId, teamId, false);
+    }
+}
@@ -0,0 +1,250 @@
+package com.intelliquiz.api.infrastructure.cluster;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * {@link ClusterBus} over Postgres {@code LISTEN/NOTIFY} on one channel.
+ *
+ * Messages are published from one thread, a batch of them per transaction, so each node's
+ * messages arrive in order. A notification carries at most 8000 bytes; a larger message is
+ * stored in {@code cluster_message} and its row ID is sent instead, and such rows are deleted
+ * after a minute. Publishing and listening each hold a connection of their own. Messages
+ * published while a connection is being re-established are lost.
+ */
+@Component
+@ConditionalOnProperty(name = "game.cluster-enabled", havingValue = "true")
+public class PostgresClusterBus implements ClusterBus {
+
+    private static final Logger logger = LoggerFactory.getLogger(PostgresClusterBus.class);
+
+    static final String CHANNEL = "intelliquiz_cluster";
+
+    private static final int MAX_NOTIFY_BYTES = 7_000;
+    private static final String STORED_PREFIX = "#";
+    private static final int MAX_BATCH = 256;
+    private static final int POLL_MILLIS = 500;
+    private static final long RETRY_MILLIS = 1_000;
+    private static final long CLEANUP_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(30);
+
+    private static final String CREATE_TABLE_SQL =
+            "CREATE TABLE IF NOT EXISTS cluster_message (" +
+            "id BIGSERIAL PRIMARY KEY, body TEXT NOT NULL, created_at TIMESTAMPTZ NOT NULL DEFAULT now())";
+    private static final String STORE_SQL = "INSERT INTO cluster_message (body) VALUES (?) RETURNING id";
+    private static final String LOAD_SQL = "SELECT body FROM cluster_message WHERE id = ?";
+    private static final String EXPIRE_SQL = "DELETE FROM cluster_message WHERE created_at < now() - interval '1 minute'";
+    private static final String NOTIFY_SQL = "SELECT pg_notify(?, ?)";
+
+    private final DataSource dataSource;
+    private final ObjectMapper objectMapper;
+    private final List<Consumer<ClusterMessage>> listeners = new CopyOnWriteArrayList<>();
+    private final BlockingQueue<ClusterMessage> outbox = new LinkedBlockingQueue<>();
+    private final Thread publisher;
+    private final Thread receiver;
+    private volatile boolean running = true;
+
+    public PostgresClusterBus(DataSource dataSource, ObjectMapper objectMapper) {
+        this.dataSource = dataSource;
+        this.objectMapper = objectMapper;
+        this.publisher = new Thread(this::publishLoop, "cluster-bus-publisher");
+        this.receiver = new Thread(this::receiveLoop, "cluster-bus-receiver");
+        publisher.setDaemon(true);
+        receiver.setDaemon(true);
+        publisher.start();
+        receiver.start();
+    }
+
+    @Override
+    public void publish(ClusterMessage message) {
+        outbox.add(message);
+    }
+
+    @Override
+    public void subscribe(Consumer<ClusterMessage> listener) {
+        listeners.add(listener);
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        running = false;
+        publisher.interrupt();
+        publisher.join(TimeUnit.SECONDS.toMillis(2));
+        receiver.join(TimeUnit.SECONDS.toMillis(2));
+    }
+
+    // ==================== Publishing ====================
+
+    private void publishLoop() {
+        Connection connection = null;
+        List<ClusterMessage> batch = new ArrayList<>(MAX_BATCH);
+        while (running) {
+            try {
+                batch.add(outbox.take());
+            } catch (InterruptedException e) {
+                break;
+            }
+            outbox.drainTo(batch, MAX_BATCH - 1);
+            try {
+                if (connection == null) {
+                    connection = dataSource.getConnection();
+                    createTable(connection);
+                    connection.setAutoCommit(false);
+                }
+                notify(connection, batch);
+            } catch (SQLException e) {
+                logger.warn("Dropped {} cluster messages: {}", batch.size(), e.getMessage());
+                close(connection);
+                connection = null;
+                pause();
+            }
+            batch.clear();
+        }
+        close(connection);
+    }
+
+    private void notify(Connection connection, List<ClusterMessage> batch) throws SQLException {
+        try (PreparedStatement notify = connection.prepareStatement(NOTIFY_SQL);
+             PreparedStatement store = connection.prepareStatement(STORE_SQL)) {
+            for (ClusterMessage message : batch) {
+                String json;
+                try {
+                    json = objectMapper.writeValueAsString(message);
+                } catch (JsonProcessingException e) {
+                    logger.warn("Dropped unencodable {} message for quiz {}: {}",
+                            message.kind(), message.quizId(), e.getMessage());
+                    continue;
+                }
+                if (json.getBytes(StandardCharsets.UTF_8).length > MAX_NOTIFY_BYTES) {
+                    store.setString(1, json);
+                    try (ResultSet rs = store.executeQuery()) {
+                        rs.next();
+                        json = STORED_PREFIX + rs.getLong(1);
+                    }
+                }
+                notify.setString(1, CHANNEL);
+                notify.setString(2, json);
+                notify.executeQuery().close();
+            }
+            connection.commit();
+        } catch (SQLException e) {
+            try {
+                connection.rollback();
+            } catch (SQLException ignored) {
+                // The connection is discarded anyway
+            }
+            throw e;
+        }
+    }
+
+    // ==================== Receiving ====================
+
+    private void receiveLoop() {
+        while (running) {
+            try (Connection connection = dataSource.getConnection()) {
+                createTable(connection);
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("LISTEN " + CHANNEL);
+                }
+                PGConnection notifications = connection.unwrap(PGConnection.class);
+                long nextCleanup = System.nanoTime();
+                while (running) {
+                    PGNotification[] received = notifications.getNotifications(POLL_MILLIS);
+                    if (received != null) {
+                        for (PGNotification notification : received) {
+                            deliver(connection, notification.getParameter());
+                        }
+                    }
+                    if (System.nanoTime() - nextCleanup >= 0) {
+                        try (Statement statement = connection.createStatement()) {
+                            statement.executeUpdate(EXPIRE_SQL);
+                        }
+                        nextCleanup = System.nanoTime() + CLEANUP_INTERVAL_NANOS;
+                    }
+                }
+            } catch (SQLException e) {
+                if (running) {
+                    logger.warn("Cluster bus connection lost, listening again: {}", e.getMessage());
+                    pause();
+                }
+            }
+        }
+    }
+
+    private void deliver(Connection connection, String body) throws SQLException {
+        String json = body;
+        if (body.startsWith(STORED_PREFIX)) {
+            try (PreparedStatement load = connection.prepareStatement(LOAD_SQL)) {
+                load.setLong(1, Long.parseLong(body.substring(STORED_PREFIX.length())));
+                try (ResultSet rs = load.executeQuery()) {
+                    if (!rs.next()) {
+                        logger.warn("Stored cluster message {} is gone", body);
+                        return;
+                    }
+                    json = rs.getString(1);
+                }
+            }
+        }
+
+        ClusterMessage message;
+        try {
+            message = objectMapper.readValue(json, ClusterMessage.class);
+        } catch (JsonProcessingException e) {
+            logger.warn("Ignored undecodable cluster message: {}", e.getMessage());
+            return;
+        }
+        for (Consumer<ClusterMessage> listener : listeners) {
+            try {
+                listener.accept(message);
+            } catch (RuntimeException e) {
+                logger.error("Cluster {} message for quiz {} failed: {}", message.kind(), message.quizId(), e.getMessage(), e);
+            }
+        }
+    }
+
+    private static void createTable(Connection connection) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute(CREATE_TABLE_SQL);
+        }
+    }
+
+    private static void close(Connection connection) {
+        if (connection == null) {
+            return;
+        }
+        try {
+            connection.close();
+        } catch (SQLException e) {
+            logger.debug("Failed to close cluster bus connection: {}", e.getMessage());
+        }
+    }
+
+    private static void pause() {
+        try {
+            Thread.sleep(RETRY_MILLIS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
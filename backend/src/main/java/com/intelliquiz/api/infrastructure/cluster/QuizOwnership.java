@@ -0,0 +1,289 @@
+package com.intelliquiz.api.infrastructure.cluster;
+
+import com.intelliquiz.api.infrastructure.config.GameProperties;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Which live quizzes this node runs.
+ *
+ * On a single node every quiz is local. In cluster mode ({@code game.cluster-enabled}) a node
+ * runs a quiz only while it holds the quiz's Postgres advisory lock, on a connection kept for
+ * that. The lock is released if the node or its connection dies, so another node can claim
+ * the quiz. The owner also keeps a row in {@code live_quiz_owner} current every heartbeat,
+ * with the quiz's latest state for whichever node takes it over. A node whose heartbeat has
+ * stopped for longer than the takeover time is fenced off: its lock connection is terminated
+ * so its locks can be claimed, and its next heartbeat finds them gone.
+ */
+@Component
+public class QuizOwnership {
+
+    private static final Logger logger = LoggerFactory.getLogger(QuizOwnership.class);
+
+    // First key of every quiz lock ("IQ"); the second is the quiz ID
+    static final int LOCK_NAMESPACE = 0x4951;
+
+    private static final String CREATE_TABLE_SQL =
+            "CREATE TABLE IF NOT EXISTS live_quiz_owner (" +
+            "quiz_id BIGINT PRIMARY KEY, node_id VARCHAR(100) NOT NULL, " +
+            "heartbeat_at TIMESTAMPTZ NOT NULL, state TEXT)";
+    private static final String TRY_LOCK_SQL = "SELECT pg_try_advisory_lock(?, ?)";
+    private static final String UNLOCK_SQL = "SELECT pg_advisory_unlock(?, ?)";
+    // Keeps the last owner's state for the new owner to read
+    private static final String CLAIM_SQL =
+            "INSERT INTO live_quiz_owner (quiz_id, node_id, heartbeat_at) VALUES (?, ?, now()) " +
+            "ON CONFLICT (quiz_id) DO UPDATE SET node_id = EXCLUDED.node_id, heartbeat_at = now()";
+    private static final String HEARTBEAT_SQL =
+            "UPDATE live_quiz_owner SET heartbeat_at = now(), state = ? WHERE quiz_id = ? AND node_id = ?";
+    private static final String RELEASE_SQL = "DELETE FROM live_quiz_owner WHERE quiz_id = ? AND node_id = ?";
+    private static final String OWNER_SQL =
+            "SELECT node_id, EXTRACT(EPOCH FROM now() - heartbeat_at) * 1000, state FROM live_quiz_owner WHERE quiz_id = ?";
+    private static final String FENCE_SQL =
+            "SELECT pg_terminate_backend(pid) FROM pg_locks WHERE locktype = 'advisory' AND granted " +
+            "AND classid::bigint = ? AND objid::bigint = ? AND objsubid = 2";
+
+    private final boolean clustered;
+    private final String nodeId;
+    private final long takeoverMillis;
+    private final DataSource dataSource;
+    private final Set<Long> owned = ConcurrentHashMap.newKeySet();
+
+    // Holds the advisory locks, guarded by this
+    private Connection lockConnection;
+
+    public QuizOwnership(GameProperties gameProperties, DataSource dataSource) {
+        this.clustered = gameProperties.isClusterEnabled();
+        this.nodeId = gameProperties.getClusterNodeId() == null || gameProperties.getClusterNodeId().isBlank()
+                ? defaultNodeId()
+                : gameProperties.getClusterNodeId();
+        this.takeoverMillis = gameProperties.getClusterTakeoverMillis();
+        this.dataSource = dataSource;
+    }
+
+    public boolean isClustered() {
+        return clustered;
+    }
+
+    public String nodeId() {
+        return nodeId;
+    }
+
+    /**
+     * Whether this node runs the quiz: always on a single node, in a cluster only while it owns it.
+     */
+    public boolean isLocal(Long quizId) {
+        return !clustered || owned.contains(quizId);
+    }
+
+    /**
+     * Gets the quizzes this node owns (a copy).
+     */
+    public Set<Long> ownedQuizzes() {
+        return Set.copyOf(owned);
+    }
+
+    /**
+     * Claims a quiz if no other node holds it, or if its owner has not renewed it within the
+     * takeover time (the owner is then fenced off first).
+     *
+     * @return whether this node now owns the quiz
+     */
+    public synchronized boolean claim(Long quizId) {
+        if (!clustered || owned.contains(quizId)) {
+            return true;
+        }
+        try {
+            Connection connection = lockConnection();
+            if (!tryLock(connection, quizId)) {
+                Optional<Owner> owner = owner(quizId);
+                if (owner.isEmpty() || owner.get().nodeId().equals(nodeId) || owner.get().ageMillis() < takeoverMillis) {
+                    return false;
+                }
+                logger.warn("Owner {} of quiz {} last renewed {} ms ago; fencing it off",
+                        owner.get().nodeId(), quizId, owner.get().ageMillis());
+                fence(connection, quizId);
+                if (!tryLock(connection, quizId)) {
+                    return false;
+                }
+            }
+            try (PreparedStatement claim = connection.prepareStatement(CLAIM_SQL)) {
+                claim.setLong(1, quizId);
+                claim.setString(2, nodeId);
+                claim.executeUpdate();
+            }
+            owned.add(quizId);
+            logger.info("Node {} owns quiz {}", nodeId, quizId);
+            return true;
+        } catch (SQLException e) {
+            logger.warn("Failed to claim quiz {}: {}", quizId, e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Gives up a quiz this node owns.
+     */
+    public synchronized void release(Long quizId) {
+        if (!clustered || !owned.remove(quizId)) {
+            return;
+        }
+        try {
+            Connection connection = lockConnection();
+            try (PreparedStatement release = connection.prepareStatement(RELEASE_SQL)) {
+                release.setLong(1, quizId);
+                release.setString(2, nodeId);
+                release.executeUpdate();
+            }
+            try (PreparedStatement unlock = connection.prepareStatement(UNLOCK_SQL)) {
+                unlock.setInt(1, LOCK_NAMESPACE);
+                unlock.setInt(2, lockKey(quizId));
+                unlock.executeQuery().close();
+            }
+            logger.info("Node {} released quiz {}", nodeId, quizId);
+        } catch (SQLException e) {
+            logger.warn("Failed to release quiz {}: {}", quizId, e.getMessage());
+        }
+    }
+
+    /**
+     * Renews every owned quiz, storing its latest state.
+     *
+     * @param states encoded state of each owned quiz
+     * @return the quizzes this node no longer owns: all of them if the lock connection is gone,
+     *         otherwise those whose row another node has claimed
+     */
+    public synchronized Set<Long> heartbeat(Map<Long, String> states) {
+        if (!clustered || owned.isEmpty()) {
+            return Set.of();
+        }
+        Set<Long> lost = new HashSet<>();
+        try {
+            Connection connection = lockConnection();
+            try (PreparedStatement heartbeat = connection.prepareStatement(HEARTBEAT_SQL)) {
+                for (Long quizId : owned) {
+                    heartbeat.setString(1, states.get(quizId));
+                    heartbeat.setLong(2, quizId);
+                    heartbeat.setString(3, nodeId);
+                    if (heartbeat.executeUpdate() == 0) {
+                        lost.add(quizId);
+                    }
+                }
+            }
+        } catch (SQLException e) {
+            // Locks live and die with the connection
+            logger.error("Lost the lock connection; giving up {} quizzes: {}", owned.size(), e.getMessage());
+            closeLockConnection();
+            lost.addAll(owned);
+        }
+        owned.removeAll(lost);
+        return lost;
+    }
+
+    /**
+     * Gets the state the quiz's last owner stored, if any.
+     */
+    public synchronized Optional<String> lastState(Long quizId) {
+        if (!clustered) {
+            return Optional.empty();
+        }
+        try {
+            return owner(quizId).map(Owner::state);
+        } catch (SQLException e) {
+            logger.warn("Failed to read state of quiz {}: {}", quizId, e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    @PreDestroy
+    public synchronized void shutdown() {
+        closeLockConnection();
+        owned.clear();
+    }
+
+    private boolean tryLock(Connection connection, Long quizId) throws SQLException {
+        try (PreparedStatement lock = connection.prepareStatement(TRY_LOCK_SQL)) {
+            lock.setInt(1, LOCK_NAMESPACE);
+            lock.setInt(2, lockKey(quizId));
+            try (ResultSet rs = lock.executeQuery()) {
+                return rs.next() && rs.getBoolean(1);
+            }
+        }
+    }
+
+    private void fence(Connection connection, Long quizId) throws SQLException {
+        try (PreparedStatement fence = connection.prepareStatement(FENCE_SQL)) {
+            fence.setLong(1, LOCK_NAMESPACE);
+            fence.setLong(2, lockKey(quizId));
+            fence.executeQuery().close();
+        }
+    }
+
+    private Optional<Owner> owner(Long quizId) throws SQLException {
+        try (PreparedStatement owner = lockConnection().prepareStatement(OWNER_SQL)) {
+            owner.setLong(1, quizId);
+            try (ResultSet rs = owner.executeQuery()) {
+                return rs.next()
+                        ? Optional.of(new Owner(rs.getString(1), rs.getLong(2), rs.getString(3)))
+                        : Optional.empty();
+            }
+        }
+    }
+
+    private Connection lockConnection() throws SQLException {
+        if (lockConnection == null || lockConnection.isClosed()) {
+            Connection connection = dataSource.getConnection();
+            connection.setAutoCommit(true);
+            try (Statement statement = connection.createStatement()) {
+                statement.execute(CREATE_TABLE_SQL);
+            }
+            lockConnection = connection;
+        }
+        return lockConnection;
+    }
+
+    private void closeLockConnection() {
+        if (lockConnection == null) {
+            return;
+        }
+        try {
+            lockConnection.close();
+        } catch (SQLException e) {
+            logger.debug("Failed to close lock connection: {}", e.getMessage());
+        }
+        lockConnection = null;
+    }
+
+    // Quiz IDs are sequence values well below 2^31; the lock key is the ID's low 32 bits
+    private static int lockKey(Long quizId) {
+        return (int) quizId.longValue();
+    }
+
+    private static String defaultNodeId() {
+        String host;
+        try {
+            host = InetAddress.getLocalHost().getHostName();
+        } catch (UnknownHostException e) {
+            host = "node";
+        }
+        return host + "-" + UUID.randomUUID().toString().substring(0, 8);
+    }
+
+    private record Owner(String nodeId, long ageMillis, String state) {}
+}
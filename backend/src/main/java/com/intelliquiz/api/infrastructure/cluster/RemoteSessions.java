@@ -0,0 +1,80 @@
+package com.intelliquiz.api.infrastructure.cluster;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * The clients other nodes have announced to this one, by the node they are connected to.
+ *
+ * Every node is heard from at least once a heartbeat. A node not heard from within the lease
+ * (the takeover time) is taken to be gone, and its clients are dropped so they no longer count
+ * as connected; if it is heard from again after all, it is treated as a node new to this one.
+ */
+final class RemoteSessions {
+
+    private static final Logger logger = LoggerFactory.getLogger(RemoteSessions.class);
+
+    private final long leaseMillis;
+
+    // Node ID -> when it was last heard from
+    private final Map<String, Long> lastHeard = new HashMap<>();
+    // Node ID -> its clients registered here
+    private final Map<String, Set<String>> sessions = new HashMap<>();
+
+    RemoteSessions(long leaseMillis) {
+        this.leaseMillis = leaseMillis;
+    }
+
+    /**
+     * Renews a node's lease.
+     *
+     * @return whether the node is new to this one, or back after its lease lapsed
+     */
+    synchronized boolean heard(String nodeId, long nowMillis) {
+        return lastHeard.put(nodeId, nowMillis) == null;
+    }
+
+    synchronized void connected(String nodeId, String sessionId) {
+        sessions.computeIfAbsent(nodeId, id -> new HashSet<>()).add(sessionId);
+    }
+
+    synchronized void disconnected(String nodeId, String sessionId) {
+        Set<String> clients = sessions.get(nodeId);
+        if (clients != null && clients.remove(sessionId) && clients.isEmpty()) {
+            sessions.remove(nodeId);
+        }
+    }
+
+    /**
+     * Forgets the nodes whose lease has lapsed.
+     *
+     * @return the clients they had announced, for the caller to unregister
+     */
+    synchronized List<String> expire(long nowMillis) {
+        List<String> dropped = new ArrayList<>();
+        Iterator<Map.Entry<String, Long>> nodes = lastHeard.entrySet().iterator();
+        while (nodes.hasNext()) {
+            Map.Entry<String, Long> node = nodes.next();
+            long silentMillis = nowMillis - node.getValue();
+            if (silentMillis < leaseMillis) {
+                continue;
+            }
+            nodes.remove();
+            Set<String> clients = sessions.remove(node.getKey());
+            if (clients != null) {
+                dropped.addAll(clients);
+            }
+            logger.warn("Node {} not heard from for {} ms; dropping its {} clients",
+                    node.getKey(), silentMillis, clients != null ? clients.size() : 0);
+        }
+        return dropped;
+    }
+}
@@ -0,0 +1,32 @@
+package com.intelliquiz.api.infrastructure.config;
+
+import com.intelliquiz.api.application.services.AccessCodeIndex;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.stereotype.Component;
+
+/**
+ * Indexes the access codes of quizzes that are already live on application startup.
+ */
+@Component
+public class AccessCodeIndexWarmer implements ApplicationRunner {
+
+    private static final Logger logger = LoggerFactory.getLogger(AccessCodeIndexWarmer.class);
+
+    private final AccessCodeIndex accessCodeIndex;
+
+    public AccessCodeIndexWarmer(AccessCodeIndex accessCodeIndex) {
+        this.accessCodeIndex = accessCodeIndex;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        try {
+            accessCodeIndex.warmLiveQuizzes();
+        } catch (Exception e) {
+            logger.error("Failed to index access codes of live quizzes; codes will be resolved from the database", e);
+        }
+    }
+}
@@ -0,0 +1,123 @@
+package com.intelliquiz.api.infrastructure.config;
+
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageHeaders;
+import org.springframework.messaging.converter.MessageConversionException;
+import org.springframework.messaging.converter.MessageConverter;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.util.MimeType;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A broker destination with its message headers computed once.
+ *
+ * Payloads are converted to bytes with the broker's message converter and wrapped with the
+ * destination's headers, giving a frame the broker can fan out as is: every subscriber
+ * session gets the same bytes. Frames of small immutable messages that repeat (timer ticks,
+ * game states) can be kept, so sending them again costs no conversion at all.
+ *
+ * A conflating destination marks its frames with a {@value ClientOutboundQueues#CONFLATION_HEADER}
+ * header, so a session that falls behind keeps only the latest of them (see {@link ClientOutboundQueues}).
+ * A quiz topic's frames also go through its quiz's {@link ReplayRing}, which numbers and keeps them.
+ */
+final class BroadcastDestination {
+
+    static final int MAX_CACHED_FRAMES = 512;
+    private static final MimeType NO_CONTENT_TYPE = MimeType.valueOf("application/octet-stream");
+
+    private final String name;
+    private final boolean conflating;
+    private final ReplayRing replay;
+    // Content type -> headers; in practice there is only JSON
+    private final Map<MimeType, MessageHeaders> headersByContentType = new ConcurrentHashMap<>(2);
+    // Payload -> encoded frame, for immutable payloads with value equality only
+    private final Map<Object, Message<byte[]>> frames = new ConcurrentHashMap<>();
+
+    BroadcastDestination(String name) {
+        this(name, false, null);
+    }
+
+    /**
+     * A destination whose frames are numbered and kept in the given ring.
+     */
+    BroadcastDestination(String name, ReplayRing replay) {
+        this(name, false, replay);
+    }
+
+    private BroadcastDestination(String name, boolean conflating, ReplayRing replay) {
+        this.name = name;
+        this.conflating = conflating;
+        this.replay = replay;
+    }
+
+    /**
+     * A destination whose frames each supersede the previous one (timer ticks, game states),
+     * numbered and kept in the given ring.
+     */
+    static BroadcastDestination conflating(String name, ReplayRing replay) {
+        return new BroadcastDestination(name, true, replay);
+    }
+
+    String name() {
+        return name;
+    }
+
+    /**
+     * Gets the ring this destination's frames are kept in, or null if they are not kept.
+     */
+    ReplayRing replay() {
+        return replay;
+    }
+
+    /**
+     * Encodes a payload into a frame for this destination.
+     */
+    @SuppressWarnings("unchecked")
+    Message<byte[]> encode(Object payload, MessageConverter converter) {
+        Message<?> converted = converter.toMessage(payload, null);
+        if (converted == null || !(converted.getPayload() instanceof byte[])) {
+            throw new MessageConversionException("Unable to convert payload of type " + payload.getClass().getName()
+                    + " to bytes for destination " + name);
+        }
+        MimeType contentType = converted.getHeaders().get(MessageHeaders.CONTENT_TYPE, MimeType.class);
+        return MessageBuilder.createMessage((byte[]) converted.getPayload(), headers(contentType));
+    }
+
+    /**
+     * Gets the kept frame of a payload, encoding it on first use. The payload must be immutable
+     * and compare by value. The cache is cleared once it holds {@link #MAX_CACHED_FRAMES} frames.
+     */
+    Message<byte[]> cached(Object payload, MessageConverter converter) {
+        Message<byte[]> frame = frames.get(payload);
+        if (frame == null) {
+            if (frames.size() >= MAX_CACHED_FRAMES) {
+                frames.clear();
+            }
+            frame = frames.computeIfAbsent(payload, p -> encode(p, converter));
+        }
+        return frame;
+    }
+
+    int cachedFrameCount() {
+        return frames.size();
+    }
+
+    private MessageHeaders headers(MimeType contentType) {
+        MimeType key = contentType != null ? contentType : NO_CONTENT_TYPE;
+        return headersByContentType.computeIfAbsent(key, type -> {
+            SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.create(SimpMessageType.MESSAGE);
+            accessor.setDestination(name);
+            if (contentType != null) {
+                accessor.setContentType(contentType);
+            }
+            if (conflating) {
+                accessor.setNativeHeader(ClientOutboundQueues.CONFLATION_HEADER, name);
+            }
+            return accessor.getMessageHeaders();
+        });
+    }
+}
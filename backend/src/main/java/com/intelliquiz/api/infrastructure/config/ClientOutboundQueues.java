@@ -0,0 +1,319 @@
+package com.intelliquiz.api.infrastructure.config;
+
+import com.intelliquiz.api.infrastructure.websocket.GameExecutors;
+import com.intelliquiz.api.infrastructure.websocket.InstrumentedExecutor;
+import com.intelliquiz.api.infrastructure.websocket.TimingWheel;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketHandler;
+import org.springframework.web.socket.WebSocketMessage;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.handler.SessionLimitExceededException;
+import org.springframework.web.socket.handler.WebSocketHandlerDecorator;
+import org.springframework.web.socket.handler.WebSocketHandlerDecoratorFactory;
+import org.springframework.web.socket.handler.WebSocketSessionDecorator;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Per-session outbound queues between the STOMP broker and each WebSocket session.
+ *
+ * The broker hands every frame for a session over at once, so a client on a slow connection
+ * piles up timer ticks and game states that the next one supersedes anyway. Here each session
+ * has its own queue, written to the socket by the outbound pool, and a frame carrying the
+ * {@value #CONFLATION_HEADER} header replaces the queued frame with the same key, unless a frame
+ * without one (question, reveal, confirmation, error) was queued after it. Those frames are
+ * never dropped or overtaken.
+ *
+ * A session is closed as not reliable, like Spring's own send limits do, when a write takes
+ * longer than {@code game.outbound-send-time-limit-millis} or its unsent frames exceed
+ * {@code game.outbound-buffer-size-limit-bytes}.
+ *
+ * When the outbound pool's queue is full, a session's writer is started again on the timing
+ * wheel shortly after, so its frames never wait for the session's next send.
+ */
+@Component
+public class ClientOutboundQueues implements WebSocketHandlerDecoratorFactory {
+
+    private static final Logger logger = LoggerFactory.getLogger(ClientOutboundQueues.class);
+
+    /**
+     * STOMP header whose value keys frames that supersede one another.
+     */
+    public static final String CONFLATION_HEADER = "conflation-key";
+    private static final String HEADER_PREFIX = CONFLATION_HEADER + ":";
+    private static final long WRITER_RETRY_MILLIS = 10;
+
+    private final InstrumentedExecutor writers;
+    private final TimingWheel wheel;
+    private final long sendTimeLimitNanos;
+    private final long bufferSizeLimit;
+
+    // Session ID -> queue
+    private final Map<String, SessionQueue> sessions = new ConcurrentHashMap<>();
+
+    private final LongAdder sent = new LongAdder();
+    private final LongAdder conflated = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    private final LongAdder slowSessions = new LongAdder();
+    private volatile boolean stopped;
+
+    public ClientOutboundQueues(GameProperties gameProperties, GameExecutors gameExecutors) {
+        this.writers = new InstrumentedExecutor("ws-outbound",
+                gameProperties.getOutboundThreads(), gameProperties.getOutboundQueueCapacity());
+        this.wheel = gameExecutors.wheel();
+        this.sendTimeLimitNanos = TimeUnit.MILLISECONDS.toNanos(gameProperties.getOutboundSendTimeLimitMillis());
+        this.bufferSizeLimit = gameProperties.getOutboundBufferSizeLimitBytes();
+    }
+
+    /**
+     * Hands the STOMP handler a queued session for each new connection.
+     */
+    @Override
+    public WebSocketHandler decorate(WebSocketHandler handler) {
+        return new WebSocketHandlerDecorator(handler) {
+            @Override
+            public void afterConnectionEstablished(WebSocketSession session) throws Exception {
+                super.afterConnectionEstablished(open(session));
+            }
+
+            @Override
+            public void afterConnectionClosed(WebSocketSession session, CloseStatus closeStatus) throws Exception {
+                SessionQueue queue = sessions.remove(session.getId());
+                if (queue != null) {
+                    queue.discard();
+                }
+                super.afterConnectionClosed(queue != null ? queue : session, closeStatus);
+            }
+        };
+    }
+
+    /**
+     * Wraps a session in its outbound queue.
+     */
+    WebSocketSession open(WebSocketSession session) {
+        SessionQueue queue = new SessionQueue(session);
+        sessions.put(session.getId(), queue);
+        return queue;
+    }
+
+    /**
+     * Gets the outbound counters, the sessions with unsent frames and the writer pool's metrics.
+     */
+    public Snapshot snapshot() {
+        int backlogged = 0;
+        long queued = 0;
+        for (SessionQueue queue : sessions.values()) {
+            int frames = queue.queuedFrames;
+            if (frames > 0) {
+                backlogged++;
+                queued += frames;
+            }
+        }
+        return new Snapshot(sessions.size(), backlogged, queued, sent.sum(), conflated.sum(),
+                dropped.sum(), slowSessions.sum(), writers.snapshot());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        stopped = true;
+        writers.shutdown();
+    }
+
+    /**
+     * Gets the conflation key from a frame's header lines, or null if it has none.
+     */
+    static String conflationKey(WebSocketMessage<?> message) {
+        if (!(message instanceof TextMessage text)) {
+            return null;
+        }
+        String frame = text.getPayload();
+        // Header lines follow the command line and end at the first empty line
+        int lineStart = frame.indexOf('\n') + 1;
+        while (lineStart > 0 && lineStart < frame.length()) {
+            int lineEnd = frame.indexOf('\n', lineStart);
+            if (lineEnd <= lineStart) {
+                return null;
+            }
+            if (frame.startsWith(HEADER_PREFIX, lineStart)) {
+                return frame.substring(lineStart + HEADER_PREFIX.length(), lineEnd);
+            }
+            lineStart = lineEnd + 1;
+        }
+        return null;
+    }
+
+    /**
+     * A session's unsent frames, written one at a time by a task on the outbound pool.
+     * Sending only queues the frame, so the broker's threads never wait on a slow client.
+     */
+    private final class SessionQueue extends WebSocketSessionDecorator {
+        // Guarded by this
+        private final Deque<Frame> frames = new ArrayDeque<>();
+        private long queuedBytes;
+        private boolean writing;
+
+        private volatile int queuedFrames;
+        // Start of the write in progress, 0 when none
+        private volatile long writeStartedNanos;
+        private volatile boolean closed;
+
+        SessionQueue(WebSocketSession delegate) {
+            super(delegate);
+        }
+
+        @Override
+        public void sendMessage(WebSocketMessage<?> message) throws IOException {
+            if (closed) {
+                dropped.increment();
+                return;
+            }
+            long started = writeStartedNanos;
+            if (started != 0 && System.nanoTime() - started > sendTimeLimitNanos) {
+                throw limitExceeded("Send time " + TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started)
+                        + " (ms) for session '" + getId() + "' exceeded the allowed limit");
+            }
+            String key = conflationKey(message);
+            boolean startWriter;
+            synchronized (this) {
+                if (key != null) {
+                    replaceQueued(key);
+                }
+                frames.addLast(new Frame(message, key));
+                queuedBytes += message.getPayloadLength();
+                queuedFrames = frames.size();
+                if (queuedBytes > bufferSizeLimit) {
+                    throw limitExceeded("Buffer size " + queuedBytes + " bytes for session '" + getId()
+                            + "' exceeded the allowed limit " + bufferSizeLimit);
+                }
+                startWriter = !writing;
+                writing = true;
+            }
+            if (startWriter) {
+                startWriter();
+            }
+        }
+
+        @Override
+        public void close(CloseStatus status) throws IOException {
+            discard();
+            super.close(status);
+        }
+
+        // Removes the queued frame with this key, searching back from the tail up to the first unkeyed frame
+        private void replaceQueued(String key) {
+            Iterator<Frame> newestFirst = frames.descendingIterator();
+            while (newestFirst.hasNext()) {
+                Frame queued = newestFirst.next();
+                if (queued.key == null) {
+                    return;
+                }
+                if (queued.key.equals(key)) {
+                    newestFirst.remove();
+                    queuedBytes -= queued.message.getPayloadLength();
+                    conflated.increment();
+                    return;
+                }
+            }
+        }
+
+        private void startWriter() {
+            try {
+                writers.execute(this::write);
+            } catch (RejectedExecutionException e) {
+                if (stopped) {
+                    discard();
+                    return;
+                }
+                // Still marked as writing, so later sends leave the retry to start it
+                logger.debug("Delayed frames for session {}: outbound queue full", getId());
+                wheel.schedule(this::startWriter, WRITER_RETRY_MILLIS, TimeUnit.MILLISECONDS);
+            }
+        }
+
+        private void write() {
+            while (true) {
+                Frame frame;
+                synchronized (this) {
+                    frame = closed ? null : frames.pollFirst();
+                    if (frame == null) {
+                        writing = false;
+                        return;
+                    }
+                    queuedBytes -= frame.message.getPayloadLength();
+                    queuedFrames = frames.size();
+                }
+                writeStartedNanos = System.nanoTime();
+                try {
+                    getDelegate().sendMessage(frame.message);
+                    sent.increment();
+                } catch (IOException | RuntimeException e) {
+                    logger.debug("Failed to send to session {}: {}", getId(), e.toString());
+                    dropped.increment();
+                    discard();
+                    closeQuietly();
+                    return;
+                } finally {
+                    writeStartedNanos = 0;
+                }
+            }
+        }
+
+        private SessionLimitExceededException limitExceeded(String reason) {
+            slowSessions.increment();
+            discard();
+            logger.warn("Closing slow session {}: {}", getId(), reason);
+            return new SessionLimitExceededException(reason, CloseStatus.SESSION_NOT_RELIABLE);
+        }
+
+        /**
+         * Stops sending and drops the unsent frames.
+         */
+        void discard() {
+            synchronized (this) {
+                closed = true;
+                dropped.add(frames.size());
+                frames.clear();
+                queuedBytes = 0;
+                queuedFrames = 0;
+            }
+        }
+
+        private void closeQuietly() {
+            try {
+                getDelegate().close(CloseStatus.SESSION_NOT_RELIABLE);
+            } catch (IOException | RuntimeException e) {
+                logger.debug("Failed to close session {}: {}", getId(), e.toString());
+            }
+        }
+    }
+
+    private record Frame(WebSocketMessage<?> message, String key) {}
+
+    /**
+     * Outbound counters: frames written, frames replaced by a newer one with the same key,
+     * frames dropped with their session, and sessions closed for exceeding a limit.
+     */
+    public record Snapshot(
+            int sessions,
+            int backloggedSessions,
+            long queuedFrames,
+            long sent,
+            long conflated,
+            long dropped,
+            long slowSessions,
+            InstrumentedExecutor.Snapshot writers
+    ) {}
+}
@@ -0,0 +1,348 @@
+package com.intelliquiz.api.infrastructure.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Configuration properties for the live game engine.
+ */
+@Component
+@ConfigurationProperties(prefix = "game")
+public class GameProperties {
+
+    private String journalDirectory = "./data/journal";
+    private boolean journalFsync = true;
+    private long journalSegmentBytes = 4L * 1024 * 1024;
+    private boolean checkpointEnabled = true;
+    private boolean checkpointFsync = false;
+    private TimerMode timerMode = TimerMode.TICK;
+    private long latencyGraceMaxMillis = 500;
+    private int tickThreads = 2;
+    private int tickQueueCapacity = 10_000;
+    private int gradingThreads = 4;
+    private int gradingQueueCapacity = 1_000;
+    private int broadcastThreads = 4;
+    private int broadcastQueueCapacity = 50_000;
+    private long liveDistributionIntervalMillis = 500;
+    private RevealMode revealMode = RevealMode.FULL;
+    private int revealTopK = 10;
+    private int actorMailboxCapacity = 10_000;
+    private long participantTokenTtlSeconds = 10_800;
+    private long participantTokenEpochRefreshMillis = 5_000;
+    private long permissionCacheTtlMillis = 5_000;
+    private long hostDigestIntervalMillis = 200;
+    private long hostDisconnectGraceMillis = 3_000;
+    private int outboundThreads = 16;
+    private int outboundQueueCapacity = 50_000;
+    private int outboundSendTimeLimitMillis = 10_000;
+    private int outboundBufferSizeLimitBytes = 512 * 1024;
+    private int brokerLanes = 0;
+    private int brokerQuantum = 64;
+    private int replayBufferFrames = 256;
+    private int maxLiveQuizzes = 50;
+    private int maxConnectedTeams = 10_000;
+    private boolean clusterEnabled = false;
+    private String clusterNodeId = "";
+    private long clusterHeartbeatMillis = 1_000;
+    private long clusterTakeoverMillis = 5_000;
+
+    public String getJournalDirectory() {
+        return journalDirectory;
+    }
+
+    public void setJournalDirectory(String journalDirectory) {
+        this.journalDirectory = journalDirectory;
+    }
+
+    public boolean isJournalFsync() {
+        return journalFsync;
+    }
+
+    public void setJournalFsync(boolean journalFsync) {
+        this.journalFsync = journalFsync;
+    }
+
+    public long getJournalSegmentBytes() {
+        return journalSegmentBytes;
+    }
+
+    public void setJournalSegmentBytes(long journalSegmentBytes) {
+        this.journalSegmentBytes = journalSegmentBytes;
+    }
+
+    public boolean isCheckpointEnabled() {
+        return checkpointEnabled;
+    }
+
+    public void setCheckpointEnabled(boolean checkpointEnabled) {
+        this.checkpointEnabled = checkpointEnabled;
+    }
+
+    public boolean isCheckpointFsync() {
+        return checkpointFsync;
+    }
+
+    public void setCheckpointFsync(boolean checkpointFsync) {
+        this.checkpointFsync = checkpointFsync;
+    }
+
+    public TimerMode getTimerMode() {
+        return timerMode;
+    }
+
+    public void setTimerMode(TimerMode timerMode) {
+        this.timerMode = timerMode;
+    }
+
+    public long getLatencyGraceMaxMillis() {
+        return latencyGraceMaxMillis;
+    }
+
+    public void setLatencyGraceMaxMillis(long latencyGraceMaxMillis) {
+        this.latencyGraceMaxMillis = latencyGraceMaxMillis;
+    }
+
+    public int getTickThreads() {
+        return tickThreads;
+    }
+
+    public void setTickThreads(int tickThreads) {
+        this.tickThreads = tickThreads;
+    }
+
+    public int getTickQueueCapacity() {
+        return tickQueueCapacity;
+    }
+
+    public void setTickQueueCapacity(int tickQueueCapacity) {
+        this.tickQueueCapacity = tickQueueCapacity;
+    }
+
+    public int getGradingThreads() {
+        return gradingThreads;
+    }
+
+    public void setGradingThreads(int gradingThreads) {
+        this.gradingThreads = gradingThreads;
+    }
+
+    public int getGradingQueueCapacity() {
+        return gradingQueueCapacity;
+    }
+
+    public void setGradingQueueCapacity(int gradingQueueCapacity) {
+        this.gradingQueueCapacity = gradingQueueCapacity;
+    }
+
+    public int getBroadcastThreads() {
+        return broadcastThreads;
+    }
+
+    public void setBroadcastThreads(int broadcastThreads) {
+        this.broadcastThreads = broadcastThreads;
+    }
+
+    public int getBroadcastQueueCapacity() {
+        return broadcastQueueCapacity;
+    }
+
+    public void setBroadcastQueueCapacity(int broadcastQueueCapacity) {
+        this.broadcastQueueCapacity = broadcastQueueCapacity;
+    }
+
+    public long getLiveDistributionIntervalMillis() {
+        return liveDistributionIntervalMillis;
+    }
+
+    public void setLiveDistributionIntervalMillis(long liveDistributionIntervalMillis) {
+        this.liveDistributionIntervalMillis = liveDistributionIntervalMillis;
+    }
+
+    public RevealMode getRevealMode() {
+        return revealMode;
+    }
+
+    public void setRevealMode(RevealMode revealMode) {
+        this.revealMode = revealMode;
+    }
+
+    public int getRevealTopK() {
+        return revealTopK;
+    }
+
+    public void setRevealTopK(int revealTopK) {
+        this.revealTopK = revealTopK;
+    }
+
+    public int getActorMailboxCapacity() {
+        return actorMailboxCapacity;
+    }
+
+    public void setActorMailboxCapacity(int actorMailboxCapacity) {
+        this.actorMailboxCapacity = actorMailboxCapacity;
+    }
+
+    public long getParticipantTokenTtlSeconds() {
+        return participantTokenTtlSeconds;
+    }
+
+    public void setParticipantTokenTtlSeconds(long participantTokenTtlSeconds) {
+        this.participantTokenTtlSeconds = participantTokenTtlSeconds;
+    }
+
+    public long getParticipantTokenEpochRefreshMillis() {
+        return participantTokenEpochRefreshMillis;
+    }
+
+    public void setParticipantTokenEpochRefreshMillis(long participantTokenEpochRefreshMillis) {
+        this.participantTokenEpochRefreshMillis = participantTokenEpochRefreshMillis;
+    }
+
+    public long getPermissionCacheTtlMillis() {
+        return permissionCacheTtlMillis;
+    }
+
+    public void setPermissionCacheTtlMillis(long permissionCacheTtlMillis) {
+        this.permissionCacheTtlMillis = permissionCacheTtlMillis;
+    }
+
+    public long getHostDigestIntervalMillis() {
+        return hostDigestIntervalMillis;
+    }
+
+    public void setHostDigestIntervalMillis(long hostDigestIntervalMillis) {
+        this.hostDigestIntervalMillis = hostDigestIntervalMillis;
+    }
+
+    public long getHostDisconnectGraceMillis() {
+        return hostDisconnectGraceMillis;
+    }
+
+    public void setHostDisconnectGraceMillis(long hostDisconnectGraceMillis) {
+        this.hostDisconnectGraceMillis = hostDisconnectGraceMillis;
+    }
+
+    public int getOutboundThreads() {
+        return outboundThreads;
+    }
+
+    public void setOutboundThreads(int outboundThreads) {
+        this.outboundThreads = outboundThreads;
+    }
+
+    public int getOutboundQueueCapacity() {
+        return outboundQueueCapacity;
+    }
+
+    public void setOutboundQueueCapacity(int outboundQueueCapacity) {
+        this.outboundQueueCapacity = outboundQueueCapacity;
+    }
+
+    public int getOutboundSendTimeLimitMillis() {
+        return outboundSendTimeLimitMillis;
+    }
+
+    public void setOutboundSendTimeLimitMillis(int outboundSendTimeLimitMillis) {
+        this.outboundSendTimeLimitMillis = outboundSendTimeLimitMillis;
+    }
+
+    public int getOutboundBufferSizeLimitBytes() {
+        return outboundBufferSizeLimitBytes;
+    }
+
+    public void setOutboundBufferSizeLimitBytes(int outboundBufferSizeLimitBytes) {
+        this.outboundBufferSizeLimitBytes = outboundBufferSizeLimitBytes;
+    }
+
+    public int getBrokerLanes() {
+        return brokerLanes;
+    }
+
+    public void setBrokerLanes(int brokerLanes) {
+        this.brokerLanes = brokerLanes;
+    }
+
+    public int getBrokerQuantum() {
+        return brokerQuantum;
+    }
+
+    public void setBrokerQuantum(int brokerQuantum) {
+        this.brokerQuantum = brokerQuantum;
+    }
+
+    public int getReplayBufferFrames() {
+        return replayBufferFrames;
+    }
+
+    public void setReplayBufferFrames(int replayBufferFrames) {
+        this.replayBufferFrames = replayBufferFrames;
+    }
+
+    public int getMaxLiveQuizzes() {
+        return maxLiveQuizzes;
+    }
+
+    public void setMaxLiveQuizzes(int maxLiveQuizzes) {
+        this.maxLiveQuizzes = maxLiveQuizzes;
+    }
+
+    public int getMaxConnectedTeams() {
+        return maxConnectedTeams;
+    }
+
+    public void setMaxConnectedTeams(int maxConnectedTeams) {
+        this.maxConnectedTeams = maxConnectedTeams;
+    }
+
+    public boolean isClusterEnabled() {
+        return clusterEnabled;
+    }
+
+    public void setClusterEnabled(boolean clusterEnabled) {
+        this.clusterEnabled = clusterEnabled;
+    }
+
+    public String getClusterNodeId() {
+        return clusterNodeId;
+    }
+
+    public void setClusterNodeId(String clusterNodeId) {
+        this.clusterNodeId = clusterNodeId;
+    }
+
+    public long getClusterHeartbeatMillis() {
+        return clusterHeartbeatMillis;
+    }
+
+    public void setClusterHeartbeatMillis(long clusterHeartbeatMillis) {
+        this.clusterHeartbeatMillis = clusterHeartbeatMillis;
+    }
+
+    public long getClusterTakeoverMillis() {
+        return clusterTakeoverMillis;
+    }
+
+    public void setClusterTakeoverMillis(long clusterTakeoverMillis) {
+        this.clusterTakeoverMillis = clusterTakeoverMillis;
+    }
+
+    /**
+     * How countdowns are sent to clients.
+     */
+    public enum TimerMode {
+        /** One timer message per second. */
+        TICK,
+        /** One message with the absolute deadline on start, pause, resume and expiry; clients count down locally. */
+        DEADLINE
+    }
+
+    /**
+     * How answer reveals are sent to clients.
+     */
+    public enum RevealMode {
+        /** Every client receives the full results table of all teams. */
+        FULL,
+        /** Clients receive a summary with the leaderboard top plus their own result; only the host gets the full table. */
+        SPLIT
+    }
+}
@@ -13,9 +13,11 @@ import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
 import java.util.List;
+import java.util.Optional;
 
 /**
  * JWT authentication filter that validates tokens on each request.
+ * Each token is parsed and verified once through {@link JwtConfig#verify(String)}.
  */
 @Component
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
@@ -38,26 +40,21 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             return;
         }
 
-        try {
-            final String jwt = authHeader.substring(7);
-            final String username = jwtConfig.extractUsername(jwt);
-            final String role = jwtConfig.extractRole(jwt);
+        final String jwt = authHeader.substring(7);
+        Optional<JwtConfig.VerifiedToken> verified = jwtConfig.verify(jwt);
 
-            if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-                if (jwtConfig.validateToken(jwt, username)) {
-                    List<SimpleGrantedAuthority> authorities = List.of(
-                            new SimpleGrantedAuthority("ROLE_" + role)
-                    );
-                    
-                    UsernamePasswordAuthenticationToken authToken = 
-                            new UsernamePasswordAuthenticationToken(username, null, authorities);
-                    authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
-                    SecurityContextHolder.getContext().setAuthentication(authToken);
-                }
-            }
-        } catch (Exception e) {
+        if (verified.isPresent() && SecurityContextHolder.getContext().getAuthentication() == null) {
+            List<SimpleGrantedAuthority> authorities = List.of(
+                    new SimpleGrantedAuthority("ROLE_" + verified.get().role())
+            );
+
+            UsernamePasswordAuthenticationToken authToken =
+                    new UsernamePasswordAuthenticationToken(verified.get().username(), null, authorities);
+            authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+            SecurityContextHolder.getContext().setAuthentication(authToken);
+        } else if (verified.isEmpty()) {
             // Invalid token - continue without authentication
-            logger.debug("Invalid JWT token: " + e.getMessage());
+            logger.debug("Invalid or expired JWT token");
         }
 
         filterChain.doFilter(request, response);
@@ -1,6 +1,8 @@
 package com.intelliquiz.api.infrastructure.config;
 
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.security.Keys;
 import org.springframework.beans.factory.annotation.Value;
@@ -11,19 +13,39 @@ import java.nio.charset.StandardCharsets;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Function;
 
 /**
  * JWT configuration and utility class for token generation and validation.
+ *
+ * The signing key and parser are built once, in the constructor. {@link #verify(String)} parses
+ * and checks a token once and remembers the result until the token expires, so a client
+ * polling with the same token is not re-verified on every request. The cache holds at most
+ * {@code jwt.claims-cache-size} tokens; when it is full of unexpired tokens, new ones are
+ * verified without being cached.
  */
 @Component
 public class JwtConfig {
 
-    @Value("${jwt.secret:defaultSecretKeyThatShouldBeChangedInProduction123456}")
-    private String secret;
+    private final long expiration; // Milliseconds
+    private final int claimsCacheSize;
+    private final SecretKey signingKey;
+    private final JwtParser parser;
 
-    @Value("${jwt.expiration:86400000}")
-    private long expiration; // Default 24 hours in milliseconds
+    // Token -> verified subject, role and expiry
+    private final Map<String, VerifiedToken> verifiedTokens = new ConcurrentHashMap<>();
+
+    public JwtConfig(
+            @Value("${jwt.secret:defaultSecretKeyThatShouldBeChangedInProduction123456}") String secret,
+            @Value("${jwt.expiration:86400000}") long expiration, // Default 24 hours
+            @Value("${jwt.claims-cache-size:10000}") int claimsCacheSize) {
+        this.expiration = expiration;
+        this.claimsCacheSize = claimsCacheSize;
+        this.signingKey = Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
+        this.parser = Jwts.parser().verifyWith(signingKey).build();
+    }
 
     /**
      * Generates a JWT token for the given username.
@@ -40,16 +62,45 @@ public class JwtConfig {
                 .subject(subject)
                 .issuedAt(new Date(System.currentTimeMillis()))
                 .expiration(new Date(System.currentTimeMillis() + expiration))
-                .signWith(getSigningKey())
+                .signWith(signingKey)
                 .compact();
     }
 
+    /**
+     * Verifies a JWT token's signature and expiry, parsing it at most once while it is cached.
+     *
+     * @return the token's subject, role and expiry, or empty if it is not valid
+     */
+    public Optional<VerifiedToken> verify(String token) {
+        long now = System.currentTimeMillis();
+        VerifiedToken cached = verifiedTokens.get(token);
+        if (cached != null) {
+            if (cached.expiresAtMillis() > now) {
+                return Optional.of(cached);
+            }
+            verifiedTokens.remove(token, cached);
+            return Optional.empty();
+        }
+        try {
+            Claims claims = extractAllClaims(token);
+            Date expiresAt = claims.getExpiration();
+            if (claims.getSubject() == null || expiresAt == null) {
+                return Optional.empty();
+            }
+            VerifiedToken verified = new VerifiedToken(
+                    claims.getSubject(), claims.get("role", String.class), expiresAt.getTime());
+            remember(token, verified, now);
+            return Optional.of(verified);
+        } catch (JwtException | IllegalArgumentException e) {
+            return Optional.empty();
+        }
+    }
+
     /**
      * Validates a JWT token.
      */
     public boolean validateToken(String token, String username) {
-        final String extractedUsername = extractUsername(token);
-        return (extractedUsername.equals(username) && !isTokenExpired(token));
+        return verify(token).map(verified -> verified.username().equals(username)).orElse(false);
     }
 
     /**
@@ -79,19 +130,23 @@ public class JwtConfig {
     }
 
     private Claims extractAllClaims(String token) {
-        return Jwts.parser()
-                .verifyWith(getSigningKey())
-                .build()
+        return parser
                 .parseSignedClaims(token)
                 .getPayload();
     }
 
-    private boolean isTokenExpired(String token) {
-        return extractExpiration(token).before(new Date());
+    private void remember(String token, VerifiedToken verified, long now) {
+        if (verifiedTokens.size() >= claimsCacheSize) {
+            verifiedTokens.values().removeIf(entry -> entry.expiresAtMillis() <= now);
+            if (verifiedTokens.size() >= claimsCacheSize) {
+                return;
+            }
+        }
+        verifiedTokens.put(token, verified);
     }
 
-    private SecretKey getSigningKey() {
-        byte[] keyBytes = secret.getBytes(StandardCharsets.UTF_8);
-        return Keys.hmacShaKeyFor(keyBytes);
-    }
+    /**
+     * Subject, role and expiry of a token whose signature has been verified.
+     */
+    public record VerifiedToken(String username, String role, long expiresAtMillis) {}
 }
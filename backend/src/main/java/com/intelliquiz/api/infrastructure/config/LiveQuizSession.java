@@ -0,0 +1,237 @@
+package com.intelliquiz.api.infrastructure.config;
+
+import com.intelliquiz.api.infrastructure.websocket.AtomicBitSet;
+import com.intelliquiz.api.infrastructure.websocket.GameState;
+import com.intelliquiz.api.infrastructure.websocket.TeamIndex;
+
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.UnaryOperator;
+
+/**
+ * Everything {@link QuizSessionManager} tracks for one live quiz, in one place.
+ *
+ * The game flow (state, question index and question ID) is one immutable {@link Flow}
+ * swapped with compare-and-set, so readers always see the three values together and a
+ * transition such as ACTIVE to GRADING happens at most once. The session IDs of the quiz
+ * are kept here as well, so the quiz can be cleared without scanning other quizzes' connections.
+ *
+ * Teams are numbered by the session's {@link TeamIndex} and "is connected" is one bit per team.
+ * A session started by a connection made before the quiz was activated numbers teams as they
+ * connect, until activation {@linkplain #renumbered(TeamIndex) renumbers} it.
+ * Team names are kept too, so host notifications need no lookup per connecting team.
+ */
+public class LiveQuizSession {
+
+    private final Long quizId;
+    private final AtomicReference<Flow> flow = new AtomicReference<>(Flow.INITIAL);
+    private final AtomicReference<String> hostSessionId = new AtomicReference<>();
+    private volatile String roundName;
+    private final TeamIndex teams;
+    private final boolean numbered;
+    private final AtomicBitSet connectedTeams;
+    private final Set<String> sessionIds = ConcurrentHashMap.newKeySet();
+    private final Map<Long, String> teamNames = new ConcurrentHashMap<>();
+
+    public LiveQuizSession(Long quizId) {
+        this(quizId, TeamIndex.empty(), false);
+    }
+
+    public LiveQuizSession(Long quizId, TeamIndex teams) {
+        this(quizId, teams, true);
+    }
+
+    private LiveQuizSession(Long quizId, TeamIndex teams, boolean numbered) {
+        this.quizId = quizId;
+        this.teams = teams;
+        this.numbered = numbered;
+        this.connectedTeams = new AtomicBitSet(teams.size());
+    }
+
+    public Long getQuizId() {
+        return quizId;
+    }
+
+    // ==================== Game Flow ====================
+
+    public Flow getFlow() {
+        return flow.get();
+    }
+
+    /**
+     * Gets the name of the round being played, or null before the first round starts.
+     */
+    public String getRoundName() {
+        return roundName;
+    }
+
+    void setRoundName(String roundName) {
+        this.roundName = roundName;
+    }
+
+    /**
+     * Replaces the flow only if it is still {@code expected} (by identity).
+     */
+    public boolean compareAndSetFlow(Flow expected, Flow next) {
+        return flow.compareAndSet(expected, next);
+    }
+
+    /**
+     * Applies an update to the flow, retrying if another thread changed it first.
+     *
+     * @return the flow that was installed
+     */
+    public Flow updateFlow(UnaryOperator<Flow> update) {
+        return flow.updateAndGet(update);
+    }
+
+    /**
+     * Moves to {@code to} only if the current state is {@code from}, keeping index and question.
+     *
+     * @return whether this call made the transition
+     */
+    public boolean transition(GameState from, GameState to) {
+        while (true) {
+            Flow current = flow.get();
+            if (current.state() != from) {
+                return false;
+            }
+            if (flow.compareAndSet(current, current.withState(to))) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Moves to {@code to} only if the current state is {@code from} and {@code questionId} is
+     * still the current question, so a late transition for a question cannot move its successor.
+     *
+     * @return whether this call made the transition
+     */
+    public boolean transition(Long questionId, GameState from, GameState to) {
+        while (true) {
+            Flow current = flow.get();
+            if (current.state() != from || !Objects.equals(current.questionId(), questionId)) {
+                return false;
+            }
+            if (flow.compareAndSet(current, current.withState(to))) {
+                return true;
+            }
+        }
+    }
+
+    // ==================== Connections ====================
+
+    public String getHostSessionId() {
+        return hostSessionId.get();
+    }
+
+    void setHost(String sessionId) {
+        hostSessionId.set(sessionId);
+        sessionIds.add(sessionId);
+    }
+
+    /**
+     * Clears the host only if {@code sessionId} is still the host's session.
+     */
+    void removeHost(String sessionId) {
+        hostSessionId.compareAndSet(sessionId, null);
+        sessionIds.remove(sessionId);
+    }
+
+    public TeamIndex getTeamIndex() {
+        return teams;
+    }
+
+    /**
+     * Whether the quiz's teams were numbered up front on activation, rather than as they connected.
+     */
+    public boolean isNumbered() {
+        return numbered;
+    }
+
+    /**
+     * Copies this session onto the numbering made on activation, with its flow and connections.
+     * A connected team missing from the numbering gets the next number.
+     */
+    LiveQuizSession renumbered(TeamIndex numbering) {
+        LiveQuizSession session = new LiveQuizSession(quizId, numbering, true);
+        session.flow.set(flow.get());
+        session.hostSessionId.set(hostSessionId.get());
+        session.roundName = roundName;
+        session.sessionIds.addAll(sessionIds);
+        session.teamNames.putAll(teamNames);
+        connectedTeams.forEach(index -> session.connectedTeams.set(numbering.indexOrAdd(teams.teamId(index))));
+        return session;
+    }
+
+    /**
+     * Gets the IDs of the connected teams (a copy).
+     */
+    public Set<Long> getConnectedTeams() {
+        Set<Long> teamIds = new HashSet<>(connectedTeams.cardinality() * 2);
+        connectedTeams.forEach(index -> teamIds.add(teams.teamId(index)));
+        return teamIds;
+    }
+
+    public int getConnectedTeamCount() {
+        return connectedTeams.cardinality();
+    }
+
+    public boolean isTeamConnected(Long teamId) {
+        int index = teams.indexOf(teamId);
+        return index != TeamIndex.NOT_FOUND && connectedTeams.get(index);
+    }
+
+    /**
+     * Gets a team's name, or null if the session has not been told it.
+     */
+    public String getTeamName(Long teamId) {
+        return teamNames.get(teamId);
+    }
+
+    public void putTeamName(Long teamId, String teamName) {
+        teamNames.put(teamId, teamName);
+    }
+
+    void addTeam(Long teamId, String sessionId) {
+        connectedTeams.set(teams.indexOrAdd(teamId));
+        sessionIds.add(sessionId);
+    }
+
+    void removeTeam(Long teamId, String sessionId) {
+        int index = teams.indexOf(teamId);
+        if (index != TeamIndex.NOT_FOUND) {
+            connectedTeams.clear(index);
+        }
+        sessionIds.remove(sessionId);
+    }
+
+    Set<String> getSessionIds() {
+        return sessionIds;
+    }
+
+    /**
+     * Immutable game flow of a quiz: state, current question index and current question ID.
+     */
+    public record Flow(GameState state, int questionIndex, Long questionId) {
+
+        public static final Flow INITIAL = new Flow(GameState.LOBBY, 0, null);
+
+        public Flow withState(GameState state) {
+            return new Flow(state, questionIndex, questionId);
+        }
+
+        public Flow withQuestionIndex(int questionIndex) {
+            return new Flow(state, questionIndex, questionId);
+        }
+
+        public Flow withQuestionId(Long questionId) {
+            return new Flow(state, questionIndex, questionId);
+        }
+    }
+}
@@ -0,0 +1,168 @@
+package com.intelliquiz.api.infrastructure.config;
+
+import com.intelliquiz.api.application.events.QuizDeactivatedEvent;
+import com.intelliquiz.api.application.events.TeamRemovedEvent;
+import com.intelliquiz.api.application.services.AccessIdentity;
+import com.intelliquiz.api.application.services.RouteType;
+import com.intelliquiz.api.domain.ports.QuizRepository;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import javax.crypto.Mac;
+import javax.crypto.SecretKey;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.util.Date;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Issues and verifies the short-lived signed tokens that let participants and hosts
+ * reconnect over WebSocket without resolving their access code again.
+ *
+ * A token carries the quiz, team and role it was issued for, and the quiz's revocation
+ * epoch at the time. Deactivating the quiz or removing one of its teams moves the epoch on,
+ * which revokes every token issued for the quiz before. The epoch is kept with the quiz in
+ * the database, so every node, before and after a restart, accepts the same tokens. Verifying
+ * needs only the cached HMAC key and a cached copy of the epoch, read again once it is older
+ * than {@code game.participant-token-epoch-refresh-millis}: a revocation on another node is
+ * seen here within that time.
+ *
+ * The key is derived from the JWT secret but differs from the admin signing key, so admin
+ * tokens and participant tokens are never accepted in place of each other.
+ */
+@Component
+public class ParticipantTokenService {
+
+    private static final String KEY_LABEL = "intelliquiz-participant-token";
+    private static final String QUIZ_CLAIM = "qid";
+    private static final String TEAM_CLAIM = "tid";
+    private static final String ROLE_CLAIM = "role";
+    private static final String EPOCH_CLAIM = "epo";
+
+    private final SecretKey key;
+    private final JwtParser parser;
+    private final long ttlMillis;
+    private final long epochRefreshMillis;
+    private final QuizRepository quizRepository;
+
+    // Quiz ID -> revocation epoch as last read from the database
+    private final Map<Long, CachedEpoch> epochs = new ConcurrentHashMap<>();
+
+    public ParticipantTokenService(
+            @Value("${jwt.secret:defaultSecretKeyThatShouldBeChangedInProduction123456}") String secret,
+            GameProperties gameProperties,
+            QuizRepository quizRepository) {
+        this.key = deriveKey(secret);
+        this.parser = Jwts.parser().verifyWith(key).build();
+        this.ttlMillis = gameProperties.getParticipantTokenTtlSeconds() * 1000;
+        this.epochRefreshMillis = gameProperties.getParticipantTokenEpochRefreshMillis();
+        this.quizRepository = quizRepository;
+    }
+
+    /**
+     * Issues a token for a resolved participant or host.
+     */
+    public String issue(AccessIdentity identity) {
+        if (identity.routeType() == RouteType.INVALID) {
+            throw new IllegalArgumentException("Cannot issue a token for an invalid access code");
+        }
+        long now = System.currentTimeMillis();
+        var builder = Jwts.builder()
+                .claim(QUIZ_CLAIM, identity.quizId())
+                .claim(ROLE_CLAIM, identity.routeType().name())
+                .claim(EPOCH_CLAIM, epoch(identity.quizId()))
+                .issuedAt(new Date(now))
+                .expiration(new Date(now + ttlMillis));
+        if (identity.teamId() != null) {
+            builder.claim(TEAM_CLAIM, identity.teamId());
+        }
+        return builder.signWith(key).compact();
+    }
+
+    /**
+     * Verifies a token: signature, expiry and revocation epoch. Reads the database only when
+     * the quiz's cached epoch is due to be read again.
+     *
+     * @return the identity the token was issued for, or empty if it is not valid
+     */
+    public Optional<AccessIdentity> verify(String token) {
+        if (token == null || token.isBlank()) {
+            return Optional.empty();
+        }
+        try {
+            Claims claims = parser.parseSignedClaims(token).getPayload();
+            Long quizId = claims.get(QUIZ_CLAIM, Long.class);
+            Long teamId = claims.get(TEAM_CLAIM, Long.class);
+            Long epoch = claims.get(EPOCH_CLAIM, Long.class);
+            String role = claims.get(ROLE_CLAIM, String.class);
+            if (quizId == null || epoch == null || epoch != epoch(quizId)) {
+                return Optional.empty();
+            }
+            if (RouteType.HOST.name().equals(role)) {
+                return Optional.of(new AccessIdentity(RouteType.HOST, quizId, null, null));
+            }
+            if (RouteType.PARTICIPANT.name().equals(role) && teamId != null) {
+                return Optional.of(new AccessIdentity(RouteType.PARTICIPANT, quizId, teamId, null));
+            }
+            return Optional.empty();
+        } catch (JwtException | IllegalArgumentException e) {
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Gets a quiz's current revocation epoch.
+     */
+    public long epoch(Long quizId) {
+        long now = System.currentTimeMillis();
+        CachedEpoch cached = epochs.get(quizId);
+        if (cached != null && now - cached.readAt() < epochRefreshMillis) {
+            return cached.epoch();
+        }
+        return remember(quizId, new CachedEpoch(quizRepository.findTokenEpoch(quizId), now));
+    }
+
+    /**
+     * Revokes every token issued so far for a quiz, on every node.
+     */
+    public void revoke(Long quizId) {
+        remember(quizId, new CachedEpoch(quizRepository.incrementTokenEpoch(quizId), System.currentTimeMillis()));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onQuizDeactivated(QuizDeactivatedEvent event) {
+        revoke(event.quizId());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTeamRemoved(TeamRemovedEvent event) {
+        revoke(event.quizId());
+    }
+
+    // Epochs only move on, so a read that raced a revocation never replaces the newer epoch
+    private long remember(Long quizId, CachedEpoch read) {
+        return epochs.merge(quizId, read, (current, next) ->
+                next.epoch() >= current.epoch() ? next : new CachedEpoch(current.epoch(), next.readAt())).epoch();
+    }
+
+    private static SecretKey deriveKey(String secret) {
+        try {
+            Mac mac = Mac.getInstance("HmacSHA256");
+            mac.init(new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), "HmacSHA256"));
+            return Keys.hmacShaKeyFor(mac.doFinal(KEY_LABEL.getBytes(StandardCharsets.UTF_8)));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Unable to derive the participant token key", e);
+        }
+    }
+
+    private record CachedEpoch(long epoch, long readAt) {}
+}
@@ -1,38 +1,59 @@
 package com.intelliquiz.api.infrastructure.config;
 
-import com.intelliquiz.api.domain.entities.Team;
-import com.intelliquiz.api.domain.ports.TeamRepository;
 import com.intelliquiz.api.infrastructure.websocket.GameState;
 import com.intelliquiz.api.infrastructure.websocket.dto.*;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.MessageDeliveryException;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
 import org.springframework.messaging.simp.SimpMessagingTemplate;
 import org.springframework.stereotype.Service;
 
-import java.time.Instant;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Service for broadcasting WebSocket messages to quiz clients.
  * Handles game state, timer, question, and notification broadcasts.
+ *
+ * Each message is encoded to bytes once and handed to the broker with headers computed once
+ * per destination, so every subscriber gets the same frame. Timer, buffer and game state
+ * messages repeat across ticks and questions and are kept encoded per quiz.
+ *
+ * Frames to a quiz's topics are numbered in a {@value #SEQUENCE_HEADER} header and the last
+ * {@code game.replay-buffer-frames} of them kept, so a client that reconnects can be sent just
+ * the frames it missed.
  */
 @Service
 public class QuizBroadcastService {
 
     private static final Logger logger = LoggerFactory.getLogger(QuizBroadcastService.class);
 
+    /** Header carrying a quiz topic frame's position in its quiz's sequence. */
+    public static final String SEQUENCE_HEADER = "quiz-seq";
+
     private final SimpMessagingTemplate messagingTemplate;
     private final QuizSessionManager sessionManager;
-    private final TeamRepository teamRepository;
+    private final int replayFrames;
+
+    // Quiz ID -> destinations of the quiz
+    private final Map<Long, QuizDestinations> destinations = new ConcurrentHashMap<>();
 
     public QuizBroadcastService(
             SimpMessagingTemplate messagingTemplate,
             QuizSessionManager sessionManager,
-            TeamRepository teamRepository
+            GameProperties gameProperties
     ) {
         this.messagingTemplate = messagingTemplate;
         this.sessionManager = sessionManager;
-        this.teamRepository = teamRepository;
+        this.replayFrames = gameProperties.getReplayBufferFrames();
     }
 
     // ==================== Game State Broadcasts ====================
@@ -42,10 +63,7 @@ public class QuizBroadcastService {
      */
     public void broadcastGameState(Long quizId, GameStateMessage stateMessage) {
         sessionManager.setCurrentState(quizId, stateMessage.state());
-        messagingTemplate.convertAndSend(
-                "/topic/quiz/" + quizId + "/state",
-                stateMessage
-        );
+        sendCached(destinations(quizId).gameState, stateMessage);
         logger.debug("Broadcast game state {} to quiz {}", stateMessage.state(), quizId);
     }
 
@@ -56,10 +74,7 @@ public class QuizBroadcastService {
      */
     public void broadcastBufferTick(Long quizId, int remainingSeconds, String roundName) {
         BufferMessage message = BufferMessage.create(remainingSeconds, roundName);
-        messagingTemplate.convertAndSend(
-                "/topic/quiz/" + quizId + "/timer",
-                message
-        );
+        sendCached(destinations(quizId).timer, message);
     }
 
     /**
@@ -67,10 +82,7 @@ public class QuizBroadcastService {
      */
     public void broadcastTimerTick(Long quizId, int remainingSeconds, int totalSeconds) {
         TimerMessage message = TimerMessage.active(remainingSeconds, totalSeconds);
-        messagingTemplate.convertAndSend(
-                "/topic/quiz/" + quizId + "/timer",
-                message
-        );
+        sendCached(destinations(quizId).timer, message);
     }
 
     /**
@@ -78,10 +90,7 @@ public class QuizBroadcastService {
      */
     public void broadcastTimerExpired(Long quizId, int totalSeconds) {
         TimerMessage message = TimerMessage.expired(totalSeconds);
-        messagingTemplate.convertAndSend(
-                "/topic/quiz/" + quizId + "/timer",
-                message
-        );
+        sendCached(destinations(quizId).timer, message);
     }
 
     /**
@@ -89,10 +98,15 @@ public class QuizBroadcastService {
      */
     public void broadcastTimerPaused(Long quizId, int remainingSeconds, int totalSeconds) {
         TimerMessage message = TimerMessage.paused(remainingSeconds, totalSeconds);
-        messagingTemplate.convertAndSend(
-                "/topic/quiz/" + quizId + "/timer",
-                message
-        );
+        sendCached(destinations(quizId).timer, message);
+    }
+
+    /**
+     * Broadcasts a deadline-based timer update (start, pause, resume or expiry) to all clients.
+     */
+    public void broadcastTimerDeadline(Long quizId, TimerDeadlineMessage message) {
+        send(destinations(quizId).timer, message);
+        logger.debug("Broadcast timer {} {} to quiz {}", message.phase(), message.status(), quizId);
     }
 
     // ==================== Question Broadcasts ====================
@@ -101,10 +115,7 @@ public class QuizBroadcastService {
      * Broadcasts question to all clients (JIT - no correctKey).
      */
     public void broadcastQuestion(Long quizId, QuestionPayload question) {
-        messagingTemplate.convertAndSend(
-                "/topic/quiz/" + quizId + "/state",
-                question
-        );
+        send(destinations(quizId).state, question);
         logger.debug("Broadcast question {} to quiz {}", question.questionId(), quizId);
     }
 
@@ -112,23 +123,32 @@ public class QuizBroadcastService {
      * Broadcasts answer reveal to all clients.
      */
     public void broadcastAnswerReveal(Long quizId, AnswerRevealPayload reveal) {
-        messagingTemplate.convertAndSend(
-                "/topic/quiz/" + quizId + "/state",
-                reveal
-        );
+        send(destinations(quizId).state, reveal);
         logger.debug("Broadcast answer reveal for question {} to quiz {}", reveal.questionId(), quizId);
     }
 
+    /**
+     * Broadcasts a split answer reveal: the summary with the leaderboard top to all clients,
+     * each team's own result to its team queue, and the full results table to the host only.
+     * Every team receives one summary and one result instead of the whole table.
+     */
+    public void broadcastSplitReveal(Long quizId, AnswerRevealPayload reveal, int topK) {
+        send(destinations(quizId).state, RevealSummary.from(reveal, topK));
+        for (TeamResult result : reveal.teamResults()) {
+            sendToTeam(quizId, result.teamId(), new TeamReveal(reveal.questionId(), result));
+        }
+        sendToHost(quizId, HostNotification.answerReveal(reveal));
+        logger.debug("Broadcast split answer reveal for question {} to quiz {} with {} teams",
+                reveal.questionId(), quizId, reveal.teamResults().size());
+    }
+
     // ==================== Scoreboard Broadcasts ====================
 
     /**
      * Broadcasts scoreboard to all clients.
      */
     public void broadcastScoreboard(Long quizId, List<TeamResult> scores) {
-        messagingTemplate.convertAndSend(
-                "/topic/quiz/" + quizId + "/state",
-                scores
-        );
+        send(destinations(quizId).state, scores);
         logger.debug("Broadcast scoreboard to quiz {} with {} teams", quizId, scores.size());
     }
 
@@ -138,45 +158,10 @@ public class QuizBroadcastService {
      * Sends notification to host only.
      */
     public void sendToHost(Long quizId, HostNotification notification) {
-        messagingTemplate.convertAndSend(
-                "/topic/quiz/" + quizId + "/host",
-                notification
-        );
+        send(destinations(quizId).host, notification);
         logger.debug("Sent host notification {} to quiz {}", notification.type(), quizId);
     }
 
-    /**
-     * Notifies host that a team joined.
-     */
-    public void notifyTeamJoined(Long quizId, Long teamId) {
-        teamRepository.findById(teamId).ifPresent(team -> {
-            TeamInfo teamInfo = TeamInfo.connected(team, Instant.now());
-            sendToHost(quizId, HostNotification.teamJoined(teamInfo));
-            
-            // Also broadcast updated team count
-            int connectedCount = sessionManager.getConnectedTeamCount(quizId);
-            sendToHost(quizId, new HostNotification("TEAM_COUNT", connectedCount));
-        });
-    }
-
-    /**
-     * Notifies host that a team disconnected.
-     */
-    public void notifyTeamDisconnected(Long quizId, Long teamId) {
-        sendToHost(quizId, HostNotification.teamDisconnected(teamId));
-        
-        // Also broadcast updated team count
-        int connectedCount = sessionManager.getConnectedTeamCount(quizId);
-        sendToHost(quizId, new HostNotification("TEAM_COUNT", connectedCount));
-    }
-
-    /**
-     * Notifies host that a team submitted an answer (without revealing the answer).
-     */
-    public void notifyTeamSubmitted(Long quizId, Long teamId) {
-        sendToHost(quizId, HostNotification.teamSubmitted(teamId));
-    }
-
     /**
      * Notifies host that all teams have submitted.
      */
@@ -202,10 +187,7 @@ public class QuizBroadcastService {
      * Sends message to a specific team.
      */
     public void sendToTeam(Long quizId, Long teamId, Object message) {
-        messagingTemplate.convertAndSend(
-                "/queue/team/" + teamId,
-                message
-        );
+        send(destinations(quizId).team(teamId), message);
     }
 
     /**
@@ -229,6 +211,118 @@ public class QuizBroadcastService {
         logger.debug("Sent error {} to session {}", error.code(), sessionId);
     }
 
+    // ==================== Replay ====================
+
+    /**
+     * Gets the position of the last frame sent to the quiz's topics.
+     */
+    public String sequencePosition(Long quizId) {
+        return destinations(quizId).replay.position();
+    }
+
+    /**
+     * Gets the frames sent to the quiz's topics after a position, oldest first, leaving out host
+     * topic frames for clients other than the host. Empty if the position is not one of the
+     * quiz's current sequence, or the frames after it are no longer all kept.
+     */
+    public Optional<List<ReplayMessage.Frame>> framesSince(Long quizId, String position, boolean host) {
+        QuizDestinations quiz = destinations(quizId);
+        List<Message<byte[]>> missed = quiz.replay.since(position);
+        if (missed == null) {
+            return Optional.empty();
+        }
+        List<ReplayMessage.Frame> frames = new ArrayList<>(missed.size());
+        for (Message<byte[]> frame : missed) {
+            String destination = SimpMessageHeaderAccessor.getDestination(frame.getHeaders());
+            if (host || !quiz.host.name().equals(destination)) {
+                frames.add(new ReplayMessage.Frame(
+                        SimpMessageHeaderAccessor.getFirstNativeHeader(SEQUENCE_HEADER, frame.getHeaders()),
+                        destination,
+                        new String(frame.getPayload(), StandardCharsets.UTF_8)));
+            }
+        }
+        return Optional.of(frames);
+    }
+
+    /**
+     * Sends a catch-up reply to one client session.
+     */
+    public void sendReplay(String sessionId, ReplayMessage replay) {
+        SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.create(SimpMessageType.MESSAGE);
+        accessor.setSessionId(sessionId);
+        accessor.setLeaveMutable(true);
+        messagingTemplate.convertAndSendToUser(sessionId, "/queue/replay", replay, accessor.getMessageHeaders());
+        logger.debug("Sent catch-up to session {}", sessionId);
+    }
+
+    // ==================== Encoding ====================
+
+    /**
+     * Drops the quiz's destinations, kept frames and sequence (on quiz end).
+     */
+    public void releaseQuiz(Long quizId) {
+        destinations.remove(quizId);
+    }
+
+    private QuizDestinations destinations(Long quizId) {
+        return destinations.computeIfAbsent(quizId, id -> new QuizDestinations(id, replayFrames));
+    }
+
+    private void send(BroadcastDestination destination, Object payload) {
+        deliver(destination, destination.encode(payload, messagingTemplate.getMessageConverter()));
+    }
+
+    private void sendCached(BroadcastDestination destination, Object payload) {
+        deliver(destination, destination.cached(payload, messagingTemplate.getMessageConverter()));
+    }
+
+    private void deliver(BroadcastDestination destination, Message<byte[]> frame) {
+        ReplayRing replay = destination.replay();
+        if (replay != null) {
+            replay.send(frame, numbered -> deliverNow(destination, numbered));
+        } else {
+            deliverNow(destination, frame);
+        }
+    }
+
+    // Same delivery as SimpMessagingTemplate#send, without rebuilding the headers
+    private void deliverNow(BroadcastDestination destination, Message<byte[]> frame) {
+        MessageChannel channel = messagingTemplate.getMessageChannel();
+        long timeout = messagingTemplate.getSendTimeout();
+        boolean sent = timeout >= 0 ? channel.send(frame, timeout) : channel.send(frame);
+        if (!sent) {
+            throw new MessageDeliveryException(frame, "Failed to send message to destination '"
+                    + destination.name() + "' within timeout: " + timeout);
+        }
+    }
+
+    /**
+     * Destinations of one quiz. Team queues are added as teams are first messaged.
+     * Game states and timer messages conflate for slow sessions; questions, reveals and
+     * scoreboards on the same state topic do not. The topics share one replay ring; team
+     * queues are not replayed (a snapshot carries a team's own answer).
+     */
+    private static final class QuizDestinations {
+        private final BroadcastDestination state;
+        private final BroadcastDestination gameState;
+        private final BroadcastDestination timer;
+        private final BroadcastDestination host;
+        private final ReplayRing replay;
+        private final Map<Long, BroadcastDestination> teams = new ConcurrentHashMap<>();
+
+        QuizDestinations(Long quizId, int replayFrames) {
+            this.replay = new ReplayRing(replayFrames);
+            this.state = new BroadcastDestination("/topic/quiz/" + quizId + "/state", replay);
+            this.gameState = BroadcastDestination.conflating("/topic/quiz/" + quizId + "/state", replay);
+            this.timer = BroadcastDestination.conflating("/topic/quiz/" + quizId + "/timer", replay);
+            this.host = new BroadcastDestination("/topic/quiz/" + quizId + "/host", replay);
+        }
+
+        BroadcastDestination team(Long teamId) {
+            return teams.computeIfAbsent(teamId, id -> new BroadcastDestination("/queue/team/" + id));
+        }
+    }
+
     /**
      * Submission confirmation record.
      */
@@ -0,0 +1,397 @@
+package com.intelliquiz.api.infrastructure.config;
+
+import com.intelliquiz.api.infrastructure.config.QuizSubscriptionIndex.Subscriber;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.MessageHandler;
+import org.springframework.messaging.MessageHeaders;
+import org.springframework.messaging.SubscribableChannel;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.simp.broker.AbstractBrokerMessageHandler;
+import org.springframework.messaging.support.ExecutorSubscribableChannel;
+import org.springframework.messaging.support.MessageBuilder;
+
+import java.security.Principal;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * In-process STOMP broker sharded by quiz, in place of Spring's simple broker.
+ *
+ * Subscriptions are kept in a {@link QuizSubscriptionIndex}, and every destination belongs to a
+ * quiz: the one in a {@code /topic/quiz/{quizId}/...} destination, otherwise the subscriber's.
+ * A message is fanned out by the lane of its quiz, one of a fixed set of single-threaded lanes,
+ * so each quiz's messages reach every subscriber in publish order while quizzes on different
+ * lanes fan out in parallel.
+ *
+ * Quizzes sharing a lane take turns of at most {@code quantum} frames each, so a quiz with
+ * thousands of teams sends its reveal in slices between the timer ticks of the smaller ones
+ * instead of holding the lane for the whole fan-out.
+ *
+ * Frames are handed straight to the STOMP handler on the lane thread when the outbound channel
+ * has no interceptors; the per-session {@link ClientOutboundQueues} make that handoff return
+ * without waiting on the socket.
+ */
+public class QuizBrokerMessageHandler extends AbstractBrokerMessageHandler {
+
+    private static final byte[] EMPTY_PAYLOAD = new byte[0];
+    private static final String QUIZ_TOPIC_PREFIX = "/topic/quiz/";
+
+    private final QuizSubscriptionIndex subscriptions = new QuizSubscriptionIndex();
+    private final Set<String> sessions = ConcurrentHashMap.newKeySet();
+    private final Lane[] lanes;
+    private final int quantum;
+
+    public QuizBrokerMessageHandler(
+            SubscribableChannel clientInboundChannel,
+            MessageChannel clientOutboundChannel,
+            SubscribableChannel brokerChannel,
+            Collection<String> destinationPrefixes,
+            int laneCount,
+            int quantum
+    ) {
+        super(clientInboundChannel, clientOutboundChannel, brokerChannel, destinationPrefixes);
+        if (laneCount <= 0 || quantum <= 0) {
+            throw new IllegalArgumentException("Lanes and quantum must be positive");
+        }
+        this.quantum = quantum;
+        this.lanes = new Lane[laneCount];
+        for (int i = 0; i < laneCount; i++) {
+            lanes[i] = new Lane("stomp-broker-" + (i + 1));
+        }
+    }
+
+    @Override
+    protected void startInternal() {
+        for (Lane lane : lanes) {
+            lane.start();
+        }
+        publishBrokerAvailableEvent();
+    }
+
+    @Override
+    protected void stopInternal() {
+        publishBrokerUnavailableEvent();
+        for (Lane lane : lanes) {
+            lane.stop();
+        }
+    }
+
+    @Override
+    protected void handleMessageInternal(Message<?> message) {
+        MessageHeaders headers = message.getHeaders();
+        SimpMessageType messageType = SimpMessageHeaderAccessor.getMessageType(headers);
+        String destination = SimpMessageHeaderAccessor.getDestination(headers);
+        String sessionId = SimpMessageHeaderAccessor.getSessionId(headers);
+
+        if (messageType == null || !checkDestinationPrefix(destination)) {
+            return;
+        }
+        switch (messageType) {
+            case MESSAGE -> publish(destination, message);
+            case SUBSCRIBE -> {
+                String subscriptionId = SimpMessageHeaderAccessor.getSubscriptionId(headers);
+                if (sessionId == null || subscriptionId == null || destination == null) {
+                    logger.error("Invalid subscription: " + message);
+                    return;
+                }
+                subscriptions.subscribe(sessionId, subscriptionId, destination,
+                        quizOf(destination, SimpMessageHeaderAccessor.getUser(headers)));
+            }
+            case UNSUBSCRIBE -> {
+                String subscriptionId = SimpMessageHeaderAccessor.getSubscriptionId(headers);
+                if (sessionId != null && subscriptionId != null) {
+                    subscriptions.unsubscribe(sessionId, subscriptionId);
+                }
+            }
+            case CONNECT -> {
+                if (sessionId != null) {
+                    connect(sessionId, SimpMessageHeaderAccessor.getUser(headers), message);
+                }
+            }
+            case DISCONNECT -> {
+                if (sessionId != null) {
+                    disconnect(sessionId, SimpMessageHeaderAccessor.getUser(headers), message);
+                }
+            }
+            default -> {
+                // Heartbeats and other frames need no broker action
+            }
+        }
+    }
+
+    /**
+     * Gets the subscription count and each lane's backlog and metrics.
+     */
+    public Snapshot snapshot() {
+        List<LaneSnapshot> laneSnapshots = new ArrayList<>(lanes.length);
+        for (Lane lane : lanes) {
+            laneSnapshots.add(lane.snapshot());
+        }
+        return new Snapshot(sessions.size(), subscriptions.destinationCount(),
+                subscriptions.subscriptionCount(), laneSnapshots);
+    }
+
+    /**
+     * Gets the quiz a destination belongs to: the one in its name for quiz topics, otherwise
+     * the subscriber's, or 0 when neither is known.
+     */
+    static long quizOf(String destination, Principal user) {
+        if (destination.startsWith(QUIZ_TOPIC_PREFIX)) {
+            int start = QUIZ_TOPIC_PREFIX.length();
+            int end = destination.indexOf('/', start);
+            try {
+                return Long.parseLong(destination, start, end < 0 ? destination.length() : end, 10);
+            } catch (NumberFormatException e) {
+                // Not a quiz ID; fall back to the subscriber's quiz
+            }
+        }
+        if (user instanceof WebSocketAuthInterceptor.QuizPrincipal principal && principal.quizId() != null) {
+            return principal.quizId();
+        }
+        return 0L;
+    }
+
+    private void publish(String destination, Message<?> message) {
+        QuizSubscriptionIndex.Destination target = destination != null ? subscriptions.find(destination) : null;
+        if (target == null) {
+            return;
+        }
+        Subscriber[] subscribers = target.subscribers();
+        if (subscribers.length > 0) {
+            lanes[(int) Math.floorMod(target.quizId(), (long) lanes.length)]
+                    .enqueue(target.quizId(), new Delivery(message, subscribers));
+        }
+    }
+
+    private void connect(String sessionId, Principal user, Message<?> message) {
+        if (!sessions.add(sessionId)) {
+            logger.warn("Ignoring CONNECT in session " + sessionId + ". Already connected.");
+            return;
+        }
+        SimpMessageHeaderAccessor connectAck = SimpMessageHeaderAccessor.create(SimpMessageType.CONNECT_ACK);
+        connectAck.setSessionId(sessionId);
+        if (user != null) {
+            connectAck.setUser(user);
+        }
+        connectAck.setHeader(SimpMessageHeaderAccessor.CONNECT_MESSAGE_HEADER, message);
+        connectAck.setHeader(SimpMessageHeaderAccessor.HEART_BEAT_HEADER, new long[] {0, 0});
+        getClientOutboundChannel().send(MessageBuilder.createMessage(EMPTY_PAYLOAD, connectAck.getMessageHeaders()));
+    }
+
+    private void disconnect(String sessionId, Principal user, Message<?> message) {
+        sessions.remove(sessionId);
+        subscriptions.removeSession(sessionId);
+        SimpMessageHeaderAccessor disconnectAck = SimpMessageHeaderAccessor.create(SimpMessageType.DISCONNECT_ACK);
+        disconnectAck.setSessionId(sessionId);
+        if (user != null) {
+            disconnectAck.setUser(user);
+        }
+        disconnectAck.setHeader(SimpMessageHeaderAccessor.DISCONNECT_MESSAGE_HEADER, message);
+        getClientOutboundChannel().send(MessageBuilder.createMessage(EMPTY_PAYLOAD, disconnectAck.getMessageHeaders()));
+    }
+
+    // Same frame as the simple broker sends: the message's headers plus the subscriber's session and subscription
+    private void send(Message<?> message, Subscriber subscriber) {
+        SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.create(SimpMessageType.MESSAGE);
+        accessor.setSessionId(subscriber.sessionId());
+        accessor.setSubscriptionId(subscriber.subscriptionId());
+        accessor.copyHeadersIfAbsent(message.getHeaders());
+        accessor.setLeaveMutable(true);
+        Message<?> frame = MessageBuilder.createMessage(message.getPayload(), accessor.getMessageHeaders());
+        try {
+            MessageChannel outbound = getClientOutboundChannel();
+            if (outbound instanceof ExecutorSubscribableChannel channel && channel.getInterceptors().isEmpty()) {
+                for (MessageHandler handler : channel.getSubscribers()) {
+                    handler.handleMessage(frame);
+                }
+            } else {
+                outbound.send(frame);
+            }
+        } catch (Throwable ex) {
+            logger.error("Failed to send " + message + " to session " + subscriber.sessionId(), ex);
+        }
+    }
+
+    /**
+     * One message being fanned out to a snapshot of its destination's subscribers.
+     */
+    private final class Delivery {
+        private final Message<?> message;
+        private final Subscriber[] subscribers;
+        private final long enqueuedNanos = System.nanoTime();
+        private int next;
+
+        Delivery(Message<?> message, Subscriber[] subscribers) {
+            this.message = message;
+            this.subscribers = subscribers;
+        }
+
+        // Sends to up to max more subscribers and returns how many
+        int sendNext(int max) {
+            int end = Math.min(subscribers.length, next + max);
+            for (int i = next; i < end; i++) {
+                send(message, subscribers[i]);
+            }
+            int sent = end - next;
+            next = end;
+            return sent;
+        }
+
+        boolean isDone() {
+            return next == subscribers.length;
+        }
+    }
+
+    /**
+     * A quiz's deliveries waiting on its lane.
+     */
+    private static final class QuizQueue {
+        private final long quizId;
+        private final Deque<Delivery> deliveries = new ArrayDeque<>();
+        // Whether the queue is in its lane's round
+        private boolean scheduled;
+
+        QuizQueue(long quizId) {
+            this.quizId = quizId;
+        }
+    }
+
+    /**
+     * A thread that serves the quizzes with pending deliveries in turn, a quantum of frames each.
+     */
+    private final class Lane implements Runnable {
+        private final String name;
+        // Guarded by this
+        private final Map<Long, QuizQueue> queues = new HashMap<>();
+        private final Deque<QuizQueue> round = new ArrayDeque<>();
+        private int queuedDeliveries;
+        private Thread thread;
+        private boolean stopped;
+
+        private final LongAdder frames = new LongAdder();
+        private final AtomicLong maxWaitNanos = new AtomicLong();
+
+        Lane(String name) {
+            this.name = name;
+        }
+
+        synchronized void start() {
+            stopped = false;
+            thread = new Thread(this, name);
+            thread.setDaemon(true);
+            thread.start();
+        }
+
+        synchronized void stop() {
+            stopped = true;
+            notifyAll();
+        }
+
+        synchronized void enqueue(long quizId, Delivery delivery) {
+            QuizQueue queue = queues.computeIfAbsent(quizId, QuizQueue::new);
+            queue.deliveries.addLast(delivery);
+            queuedDeliveries++;
+            if (!queue.scheduled) {
+                queue.scheduled = true;
+                round.addLast(queue);
+                notifyAll();
+            }
+        }
+
+        @Override
+        public void run() {
+            while (true) {
+                QuizQueue queue;
+                synchronized (this) {
+                    // A lane restarted after stop() has a new thread; the old one exits
+                    while (round.isEmpty() && !stopped && thread == Thread.currentThread()) {
+                        try {
+                            wait();
+                        } catch (InterruptedException e) {
+                            Thread.currentThread().interrupt();
+                            return;
+                        }
+                    }
+                    if (stopped || thread != Thread.currentThread()) {
+                        return;
+                    }
+                    queue = round.pollFirst();
+                }
+                serve(queue);
+            }
+        }
+
+        // Sends up to a quantum of the quiz's frames, then puts it back at the end of the round if it has more
+        private void serve(QuizQueue queue) {
+            int allowance = quantum;
+            while (allowance > 0) {
+                Delivery delivery;
+                synchronized (this) {
+                    delivery = queue.deliveries.peekFirst();
+                }
+                if (delivery == null) {
+                    break;
+                }
+                if (delivery.next == 0) {
+                    maxWaitNanos.accumulateAndGet(System.nanoTime() - delivery.enqueuedNanos, Math::max);
+                }
+                int sent = delivery.sendNext(allowance);
+                allowance -= sent;
+                frames.add(sent);
+                if (delivery.isDone()) {
+                    synchronized (this) {
+                        queue.deliveries.pollFirst();
+                        queuedDeliveries--;
+                    }
+                }
+            }
+            synchronized (this) {
+                if (queue.deliveries.isEmpty()) {
+                    queue.scheduled = false;
+                    queues.remove(queue.quizId);
+                } else {
+                    round.addLast(queue);
+                }
+            }
+        }
+
+        synchronized LaneSnapshot snapshot() {
+            return new LaneSnapshot(name, queues.size(), queuedDeliveries, frames.sum(),
+                    TimeUnit.NANOSECONDS.toMicros(maxWaitNanos.get()));
+        }
+    }
+
+    /**
+     * Broker metrics: connected sessions, destinations with subscribers, subscriptions, and lanes.
+     */
+    public record Snapshot(
+            int sessions,
+            int destinations,
+            int subscriptions,
+            List<LaneSnapshot> lanes
+    ) {}
+
+    /**
+     * A lane's quizzes with pending deliveries, messages not yet fully sent, frames sent, and
+     * the longest wait of a message before its first frame was sent.
+     */
+    public record LaneSnapshot(
+            String name,
+            int quizzes,
+            int queuedDeliveries,
+            long frames,
+            long maxWaitMicros
+    ) {}
+}
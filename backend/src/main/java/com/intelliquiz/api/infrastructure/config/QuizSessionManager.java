@@ -1,44 +1,38 @@
 package com.intelliquiz.api.infrastructure.config;
 
+import com.intelliquiz.api.infrastructure.config.LiveQuizSession.Flow;
 import com.intelliquiz.api.infrastructure.websocket.GameState;
+import com.intelliquiz.api.infrastructure.websocket.TeamIndex;
 import org.springframework.stereotype.Service;
 
 import java.time.Instant;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
 
 /**
  * Manages WebSocket session state for quiz games.
  * Tracks connected hosts and participants, current game state, and question index.
+ *
+ * Each live quiz has one {@link LiveQuizSession}; connections are indexed by session ID
+ * and point back to their quiz. Reading a quiz's state, index and question costs one lookup
+ * and returns a consistent {@link Flow}.
  */
 @Service
 public class QuizSessionManager {
 
-    // Session ID -> Connection info
+    // Session ID -> Connection info (secondary index from sessions to quizzes)
     private final Map<String, ClientConnection> connections = new ConcurrentHashMap<>();
-    
-    // Quiz ID -> Host session ID
-    private final Map<Long, String> hostSessions = new ConcurrentHashMap<>();
-    
-    // Quiz ID -> Set of connected team IDs
-    private final Map<Long, Set<Long>> connectedTeams = new ConcurrentHashMap<>();
-    
-    // Quiz ID -> Current game state
-    private final Map<Long, GameState> gameStates = new ConcurrentHashMap<>();
-    
-    // Quiz ID -> Current question index
-    private final Map<Long, Integer> questionIndices = new ConcurrentHashMap<>();
-    
-    // Quiz ID -> Current question ID
-    private final Map<Long, Long> currentQuestions = new ConcurrentHashMap<>();
+
+    // Quiz ID -> Live session
+    private final Map<Long, LiveQuizSession> sessions = new ConcurrentHashMap<>();
 
     /**
      * Registers a host connection for a quiz.
      */
     public void registerHost(Long quizId, String sessionId) {
         connections.put(sessionId, new ClientConnection(sessionId, quizId, null, true, Instant.now(), false));
-        hostSessions.put(quizId, sessionId);
-        gameStates.putIfAbsent(quizId, GameState.LOBBY);
+        update(quizId, session -> session.setHost(sessionId));
     }
 
     /**
@@ -46,7 +40,7 @@ public class QuizSessionManager {
      */
     public void registerParticipant(Long quizId, Long teamId, String sessionId) {
         connections.put(sessionId, new ClientConnection(sessionId, quizId, teamId, false, Instant.now(), false));
-        connectedTeams.computeIfAbsent(quizId, k -> ConcurrentHashMap.newKeySet()).add(teamId);
+        update(quizId, session -> session.addTeam(teamId, sessionId));
     }
 
     /**
@@ -55,15 +49,15 @@ public class QuizSessionManager {
     public void unregister(String sessionId) {
         ClientConnection conn = connections.remove(sessionId);
         if (conn == null) return;
-        
-        if (conn.isHost()) {
-            hostSessions.remove(conn.quizId());
-        } else if (conn.teamId() != null) {
-            Set<Long> teams = connectedTeams.get(conn.quizId());
-            if (teams != null) {
-                teams.remove(conn.teamId());
+
+        sessions.computeIfPresent(conn.quizId(), (id, session) -> {
+            if (conn.isHost()) {
+                session.removeHost(sessionId);
+            } else if (conn.teamId() != null) {
+                session.removeTeam(conn.teamId(), sessionId);
             }
-        }
+            return session;
+        });
     }
 
     /**
@@ -74,103 +68,199 @@ public class QuizSessionManager {
     }
 
     /**
-     * Gets all connected team IDs for a quiz.
+     * Gets the live session of a quiz, if it has one.
+     */
+    public Optional<LiveQuizSession> getSession(Long quizId) {
+        return Optional.ofNullable(sessions.get(quizId));
+    }
+
+    /**
+     * Starts a quiz's live session with its teams numbered up front. A session started by a
+     * connection made before activation (e.g. the host connected first) is renumbered, keeping
+     * its connections; one already activated is kept as it is.
+     */
+    public LiveQuizSession activate(Long quizId, TeamIndex teams) {
+        return sessions.compute(quizId, (id, current) -> {
+            if (current == null) {
+                return new LiveQuizSession(id, teams);
+            }
+            return current.isNumbered() ? current : current.renumbered(teams);
+        });
+    }
+
+    /**
+     * Gets the team numbering of a quiz's live session.
+     */
+    public TeamIndex getTeamIndex(Long quizId) {
+        return session(quizId).getTeamIndex();
+    }
+
+    /**
+     * Gets all connected team IDs for a quiz (a copy).
      */
     public Set<Long> getConnectedTeams(Long quizId) {
-        return connectedTeams.getOrDefault(quizId, Set.of());
+        LiveQuizSession session = sessions.get(quizId);
+        return session != null ? session.getConnectedTeams() : Set.of();
     }
 
     /**
      * Gets the count of connected teams for a quiz.
      */
     public int getConnectedTeamCount(Long quizId) {
-        return getConnectedTeams(quizId).size();
+        LiveQuizSession session = sessions.get(quizId);
+        return session != null ? session.getConnectedTeamCount() : 0;
+    }
+
+    /**
+     * Gets the count of connected teams across every live quiz on this node.
+     */
+    public int getConnectedTeamTotal() {
+        int total = 0;
+        for (LiveQuizSession session : sessions.values()) {
+            total += session.getConnectedTeamCount();
+        }
+        return total;
     }
 
     /**
      * Checks if the host is connected for a quiz.
      */
     public boolean isHostConnected(Long quizId) {
-        return hostSessions.containsKey(quizId);
+        return getHostSessionId(quizId).isPresent();
     }
 
     /**
      * Gets the host session ID for a quiz.
      */
     public Optional<String> getHostSessionId(Long quizId) {
-        return Optional.ofNullable(hostSessions.get(quizId));
+        LiveQuizSession session = sessions.get(quizId);
+        return session != null ? Optional.ofNullable(session.getHostSessionId()) : Optional.empty();
+    }
+
+    /**
+     * Gets the game flow of a quiz: state, question index and question ID read together.
+     */
+    public Flow getFlow(Long quizId) {
+        LiveQuizSession session = sessions.get(quizId);
+        return session != null ? session.getFlow() : Flow.INITIAL;
+    }
+
+    /**
+     * Moves a quiz from one state to another only if it is still in {@code from}.
+     *
+     * @return whether this call made the transition
+     */
+    public boolean transition(Long quizId, GameState from, GameState to) {
+        return session(quizId).transition(from, to);
+    }
+
+    /**
+     * Moves a quiz from one state to another only if it is still in {@code from} with
+     * {@code questionId} as its current question.
+     *
+     * @return whether this call made the transition
+     */
+    public boolean transition(Long quizId, Long questionId, GameState from, GameState to) {
+        return session(quizId).transition(questionId, from, to);
+    }
+
+    /**
+     * Makes a question current and the quiz ACTIVE in one step.
+     */
+    public void showQuestion(Long quizId, int questionIndex, Long questionId) {
+        session(quizId).updateFlow(flow -> new Flow(GameState.ACTIVE, questionIndex, questionId));
     }
 
     /**
      * Gets the current game state for a quiz.
      */
     public GameState getCurrentState(Long quizId) {
-        return gameStates.getOrDefault(quizId, GameState.LOBBY);
+        return getFlow(quizId).state();
     }
 
     /**
      * Sets the current game state for a quiz.
      */
     public void setCurrentState(Long quizId, GameState state) {
-        gameStates.put(quizId, state);
+        session(quizId).updateFlow(flow -> flow.withState(state));
     }
 
     /**
      * Gets the current question index for a quiz.
      */
     public int getCurrentQuestionIndex(Long quizId) {
-        return questionIndices.getOrDefault(quizId, 0);
+        return getFlow(quizId).questionIndex();
     }
 
     /**
      * Sets the current question index for a quiz.
      */
     public void setCurrentQuestionIndex(Long quizId, int index) {
-        questionIndices.put(quizId, index);
+        session(quizId).updateFlow(flow -> flow.withQuestionIndex(index));
     }
 
     /**
      * Gets the current question ID for a quiz.
      */
     public Optional<Long> getCurrentQuestionId(Long quizId) {
-        return Optional.ofNullable(currentQuestions.get(quizId));
+        return Optional.ofNullable(getFlow(quizId).questionId());
     }
 
     /**
      * Sets the current question ID for a quiz.
      */
     public void setCurrentQuestionId(Long quizId, Long questionId) {
-        currentQuestions.put(quizId, questionId);
+        session(quizId).updateFlow(flow -> flow.withQuestionId(questionId));
+    }
+
+    /**
+     * Gets the name of the round a quiz is playing, or null before its first round starts.
+     */
+    public String getRoundName(Long quizId) {
+        LiveQuizSession session = sessions.get(quizId);
+        return session != null ? session.getRoundName() : null;
+    }
+
+    /**
+     * Sets the name of the round a quiz is playing.
+     */
+    public void setRoundName(Long quizId, String roundName) {
+        session(quizId).setRoundName(roundName);
     }
 
     /**
      * Checks if a team is connected to a quiz.
      */
     public boolean isTeamConnected(Long quizId, Long teamId) {
-        return getConnectedTeams(quizId).contains(teamId);
+        LiveQuizSession session = sessions.get(quizId);
+        return session != null && session.isTeamConnected(teamId);
     }
 
     /**
      * Clears all session data for a quiz (on quiz end).
+     * Only the quiz's own connections are visited.
      */
     public void clearQuizSession(Long quizId) {
-        // Remove host session
-        String hostSession = hostSessions.remove(quizId);
-        if (hostSession != null) {
-            connections.remove(hostSession);
+        LiveQuizSession session = sessions.remove(quizId);
+        if (session == null) {
+            return;
         }
-        
-        // Remove all team connections
-        Set<Long> teams = connectedTeams.remove(quizId);
-        if (teams != null) {
-            connections.entrySet().removeIf(e -> 
-                    e.getValue().quizId().equals(quizId) && !e.getValue().isHost());
+        for (String sessionId : session.getSessionIds()) {
+            connections.remove(sessionId);
         }
-        
-        // Clear state
-        gameStates.remove(quizId);
-        questionIndices.remove(quizId);
-        currentQuestions.remove(quizId);
+    }
+
+    private LiveQuizSession session(Long quizId) {
+        return sessions.computeIfAbsent(quizId, LiveQuizSession::new);
+    }
+
+    // Connections change a session under its map entry's lock, so none is lost to a renumbering
+    private void update(Long quizId, Consumer<LiveQuizSession> change) {
+        sessions.compute(quizId, (id, current) -> {
+            LiveQuizSession session = current != null ? current : new LiveQuizSession(id);
+            change.accept(session);
+            return session;
+        });
     }
 
     /**
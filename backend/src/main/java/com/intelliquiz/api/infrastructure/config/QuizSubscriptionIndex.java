@@ -0,0 +1,141 @@
+package com.intelliquiz.api.infrastructure.config;
+
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * STOMP subscriptions by destination, each destination belonging to one quiz.
+ *
+ * Destinations are matched exactly (no patterns), so finding the subscribers of a message is
+ * one lookup. Subscribing and unsubscribing take the index's lock; a destination's subscriber
+ * list is copied to an array on the first lookup after a change and reused until the next one.
+ */
+class QuizSubscriptionIndex {
+
+    private static final Subscriber[] NONE = new Subscriber[0];
+
+    // Destination -> its subscribers
+    private final Map<String, Destination> destinations = new ConcurrentHashMap<>();
+    // Session ID -> subscription ID -> destination, guarded by this
+    private final Map<String, Map<String, String>> sessions = new HashMap<>();
+    private int subscriptionCount;
+
+    /**
+     * Adds a subscription, replacing one with the same ID in the session.
+     * A new destination belongs to the given quiz for as long as it has subscribers.
+     */
+    synchronized void subscribe(String sessionId, String subscriptionId, String destination, long quizId) {
+        unsubscribe(sessionId, subscriptionId);
+        sessions.computeIfAbsent(sessionId, id -> new HashMap<>()).put(subscriptionId, destination);
+        destinations.computeIfAbsent(destination, name -> new Destination(quizId))
+                .add(new Subscriber(sessionId, subscriptionId));
+        subscriptionCount++;
+    }
+
+    synchronized void unsubscribe(String sessionId, String subscriptionId) {
+        Map<String, String> subscriptions = sessions.get(sessionId);
+        if (subscriptions == null) {
+            return;
+        }
+        String destination = subscriptions.remove(subscriptionId);
+        if (destination != null) {
+            remove(destination, new Subscriber(sessionId, subscriptionId));
+        }
+        if (subscriptions.isEmpty()) {
+            sessions.remove(sessionId);
+        }
+    }
+
+    /**
+     * Drops every subscription of a session.
+     */
+    synchronized void removeSession(String sessionId) {
+        Map<String, String> subscriptions = sessions.remove(sessionId);
+        if (subscriptions != null) {
+            subscriptions.forEach((subscriptionId, destination) ->
+                    remove(destination, new Subscriber(sessionId, subscriptionId)));
+        }
+    }
+
+    /**
+     * Gets a destination with subscribers, or null if it has none.
+     */
+    Destination find(String destination) {
+        return destinations.get(destination);
+    }
+
+    synchronized int destinationCount() {
+        return destinations.size();
+    }
+
+    synchronized int subscriptionCount() {
+        return subscriptionCount;
+    }
+
+    private void remove(String destination, Subscriber subscriber) {
+        Destination subscribers = destinations.get(destination);
+        if (subscribers != null && subscribers.remove(subscriber)) {
+            subscriptionCount--;
+            if (subscribers.isEmpty()) {
+                destinations.remove(destination);
+            }
+        }
+    }
+
+    record Subscriber(String sessionId, String subscriptionId) {}
+
+    /**
+     * The subscribers of one destination.
+     */
+    final class Destination {
+        private final long quizId;
+        // Guarded by the index
+        private final Set<Subscriber> subscribers = new LinkedHashSet<>();
+        // Copy of subscribers, null after a change
+        private volatile Subscriber[] snapshot = NONE;
+
+        private Destination(long quizId) {
+            this.quizId = quizId;
+        }
+
+        long quizId() {
+            return quizId;
+        }
+
+        /**
+         * Gets the subscribers in subscription order. The array is shared and must not be modified.
+         */
+        Subscriber[] subscribers() {
+            Subscriber[] current = snapshot;
+            if (current != null) {
+                return current;
+            }
+            synchronized (QuizSubscriptionIndex.this) {
+                if (snapshot == null) {
+                    snapshot = subscribers.toArray(NONE);
+                }
+                return snapshot;
+            }
+        }
+
+        private void add(Subscriber subscriber) {
+            subscribers.add(subscriber);
+            snapshot = null;
+        }
+
+        private boolean remove(Subscriber subscriber) {
+            boolean removed = subscribers.remove(subscriber);
+            if (removed) {
+                snapshot = null;
+            }
+            return removed;
+        }
+
+        private boolean isEmpty() {
+            return subscribers.isEmpty();
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package com.intelliquiz.api.infrastructure.config;
+
+import org.springframework.messaging.Message;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.support.MessageBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Consumer;
+
+/**
+ * The last frames sent to a quiz's topics, numbered in the order they were sent, for clients
+ * that reconnect to catch up from.
+ *
+ * Each frame carries its position in a {@value QuizBroadcastService#SEQUENCE_HEADER} header, as
+ * {@code <stream>:<number>}. The stream names this ring: after a restart, or on the node taking a
+ * quiz over, the quiz starts a new one, and a position from the old stream cannot be caught up
+ * from. Numbering, keeping and sending a frame happen under one lock, so a quiz's frames reach
+ * the broker in the order of their numbers.
+ */
+final class ReplayRing {
+
+    private final String stream;
+    private final Message<byte[]>[] frames;
+    // Guarded by this: number of the last frame sent, 0 before the first
+    private long last;
+
+    @SuppressWarnings("unchecked")
+    ReplayRing(int capacity) {
+        this.stream = Long.toString(ThreadLocalRandom.current().nextLong() & Long.MAX_VALUE, 36);
+        this.frames = new Message[Math.max(1, capacity)];
+    }
+
+    /**
+     * Numbers a frame, keeps it, and sends it with its number.
+     */
+    synchronized void send(Message<byte[]> frame, Consumer<Message<byte[]>> delivery) {
+        long number = last + 1;
+        SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.wrap(frame);
+        accessor.setNativeHeader(QuizBroadcastService.SEQUENCE_HEADER, position(number));
+        Message<byte[]> numbered = MessageBuilder.createMessage(frame.getPayload(), accessor.getMessageHeaders());
+        frames[slot(number)] = numbered;
+        last = number;
+        delivery.accept(numbered);
+    }
+
+    /**
+     * Gets the position of the last frame sent.
+     */
+    synchronized String position() {
+        return position(last);
+    }
+
+    /**
+     * Gets the frames sent after the given position, oldest first; null if the position is not
+     * one of this stream's, or the frames after it are no longer all kept.
+     */
+    synchronized List<Message<byte[]>> since(String seen) {
+        long number = numberOf(seen);
+        if (number < 0 || number > last || last - number > frames.length) {
+            return null;
+        }
+        List<Message<byte[]>> missed = new ArrayList<>((int) (last - number));
+        for (long next = number + 1; next <= last; next++) {
+            missed.add(frames[slot(next)]);
+        }
+        return missed;
+    }
+
+    private String position(long number) {
+        return stream + ':' + number;
+    }
+
+    // The number of a position of this stream, or -1
+    private long numberOf(String position) {
+        if (position == null || position.length() <= stream.length() + 1
+                || !position.startsWith(stream) || position.charAt(stream.length()) != ':') {
+            return -1;
+        }
+        try {
+            return Long.parseLong(position, stream.length() + 1, position.length(), 10);
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    private int slot(long number) {
+        return (int) (number % frames.length);
+    }
+}
@@ -0,0 +1,44 @@
+package com.intelliquiz.api.infrastructure.config;
+
+import com.intelliquiz.api.domain.ports.TeamBatchRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.stereotype.Component;
+
+import java.util.Set;
+
+/**
+ * Reports access codes held by more than one team on application startup.
+ *
+ * The unique constraint on team.access_code is added by ddl-auto=update, which cannot add it
+ * to a table that already has such codes. Until each of them is given to one team only, the
+ * database does not reject a code taken by a concurrent registration, and a participant
+ * entering one of them may join either team.
+ */
+@Component
+public class TeamAccessCodeCheck implements ApplicationRunner {
+
+    private static final Logger logger = LoggerFactory.getLogger(TeamAccessCodeCheck.class);
+
+    private final TeamBatchRepository teamBatchRepository;
+
+    public TeamAccessCodeCheck(TeamBatchRepository teamBatchRepository) {
+        this.teamBatchRepository = teamBatchRepository;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        try {
+            Set<String> duplicates = teamBatchRepository.findDuplicateAccessCodes();
+            if (!duplicates.isEmpty()) {
+                logger.warn("{} access codes are held by more than one team: {}. The unique constraint on "
+                                + "team.access_code is missing until each is given to one team only",
+                        duplicates.size(), duplicates);
+            }
+        } catch (Exception e) {
+            logger.error("Failed to check team access codes for duplicates", e);
+        }
+    }
+}
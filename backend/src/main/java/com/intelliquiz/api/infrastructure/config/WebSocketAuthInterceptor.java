@@ -1,6 +1,6 @@
 package com.intelliquiz.api.infrastructure.config;
 
-import com.intelliquiz.api.application.services.AccessResolutionResult;
+import com.intelliquiz.api.application.services.AccessIdentity;
 import com.intelliquiz.api.application.services.AccessResolutionService;
 import com.intelliquiz.api.application.services.RouteType;
 import org.springframework.messaging.Message;
@@ -12,20 +12,38 @@ import org.springframework.messaging.support.MessageHeaderAccessor;
 import org.springframework.stereotype.Component;
 
 import java.security.Principal;
+import java.util.Optional;
 
 /**
  * WebSocket authentication interceptor that validates access codes on CONNECT.
  * Sets the principal with team/host identity for subsequent message handling.
+ *
+ * A participant token issued by {@code /api/access} is checked first and needs no database
+ * access; the access code is the fallback. Codes of live quizzes are resolved from memory,
+ * so a lobby full of connecting teams does not turn into a query per CONNECT either.
+ *
+ * A team not yet connected is refused once the node has {@code game.max-connected-teams}
+ * teams connected; reconnecting teams and hosts are always let in.
  */
 @Component
 public class WebSocketAuthInterceptor implements ChannelInterceptor {
 
     private static final String ACCESS_CODE_HEADER = "accessCode";
+    private static final String TOKEN_HEADER = "participantToken";
 
     private final AccessResolutionService accessResolutionService;
+    private final ParticipantTokenService participantTokenService;
+    private final QuizSessionManager sessionManager;
+    private final GameProperties gameProperties;
 
-    public WebSocketAuthInterceptor(AccessResolutionService accessResolutionService) {
+    public WebSocketAuthInterceptor(AccessResolutionService accessResolutionService,
+                                    ParticipantTokenService participantTokenService,
+                                    QuizSessionManager sessionManager,
+                                    GameProperties gameProperties) {
         this.accessResolutionService = accessResolutionService;
+        this.participantTokenService = participantTokenService;
+        this.sessionManager = sessionManager;
+        this.gameProperties = gameProperties;
     }
 
     @Override
@@ -33,13 +51,22 @@ public class WebSocketAuthInterceptor implements ChannelInterceptor {
         StompHeaderAccessor accessor = MessageHeaderAccessor.getAccessor(message, StompHeaderAccessor.class);
         
         if (accessor != null && StompCommand.CONNECT.equals(accessor.getCommand())) {
+            String token = accessor.getFirstNativeHeader(TOKEN_HEADER);
+            Optional<AccessIdentity> verified = participantTokenService.verify(token);
+            if (verified.isPresent()) {
+                accessor.setUser(admit(createPrincipal(verified.get())));
+                return message;
+            }
+
             String accessCode = accessor.getFirstNativeHeader(ACCESS_CODE_HEADER);
             
             if (accessCode == null || accessCode.isBlank()) {
-                throw new IllegalArgumentException("Access code is required");
+                throw new IllegalArgumentException(token != null && !token.isBlank()
+                        ? "Participant token is invalid or expired"
+                        : "Access code is required");
             }
             
-            AccessResolutionResult result = accessResolutionService.resolve(accessCode);
+            AccessIdentity result = accessResolutionService.resolveIdentity(accessCode);
             
             if (result.routeType() == RouteType.INVALID) {
                 throw new IllegalArgumentException("Invalid access code: " + result.errorMessage());
@@ -47,24 +74,34 @@ public class WebSocketAuthInterceptor implements ChannelInterceptor {
             
             // Create principal based on access type
             QuizPrincipal principal = createPrincipal(result);
-            accessor.setUser(principal);
+            accessor.setUser(admit(principal));
         }
         
         return message;
     }
 
-    private QuizPrincipal createPrincipal(AccessResolutionResult result) {
+    private QuizPrincipal admit(QuizPrincipal principal) {
+        if (!principal.isHost()
+                && !sessionManager.isTeamConnected(principal.quizId(), principal.teamId())
+                && sessionManager.getConnectedTeamTotal() >= gameProperties.getMaxConnectedTeams()) {
+            throw new IllegalStateException("Server is full: " + gameProperties.getMaxConnectedTeams()
+                    + " teams are connected");
+        }
+        return principal;
+    }
+
+    private QuizPrincipal createPrincipal(AccessIdentity result) {
         return switch (result.routeType()) {
             case HOST -> new QuizPrincipal(
-                    "host-" + result.quiz().getId(),
-                    result.quiz().getId(),
+                    "host-" + result.quizId(),
+                    result.quizId(),
                     null,
                     true
             );
             case PARTICIPANT -> new QuizPrincipal(
-                    "team-" + result.team().getId(),
-                    result.team().getQuiz().getId(),
-                    result.team().getId(),
+                    "team-" + result.teamId(),
+                    result.quizId(),
+                    result.teamId(),
                     false
             );
             case INVALID -> throw new IllegalStateException("Invalid route type should not reach here");
@@ -1,11 +1,19 @@
 package com.intelliquiz.api.infrastructure.config;
 
+import com.intelliquiz.api.infrastructure.cluster.ClusterBroadcastRelay;
+import com.intelliquiz.api.infrastructure.cluster.ClusterInboundForwarder;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.messaging.simp.config.ChannelRegistration;
+import org.springframework.messaging.simp.broker.SimpleBrokerMessageHandler;
 import org.springframework.messaging.simp.config.MessageBrokerRegistry;
 import org.springframework.web.socket.config.annotation.EnableWebSocketMessageBroker;
 import org.springframework.web.socket.config.annotation.StompEndpointRegistry;
 import org.springframework.web.socket.config.annotation.WebSocketMessageBrokerConfigurer;
+import org.springframework.web.socket.config.annotation.WebSocketTransportRegistration;
 
 /**
  * WebSocket configuration for real-time quiz communication.
@@ -17,24 +25,50 @@ import org.springframework.web.socket.config.annotation.WebSocketMessageBrokerCo
  * - /topic/quiz/{quizId}/host - Host-only notifications
  * - /queue/team/{teamId} - Team-specific messages
  * - /user/queue/errors - Error messages to specific client
+ * - /user/queue/replay - Missed frames or a snapshot for a reconnected client
  * 
  * Application destinations:
  * - /app/quiz/{quizId}/command - Host control commands
  * - /app/quiz/{quizId}/submit - Participant answer submissions
+ * - /app/quiz/{quizId}/resume - Catch-up after a reconnect, from the last {@code quiz-seq} received
+ *
+ * Broker destinations are served by a {@link QuizBrokerMessageHandler}, which fans each quiz's
+ * messages out on its own lane.
+ *
+ * Outbound frames go through a {@link ClientOutboundQueues} queue per session, where timer
+ * ticks and game states a slow client has not received yet are replaced by newer ones.
+ *
+ * In cluster mode a {@link ClusterInboundForwarder} on the inbound channel hands messages for
+ * quizzes another node runs to that node, and a {@link ClusterBroadcastRelay} on the broker
+ * channel shares the frames of this node's quizzes with the others.
  */
 @Configuration
 @EnableWebSocketMessageBroker
 public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
 
     private final WebSocketAuthInterceptor webSocketAuthInterceptor;
+    private final ClientOutboundQueues outboundQueues;
+    private final GameProperties gameProperties;
+    private final ObjectProvider<ClusterInboundForwarder> clusterForwarder;
+    private final ObjectProvider<ClusterBroadcastRelay> clusterRelay;
 
-    public WebSocketConfig(WebSocketAuthInterceptor webSocketAuthInterceptor) {
+    public WebSocketConfig(
+            WebSocketAuthInterceptor webSocketAuthInterceptor,
+            ClientOutboundQueues outboundQueues,
+            GameProperties gameProperties,
+            ObjectProvider<ClusterInboundForwarder> clusterForwarder,
+            ObjectProvider<ClusterBroadcastRelay> clusterRelay
+    ) {
         this.webSocketAuthInterceptor = webSocketAuthInterceptor;
+        this.outboundQueues = outboundQueues;
+        this.gameProperties = gameProperties;
+        this.clusterForwarder = clusterForwarder;
+        this.clusterRelay = clusterRelay;
     }
 
     @Override
     public void configureMessageBroker(MessageBrokerRegistry config) {
-        // Enable simple in-memory broker for subscriptions
+        // In-memory broker for subscriptions, replaced by QuizBrokerMessageHandler below
         // /topic - broadcast to multiple subscribers
         // /queue - point-to-point messaging
         config.enableSimpleBroker("/topic", "/queue");
@@ -44,6 +78,43 @@ public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
         
         // Prefix for user-specific destinations
         config.setUserDestinationPrefix("/user");
+        
+        // Share owned quizzes' frames with the other nodes of a cluster
+        clusterRelay.ifAvailable(relay -> config.configureBrokerChannel().interceptors(relay));
+    }
+
+    /**
+     * Swaps the simple broker enabled above for a {@link QuizBrokerMessageHandler} on the same
+     * channels and destination prefixes. Endpoints, user destinations and application
+     * destinations stay with Spring; only subscriptions and the fan-out move.
+     */
+    @Bean
+    static BeanPostProcessor quizBrokerInstaller(
+            ObjectProvider<GameProperties> gameProperties,
+            ApplicationContext applicationContext
+    ) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!(bean instanceof SimpleBrokerMessageHandler simpleBroker)) {
+                    return bean;
+                }
+                // Resolved here rather than injected, so the properties are bound by then
+                GameProperties properties = gameProperties.getObject();
+                int lanes = properties.getBrokerLanes() > 0
+                        ? properties.getBrokerLanes()
+                        : Runtime.getRuntime().availableProcessors();
+                QuizBrokerMessageHandler broker = new QuizBrokerMessageHandler(
+                        simpleBroker.getClientInboundChannel(),
+                        simpleBroker.getClientOutboundChannel(),
+                        simpleBroker.getBrokerChannel(),
+                        simpleBroker.getDestinationPrefixes(),
+                        lanes,
+                        properties.getBrokerQuantum());
+                broker.setApplicationEventPublisher(applicationContext);
+                return broker;
+            }
+        };
     }
 
     @Override
@@ -58,9 +129,19 @@ public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
                 .setAllowedOriginPatterns("*");
     }
 
+    @Override
+    public void configureWebSocketTransport(WebSocketTransportRegistration registration) {
+        // Spring's own limits stay as a backstop; sends into the per-session queues return at once
+        registration.setSendTimeLimit(gameProperties.getOutboundSendTimeLimitMillis());
+        registration.setSendBufferSizeLimit(gameProperties.getOutboundBufferSizeLimitBytes());
+        registration.addDecoratorFactory(outboundQueues);
+    }
+
     @Override
     public void configureClientInboundChannel(ChannelRegistration registration) {
         // Add authentication interceptor to validate access codes on CONNECT
         registration.interceptors(webSocketAuthInterceptor);
+        // Then hand messages for quizzes another node runs to that node
+        clusterForwarder.ifAvailable(registration::interceptors);
     }
 }
@@ -1,7 +1,12 @@
 package com.intelliquiz.api.infrastructure.config;
 
+import com.intelliquiz.api.infrastructure.cluster.QuizOwnership;
 import com.intelliquiz.api.infrastructure.config.WebSocketAuthInterceptor.QuizPrincipal;
+import com.intelliquiz.api.infrastructure.websocket.ClockSyncService;
 import com.intelliquiz.api.infrastructure.websocket.GameState;
+import com.intelliquiz.api.infrastructure.websocket.HostNotificationCoalescer;
+import com.intelliquiz.api.infrastructure.websocket.QuizActors;
+import com.intelliquiz.api.infrastructure.websocket.QuizCheckpoints;
 import com.intelliquiz.api.infrastructure.websocket.QuizTimerService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -13,7 +18,9 @@ import org.springframework.web.socket.messaging.SessionDisconnectEvent;
 
 /**
  * WebSocket event listener for connection and disconnection events.
- * Broadcasts team join/disconnect events to the host.
+ * Team joins and disconnects reach the host through the {@link HostNotificationCoalescer}.
+ * In a cluster, connections to a quiz another node runs are registered by that node, which
+ * hears of them from the cluster coordinator.
  */
 @Component
 public class WebSocketEventListener {
@@ -22,16 +29,31 @@ public class WebSocketEventListener {
 
     private final QuizSessionManager sessionManager;
     private final QuizBroadcastService broadcastService;
+    private final HostNotificationCoalescer hostNotifications;
     private final QuizTimerService timerService;
+    private final ClockSyncService clockSyncService;
+    private final QuizActors actors;
+    private final QuizOwnership ownership;
+    private final QuizCheckpoints checkpoints;
 
     public WebSocketEventListener(
             QuizSessionManager sessionManager, 
             QuizBroadcastService broadcastService,
-            QuizTimerService timerService
+            HostNotificationCoalescer hostNotifications,
+            QuizTimerService timerService,
+            ClockSyncService clockSyncService,
+            QuizActors actors,
+            QuizOwnership ownership,
+            QuizCheckpoints checkpoints
     ) {
         this.sessionManager = sessionManager;
         this.broadcastService = broadcastService;
+        this.hostNotifications = hostNotifications;
         this.timerService = timerService;
+        this.clockSyncService = clockSyncService;
+        this.actors = actors;
+        this.ownership = ownership;
+        this.checkpoints = checkpoints;
     }
 
     @EventListener
@@ -44,17 +66,27 @@ public class WebSocketEventListener {
             logger.warn("Connection without principal or session ID");
             return;
         }
+        if (ownership.isLocal(principal.quizId())) {
+            sessionConnected(principal, sessionId);
+        }
+    }
 
+    /**
+     * Registers a connection to a quiz this node runs, made here or to another node.
+     */
+    public void sessionConnected(QuizPrincipal principal, String sessionId) {
         if (principal.isHost()) {
             sessionManager.registerHost(principal.quizId(), sessionId);
             logger.info("Host connected to quiz {}: session {}", principal.quizId(), sessionId);
+            // A new host page starts without lobby state; the next digest lists every connected team
+            hostNotifications.hostConnected(principal.quizId());
         } else {
             sessionManager.registerParticipant(principal.quizId(), principal.teamId(), sessionId);
             logger.info("Team {} connected to quiz {}: session {}", 
                     principal.teamId(), principal.quizId(), sessionId);
             
             // Notify host of team connection
-            broadcastService.notifyTeamJoined(principal.quizId(), principal.teamId());
+            hostNotifications.teamConnected(principal.quizId(), principal.teamId());
         }
     }
 
@@ -66,7 +98,14 @@ public class WebSocketEventListener {
         if (sessionId == null) {
             return;
         }
+        clockSyncService.removeSession(sessionId);
+        sessionDisconnected(sessionId);
+    }
 
+    /**
+     * Unregisters a connection, made here or to another node, if it was registered.
+     */
+    public void sessionDisconnected(String sessionId) {
         var connection = sessionManager.getConnection(sessionId);
         if (connection.isEmpty()) {
             return;
@@ -77,17 +116,20 @@ public class WebSocketEventListener {
 
         if (conn.isHost()) {
             logger.info("Host disconnected from quiz {}: session {}", conn.quizId(), sessionId);
-            // Pause timer if host disconnects during active game
-            GameState currentState = sessionManager.getCurrentState(conn.quizId());
-            if (currentState == GameState.ACTIVE) {
-                timerService.pauseTimer(conn.quizId());
-            }
-            broadcastService.notifyHostDisconnected(conn.quizId());
+            // Pause timer if host disconnects during active game, in order with the quiz's other commands
+            actors.tell(conn.quizId(), () -> {
+                GameState currentState = sessionManager.getCurrentState(conn.quizId());
+                if (currentState == GameState.ACTIVE) {
+                    timerService.pauseTimer(conn.quizId());
+                    checkpoints.save(conn.quizId());
+                }
+                broadcastService.notifyHostDisconnected(conn.quizId());
+            });
         } else {
             logger.info("Team {} disconnected from quiz {}: session {}", 
                     conn.teamId(), conn.quizId(), sessionId);
-            // Notify host of team disconnection
-            broadcastService.notifyTeamDisconnected(conn.quizId(), conn.teamId());
+            // Notify host of team disconnection, unless the team reconnects within the grace period
+            hostNotifications.teamDisconnected(conn.quizId(), conn.teamId());
         }
     }
 }
@@ -0,0 +1,190 @@
+package com.intelliquiz.api.infrastructure.websocket;
+
+import com.intelliquiz.api.infrastructure.config.GameProperties;
+import com.intelliquiz.api.infrastructure.config.QuizBroadcastService;
+import com.intelliquiz.api.infrastructure.websocket.dto.AnswerDistribution;
+import com.intelliquiz.api.infrastructure.websocket.dto.HostNotification;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * Live answer-distribution counters for open questions.
+ *
+ * Each question has one counter per MCQ option plus correct and incorrect. Counters move as
+ * answers arrive and change, so the distribution is ready the moment the question closes,
+ * and the reveal does not reload the submissions. Counting follows
+ * {@link AnswerDistributionService}, which remains the fallback when a question has no tally
+ * (e.g. after a restart).
+ *
+ * When {@code game.live-distribution-interval-millis} is positive, the distribution is also
+ * streamed to the host at most once per interval while answers come in.
+ */
+@Service
+public class AnswerTallyService {
+
+    private static final Logger logger = LoggerFactory.getLogger(AnswerTallyService.class);
+
+    private final QuizBroadcastService broadcastService;
+    private final GameExecutors executors;
+    private final GameProperties gameProperties;
+
+    // Question ID -> tally
+    private final Map<Long, Tally> tallies = new ConcurrentHashMap<>();
+
+    public AnswerTallyService(
+            QuizBroadcastService broadcastService,
+            GameExecutors executors,
+            GameProperties gameProperties
+    ) {
+        this.broadcastService = broadcastService;
+        this.executors = executors;
+        this.gameProperties = gameProperties;
+    }
+
+    /**
+     * Starts counting answers for a question; tallies of the quiz's earlier questions are dropped.
+     */
+    public void open(Long quizId, QuizDeck.DeckQuestion question) {
+        tallies.values().removeIf(t -> t.quizId.equals(quizId) && !t.questionId.equals(question.questionId()));
+        tallies.put(question.questionId(), new Tally(quizId, question));
+    }
+
+    /**
+     * Counts a team's latest answer, replacing its previous answer if it had one.
+     */
+    public void record(Long questionId, Long teamId, String answer) {
+        Tally tally = tallies.get(questionId);
+        if (tally == null) {
+            return;
+        }
+        tally.record(teamId, answer);
+        streamToHost(tally);
+    }
+
+    /**
+     * Gets the current distribution of a question, if it is being counted.
+     */
+    public Optional<AnswerDistribution> getDistribution(Long questionId) {
+        Tally tally = tallies.get(questionId);
+        return tally != null ? Optional.of(tally.snapshot()) : Optional.empty();
+    }
+
+    /**
+     * Stops streaming a question's distribution; its counts stay readable until the next question opens.
+     */
+    public void close(Long questionId) {
+        Tally tally = tallies.get(questionId);
+        if (tally != null) {
+            tally.closed = true;
+        }
+    }
+
+    /**
+     * Drops every tally of a quiz (on quiz end).
+     */
+    public void closeQuiz(Long quizId) {
+        tallies.values().removeIf(t -> t.quizId.equals(quizId));
+    }
+
+    // At most one stream per question is pending; it is sent on the trailing edge of the interval
+    private void streamToHost(Tally tally) {
+        long intervalMillis = gameProperties.getLiveDistributionIntervalMillis();
+        if (intervalMillis <= 0 || tally.closed || !tally.streamPending.compareAndSet(false, true)) {
+            return;
+        }
+        long delayNanos = Math.max(0, tally.lastStreamNanos + TimeUnit.MILLISECONDS.toNanos(intervalMillis) - System.nanoTime());
+        executors.wheel().schedule(() -> {
+            try {
+                executors.broadcast().execute(tally.quizId, () -> sendToHost(tally));
+            } catch (RejectedExecutionException e) {
+                tally.streamPending.set(false);
+                logger.warn("Dropped live distribution for question {}: broadcast queue full", tally.questionId);
+            }
+        }, delayNanos, TimeUnit.NANOSECONDS);
+    }
+
+    private void sendToHost(Tally tally) {
+        // Cleared before the snapshot so an answer counted meanwhile schedules another send
+        tally.streamPending.set(false);
+        tally.lastStreamNanos = System.nanoTime();
+        if (!tally.closed) {
+            broadcastService.sendToHost(tally.quizId, HostNotification.liveDistribution(tally.questionId, tally.snapshot()));
+        }
+    }
+
+    /**
+     * Counters of one question. Each team's last counted answer is kept as a slot code so a
+     * changed answer moves the team between counters without re-reading anything.
+     */
+    private static final class Tally {
+        private final Long quizId;
+        private final Long questionId;
+        private final QuizDeck.DeckQuestion question;
+        private final String[] optionKeys;
+        // [option 0 .. option n-1, correct, incorrect]
+        private final AtomicIntegerArray counts;
+        private final Map<Long, Integer> codeByTeam = new ConcurrentHashMap<>();
+        private final AtomicBoolean streamPending = new AtomicBoolean();
+        private volatile long lastStreamNanos = System.nanoTime() - TimeUnit.DAYS.toNanos(1);
+        private volatile boolean closed;
+
+        Tally(Long quizId, QuizDeck.DeckQuestion question) {
+            this.quizId = quizId;
+            this.questionId = question.questionId();
+            this.question = question;
+            this.optionKeys = question.optionKeys().toArray(String[]::new);
+            this.counts = new AtomicIntegerArray(optionKeys.length + 2);
+        }
+
+        void record(Long teamId, String answer) {
+            int code = encode(answer);
+            Integer previous = codeByTeam.put(teamId, code);
+            if (previous != null) {
+                apply(previous, -1);
+            }
+            apply(code, 1);
+        }
+
+        AnswerDistribution snapshot() {
+            Map<String, Integer> optionCounts = new HashMap<>();
+            for (int i = 0; i < optionKeys.length; i++) {
+                optionCounts.put(optionKeys[i], counts.get(i));
+            }
+            return new AnswerDistribution(optionCounts, counts.get(optionKeys.length), counts.get(optionKeys.length + 1));
+        }
+
+        // (option index + 1) * 2 + correct bit; option index -1 means no option matched
+        private int encode(String answer) {
+            int option = -1;
+            if (optionKeys.length > 0 && answer != null && !answer.isBlank()) {
+                String normalizedAnswer = answer.toUpperCase().trim();
+                for (int i = 0; i < optionKeys.length; i++) {
+                    if (optionKeys[i].equals(normalizedAnswer)) {
+                        option = i;
+                        break;
+                    }
+                }
+            }
+            boolean correct = question.isCorrectAnswer(answer);
+            return (option + 1) * 2 + (correct ? 1 : 0);
+        }
+
+        private void apply(int code, int delta) {
+            int option = code / 2 - 1;
+            if (option >= 0) {
+                counts.addAndGet(option, delta);
+            }
+            counts.addAndGet((code & 1) == 1 ? optionKeys.length : optionKeys.length + 1, delta);
+        }
+    }
+}
@@ -0,0 +1,138 @@
+package com.intelliquiz.api.infrastructure.websocket;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.IntConsumer;
+
+/**
+ * Thread-safe, growable bitset over {@link TeamIndex} numbers, with a running count of set bits.
+ *
+ * Bits live in fixed segments of 4096 that are allocated as higher numbers are first set,
+ * so existing segments never move and a bit set concurrently with growth is never lost.
+ */
+public final class AtomicBitSet {
+
+    private static final int WORDS_PER_SEGMENT = 64;
+    private static final int SEGMENT_SHIFT = 12; // 64 words * 64 bits
+
+    private volatile AtomicLongArray[] segments;
+    private final AtomicInteger cardinality = new AtomicInteger();
+
+    /**
+     * Creates a bitset with room for {@code expectedBits} before it has to grow.
+     */
+    public AtomicBitSet(int expectedBits) {
+        int count = Math.max(1, (expectedBits + (1 << SEGMENT_SHIFT) - 1) >>> SEGMENT_SHIFT);
+        AtomicLongArray[] initial = new AtomicLongArray[count];
+        for (int i = 0; i < count; i++) {
+            initial[i] = new AtomicLongArray(WORDS_PER_SEGMENT);
+        }
+        this.segments = initial;
+    }
+
+    /**
+     * Sets a bit.
+     *
+     * @return whether the bit was clear before
+     */
+    public boolean set(int index) {
+        AtomicLongArray segment = segment(index, true);
+        int word = wordIn(index);
+        long mask = 1L << index;
+        while (true) {
+            long current = segment.get(word);
+            if ((current & mask) != 0) {
+                return false;
+            }
+            if (segment.compareAndSet(word, current, current | mask)) {
+                cardinality.incrementAndGet();
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Clears a bit.
+     *
+     * @return whether the bit was set before
+     */
+    public boolean clear(int index) {
+        AtomicLongArray segment = segment(index, false);
+        if (segment == null) {
+            return false;
+        }
+        int word = wordIn(index);
+        long mask = 1L << index;
+        while (true) {
+            long current = segment.get(word);
+            if ((current & mask) == 0) {
+                return false;
+            }
+            if (segment.compareAndSet(word, current, current & ~mask)) {
+                cardinality.decrementAndGet();
+                return true;
+            }
+        }
+    }
+
+    public boolean get(int index) {
+        AtomicLongArray segment = segment(index, false);
+        return segment != null && (segment.get(wordIn(index)) & (1L << index)) != 0;
+    }
+
+    /**
+     * Gets the number of set bits.
+     */
+    public int cardinality() {
+        return cardinality.get();
+    }
+
+    /**
+     * Calls {@code action} with every set bit, in ascending order.
+     * Bits changed during the walk may or may not be seen.
+     */
+    public void forEach(IntConsumer action) {
+        AtomicLongArray[] current = segments;
+        for (int s = 0; s < current.length; s++) {
+            AtomicLongArray segment = current[s];
+            for (int w = 0; w < WORDS_PER_SEGMENT; w++) {
+                long bits = segment.get(w);
+                while (bits != 0) {
+                    int bit = Long.numberOfTrailingZeros(bits);
+                    action.accept((s << SEGMENT_SHIFT) + (w << 6) + bit);
+                    bits &= bits - 1;
+                }
+            }
+        }
+    }
+
+    private static int wordIn(int index) {
+        return (index >>> 6) & (WORDS_PER_SEGMENT - 1);
+    }
+
+    private AtomicLongArray segment(int index, boolean create) {
+        if (index < 0) {
+            throw new IndexOutOfBoundsException("Negative bit index " + index);
+        }
+        int s = index >>> SEGMENT_SHIFT;
+        AtomicLongArray[] current = segments;
+        if (s < current.length) {
+            return current[s];
+        }
+        return create ? grow(s) : null;
+    }
+
+    private synchronized AtomicLongArray grow(int s) {
+        AtomicLongArray[] current = segments;
+        if (s < current.length) {
+            return current[s];
+        }
+        AtomicLongArray[] bigger = Arrays.copyOf(current, Math.max(s + 1, current.length * 2));
+        for (int i = current.length; i < bigger.length; i++) {
+            bigger[i] = new AtomicLongArray(WORDS_PER_SEGMENT);
+        }
+        segments = bigger;
+        return bigger[s];
+    }
+}
@@ -0,0 +1,78 @@
+package com.intelliquiz.api.infrastructure.websocket;
+
+import com.intelliquiz.api.infrastructure.config.GameProperties;
+import com.intelliquiz.api.infrastructure.websocket.dto.ClockPing;
+import com.intelliquiz.api.infrastructure.websocket.dto.ClockPong;
+import org.springframework.stereotype.Service;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Answers client clock pings and tracks each session's measured latency.
+ * The one-way latency (half the smoothed round trip, capped) is the grace a session gets
+ * when its answer arrives just after a question timer expired.
+ */
+@Service
+public class ClockSyncService {
+
+    // Weight of a new sample in the smoothed round trip, as in TCP's SRTT
+    private static final double SMOOTHING = 0.25;
+
+    private final GameProperties gameProperties;
+
+    // Session ID -> latency estimate
+    private final Map<String, SessionClock> sessions = new ConcurrentHashMap<>();
+
+    public ClockSyncService(GameProperties gameProperties) {
+        this.gameProperties = gameProperties;
+    }
+
+    /**
+     * Handles a ping and records the round trip the client reported for its previous ping.
+     */
+    public ClockPong handlePing(Long quizId, String sessionId, ClockPing ping) {
+        long receivedAt = System.currentTimeMillis();
+        Long roundTrip = ping.lastRoundTripMillis();
+        if (roundTrip != null && roundTrip >= 0) {
+            sessions.compute(sessionId, (id, clock) -> clock == null
+                    ? new SessionClock(quizId, roundTrip)
+                    : new SessionClock(quizId, clock.smoothedRoundTripMillis() * (1 - SMOOTHING) + roundTrip * SMOOTHING));
+        }
+        return new ClockPong(ping.clientSendTime(), receivedAt, System.currentTimeMillis());
+    }
+
+    /**
+     * Gets the one-way latency of a session, capped by {@code game.latency-grace-max-millis}.
+     * Sessions that never reported a round trip get no grace.
+     */
+    public long getOneWayLatencyMillis(String sessionId) {
+        SessionClock clock = sessions.get(sessionId);
+        return clock != null ? capped(clock) : 0L;
+    }
+
+    /**
+     * Gets the largest one-way latency among the sessions of a quiz (how long to hold a question open after expiry).
+     */
+    public long getMaxOneWayLatencyMillis(Long quizId) {
+        return sessions.values().stream()
+                .filter(clock -> clock.quizId().equals(quizId))
+                .mapToLong(this::capped)
+                .max()
+                .orElse(0L);
+    }
+
+    /**
+     * Forgets a session (on disconnect).
+     */
+    public void removeSession(String sessionId) {
+        sessions.remove(sessionId);
+    }
+
+    private long capped(SessionClock clock) {
+        long oneWay = Math.round(clock.smoothedRoundTripMillis() / 2);
+        return Math.min(oneWay, gameProperties.getLatencyGraceMaxMillis());
+    }
+
+    private record SessionClock(Long quizId, double smoothedRoundTripMillis) {}
+}
@@ -0,0 +1,69 @@
+package com.intelliquiz.api.infrastructure.websocket;
+
+import com.intelliquiz.api.infrastructure.config.GameProperties;
+import jakarta.annotation.PreDestroy;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bounded executors that keep the live game's kinds of work apart:
+ * <ul>
+ *   <li>tick - timer firings handed over by the timing wheel, ordered per quiz</li>
+ *   <li>grading - grading and answer reveal, which hit the database</li>
+ *   <li>broadcast - outbound fan-out from timer ticks, ordered per quiz</li>
+ * </ul>
+ * A slow grading run can only exhaust the grading pool, never delay another quiz's ticks.
+ * Delayed work (countdowns, throttled streams) shares one {@link TimingWheel}.
+ */
+@Component
+public class GameExecutors {
+
+    private final InstrumentedExecutor tick;
+    private final InstrumentedExecutor grading;
+    private final InstrumentedExecutor broadcast;
+
+    // 10 ms resolution; one revolution covers a little over a second, longer delays use rounds
+    private final TimingWheel wheel = new TimingWheel("quiz-timer-wheel", 10, TimeUnit.MILLISECONDS, 128);
+
+    public GameExecutors(GameProperties gameProperties) {
+        this.tick = new InstrumentedExecutor("quiz-tick",
+                gameProperties.getTickThreads(), gameProperties.getTickQueueCapacity());
+        this.grading = new InstrumentedExecutor("quiz-grading",
+                gameProperties.getGradingThreads(), gameProperties.getGradingQueueCapacity());
+        this.broadcast = new InstrumentedExecutor("quiz-broadcast",
+                gameProperties.getBroadcastThreads(), gameProperties.getBroadcastQueueCapacity());
+    }
+
+    public InstrumentedExecutor tick() {
+        return tick;
+    }
+
+    public InstrumentedExecutor grading() {
+        return grading;
+    }
+
+    public InstrumentedExecutor broadcast() {
+        return broadcast;
+    }
+
+    public TimingWheel wheel() {
+        return wheel;
+    }
+
+    /**
+     * Gets queue depth and latency metrics of every executor.
+     */
+    public List<InstrumentedExecutor.Snapshot> snapshots() {
+        return List.of(tick.snapshot(), grading.snapshot(), broadcast.snapshot());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        wheel.stop();
+        tick.shutdown();
+        grading.shutdown();
+        broadcast.shutdown();
+    }
+}
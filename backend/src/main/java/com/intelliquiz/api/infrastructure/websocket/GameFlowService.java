@@ -1,29 +1,34 @@
 package com.intelliquiz.api.infrastructure.websocket;
 
-import com.intelliquiz.api.domain.entities.Question;
+import com.intelliquiz.api.application.events.QuizDeactivatedEvent;
+import com.intelliquiz.api.application.services.LeaderboardService;
+import com.intelliquiz.api.application.services.LiveLeaderboard;
 import com.intelliquiz.api.domain.entities.Quiz;
-import com.intelliquiz.api.domain.entities.Submission;
-import com.intelliquiz.api.domain.entities.Team;
 import com.intelliquiz.api.domain.exceptions.EntityNotFoundException;
-import com.intelliquiz.api.domain.ports.QuestionRepository;
+import com.intelliquiz.api.domain.ports.QuestionGradingRepository;
+import com.intelliquiz.api.domain.ports.QuestionGradingRepository.TeamGrade;
 import com.intelliquiz.api.domain.ports.QuizRepository;
-import com.intelliquiz.api.domain.ports.SubmissionRepository;
-import com.intelliquiz.api.domain.ports.TeamRepository;
+import com.intelliquiz.api.infrastructure.config.GameProperties;
+import com.intelliquiz.api.infrastructure.config.GameProperties.RevealMode;
+import com.intelliquiz.api.infrastructure.config.LiveQuizSession;
 import com.intelliquiz.api.infrastructure.config.QuizBroadcastService;
 import com.intelliquiz.api.infrastructure.config.QuizSessionManager;
 import com.intelliquiz.api.infrastructure.websocket.dto.*;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
 
 import java.util.*;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.stream.Collectors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Consumer;
 
 /**
  * Orchestrates the semi-automated game flow for quiz sessions.
  * Handles state transitions, submissions, and scoring.
+ *
+ * Every entry point is meant to run on the quiz's {@link QuizActor}: the controller posts host
+ * commands and answers there, and timer callbacks registered here hop onto it as well.
  */
 @Service
 public class GameFlowService {
@@ -33,200 +38,334 @@ public class GameFlowService {
 
     private final QuizTimerService timerService;
     private final QuizBroadcastService broadcastService;
+    private final HostNotificationCoalescer hostNotifications;
     private final QuizSessionManager sessionManager;
     private final QuizRepository quizRepository;
-    private final QuestionRepository questionRepository;
-    private final TeamRepository teamRepository;
-    private final SubmissionRepository submissionRepository;
+    private final QuizDeckCache deckCache;
+    private final QuestionGradingRepository gradingRepository;
     private final AnswerDistributionService distributionService;
-
-    // Quiz ID -> Set of team IDs that have submitted for current question
-    private final Map<Long, Set<Long>> submittedTeams = new ConcurrentHashMap<>();
+    private final AnswerTallyService answerTally;
+    private final SubmissionBuffer submissionBuffer;
+    private final ClockSyncService clockSyncService;
+    private final LeaderboardService leaderboardService;
+    private final GameProperties gameProperties;
+    private final QuizActors actors;
+    private final QuizCheckpoints checkpoints;
 
     public GameFlowService(
             QuizTimerService timerService,
             QuizBroadcastService broadcastService,
+            HostNotificationCoalescer hostNotifications,
             QuizSessionManager sessionManager,
             QuizRepository quizRepository,
-            QuestionRepository questionRepository,
-            TeamRepository teamRepository,
-            SubmissionRepository submissionRepository,
-            AnswerDistributionService distributionService
+            QuizDeckCache deckCache,
+            QuestionGradingRepository gradingRepository,
+            AnswerDistributionService distributionService,
+            AnswerTallyService answerTally,
+            SubmissionBuffer submissionBuffer,
+            ClockSyncService clockSyncService,
+            LeaderboardService leaderboardService,
+            GameProperties gameProperties,
+            QuizActors actors,
+            QuizCheckpoints checkpoints
     ) {
         this.timerService = timerService;
         this.broadcastService = broadcastService;
+        this.hostNotifications = hostNotifications;
         this.sessionManager = sessionManager;
         this.quizRepository = quizRepository;
-        this.questionRepository = questionRepository;
-        this.teamRepository = teamRepository;
-        this.submissionRepository = submissionRepository;
+        this.deckCache = deckCache;
+        this.gradingRepository = gradingRepository;
         this.distributionService = distributionService;
+        this.answerTally = answerTally;
+        this.submissionBuffer = submissionBuffer;
+        this.clockSyncService = clockSyncService;
+        this.leaderboardService = leaderboardService;
+        this.gameProperties = gameProperties;
+        this.actors = actors;
+        this.checkpoints = checkpoints;
     }
 
     /**
      * Starts a round with buffer countdown.
+     * The quiz's question deck is compiled here, so the round's questions need no database access.
      */
     public void startRound(Long quizId, String roundName) {
         logger.info("Starting round {} for quiz {}", roundName, quizId);
         
+        deckCache.reload(quizId);
+        
         sessionManager.setCurrentState(quizId, GameState.BUFFER);
         sessionManager.setCurrentQuestionIndex(quizId, 0);
+        sessionManager.setRoundName(quizId, roundName);
         
         // Start buffer countdown, then auto-start first question
-        timerService.startBufferCountdown(quizId, BUFFER_DURATION_SECONDS, roundName, () -> {
-            showQuestion(quizId, 0);
-        });
+        timerService.startBufferCountdown(quizId, BUFFER_DURATION_SECONDS, roundName,
+                actors.onActor(quizId, () -> showQuestion(quizId, 0)));
+        checkpoints.save(quizId);
     }
 
     /**
      * Shows a question and starts the timer.
      */
     public void showQuestion(Long quizId, int questionIndex) {
-        Quiz quiz = quizRepository.findById(quizId)
-                .orElseThrow(() -> new EntityNotFoundException("Quiz", quizId));
-        
-        List<Question> questions = quiz.getQuestions().stream()
-                .sorted(Comparator.comparingInt(Question::getOrderIndex))
-                .toList();
+        QuizDeck deck = deckCache.get(quizId);
+        Optional<QuizDeck.DeckQuestion> next = deck.get(questionIndex);
         
-        if (questionIndex >= questions.size()) {
+        if (next.isEmpty()) {
             // No more questions, show round summary
             showRoundSummary(quizId);
             return;
         }
         
-        Question question = questions.get(questionIndex);
-        sessionManager.setCurrentQuestionIndex(quizId, questionIndex);
-        sessionManager.setCurrentQuestionId(quizId, question.getId());
-        sessionManager.setCurrentState(quizId, GameState.ACTIVE);
+        QuizDeck.DeckQuestion question = next.get();
+        openQuestion(quizId, question);
+        broadcastQuestion(quizId, deck, question);
         
-        // Clear submitted teams for new question
-        submittedTeams.put(quizId, ConcurrentHashMap.newKeySet());
+        // Start question timer
+        timerService.startQuestionTimer(quizId, question.questionId(), question.timeLimitSeconds(),
+                expiryCallback(quizId));
+        checkpoints.save(quizId);
         
-        // Broadcast question (JIT - no correctKey)
-        QuestionPayload payload = QuestionPayload.from(question);
-        broadcastService.broadcastQuestion(quizId, payload);
+        logger.info("Showing question {} ({}) for quiz {}", questionIndex, question.questionId(), quizId);
+    }
+
+    /**
+     * Makes a question current and opens a fresh answer buffer for it, numbering teams like the session does.
+     */
+    private void openQuestion(Long quizId, QuizDeck.DeckQuestion question) {
+        sessionManager.showQuestion(quizId, question.index(), question.questionId());
+        submissionBuffer.open(quizId, question.questionId(), sessionManager.getTeamIndex(quizId));
+        answerTally.open(quizId, question);
+    }
+
+    /**
+     * Broadcasts a question (JIT - no correctKey) and the active state.
+     */
+    private void broadcastQuestion(Long quizId, QuizDeck deck, QuizDeck.DeckQuestion question) {
+        broadcastService.broadcastQuestion(quizId, question.payload());
         broadcastService.broadcastGameState(quizId, GameStateMessage.active(
-                quizId, questionIndex, questions.size(), 
-                question.getDifficulty() != null ? question.getDifficulty().name() : null
+                quizId, question.index(), deck.size(), question.difficulty()
         ));
+    }
+
+    /**
+     * Carries on a quiz from a checkpoint, after a restart or on the node taking it over from
+     * another: the question it was showing is shown again with the time it had left (or graded
+     * at once if its time ran out meanwhile), a round countdown starts over for the same round,
+     * and any other state is restored for the host to continue from.
+     *
+     * @param answers answers to the checkpoint's question that were accepted but not yet written;
+     *                they are put back into its buffer. Teams whose answers are not among them
+     *                can answer the question again.
+     */
+    public void resume(QuizCheckpoint checkpoint, Collection<SubmissionJournal.JournaledAnswer> answers) {
+        Long quizId = checkpoint.quizId();
+        GameState state = checkpoint.state();
+        long remainingMillis = checkpoint.remainingMillisAt(System.currentTimeMillis());
+        deckCache.reload(quizId);
+        QuizDeck deck = deckCache.get(quizId);
+        Optional<QuizDeck.DeckQuestion> current = deck.get(checkpoint.questionIndex());
+        boolean questionOpen = state == GameState.ACTIVE || state == GameState.GRADING || state == GameState.PAUSED;
+        
+        if (state == GameState.BUFFER) {
+            startRound(quizId, checkpoint.roundName() != null ? checkpoint.roundName() : "ROUND");
+            return;
+        }
+        if (checkpoint.roundName() != null) {
+            sessionManager.setRoundName(quizId, checkpoint.roundName());
+        }
+        if (questionOpen && current.isPresent()) {
+            QuizDeck.DeckQuestion question = current.get();
+            openQuestion(quizId, question);
+            for (SubmissionJournal.JournaledAnswer answer : answers) {
+                if (submissionBuffer.restore(question.questionId(), answer)) {
+                    answerTally.record(question.questionId(), answer.teamId(), answer.answer());
+                }
+            }
+            if (state == GameState.GRADING || remainingMillis <= 0) {
+                calculateAndRevealResults(quizId, question.questionId());
+                return;
+            }
+            broadcastQuestion(quizId, deck, question);
+            timerService.startQuestionTimer(quizId, question.questionId(), question.timeLimitSeconds(),
+                    remainingMillis, expiryCallback(quizId));
+            if (checkpoint.paused()) {
+                timerService.pauseTimer(quizId);
+            }
+        } else {
+            sessionManager.setCurrentQuestionIndex(quizId, checkpoint.questionIndex());
+            current.ifPresent(question -> sessionManager.setCurrentQuestionId(quizId, question.questionId()));
+            broadcastService.broadcastGameState(quizId, new GameStateMessage(
+                    state, quizId, checkpoint.questionIndex(), deck.size(), null, "Game resumed"));
+        }
+        checkpoints.save(quizId);
         
-        // Start question timer
-        int timeLimit = question.getTimeLimit() > 0 ? question.getTimeLimit() : 30;
-        timerService.startQuestionTimer(quizId, question.getId(), timeLimit, this::onTimerExpired);
+        logger.info("Resumed quiz {} in state {} at question {}", quizId, state, checkpoint.questionIndex());
+    }
+
+    /**
+     * Gets the quiz as it stands, for a client that connects late or has missed more frames than
+     * are kept: its state, the open question, the countdown and the team's own answer. Built from
+     * the cached deck, the timer and the answer buffer, with no database access.
+     *
+     * @param teamId the requesting team, whose answer is included; null for the host
+     */
+    public QuizSnapshot snapshot(Long quizId, Long teamId) {
+        // Taken first, so frames sent while the snapshot is built follow it (at worst repeating it)
+        String sequence = broadcastService.sequencePosition(quizId);
+        LiveQuizSession.Flow flow = sessionManager.getFlow(quizId);
+        GameState state = flow.state();
+        Integer totalQuestions = null;
+        QuestionPayload question = null;
+        String submittedAnswer = null;
+        
+        if (state != GameState.LOBBY && state != GameState.ENDED) {
+            QuizDeck deck = deckCache.get(quizId);
+            totalQuestions = deck.size();
+            boolean questionShown = state == GameState.ACTIVE || state == GameState.PAUSED || state == GameState.GRADING;
+            if (questionShown && flow.questionId() != null) {
+                question = deck.find(flow.questionId()).map(QuizDeck.DeckQuestion::payload).orElse(null);
+            }
+            if (teamId != null && flow.questionId() != null) {
+                submittedAnswer = submissionBuffer.getAnswer(flow.questionId(), teamId)
+                        .map(SubmissionBuffer.BufferedAnswer::answer)
+                        .orElse(null);
+            }
+        }
         
-        logger.info("Showing question {} ({}) for quiz {}", questionIndex, question.getId(), quizId);
+        return new QuizSnapshot(
+                state,
+                quizId,
+                flow.questionIndex(),
+                totalQuestions,
+                question,
+                timerService.getRemainingMillis(quizId),
+                timerService.getTotalSeconds(quizId),
+                timerService.isTimerPaused(quizId),
+                submittedAnswer,
+                sessionManager.getConnectedTeamCount(quizId),
+                sequence
+        );
     }
 
     /**
-     * Called when question timer expires.
+     * Stops running a quiz on this node without ending it, once another node has taken it over:
+     * timers stop, buffered answers are written, and the game state and connections held here
+     * are dropped. Clients stay connected; the new owner registers them and sends them its frames.
      */
-    private void onTimerExpired(Long questionId) {
-        Question question = questionRepository.findById(questionId).orElse(null);
-        if (question == null) return;
+    public void handOver(Long quizId) {
+        timerService.stopTimer(quizId);
+        submissionBuffer.closeQuiz(quizId);
+        answerTally.closeQuiz(quizId);
+        deckCache.invalidate(quizId);
+        leaderboardService.evict(quizId);
+        broadcastService.releaseQuiz(quizId);
+        hostNotifications.releaseQuiz(quizId);
+        sessionManager.clearQuizSession(quizId);
+        checkpoints.discard(quizId);
+        actors.release(quizId);
         
-        Long quizId = question.getQuiz().getId();
+        logger.info("Handed over quiz {}", quizId);
+    }
+
+    /**
+     * Timer expiry callback that grades on the quiz's actor, after everything posted before the expiry.
+     * It is posted past the mailbox capacity: a full mailbox must not lose the expiry. The thread
+     * that fires it does not wait for the grading.
+     */
+    private Consumer<Long> expiryCallback(Long quizId) {
+        return questionId -> actors.tellUnbounded(quizId, () -> onTimerExpired(quizId, questionId));
+    }
+
+    /**
+     * Called when question timer expires.
+     */
+    private void onTimerExpired(Long quizId, Long questionId) {
         logger.info("Timer expired for question {} in quiz {}", questionId, quizId);
         
+        // The host may have moved on between the expiry and this turn of the actor
+        if (!questionId.equals(sessionManager.getFlow(quizId).questionId())) {
+            logger.debug("Question {} of quiz {} is no longer current", questionId, quizId);
+            return;
+        }
+        
         // Auto-transition to GRADING (already done by timer service)
         // Then calculate results and auto-transition to REVEAL
         calculateAndRevealResults(quizId, questionId);
     }
 
     /**
-     * Calculates results and broadcasts answer reveal.
+     * Calculates results and broadcasts answer reveal, in full or split per {@code game.reveal-mode}.
+     * The whole question is graded set-based in one transaction by the grading repository,
+     * which also returns every team's outcome, so no entity graph is loaded here.
      */
-    @Transactional
     public void calculateAndRevealResults(Long quizId, Long questionId) {
-        Question question = questionRepository.findById(questionId)
+        // Write all buffered answers in one batch before grading; the tally is complete once closed
+        submissionBuffer.closeAndFlush(questionId);
+        answerTally.close(questionId);
+        
+        QuizDeck.DeckQuestion question = deckCache.get(quizId).find(questionId)
                 .orElseThrow(() -> new EntityNotFoundException("Question", questionId));
         
-        Quiz quiz = question.getQuiz();
-        List<Team> teams = quiz.getTeams();
+        List<TeamGrade> grades = gradingRepository.gradeQuestion(
+                quizId, questionId, question.correctKey(), question.points());
         
-        // Grade all submissions and calculate results
-        List<TeamResult> results = new ArrayList<>();
+        // Move every team to its graded total on the leaderboard
+        LiveLeaderboard leaderboard = leaderboardService.getOrCreate(quizId);
+        Map<Long, TeamGrade> gradesByTeam = new HashMap<>(grades.size() * 2);
+        for (TeamGrade grade : grades) {
+            leaderboard.update(grade.teamId(), grade.teamName(), grade.totalScore());
+            gradesByTeam.put(grade.teamId(), grade);
+        }
         
-        for (Team team : teams) {
-            Optional<Submission> submissionOpt = submissionRepository.findByTeamAndQuestion(team, question);
-            
-            if (submissionOpt.isPresent()) {
-                Submission submission = submissionOpt.get();
-                // Grade if not already graded
-                if (!submission.isGraded()) {
-                    submission.grade();
-                    submissionRepository.save(submission);
-                }
-                
-                results.add(new TeamResult(
-                        team.getId(),
-                        team.getName(),
-                        submission.getSubmittedAnswer(),
-                        submission.isCorrect(),
-                        submission.isCorrect() ? question.getPoints() : 0,
-                        team.getTotalScore(),
-                        0, // Rank will be calculated below
-                        false
+        // Results in leaderboard order, with rank and ties from the leaderboard
+        List<TeamResult> rankedResults = new ArrayList<>(grades.size());
+        for (LiveLeaderboard.Standing standing : leaderboard.standings()) {
+            TeamGrade grade = gradesByTeam.get(standing.teamId());
+            if (grade != null && grade.hasSubmitted()) {
+                rankedResults.add(new TeamResult(
+                        standing.teamId(),
+                        standing.teamName(),
+                        grade.submittedAnswer(),
+                        grade.isCorrect(),
+                        grade.awardedPoints(),
+                        standing.score(),
+                        standing.rank(),
+                        standing.isTied()
                 ));
             } else {
-                // No submission
-                results.add(TeamResult.noSubmission(
-                        team.getId(),
-                        team.getName(),
-                        team.getTotalScore(),
-                        0,
-                        false
+                rankedResults.add(TeamResult.noSubmission(
+                        standing.teamId(),
+                        standing.teamName(),
+                        standing.score(),
+                        standing.rank(),
+                        standing.isTied()
                 ));
             }
         }
         
-        // Sort by total score and assign ranks
-        results.sort((a, b) -> Integer.compare(b.totalScore(), a.totalScore()));
-        List<TeamResult> rankedResults = new ArrayList<>();
-        int rank = 1;
-        int prevScore = Integer.MAX_VALUE;
-        int sameRankCount = 0;
-        
-        for (TeamResult result : results) {
-            if (result.totalScore() < prevScore) {
-                rank += sameRankCount;
-                sameRankCount = 1;
-                prevScore = result.totalScore();
-            } else {
-                sameRankCount++;
-            }
-            
-            boolean isTied = results.stream()
-                    .filter(r -> r.totalScore() == result.totalScore())
-                    .count() > 1;
-            
-            rankedResults.add(new TeamResult(
-                    result.teamId(),
-                    result.teamName(),
-                    result.submittedAnswer(),
-                    result.isCorrect(),
-                    result.pointsEarned(),
-                    result.totalScore(),
-                    rank,
-                    isTied
-            ));
-        }
-        
-        // Calculate answer distribution
-        AnswerDistribution distribution = distributionService.calculateDistribution(questionId);
+        // Answer distribution from the live counters, or from the database if there are none
+        AnswerDistribution distribution = answerTally.getDistribution(questionId)
+                .orElseGet(() -> distributionService.calculateDistribution(questionId));
         
         // Broadcast reveal
         AnswerRevealPayload reveal = AnswerRevealPayload.create(
                 questionId,
-                question.getCorrectKey(),
-                question.getType(),
+                question.correctKey(),
+                question.type(),
                 distribution,
                 rankedResults
         );
         
         sessionManager.setCurrentState(quizId, GameState.REVEAL);
         broadcastService.broadcastGameState(quizId, GameStateMessage.reveal(quizId));
-        broadcastService.broadcastAnswerReveal(quizId, reveal);
+        if (gameProperties.getRevealMode() == RevealMode.SPLIT) {
+            broadcastService.broadcastSplitReveal(quizId, reveal, gameProperties.getRevealTopK());
+        } else {
+            broadcastService.broadcastAnswerReveal(quizId, reveal);
+        }
+        checkpoints.save(quizId);
         
         logger.info("Revealed answer for question {} in quiz {}", questionId, quizId);
     }
@@ -246,28 +385,23 @@ public class GameFlowService {
         Quiz quiz = quizRepository.findById(quizId)
                 .orElseThrow(() -> new EntityNotFoundException("Quiz", quizId));
         
-        List<TeamResult> scoreboard = quiz.getLeaderboard().stream()
-                .map(team -> {
-                    int rank = quiz.getLeaderboard().indexOf(team) + 1;
-                    boolean isTied = quiz.getLeaderboard().stream()
-                            .filter(t -> t.getTotalScore() == team.getTotalScore())
-                            .count() > 1;
-                    return new TeamResult(
-                            team.getId(),
-                            team.getName(),
-                            null,
-                            false,
-                            0,
-                            team.getTotalScore(),
-                            rank,
-                            isTied
-                    );
-                })
+        List<TeamResult> scoreboard = leaderboardService.forQuiz(quiz).standings().stream()
+                .map(standing -> new TeamResult(
+                        standing.teamId(),
+                        standing.teamName(),
+                        null,
+                        false,
+                        0,
+                        standing.score(),
+                        standing.rank(),
+                        standing.isTied()
+                ))
                 .toList();
         
         sessionManager.setCurrentState(quizId, GameState.ROUND_SUMMARY);
         broadcastService.broadcastGameState(quizId, GameStateMessage.roundSummary(quizId, "ROUND"));
         broadcastService.broadcastScoreboard(quizId, scoreboard);
+        checkpoints.save(quizId);
         
         // Check for ties in top 5
         List<TeamResult> top5 = scoreboard.stream().limit(5).toList();
@@ -283,73 +417,71 @@ public class GameFlowService {
 
     /**
      * Handles answer submission from a participant.
+     * The answer is journaled and buffered in memory; it is written to the database
+     * in one batch when the question closes.
+     * An answer arriving just after expiry is still accepted if it is within the session's
+     * measured one-way latency, so it was sent before the deadline.
      */
-    @Transactional
     public void handleSubmission(Long quizId, Long teamId, Long questionId, String answer, String sessionId) {
+        // State and current question come from one snapshot, so they cannot disagree
+        LiveQuizSession.Flow flow = sessionManager.getFlow(quizId);
+        GameState currentState = flow.state();
+        boolean inLatencyGrace = currentState == GameState.GRADING && timerService.isWithinExpiryGrace(
+                quizId, questionId, clockSyncService.getOneWayLatencyMillis(sessionId));
+
         // Validate game state
-        GameState currentState = sessionManager.getCurrentState(quizId);
-        if (currentState != GameState.ACTIVE) {
+        if (currentState != GameState.ACTIVE && !inLatencyGrace) {
             broadcastService.sendError(sessionId, ErrorMessage.invalidState(currentState.name()));
             return;
         }
         
         // Validate timer is active
-        if (!timerService.isTimerActive(quizId)) {
+        if (!inLatencyGrace && !timerService.isTimerActive(quizId)) {
             broadcastService.sendError(sessionId, ErrorMessage.timeExpired());
             return;
         }
         
         // Validate question is current
-        Optional<Long> currentQuestionId = sessionManager.getCurrentQuestionId(quizId);
-        if (currentQuestionId.isEmpty() || !currentQuestionId.get().equals(questionId)) {
+        if (flow.questionId() == null || !flow.questionId().equals(questionId)) {
             broadcastService.sendError(sessionId, ErrorMessage.invalidQuestion());
             return;
         }
         
-        Team team = teamRepository.findById(teamId)
-                .orElseThrow(() -> new EntityNotFoundException("Team", teamId));
-        
-        Question question = questionRepository.findById(questionId)
-                .orElseThrow(() -> new EntityNotFoundException("Question", questionId));
-        
-        // Check for existing submission and update or create
-        Optional<Submission> existingSubmission = submissionRepository.findByTeamAndQuestion(team, question);
-        
-        Submission submission;
-        if (existingSubmission.isPresent()) {
-            // Update existing submission (answer change allowed)
-            submission = existingSubmission.get();
-            submission.setSubmittedAnswer(answer);
-            submission.setGraded(false); // Reset grading for new answer
-            submissionRepository.save(submission);
-            logger.debug("Updated submission for team {} question {}", teamId, questionId);
-        } else {
-            // Create new submission
-            submission = new Submission(team, question, answer);
-            submission.validateSubmittedAt();
-            team.addSubmission(submission);
-            teamRepository.save(team);
-            submissionRepository.save(submission);
-            logger.debug("Created submission for team {} question {}", teamId, questionId);
+        // Buffer the latest answer (answer change allowed until the question closes)
+        SubmissionBuffer.Accepted accepted = submissionBuffer.accept(quizId, questionId, teamId, answer,
+                () -> answerTally.record(questionId, teamId, answer));
+        SubmissionBuffer.AcceptResult result = accepted.result();
+        if (result == SubmissionBuffer.AcceptResult.CLOSED) {
+            broadcastService.sendError(sessionId, ErrorMessage.timeExpired());
+            return;
         }
-        
-        // Track submitted teams
-        Set<Long> submitted = submittedTeams.computeIfAbsent(quizId, k -> ConcurrentHashMap.newKeySet());
-        boolean isFirstSubmission = submitted.add(teamId);
-        
-        // Send confirmation to participant
-        broadcastService.sendSubmissionConfirmation(quizId, teamId, questionId);
-        
-        // Notify host (only on first submission, not updates)
-        if (isFirstSubmission) {
-            broadcastService.notifyTeamSubmitted(quizId, teamId);
+        logger.debug("Buffered submission for team {} question {} ({})", teamId, questionId, result);
+        
+        // Counted now, on the actor, so only the answer that completes the count reports it
+        boolean first = result == SubmissionBuffer.AcceptResult.FIRST;
+        int submittedCount = first ? submissionBuffer.getSubmissionCount(questionId) : 0;
+        int connectedTeams = first ? sessionManager.getConnectedTeamCount(quizId) : 0;
+        
+        // Confirm once the answer is journaled; the actor goes on to the next answer meanwhile
+        accepted.journaled().whenComplete((journaled, failure) -> {
+            if (failure != null) {
+                // Still buffered and written when the question closes, but not safe to acknowledge
+                logger.warn("Not confirming answer of team {} to question {}: {}",
+                        teamId, questionId, failure.getMessage());
+                return;
+            }
+            broadcastService.sendSubmissionConfirmation(quizId, teamId, questionId);
             
-            // Check if all teams have submitted
-            int connectedTeams = sessionManager.getConnectedTeamCount(quizId);
-            if (submitted.size() >= connectedTeams) {
-                broadcastService.notifyAllSubmitted(quizId, connectedTeams);
+            // Notify host (only on first submission, not updates)
+            if (first) {
+                hostNotifications.teamSubmitted(quizId, questionId, teamId, submittedCount);
+                
+                // Check if all teams have submitted (sent at once, not with the next digest)
+                if (submittedCount >= connectedTeams) {
+                    broadcastService.notifyAllSubmitted(quizId, connectedTeams);
+                }
             }
-        }
+        });
     }
 
     /**
@@ -360,6 +492,7 @@ public class GameFlowService {
         broadcastService.broadcastGameState(quizId, new GameStateMessage(
                 GameState.TIEBREAKER, quizId, null, null, "TIEBREAKER", "Tiebreaker round!"
         ));
+        checkpoints.save(quizId);
         logger.info("Started tiebreaker for quiz {}", quizId);
         // TODO: Implement full tiebreaker logic with spectator mode
     }
@@ -372,18 +505,43 @@ public class GameFlowService {
         sessionManager.setCurrentState(quizId, GameState.ENDED);
         broadcastService.broadcastGameState(quizId, GameStateMessage.ended(quizId));
         
-        // Clear session data
+        // Flush any answers still buffered, then clear session data
+        submissionBuffer.closeQuiz(quizId);
+        answerTally.closeQuiz(quizId);
+        deckCache.invalidate(quizId);
         sessionManager.clearQuizSession(quizId);
-        submittedTeams.remove(quizId);
+        leaderboardService.evict(quizId);
+        broadcastService.releaseQuiz(quizId);
+        hostNotifications.releaseQuiz(quizId);
+        checkpoints.discard(quizId);
+        actors.release(quizId);
         
         logger.info("Ended quiz {}", quizId);
     }
 
+    /**
+     * Ends a deactivated quiz's game, if one is running, so it stops holding timers, buffers and
+     * its share of the node's capacity.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onQuizDeactivated(QuizDeactivatedEvent event) {
+        Long quizId = event.quizId();
+        if (sessionManager.getSession(quizId).isEmpty()) {
+            return;
+        }
+        try {
+            actors.tell(quizId, () -> endQuiz(quizId));
+        } catch (RejectedExecutionException e) {
+            logger.warn("Could not end deactivated quiz {}: {}", quizId, e.getMessage());
+        }
+    }
+
     /**
      * Pauses the game.
      */
     public void pauseGame(Long quizId) {
         timerService.pauseTimer(quizId);
+        checkpoints.save(quizId);
         logger.info("Paused quiz {}", quizId);
     }
 
@@ -391,7 +549,8 @@ public class GameFlowService {
      * Resumes the game.
      */
     public void resumeGame(Long quizId) {
-        timerService.resumeTimer(quizId, this::onTimerExpired);
+        timerService.resumeTimer(quizId, expiryCallback(quizId));
+        checkpoints.save(quizId);
         logger.info("Resumed quiz {}", quizId);
     }
 }
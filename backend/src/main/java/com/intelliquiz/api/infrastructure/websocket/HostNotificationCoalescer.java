@@ -0,0 +1,263 @@
+package com.intelliquiz.api.infrastructure.websocket;
+
+import com.intelliquiz.api.domain.entities.Team;
+import com.intelliquiz.api.domain.ports.TeamRepository;
+import com.intelliquiz.api.infrastructure.config.GameProperties;
+import com.intelliquiz.api.infrastructure.config.LiveQuizSession;
+import com.intelliquiz.api.infrastructure.config.QuizBroadcastService;
+import com.intelliquiz.api.infrastructure.config.QuizSessionManager;
+import com.intelliquiz.api.infrastructure.websocket.dto.HostDigest;
+import com.intelliquiz.api.infrastructure.websocket.dto.HostNotification;
+import com.intelliquiz.api.infrastructure.websocket.dto.TeamInfo;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Predicate;
+
+/**
+ * Collects team joins, leaves and first submissions of a quiz and sends them to the host as one
+ * {@link HostDigest} per {@code game.host-digest-interval-millis}, instead of a frame per event.
+ *
+ * Joins and leaves are net changes against what the host was last told: a team that drops and
+ * comes back between two digests appears in neither list. A disconnected team only counts as
+ * left once it has stayed away for {@code game.host-disconnect-grace-millis}, so brief
+ * reconnects produce no events at all.
+ *
+ * Team names come from the live session; a team it does not know (e.g. registered after the
+ * quiz went live) is looked up once and then remembered there.
+ */
+@Service
+public class HostNotificationCoalescer {
+
+    private static final Logger logger = LoggerFactory.getLogger(HostNotificationCoalescer.class);
+
+    private final QuizBroadcastService broadcastService;
+    private final QuizSessionManager sessionManager;
+    private final TeamRepository teamRepository;
+    private final GameExecutors executors;
+    private final GameProperties gameProperties;
+
+    // Quiz ID -> pending digest
+    private final Map<Long, Digest> digests = new ConcurrentHashMap<>();
+
+    public HostNotificationCoalescer(
+            QuizBroadcastService broadcastService,
+            QuizSessionManager sessionManager,
+            TeamRepository teamRepository,
+            GameExecutors executors,
+            GameProperties gameProperties
+    ) {
+        this.broadcastService = broadcastService;
+        this.sessionManager = sessionManager;
+        this.teamRepository = teamRepository;
+        this.executors = executors;
+        this.gameProperties = gameProperties;
+    }
+
+    /**
+     * Records that a team connected; a reconnect within the grace period cancels its pending leave.
+     */
+    public void teamConnected(Long quizId, Long teamId) {
+        Digest digest = digest(quizId);
+        digest.away.remove(teamId);
+        digest.changed(teamId, Instant.now());
+        schedule(digest);
+    }
+
+    /**
+     * Records that a team's session closed. The team is reported as left after the grace
+     * period, unless it has reconnected by then.
+     */
+    public void teamDisconnected(Long quizId, Long teamId) {
+        if (sessionManager.isTeamConnected(quizId, teamId)) {
+            return;
+        }
+        Digest digest = digest(quizId);
+        long graceMillis = gameProperties.getHostDisconnectGraceMillis();
+        if (graceMillis <= 0) {
+            digest.changed(teamId, null);
+            schedule(digest);
+            return;
+        }
+        Object absence = new Object();
+        digest.away.put(teamId, absence);
+        executors.wheel().schedule(() -> {
+            // Only this absence may end in a leave; a reconnect removed or replaced it
+            if (digest.away.remove(teamId, absence)) {
+                digest.changed(teamId, null);
+                schedule(digest);
+            }
+        }, graceMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Records a team's first answer to a question, with the question's submission count so far.
+     */
+    public void teamSubmitted(Long quizId, Long questionId, Long teamId, int submittedCount) {
+        Digest digest = digest(quizId);
+        digest.submitted(questionId, teamId, submittedCount);
+        schedule(digest);
+    }
+
+    /**
+     * Makes the next digest list every connected team as joined, for a host that (re)connected
+     * and has no lobby state yet.
+     */
+    public void hostConnected(Long quizId) {
+        Digest digest = digest(quizId);
+        digest.resend(sessionManager.getConnectedTeams(quizId));
+        schedule(digest);
+    }
+
+    /**
+     * Drops the quiz's pending digest (on quiz end).
+     */
+    public void releaseQuiz(Long quizId) {
+        Digest digest = digests.remove(quizId);
+        if (digest != null) {
+            digest.released = true;
+        }
+    }
+
+    private Digest digest(Long quizId) {
+        return digests.computeIfAbsent(quizId, Digest::new);
+    }
+
+    // At most one flush per quiz is pending; it is sent on the trailing edge of the interval
+    private void schedule(Digest digest) {
+        if (!digest.flushPending.compareAndSet(false, true)) {
+            return;
+        }
+        long intervalNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(0, gameProperties.getHostDigestIntervalMillis()));
+        long delayNanos = Math.max(0, digest.lastFlushNanos + intervalNanos - System.nanoTime());
+        executors.wheel().schedule(() -> {
+            try {
+                executors.broadcast().execute(digest.quizId, () -> flush(digest));
+            } catch (RejectedExecutionException e) {
+                // The changes stay pending and go out with the next digest
+                digest.flushPending.set(false);
+                logger.warn("Delayed host digest for quiz {}: broadcast queue full", digest.quizId);
+            }
+        }, delayNanos, TimeUnit.NANOSECONDS);
+    }
+
+    private void flush(Digest digest) {
+        // Cleared before draining so an event recorded meanwhile schedules another flush
+        digest.flushPending.set(false);
+        digest.lastFlushNanos = System.nanoTime();
+        if (digest.released) {
+            return;
+        }
+        Digest.Changes changes = digest.drain(teamId ->
+                sessionManager.isTeamConnected(digest.quizId, teamId) || digest.away.containsKey(teamId));
+        if (changes.isEmpty()) {
+            return;
+        }
+        Optional<LiveQuizSession> session = sessionManager.getSession(digest.quizId);
+        List<TeamInfo> joined = new ArrayList<>(changes.joined().size());
+        changes.joined().forEach((teamId, connectedAt) -> joined.add(
+                new TeamInfo(teamId, teamName(session, teamId), connectedAt, true)));
+        broadcastService.sendToHost(digest.quizId, HostNotification.teamDigest(new HostDigest(
+                joined, changes.left(), changes.questionId(), changes.submitted(),
+                sessionManager.getConnectedTeamCount(digest.quizId), changes.submittedCount())));
+    }
+
+    private String teamName(Optional<LiveQuizSession> session, Long teamId) {
+        String name = session.map(s -> s.getTeamName(teamId)).orElse(null);
+        if (name == null) {
+            name = teamRepository.findById(teamId).map(Team::getName).orElse(null);
+            if (name != null) {
+                String found = name;
+                session.ifPresent(s -> s.putTeamName(teamId, found));
+            }
+        }
+        return name;
+    }
+
+    /**
+     * Pending changes of one quiz, plus the teams the host has been told are connected.
+     * Everything but {@link #away} is guarded by the digest's monitor.
+     */
+    private static final class Digest {
+        private final Long quizId;
+        // Team ID -> its current absence, while a disconnected team is within the grace period
+        private final Map<Long, Object> away = new ConcurrentHashMap<>();
+        private final AtomicBoolean flushPending = new AtomicBoolean();
+        private volatile long lastFlushNanos = System.nanoTime() - TimeUnit.DAYS.toNanos(1);
+        private volatile boolean released;
+
+        // Team ID -> connect time (null for a leave) of teams whose state may have changed
+        private final Map<Long, Instant> changed = new LinkedHashMap<>();
+        private final Set<Long> announced = new HashSet<>();
+        private final Set<Long> submitted = new LinkedHashSet<>();
+        private Long questionId;
+        private int submittedCount;
+
+        Digest(Long quizId) {
+            this.quizId = quizId;
+        }
+
+        synchronized void changed(Long teamId, Instant connectedAt) {
+            changed.put(teamId, connectedAt);
+        }
+
+        synchronized void submitted(Long questionId, Long teamId, int submittedCount) {
+            if (!questionId.equals(this.questionId)) {
+                // Submissions to an earlier question are stale once the next one is open
+                this.questionId = questionId;
+                this.submitted.clear();
+                this.submittedCount = 0;
+            }
+            this.submitted.add(teamId);
+            this.submittedCount = Math.max(this.submittedCount, submittedCount);
+        }
+
+        synchronized void resend(Set<Long> connectedTeams) {
+            announced.clear();
+            Instant now = Instant.now();
+            connectedTeams.forEach(teamId -> changed.putIfAbsent(teamId, now));
+        }
+
+        /**
+         * Takes the pending changes, comparing each changed team's state with what the host knows.
+         */
+        synchronized Changes drain(Predicate<Long> isConnected) {
+            Map<Long, Instant> joined = new LinkedHashMap<>();
+            List<Long> left = new ArrayList<>();
+            Instant now = Instant.now();
+            changed.forEach((teamId, connectedAt) -> {
+                boolean connected = isConnected.test(teamId);
+                if (connected && announced.add(teamId)) {
+                    joined.put(teamId, connectedAt != null ? connectedAt : now);
+                } else if (!connected && announced.remove(teamId)) {
+                    left.add(teamId);
+                }
+            });
+            changed.clear();
+            List<Long> newlySubmitted = List.copyOf(submitted);
+            submitted.clear();
+            return new Changes(joined, left, questionId, newlySubmitted, submittedCount);
+        }
+
+        record Changes(Map<Long, Instant> joined, List<Long> left, Long questionId,
+                       List<Long> submitted, int submittedCount) {
+            boolean isEmpty() {
+                return joined.isEmpty() && left.isEmpty() && submitted.isEmpty();
+            }
+        }
+    }
+}
@@ -0,0 +1,291 @@
+package com.intelliquiz.api.infrastructure.websocket;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Queue;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Fixed-size thread pool with a bounded number of queued tasks and queue/run metrics.
+ * Tasks submitted with a key run one at a time in submission order per key stripe,
+ * so e.g. all broadcasts of one quiz stay ordered while different quizzes run in parallel.
+ */
+public class InstrumentedExecutor {
+
+    private static final Logger logger = LoggerFactory.getLogger(InstrumentedExecutor.class);
+
+    private static final int STRIPES = 64;
+    private static final int LATENCY_BUCKETS = 40;
+
+    private final String name;
+    private final int queueCapacity;
+    private final ThreadPoolExecutor pool;
+    private final SerialQueue[] stripes = new SerialQueue[STRIPES];
+
+    private final AtomicInteger queued = new AtomicInteger();
+    private final AtomicInteger maxQueued = new AtomicInteger();
+    private final LongAdder submitted = new LongAdder();
+    private final LongAdder completed = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final AtomicLong maxWaitNanos = new AtomicLong();
+    private final AtomicLong maxRunNanos = new AtomicLong();
+    private final LongAdder totalWaitNanos = new LongAdder();
+    private final LongAdder totalRunNanos = new LongAdder();
+    // Queue wait histogram; bucket i counts waits below 2^i microseconds
+    private final AtomicLongArray waitHistogram = new AtomicLongArray(LATENCY_BUCKETS);
+
+    public InstrumentedExecutor(String name, int threads, int queueCapacity) {
+        if (threads <= 0 || queueCapacity <= 0) {
+            throw new IllegalArgumentException("Threads and queue capacity must be positive");
+        }
+        this.name = name;
+        this.queueCapacity = queueCapacity;
+        AtomicInteger threadIndex = new AtomicInteger();
+        this.pool = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(), r -> {
+                    Thread thread = new Thread(r, name + "-" + threadIndex.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        for (int i = 0; i < STRIPES; i++) {
+            stripes[i] = new SerialQueue();
+        }
+    }
+
+    /**
+     * Runs a task on any pool thread.
+     *
+     * @throws RejectedExecutionException if the queue is full or the executor is shut down
+     */
+    public void execute(Runnable task) {
+        Task wrapped = admit(task, true);
+        try {
+            pool.execute(wrapped);
+        } catch (RejectedExecutionException e) {
+            reject(wrapped);
+            throw e;
+        }
+    }
+
+    /**
+     * Runs a task after every earlier task submitted with a key of the same stripe.
+     *
+     * @throws RejectedExecutionException if the queue is full or the executor is shut down
+     */
+    public void execute(Object key, Runnable task) {
+        enqueue(key, admit(task, true));
+    }
+
+    /**
+     * Runs a task that must not be lost, e.g. a timer expiry, on any pool thread.
+     * Unlike {@link #execute(Runnable)} it is queued even past the queue capacity.
+     *
+     * @throws RejectedExecutionException only if the executor is shut down
+     */
+    public void executeMandatory(Runnable task) {
+        Task wrapped = admit(task, false);
+        try {
+            pool.execute(wrapped);
+        } catch (RejectedExecutionException e) {
+            reject(wrapped);
+            throw e;
+        }
+    }
+
+    /**
+     * Runs a task that must not be lost after every earlier task submitted with a key of the same stripe.
+     * Unlike {@link #execute(Object, Runnable)} it is queued even past the queue capacity.
+     *
+     * @throws RejectedExecutionException only if the executor is shut down
+     */
+    public void executeMandatory(Object key, Runnable task) {
+        enqueue(key, admit(task, false));
+    }
+
+    /**
+     * Gets the number of tasks waiting to run.
+     */
+    public int getQueueDepth() {
+        return queued.get();
+    }
+
+    public Snapshot snapshot() {
+        long done = completed.sum() + failed.sum();
+        return new Snapshot(
+                name,
+                pool.getCorePoolSize(),
+                queueCapacity,
+                queued.get(),
+                maxQueued.get(),
+                pool.getActiveCount(),
+                submitted.sum(),
+                completed.sum(),
+                failed.sum(),
+                rejected.sum(),
+                done > 0 ? TimeUnit.NANOSECONDS.toMicros(totalWaitNanos.sum() / done) : 0,
+                waitPercentileMicros(0.99),
+                TimeUnit.NANOSECONDS.toMicros(maxWaitNanos.get()),
+                done > 0 ? TimeUnit.NANOSECONDS.toMicros(totalRunNanos.sum() / done) : 0,
+                TimeUnit.NANOSECONDS.toMicros(maxRunNanos.get())
+        );
+    }
+
+    public void shutdown() {
+        pool.shutdownNow();
+    }
+
+    private void enqueue(Object key, Task task) {
+        SerialQueue stripe = stripes[Math.floorMod(key.hashCode(), STRIPES)];
+        stripe.tasks.add(task);
+        stripe.schedule();
+    }
+
+    private Task admit(Runnable task, boolean bounded) {
+        int depth = queued.incrementAndGet();
+        if ((bounded && depth > queueCapacity) || pool.isShutdown()) {
+            queued.decrementAndGet();
+            rejected.increment();
+            throw new RejectedExecutionException(pool.isShutdown()
+                    ? name + " is shut down"
+                    : name + " queue is full (" + queueCapacity + ")");
+        }
+        maxQueued.accumulateAndGet(depth, Math::max);
+        submitted.increment();
+        return new Task(task);
+    }
+
+    private void reject(Task task) {
+        if (task.started.compareAndSet(false, true)) {
+            queued.decrementAndGet();
+            submitted.decrement();
+            rejected.increment();
+        }
+    }
+
+    private long waitPercentileMicros(double percentile) {
+        long total = 0;
+        for (int i = 0; i < LATENCY_BUCKETS; i++) {
+            total += waitHistogram.get(i);
+        }
+        if (total == 0) {
+            return 0;
+        }
+        long threshold = (long) Math.ceil(total * percentile);
+        long seen = 0;
+        for (int i = 0; i < LATENCY_BUCKETS; i++) {
+            seen += waitHistogram.get(i);
+            if (seen >= threshold) {
+                return 1L << i;
+            }
+        }
+        return 1L << (LATENCY_BUCKETS - 1);
+    }
+
+    private void recordWait(long waitNanos) {
+        totalWaitNanos.add(waitNanos);
+        maxWaitNanos.accumulateAndGet(waitNanos, Math::max);
+        long micros = TimeUnit.NANOSECONDS.toMicros(waitNanos);
+        int bucket = Math.min(LATENCY_BUCKETS - 1, 64 - Long.numberOfLeadingZeros(micros));
+        waitHistogram.incrementAndGet(bucket);
+    }
+
+    /**
+     * A submitted task with its enqueue time.
+     */
+    private final class Task implements Runnable {
+        private final Runnable delegate;
+        private final long enqueuedAt = System.nanoTime();
+        private final AtomicBoolean started = new AtomicBoolean();
+
+        Task(Runnable delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public void run() {
+            if (!started.compareAndSet(false, true)) {
+                return;
+            }
+            queued.decrementAndGet();
+            long start = System.nanoTime();
+            recordWait(start - enqueuedAt);
+            try {
+                delegate.run();
+                completed.increment();
+            } catch (Throwable t) {
+                failed.increment();
+                logger.error("Task on {} failed", name, t);
+            } finally {
+                long runNanos = System.nanoTime() - start;
+                totalRunNanos.add(runNanos);
+                maxRunNanos.accumulateAndGet(runNanos, Math::max);
+            }
+        }
+    }
+
+    /**
+     * Tasks of one key stripe; at most one drain runs on the pool at a time.
+     */
+    private final class SerialQueue implements Runnable {
+        private final Queue<Task> tasks = new ConcurrentLinkedQueue<>();
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+
+        void schedule() {
+            if (scheduled.compareAndSet(false, true)) {
+                try {
+                    pool.execute(this);
+                } catch (RejectedExecutionException e) {
+                    scheduled.set(false);
+                    Task task;
+                    while ((task = tasks.poll()) != null) {
+                        reject(task);
+                    }
+                    throw e;
+                }
+            }
+        }
+
+        @Override
+        public void run() {
+            while (true) {
+                Task task;
+                while ((task = tasks.poll()) != null) {
+                    task.run();
+                }
+                scheduled.set(false);
+                // A task added after the last poll but before the flag was cleared must not be stranded
+                if (tasks.isEmpty() || !scheduled.compareAndSet(false, true)) {
+                    return;
+                }
+            }
+        }
+    }
+
+    /**
+     * Point-in-time metrics. Latencies are in microseconds; the p99 wait is a power-of-two upper bound.
+     */
+    public record Snapshot(
+            String name,
+            int threads,
+            int queueCapacity,
+            int queueDepth,
+            int maxQueueDepth,
+            int activeThreads,
+            long submitted,
+            long completed,
+            long failed,
+            long rejected,
+            long avgQueueWaitMicros,
+            long p99QueueWaitMicros,
+            long maxQueueWaitMicros,
+            long avgRunMicros,
+            long maxRunMicros
+    ) {}
+}
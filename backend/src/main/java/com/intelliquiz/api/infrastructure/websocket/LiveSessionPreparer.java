@@ -0,0 +1,54 @@
+package com.intelliquiz.api.infrastructure.websocket;
+
+import com.intelliquiz.api.application.events.QuizActivatedEvent;
+import com.intelliquiz.api.domain.entities.Team;
+import com.intelliquiz.api.domain.ports.QuizRepository;
+import com.intelliquiz.api.domain.ports.TeamRepository;
+import com.intelliquiz.api.infrastructure.config.LiveQuizSession;
+import com.intelliquiz.api.infrastructure.config.QuizSessionManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.List;
+
+/**
+ * Starts a quiz's live session when the quiz is activated, with its registered teams
+ * numbered up front so per-team arrays and bitsets are sized for the whole quiz, and their
+ * names in memory for host notifications.
+ */
+@Component
+public class LiveSessionPreparer {
+
+    private static final Logger logger = LoggerFactory.getLogger(LiveSessionPreparer.class);
+
+    private final QuizRepository quizRepository;
+    private final TeamRepository teamRepository;
+    private final QuizSessionManager sessionManager;
+
+    public LiveSessionPreparer(QuizRepository quizRepository, TeamRepository teamRepository,
+                               QuizSessionManager sessionManager) {
+        this.quizRepository = quizRepository;
+        this.teamRepository = teamRepository;
+        this.sessionManager = sessionManager;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onQuizActivated(QuizActivatedEvent event) {
+        prepare(event.quizId());
+    }
+
+    /**
+     * Starts the quiz's live session, keeping the one already started.
+     */
+    public void prepare(Long quizId) {
+        quizRepository.findById(quizId).ifPresent(quiz -> {
+            List<Team> teams = teamRepository.findByQuiz(quiz);
+            List<Long> teamIds = teams.stream().map(Team::getId).toList();
+            LiveQuizSession session = sessionManager.activate(quizId, TeamIndex.of(teamIds, teamIds.size()));
+            teams.forEach(team -> session.putTeamName(team.getId(), team.getName()));
+            logger.info("Prepared live session of quiz {} with {} teams", quizId, teamIds.size());
+        });
+    }
+}
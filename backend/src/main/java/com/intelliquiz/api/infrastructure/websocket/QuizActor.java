@@ -0,0 +1,242 @@
+package com.intelliquiz.api.infrastructure.websocket;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+/**
+ * Single-writer mailbox of one live quiz.
+ *
+ * Host commands, timer callbacks and answers posted to the actor run one at a time in the
+ * order they were posted. The mailbox is drained by one task on the given executor (a virtual
+ * thread in production) that only exists while there is work, so an idle quiz costs no thread.
+ * Whatever a task changes for its quiz is never written by two threads at once, and no task
+ * needs a lock to see the effects of the ones before it.
+ *
+ * A closed actor keeps taking and running tasks until its mailbox is empty; only then does it
+ * retire, refusing anything posted later so that it goes to a new actor that starts after it.
+ */
+public class QuizActor {
+
+    private static final Logger logger = LoggerFactory.getLogger(QuizActor.class);
+    private static final int RETIRED = -1;
+
+    private final Long quizId;
+    private final int capacity;
+    private final Executor drainer;
+    private final Queue<Runnable> mailbox = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean scheduled = new AtomicBoolean();
+    private final Consumer<QuizActor> onRetired;
+    private volatile boolean closed;
+
+    // Tasks posted and not yet taken, or RETIRED once the actor takes no more
+    private final AtomicInteger depth = new AtomicInteger();
+    private final AtomicInteger maxDepth = new AtomicInteger();
+    private final LongAdder processed = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+
+    // Thread currently draining the mailbox, or null while idle
+    private volatile Thread owner;
+
+    public QuizActor(Long quizId, int capacity, Executor drainer) {
+        this(quizId, capacity, drainer, actor -> {});
+    }
+
+    /**
+     * @param onRetired called once the actor has been closed and has run its last task
+     */
+    public QuizActor(Long quizId, int capacity, Executor drainer, Consumer<QuizActor> onRetired) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Mailbox capacity must be positive");
+        }
+        this.quizId = quizId;
+        this.capacity = capacity;
+        this.drainer = drainer;
+        this.onRetired = onRetired;
+    }
+
+    /**
+     * Posts a task to run after every task posted before it.
+     *
+     * @throws RejectedExecutionException if the mailbox is full or the actor has retired
+     */
+    public void tell(Runnable task) {
+        if (!offer(task, true)) {
+            throw new RejectedExecutionException("Actor of quiz " + quizId + " has retired");
+        }
+    }
+
+    /**
+     * Posts a task to run after every task posted before it.
+     *
+     * @param bounded whether the mailbox capacity applies; timer callbacks are posted past it,
+     *                since a dropped expiry would leave the quiz stuck
+     * @return false if the actor has retired and the task was not posted
+     * @throws RejectedExecutionException if the mailbox capacity applies and is reached
+     */
+    public boolean offer(Runnable task, boolean bounded) {
+        int queued;
+        while (true) {
+            int current = depth.get();
+            if (current == RETIRED) {
+                return false;
+            }
+            if (bounded && current >= capacity) {
+                rejected.increment();
+                throw new RejectedExecutionException("Mailbox of quiz " + quizId + " is full (" + capacity + ")");
+            }
+            queued = current + 1;
+            if (depth.compareAndSet(current, queued)) {
+                break;
+            }
+        }
+        maxDepth.accumulateAndGet(queued, Math::max);
+        mailbox.add(task);
+        schedule();
+        return true;
+    }
+
+    /**
+     * Posts a task and returns a future completed when it has run.
+     * Called from the actor's own thread, the task runs inline so the actor never waits on itself.
+     *
+     * @throws RejectedExecutionException if the mailbox is full or the actor has retired
+     */
+    public CompletableFuture<Void> ask(Runnable task) {
+        CompletableFuture<Void> done = new CompletableFuture<>();
+        Runnable completing = completing(task, done);
+        if (isOwnerThread()) {
+            completing.run();
+        } else {
+            tell(completing);
+        }
+        return done;
+    }
+
+    /**
+     * Wraps a task so that running it completes {@code done}, normally or with its failure.
+     */
+    static Runnable completing(Runnable task, CompletableFuture<Void> done) {
+        return () -> {
+            try {
+                task.run();
+                done.complete(null);
+            } catch (Throwable t) {
+                done.completeExceptionally(t);
+                throw t;
+            }
+        };
+    }
+
+    /**
+     * Closes the actor: it runs what is posted until its mailbox is empty, then retires.
+     * May be called from one of its own tasks.
+     */
+    public void close() {
+        closed = true;
+        // Makes sure a drain runs to notice the empty mailbox, even if the actor is idle
+        offer(() -> {}, false);
+    }
+
+    /**
+     * Checks whether the actor has retired and takes no more tasks.
+     */
+    public boolean isRetired() {
+        return depth.get() == RETIRED;
+    }
+
+    /**
+     * Checks whether the calling thread is the one draining this actor's mailbox.
+     */
+    public boolean isOwnerThread() {
+        return owner == Thread.currentThread();
+    }
+
+    public Long getQuizId() {
+        return quizId;
+    }
+
+    /**
+     * Gets the number of tasks waiting to run.
+     */
+    public int getMailboxDepth() {
+        return Math.max(0, depth.get());
+    }
+
+    public Snapshot snapshot() {
+        return new Snapshot(quizId, capacity, getMailboxDepth(), maxDepth.get(),
+                processed.sum(), failed.sum(), rejected.sum());
+    }
+
+    private void schedule() {
+        if (scheduled.compareAndSet(false, true)) {
+            try {
+                drainer.execute(this::drain);
+            } catch (RejectedExecutionException e) {
+                scheduled.set(false);
+                while (mailbox.poll() != null) {
+                    depth.decrementAndGet();
+                    rejected.increment();
+                }
+                throw e;
+            }
+        }
+    }
+
+    private void drain() {
+        while (true) {
+            owner = Thread.currentThread();
+            Runnable task;
+            while ((task = mailbox.poll()) != null) {
+                depth.decrementAndGet();
+                run(task);
+            }
+            // Released before the flag, so a drain started next never sees this thread as owner
+            owner = null;
+            // Nothing posted and nothing being posted: a closed actor retires here, for good
+            if (closed && depth.compareAndSet(0, RETIRED)) {
+                scheduled.set(false);
+                onRetired.accept(this);
+                return;
+            }
+            scheduled.set(false);
+            // A task added after the last poll but before the flag was cleared must not be stranded
+            if (mailbox.isEmpty() || !scheduled.compareAndSet(false, true)) {
+                return;
+            }
+        }
+    }
+
+    private void run(Runnable task) {
+        try {
+            task.run();
+            processed.increment();
+        } catch (Throwable t) {
+            failed.increment();
+            logger.error("Task of quiz {} failed", quizId, t);
+        }
+    }
+
+    /**
+     * Point-in-time mailbox metrics.
+     */
+    public record Snapshot(
+            Long quizId,
+            int capacity,
+            int mailboxDepth,
+            int maxMailboxDepth,
+            long processed,
+            long failed,
+            long rejected
+    ) {}
+}
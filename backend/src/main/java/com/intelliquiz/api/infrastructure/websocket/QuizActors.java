@@ -0,0 +1,129 @@
+package com.intelliquiz.api.infrastructure.websocket;
+
+import com.intelliquiz.api.infrastructure.config.GameProperties;
+import jakarta.annotation.PreDestroy;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * One {@link QuizActor} per live quiz, each drained by its own virtual thread.
+ *
+ * Everything that changes a quiz's game flow goes through its actor: host commands, answers,
+ * and the buffer and question expiry callbacks of the timer. They are handled strictly in
+ * arrival order, so an answer can never land after the grading snapshot was taken and a
+ * NEXT_QUESTION can never overlap a reveal. Different quizzes still run in parallel.
+ *
+ * A released actor stays in place until it has run everything posted to it, so a task posted
+ * meanwhile still runs after them on the same actor; once it retires, the next task starts a
+ * new one. There is never more than one actor draining a quiz's tasks.
+ */
+@Component
+public class QuizActors {
+
+    private final GameProperties gameProperties;
+    private final ExecutorService drainers = Executors.newThreadPerTaskExecutor(
+            Thread.ofVirtual().name("quiz-actor-", 0).factory());
+
+    // Quiz ID -> actor
+    private final Map<Long, QuizActor> actors = new ConcurrentHashMap<>();
+
+    public QuizActors(GameProperties gameProperties) {
+        this.gameProperties = gameProperties;
+    }
+
+    /**
+     * Posts a task to the quiz's actor.
+     *
+     * @throws RejectedExecutionException if the quiz's mailbox is full
+     */
+    public void tell(Long quizId, Runnable task) {
+        while (!actor(quizId).offer(task, true)) {
+            // Retired between the lookup and the post; the next lookup replaces it
+        }
+    }
+
+    /**
+     * Posts a task to the quiz's actor and returns a future completed once it has run.
+     *
+     * @throws RejectedExecutionException if the quiz's mailbox is full
+     */
+    public CompletableFuture<Void> ask(Long quizId, Runnable task) {
+        return ask(quizId, task, true);
+    }
+
+    /**
+     * Posts a task to the quiz's actor past its mailbox capacity, without waiting for it.
+     * For timer callbacks such as a question expiry, which must never be dropped.
+     */
+    public void tellUnbounded(Long quizId, Runnable task) {
+        while (!actor(quizId).offer(task, false)) {
+            // Retired between the lookup and the post; the next lookup replaces it
+        }
+    }
+
+    /**
+     * Wraps a task so that, wherever it is run, it is posted to the quiz's actor past the
+     * mailbox capacity. Used for timer callbacks: the grading executor thread that runs the
+     * wrapper is free again at once, however long the actor takes to get to the task.
+     */
+    public Runnable onActor(Long quizId, Runnable task) {
+        return () -> tellUnbounded(quizId, task);
+    }
+
+    /**
+     * Releases a quiz's actor (on quiz end or hand-over). Tasks already posted, and any posted
+     * before it has run them all, still run on it; then it is forgotten.
+     * May be called from one of the quiz's own tasks.
+     */
+    public void release(Long quizId) {
+        QuizActor actor = actors.get(quizId);
+        if (actor != null) {
+            actor.close();
+        }
+    }
+
+    /**
+     * Gets the mailbox metrics of every live quiz.
+     */
+    public List<QuizActor.Snapshot> snapshots() {
+        return actors.values().stream().map(QuizActor::snapshot).toList();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        drainers.shutdownNow();
+    }
+
+    private CompletableFuture<Void> ask(Long quizId, Runnable task, boolean bounded) {
+        CompletableFuture<Void> done = new CompletableFuture<>();
+        Runnable completing = QuizActor.completing(task, done);
+        while (true) {
+            QuizActor actor = actor(quizId);
+            if (actor.isOwnerThread()) {
+                completing.run();
+                return done;
+            }
+            if (actor.offer(completing, bounded)) {
+                return done;
+            }
+        }
+    }
+
+    private QuizActor actor(Long quizId) {
+        QuizActor actor = actors.get(quizId);
+        if (actor != null && !actor.isRetired()) {
+            return actor;
+        }
+        return actors.compute(quizId, (id, current) -> current != null && !current.isRetired()
+                ? current
+                : new QuizActor(id, gameProperties.getActorMailboxCapacity(), drainers,
+                        retired -> actors.remove(id, retired)));
+    }
+}
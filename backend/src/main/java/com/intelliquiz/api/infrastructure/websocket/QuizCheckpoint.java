@@ -0,0 +1,39 @@
+package com.intelliquiz.api.infrastructure.websocket;
+
+/**
+ * Where a live quiz's game stood at its last transition: enough to carry it on after a
+ * restart or on another node.
+ *
+ * @param quizId the quiz
+ * @param state its game state
+ * @param questionIndex the current question's position in the deck
+ * @param questionId the current question, if one has been shown
+ * @param deadlineEpochMillis when the running countdown ends (0 if none is running)
+ * @param remainingMillis time left on a paused countdown
+ * @param paused whether the countdown is paused
+ * @param savedAtMillis when the checkpoint was taken
+ * @param roundName the round being played, if one has started
+ */
+public record QuizCheckpoint(
+        Long quizId,
+        GameState state,
+        int questionIndex,
+        Long questionId,
+        long deadlineEpochMillis,
+        long remainingMillis,
+        boolean paused,
+        long savedAtMillis,
+        String roundName
+) {
+
+    /**
+     * Gets the time the countdown has left at {@code nowMillis}: what was left when paused,
+     * otherwise until the deadline.
+     */
+    public long remainingMillisAt(long nowMillis) {
+        if (paused) {
+            return remainingMillis;
+        }
+        return deadlineEpochMillis > 0 ? Math.max(0, deadlineEpochMillis - nowMillis) : 0;
+    }
+}
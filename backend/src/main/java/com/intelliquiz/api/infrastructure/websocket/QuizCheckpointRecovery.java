@@ -0,0 +1,114 @@
+package com.intelliquiz.api.infrastructure.websocket;
+
+import com.intelliquiz.api.domain.entities.Quiz;
+import com.intelliquiz.api.domain.ports.QuizRepository;
+import com.intelliquiz.api.infrastructure.cluster.QuizOwnership;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Resumes the live quizzes checkpointed before a restart, on application startup.
+ *
+ * Each quiz still live is prepared again and resumed on its actor, with the answers to its
+ * current question put back from the submission journal; quizzes that ended meanwhile, or that
+ * another node of a cluster has taken over, are dropped. Runs before
+ * {@link SubmissionJournalRecovery}, which then leaves the reopened questions' answers alone.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class QuizCheckpointRecovery implements ApplicationRunner {
+
+    private static final Logger logger = LoggerFactory.getLogger(QuizCheckpointRecovery.class);
+    private static final long RESUME_TIMEOUT_SECONDS = 30;
+
+    private final QuizCheckpoints checkpoints;
+    private final SubmissionJournal journal;
+    private final QuizRepository quizRepository;
+    private final QuizOwnership ownership;
+    private final LiveSessionPreparer liveSessionPreparer;
+    private final GameFlowService gameFlowService;
+    private final QuizActors actors;
+
+    public QuizCheckpointRecovery(
+            QuizCheckpoints checkpoints,
+            SubmissionJournal journal,
+            QuizRepository quizRepository,
+            QuizOwnership ownership,
+            LiveSessionPreparer liveSessionPreparer,
+            GameFlowService gameFlowService,
+            QuizActors actors
+    ) {
+        this.checkpoints = checkpoints;
+        this.journal = journal;
+        this.quizRepository = quizRepository;
+        this.ownership = ownership;
+        this.liveSessionPreparer = liveSessionPreparer;
+        this.gameFlowService = gameFlowService;
+        this.actors = actors;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        long started = System.nanoTime();
+        List<QuizCheckpoint> found = checkpoints.readAll();
+        if (found.isEmpty()) {
+            return;
+        }
+        try {
+            int resumed = recover(found);
+            logger.info("Resumed {} of {} checkpointed quizzes in {} ms", resumed, found.size(),
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started));
+        } catch (Exception e) {
+            logger.error("Failed to resume checkpointed quizzes", e);
+        }
+    }
+
+    /**
+     * Resumes every checkpointed quiz that is still live and waits for them all.
+     *
+     * @return the number of quizzes resumed
+     */
+    int recover(List<QuizCheckpoint> found) {
+        Map<Long, List<SubmissionJournal.JournaledAnswer>> answers = new HashMap<>();
+        for (SubmissionJournal.JournaledQuestion question : journal.readUnflushed()) {
+            answers.put(question.questionId(), List.copyOf(question.answers().values()));
+        }
+
+        List<CompletableFuture<Void>> resuming = new ArrayList<>(found.size());
+        for (QuizCheckpoint checkpoint : found) {
+            Long quizId = checkpoint.quizId();
+            boolean live = quizRepository.findById(quizId).map(Quiz::isLiveSession).orElse(false);
+            if (!live || !ownership.claim(quizId)) {
+                logger.info("Dropped checkpoint of quiz {}, which is no longer live here", quizId);
+                checkpoints.discard(quizId);
+                continue;
+            }
+            List<SubmissionJournal.JournaledAnswer> pending = checkpoint.questionId() != null
+                    ? answers.getOrDefault(checkpoint.questionId(), List.of())
+                    : List.of();
+            resuming.add(actors.ask(quizId, () -> {
+                liveSessionPreparer.prepare(quizId);
+                gameFlowService.resume(checkpoint, pending);
+            }).exceptionally(e -> {
+                logger.error("Failed to resume quiz {}: {}", quizId, e.getMessage(), e);
+                return null;
+            }));
+        }
+        CompletableFuture.allOf(resuming.toArray(CompletableFuture[]::new))
+                .orTimeout(RESUME_TIMEOUT_SECONDS, TimeUnit.SECONDS)
+                .join();
+        return resuming.size();
+    }
+}
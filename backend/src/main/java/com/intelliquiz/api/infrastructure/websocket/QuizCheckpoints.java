@@ -0,0 +1,270 @@
+package com.intelliquiz.api.infrastructure.websocket;
+
+import com.intelliquiz.api.infrastructure.config.GameProperties;
+import com.intelliquiz.api.infrastructure.config.LiveQuizSession;
+import com.intelliquiz.api.infrastructure.config.QuizSessionManager;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.CRC32;
+
+/**
+ * Local checkpoints of live quizzes, one fixed-size slot per quiz in a memory-mapped file.
+ * A checkpoint is written at each game transition by storing into the mapping, with no system
+ * call, so it survives the process however it ends; it survives the machine going down only
+ * if {@code game.checkpoint-fsync} is set. On startup {@link QuizCheckpointRecovery} resumes
+ * every quiz found here.
+ *
+ * Answers are not part of a checkpoint: the {@link SubmissionJournal} holds those, and scores
+ * are stored with each graded question.
+ *
+ * Slot layout: quizId (8) | questionId (8, -1 if none) | deadline epoch millis (8) |
+ * remaining millis (8) | saved at millis (8) | question index (4) | state ordinal (1) |
+ * paused (1) | version (2) | round name (12, UTF-8, zero-padded) | CRC32 of the preceding bytes (4).
+ * A slot whose quiz ID is 0 is free; one whose CRC does not match (torn write) is ignored.
+ * A round name longer than 12 bytes is cut short at a character boundary.
+ */
+@Component
+public class QuizCheckpoints {
+
+    private static final Logger logger = LoggerFactory.getLogger(QuizCheckpoints.class);
+    private static final String FILE_NAME = "checkpoints.bin";
+
+    static final int SLOT_BYTES = 64;
+    private static final int INITIAL_SLOTS = 64;
+    private static final int ROUND_OFFSET = 48;
+    private static final int CRC_OFFSET = SLOT_BYTES - 4;
+    private static final int ROUND_BYTES = CRC_OFFSET - ROUND_OFFSET;
+    private static final short VERSION = 1;
+    private static final long NO_QUESTION = -1;
+    private static final GameState[] STATES = GameState.values();
+
+    private final Path file;
+    private final boolean enabled;
+    private final boolean fsync;
+    private final QuizSessionManager sessionManager;
+    private final QuizTimerService timerService;
+    private final CRC32 crc = new CRC32();
+
+    // Guarded by this
+    private FileChannel channel;
+    private MappedByteBuffer mapped;
+    private final Map<Long, Integer> slotByQuiz = new HashMap<>();
+    private final Deque<Integer> freeSlots = new ArrayDeque<>();
+
+    public QuizCheckpoints(GameProperties gameProperties, QuizSessionManager sessionManager,
+                           QuizTimerService timerService) {
+        this.file = Paths.get(gameProperties.getJournalDirectory()).resolve(FILE_NAME);
+        this.enabled = gameProperties.isCheckpointEnabled();
+        this.fsync = gameProperties.isCheckpointFsync();
+        this.sessionManager = sessionManager;
+        this.timerService = timerService;
+    }
+
+    /**
+     * Gets where the quiz's game stands now: its flow and its countdown.
+     */
+    public QuizCheckpoint capture(Long quizId) {
+        LiveQuizSession.Flow flow = sessionManager.getFlow(quizId);
+        long now = System.currentTimeMillis();
+        boolean paused = timerService.isTimerPaused(quizId);
+        long remaining = timerService.getRemainingMillis(quizId);
+        long deadline = !paused && timerService.isTimerActive(quizId) ? now + remaining : 0;
+        return new QuizCheckpoint(quizId, flow.state(), flow.questionIndex(), flow.questionId(),
+                deadline, paused ? remaining : 0, paused, now, sessionManager.getRoundName(quizId));
+    }
+
+    /**
+     * Checkpoints the quiz as it stands now.
+     */
+    public void save(Long quizId) {
+        if (enabled) {
+            write(capture(quizId));
+        }
+    }
+
+    /**
+     * Writes a checkpoint over the quiz's previous one.
+     */
+    public synchronized void write(QuizCheckpoint checkpoint) {
+        try {
+            int base = slotOf(checkpoint.quizId()) * SLOT_BYTES;
+            mapped.putLong(base, checkpoint.quizId());
+            mapped.putLong(base + 8, checkpoint.questionId() != null ? checkpoint.questionId() : NO_QUESTION);
+            mapped.putLong(base + 16, checkpoint.deadlineEpochMillis());
+            mapped.putLong(base + 24, checkpoint.remainingMillis());
+            mapped.putLong(base + 32, checkpoint.savedAtMillis());
+            mapped.putInt(base + 40, checkpoint.questionIndex());
+            mapped.put(base + 44, (byte) checkpoint.state().ordinal());
+            mapped.put(base + 45, (byte) (checkpoint.paused() ? 1 : 0));
+            mapped.putShort(base + 46, VERSION);
+            putRoundName(base, checkpoint.roundName());
+            mapped.putInt(base + CRC_OFFSET, checksum(base));
+            if (fsync) {
+                mapped.force(base, SLOT_BYTES);
+            }
+        } catch (IOException e) {
+            logger.warn("Failed to checkpoint quiz {}: {}", checkpoint.quizId(), e.getMessage());
+        }
+    }
+
+    /**
+     * Drops the quiz's checkpoint (on quiz end), freeing its slot.
+     */
+    public synchronized void discard(Long quizId) {
+        Integer slot = slotByQuiz.remove(quizId);
+        if (slot == null || mapped == null) {
+            return;
+        }
+        int base = slot * SLOT_BYTES;
+        for (int i = 0; i < SLOT_BYTES; i += 8) {
+            mapped.putLong(base + i, 0L);
+        }
+        if (fsync) {
+            mapped.force(base, SLOT_BYTES);
+        }
+        freeSlots.push(slot);
+    }
+
+    /**
+     * Reads every checkpoint in the file, taking over their slots so later writes replace them.
+     */
+    public synchronized List<QuizCheckpoint> readAll() {
+        List<QuizCheckpoint> checkpoints = new ArrayList<>();
+        if (!enabled || !Files.exists(file)) {
+            return checkpoints;
+        }
+        try {
+            map(0);
+        } catch (IOException e) {
+            logger.warn("Failed to read checkpoints {}: {}", file, e.getMessage());
+            return checkpoints;
+        }
+        freeSlots.clear();
+        slotByQuiz.clear();
+        int slots = mapped.capacity() / SLOT_BYTES;
+        for (int slot = slots - 1; slot >= 0; slot--) {
+            int base = slot * SLOT_BYTES;
+            long quizId = mapped.getLong(base);
+            byte state = mapped.get(base + 44);
+            if (quizId == 0 || mapped.getShort(base + 46) != VERSION || state < 0 || state >= STATES.length) {
+                freeSlots.push(slot);
+                continue;
+            }
+            if (mapped.getInt(base + CRC_OFFSET) != checksum(base)) {
+                logger.warn("Ignoring torn checkpoint of quiz {}", quizId);
+                freeSlots.push(slot);
+                continue;
+            }
+            long questionId = mapped.getLong(base + 8);
+            slotByQuiz.put(quizId, slot);
+            checkpoints.add(new QuizCheckpoint(
+                    quizId,
+                    STATES[state],
+                    mapped.getInt(base + 40),
+                    questionId != NO_QUESTION ? questionId : null,
+                    mapped.getLong(base + 16),
+                    mapped.getLong(base + 24),
+                    mapped.get(base + 45) != 0,
+                    mapped.getLong(base + 32),
+                    getRoundName(base)));
+        }
+        return checkpoints;
+    }
+
+    @PreDestroy
+    public synchronized void close() {
+        if (channel != null) {
+            try {
+                channel.close();
+            } catch (IOException e) {
+                logger.warn("Failed to close checkpoints {}: {}", file, e.getMessage());
+            }
+            channel = null;
+            mapped = null;
+        }
+    }
+
+    private int slotOf(Long quizId) throws IOException {
+        Integer slot = slotByQuiz.get(quizId);
+        if (slot != null) {
+            return slot;
+        }
+        if (mapped == null) {
+            map(INITIAL_SLOTS * SLOT_BYTES);
+            int slots = mapped.capacity() / SLOT_BYTES;
+            for (int i = slots - 1; i >= 0; i--) {
+                if (mapped.getLong(i * SLOT_BYTES) == 0) {
+                    freeSlots.push(i);
+                }
+            }
+        }
+        if (freeSlots.isEmpty()) {
+            // Doubling the file keeps the existing slots where they are
+            int slots = mapped.capacity() / SLOT_BYTES;
+            int grown = Math.max(slots * 2, INITIAL_SLOTS);
+            map(grown * SLOT_BYTES);
+            for (int i = grown - 1; i >= slots; i--) {
+                freeSlots.push(i);
+            }
+        }
+        slot = freeSlots.pop();
+        slotByQuiz.put(quizId, slot);
+        return slot;
+    }
+
+    // Maps the whole file, growing it to at least minBytes
+    private void map(int minBytes) throws IOException {
+        if (channel == null) {
+            Files.createDirectories(file.getParent());
+            channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        }
+        long size = Math.max(channel.size() - channel.size() % SLOT_BYTES, minBytes);
+        mapped = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+    }
+
+    private void putRoundName(int base, String roundName) {
+        byte[] bytes = roundName != null ? roundName.getBytes(StandardCharsets.UTF_8) : new byte[0];
+        int length = Math.min(bytes.length, ROUND_BYTES);
+        // Never end on the middle of a multi-byte character
+        while (length < bytes.length && length > 0 && (bytes[length] & 0xC0) == 0x80) {
+            length--;
+        }
+        for (int i = 0; i < ROUND_BYTES; i++) {
+            mapped.put(base + ROUND_OFFSET + i, i < length ? bytes[i] : 0);
+        }
+    }
+
+    // Null if the slot holds no round name
+    private String getRoundName(int base) {
+        byte[] bytes = new byte[ROUND_BYTES];
+        mapped.get(base + ROUND_OFFSET, bytes);
+        int length = 0;
+        while (length < ROUND_BYTES && bytes[length] != 0) {
+            length++;
+        }
+        return length > 0 ? new String(bytes, 0, length, StandardCharsets.UTF_8) : null;
+    }
+
+    private int checksum(int base) {
+        crc.reset();
+        crc.update(mapped.slice(base, CRC_OFFSET));
+        return (int) crc.getValue();
+    }
+}
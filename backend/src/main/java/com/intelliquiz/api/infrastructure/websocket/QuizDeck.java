@@ -0,0 +1,123 @@
+package com.intelliquiz.api.infrastructure.websocket;
+
+import com.intelliquiz.api.domain.entities.Question;
+import com.intelliquiz.api.domain.enums.QuestionType;
+import com.intelliquiz.api.infrastructure.websocket.dto.QuestionPayload;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Immutable snapshot of a live quiz's questions, compiled once so the game loop
+ * needs no database access to show, time or reveal a question.
+ *
+ * Questions are held in {@code orderIndex} order with their broadcast payload,
+ * answer key, option keys and effective time limit already worked out.
+ */
+public final class QuizDeck {
+
+    static final int DEFAULT_TIME_LIMIT_SECONDS = 30;
+    private static final int MAX_OPTIONS = 4;
+
+    private final Long quizId;
+    private final List<DeckQuestion> questions;
+    private final Map<Long, DeckQuestion> questionsById;
+
+    private QuizDeck(Long quizId, List<DeckQuestion> questions) {
+        this.quizId = quizId;
+        this.questions = List.copyOf(questions);
+        Map<Long, DeckQuestion> byId = new HashMap<>();
+        questions.forEach(q -> byId.put(q.questionId(), q));
+        this.questionsById = Map.copyOf(byId);
+    }
+
+    /**
+     * Compiles a deck from a quiz's questions, in any order. Must run while the
+     * questions' options can still be loaded.
+     */
+    public static QuizDeck compile(Long quizId, List<Question> questions) {
+        List<Question> ordered = questions.stream()
+                .sorted(Comparator.comparingInt(Question::getOrderIndex))
+                .toList();
+        List<DeckQuestion> compiled = new ArrayList<>(ordered.size());
+        for (int i = 0; i < ordered.size(); i++) {
+            compiled.add(DeckQuestion.from(i, ordered.get(i)));
+        }
+        return new QuizDeck(quizId, compiled);
+    }
+
+    public Long getQuizId() {
+        return quizId;
+    }
+
+    public int size() {
+        return questions.size();
+    }
+
+    /**
+     * Gets the question at a position in the round, if there is one.
+     */
+    public Optional<DeckQuestion> get(int index) {
+        return index >= 0 && index < questions.size() ? Optional.of(questions.get(index)) : Optional.empty();
+    }
+
+    /**
+     * Gets a question by ID, if it is in the deck.
+     */
+    public Optional<DeckQuestion> find(Long questionId) {
+        return Optional.ofNullable(questionsById.get(questionId));
+    }
+
+    public List<DeckQuestion> getQuestions() {
+        return questions;
+    }
+
+    /**
+     * A compiled question. The payload never carries the answer key.
+     */
+    public record DeckQuestion(
+            int index,
+            Long questionId,
+            QuestionType type,
+            String difficulty,
+            String correctKey,
+            List<String> optionKeys,
+            int points,
+            int timeLimitSeconds,
+            QuestionPayload payload
+    ) {
+        static DeckQuestion from(int index, Question question) {
+            List<String> optionKeys = new ArrayList<>();
+            if (question.getType() == QuestionType.MULTIPLE_CHOICE && question.getOptions() != null) {
+                for (int i = 0; i < question.getOptions().size() && i < MAX_OPTIONS; i++) {
+                    optionKeys.add(String.valueOf((char) ('A' + i)));
+                }
+            }
+            return new DeckQuestion(
+                    index,
+                    question.getId(),
+                    question.getType(),
+                    question.getDifficulty() != null ? question.getDifficulty().name() : null,
+                    question.getCorrectKey(),
+                    List.copyOf(optionKeys),
+                    question.getPoints(),
+                    question.getTimeLimit() > 0 ? question.getTimeLimit() : DEFAULT_TIME_LIMIT_SECONDS,
+                    QuestionPayload.from(question)
+            );
+        }
+
+        /**
+         * Same rule as {@link Question#isCorrectAnswer(String)}: the trimmed answer equals the key, ignoring case.
+         */
+        public boolean isCorrectAnswer(String answer) {
+            if (answer == null || correctKey == null) {
+                return false;
+            }
+            return correctKey.equalsIgnoreCase(answer.trim());
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package com.intelliquiz.api.infrastructure.websocket;
+
+import com.intelliquiz.api.application.events.QuestionsChangedEvent;
+import com.intelliquiz.api.domain.entities.Quiz;
+import com.intelliquiz.api.domain.exceptions.EntityNotFoundException;
+import com.intelliquiz.api.domain.ports.QuestionRepository;
+import com.intelliquiz.api.domain.ports.QuizRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Holds the compiled {@link QuizDeck} of each live quiz.
+ *
+ * A deck is compiled when a round starts and reused for every question of the round.
+ * Editing a quiz's questions drops its deck once the edit commits; the next question
+ * shown compiles a fresh one.
+ */
+@Component
+public class QuizDeckCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(QuizDeckCache.class);
+
+    private final QuizRepository quizRepository;
+    private final QuestionRepository questionRepository;
+
+    // Quiz ID -> compiled deck
+    private final Map<Long, QuizDeck> decks = new ConcurrentHashMap<>();
+
+    public QuizDeckCache(QuizRepository quizRepository, QuestionRepository questionRepository) {
+        this.quizRepository = quizRepository;
+        this.questionRepository = questionRepository;
+    }
+
+    /**
+     * Compiles the quiz's deck from the database, replacing any cached one.
+     */
+    @Transactional(readOnly = true)
+    public QuizDeck reload(Long quizId) {
+        QuizDeck deck = compile(quizId);
+        decks.put(quizId, deck);
+        return deck;
+    }
+
+    /**
+     * Gets the quiz's cached deck, compiling it if there is none.
+     */
+    @Transactional(readOnly = true)
+    public QuizDeck get(Long quizId) {
+        return decks.computeIfAbsent(quizId, this::compile);
+    }
+
+    /**
+     * Drops a quiz's deck.
+     */
+    public void invalidate(Long quizId) {
+        if (decks.remove(quizId) != null) {
+            logger.info("Invalidated question deck of quiz {}", quizId);
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onQuestionsChanged(QuestionsChangedEvent event) {
+        invalidate(event.quizId());
+    }
+
+    private QuizDeck compile(Long quizId) {
+        Quiz quiz = quizRepository.findById(quizId)
+                .orElseThrow(() -> new EntityNotFoundException("Quiz", quizId));
+        QuizDeck deck = QuizDeck.compile(quizId, questionRepository.findByQuizOrderByOrderIndex(quiz));
+        logger.info("Compiled question deck of quiz {} with {} questions", quizId, deck.size());
+        return deck;
+    }
+}
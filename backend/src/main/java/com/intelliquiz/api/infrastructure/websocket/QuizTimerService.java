@@ -1,8 +1,12 @@
 package com.intelliquiz.api.infrastructure.websocket;
 
+import com.intelliquiz.api.infrastructure.config.GameProperties;
+import com.intelliquiz.api.infrastructure.config.GameProperties.TimerMode;
 import com.intelliquiz.api.infrastructure.config.QuizBroadcastService;
 import com.intelliquiz.api.infrastructure.config.QuizSessionManager;
 import com.intelliquiz.api.infrastructure.websocket.dto.GameStateMessage;
+import com.intelliquiz.api.infrastructure.websocket.dto.TimerDeadlineMessage;
+import jakarta.annotation.PreDestroy;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
@@ -14,28 +18,55 @@ import java.util.function.Consumer;
 /**
  * Server-authoritative timer service for quiz questions.
  * Manages countdown timers with automatic state transitions.
+ *
+ * All countdowns share the executors' {@link TimingWheel} and are tracked as an absolute deadline.
+ * In {@link TimerMode#TICK} mode a one-shot timeout is re-armed every second to broadcast a tick;
+ * in {@link TimerMode#DEADLINE} mode clients receive the deadline once and only the expiry is scheduled.
+ *
+ * The wheel thread only enqueues: firings run on the tick executor, their broadcasts on the
+ * broadcast executor and expiry callbacks (grading and reveal) on the grading executor.
+ * A tick may be skipped when the tick or broadcast queue is full, but the countdown keeps going;
+ * an expiry and everything after it is queued past the executors' capacity, so a saturated
+ * node is late to end a question but never leaves a quiz stuck in it.
  */
 @Service
 public class QuizTimerService {
 
     private static final Logger logger = LoggerFactory.getLogger(QuizTimerService.class);
 
-    private final ScheduledExecutorService scheduler = Executors.newScheduledThreadPool(4);
-    
+    private static final long ONE_SECOND_NANOS = TimeUnit.SECONDS.toNanos(1);
+
     // Quiz ID -> Timer state
-    private final Map<Long, TimerState> timers = new ConcurrentHashMap<>();
-    
+    private final Map<Long, QuizTimer> timers = new ConcurrentHashMap<>();
+
+    // Quiz ID -> last question expiry (for the latency grace window)
+    private final Map<Long, Expiry> expiries = new ConcurrentHashMap<>();
+
     private final QuizBroadcastService broadcastService;
     private final QuizSessionManager sessionManager;
+    private final GameProperties gameProperties;
+    private final ClockSyncService clockSyncService;
+    private final GameExecutors executors;
+    private final TimingWheel wheel;
 
-    public QuizTimerService(QuizBroadcastService broadcastService, QuizSessionManager sessionManager) {
+    public QuizTimerService(
+            QuizBroadcastService broadcastService,
+            QuizSessionManager sessionManager,
+            GameProperties gameProperties,
+            ClockSyncService clockSyncService,
+            GameExecutors executors
+    ) {
         this.broadcastService = broadcastService;
         this.sessionManager = sessionManager;
+        this.gameProperties = gameProperties;
+        this.clockSyncService = clockSyncService;
+        this.executors = executors;
+        this.wheel = executors.wheel();
     }
 
     /**
      * Starts a buffer countdown (e.g., 10 seconds before round starts).
-     * 
+     *
      * @param quizId the quiz ID
      * @param durationSeconds countdown duration
      * @param roundName the round name (e.g., "EASY", "MEDIUM")
@@ -43,94 +74,58 @@ public class QuizTimerService {
      */
     public void startBufferCountdown(Long quizId, int durationSeconds, String roundName, Runnable onComplete) {
         stopTimer(quizId); // Cancel any existing timer
-        
-        TimerState state = new TimerState(durationSeconds, durationSeconds, true, false, null);
-        timers.put(quizId, state);
-        
+
+        QuizTimer timer = new QuizTimer(quizId, null, roundName, durationSeconds, onComplete, null);
+        timers.put(quizId, timer);
+
         // Broadcast initial state
         broadcastService.broadcastGameState(quizId, GameStateMessage.buffer(quizId, roundName, "GET READY!"));
-        broadcastService.broadcastBufferTick(quizId, durationSeconds, roundName);
-        
-        // Schedule tick every second
-        ScheduledFuture<?> future = scheduler.scheduleAtFixedRate(() -> {
-            TimerState current = timers.get(quizId);
-            if (current == null || current.isPaused()) return;
-            
-            int remaining = current.remainingSeconds() - 1;
-            
-            if (remaining <= 0) {
-                // Buffer complete
-                stopTimer(quizId);
-                broadcastService.broadcastBufferTick(quizId, 0, roundName);
-                if (onComplete != null) {
-                    onComplete.run();
-                }
-            } else {
-                // Update and broadcast
-                timers.put(quizId, current.withRemaining(remaining));
-                broadcastService.broadcastBufferTick(quizId, remaining, roundName);
-            }
-        }, 1, 1, TimeUnit.SECONDS);
-        
-        timers.put(quizId, state.withFuture(future));
+
+        timer.start();
         logger.info("Started buffer countdown for quiz {} ({} seconds)", quizId, durationSeconds);
     }
 
     /**
      * Starts a question timer.
-     * 
+     *
      * @param quizId the quiz ID
      * @param questionId the question ID
      * @param durationSeconds timer duration
      * @param onExpired callback when timer expires
      */
     public void startQuestionTimer(Long quizId, Long questionId, int durationSeconds, Consumer<Long> onExpired) {
+        startQuestionTimer(quizId, questionId, durationSeconds, TimeUnit.SECONDS.toMillis(durationSeconds), onExpired);
+    }
+
+    /**
+     * Starts a question timer part way through, e.g. when a quiz is resumed after a restart.
+     *
+     * @param durationSeconds the question's full time limit
+     * @param remainingMillis the time it has left
+     */
+    public void startQuestionTimer(Long quizId, Long questionId, int durationSeconds, long remainingMillis,
+                                   Consumer<Long> onExpired) {
         stopTimer(quizId); // Cancel any existing timer
-        
-        TimerState state = new TimerState(durationSeconds, durationSeconds, true, false, null);
-        timers.put(quizId, state);
-        
+
+        QuizTimer timer = new QuizTimer(quizId, questionId, null, durationSeconds, null, onExpired);
+        timer.remainingAtStartNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(0, remainingMillis));
+        timers.put(quizId, timer);
+
         sessionManager.setCurrentQuestionId(quizId, questionId);
-        
-        // Broadcast initial tick
-        broadcastService.broadcastTimerTick(quizId, durationSeconds, durationSeconds);
-        
-        // Schedule tick every second
-        ScheduledFuture<?> future = scheduler.scheduleAtFixedRate(() -> {
-            TimerState current = timers.get(quizId);
-            if (current == null || current.isPaused()) return;
-            
-            int remaining = current.remainingSeconds() - 1;
-            
-            if (remaining <= 0) {
-                // Timer expired
-                stopTimer(quizId);
-                broadcastService.broadcastTimerExpired(quizId, current.totalSeconds());
-                
-                // Auto-transition to GRADING
-                broadcastService.broadcastGameState(quizId, GameStateMessage.grading(quizId));
-                
-                if (onExpired != null) {
-                    onExpired.accept(questionId);
-                }
-            } else {
-                // Update and broadcast
-                timers.put(quizId, current.withRemaining(remaining));
-                broadcastService.broadcastTimerTick(quizId, remaining, current.totalSeconds());
-            }
-        }, 1, 1, TimeUnit.SECONDS);
-        
-        timers.put(quizId, state.withFuture(future));
-        logger.info("Started question timer for quiz {} question {} ({} seconds)", quizId, questionId, durationSeconds);
+
+        timer.start();
+        logger.info("Started question timer for quiz {} question {} ({} of {} seconds)",
+                quizId, questionId, timer.remainingSeconds(), durationSeconds);
     }
 
     /**
      * Stops the timer for a quiz.
      */
     public void stopTimer(Long quizId) {
-        TimerState state = timers.remove(quizId);
-        if (state != null && state.future() != null) {
-            state.future().cancel(false);
+        expiries.remove(quizId);
+        QuizTimer timer = timers.remove(quizId);
+        if (timer != null) {
+            timer.stop();
             logger.debug("Stopped timer for quiz {}", quizId);
         }
     }
@@ -139,66 +134,50 @@ public class QuizTimerService {
      * Pauses the timer for a quiz (e.g., when host disconnects).
      */
     public void pauseTimer(Long quizId) {
-        TimerState state = timers.get(quizId);
-        if (state != null && state.isActive() && !state.isPaused()) {
-            // Cancel the scheduled task but keep the state
-            if (state.future() != null) {
-                state.future().cancel(false);
+        QuizTimer timer = timers.get(quizId);
+        if (timer != null && timer.pause()) {
+            int remaining = timer.remainingSeconds();
+            if (deadlineMode()) {
+                broadcastService.broadcastTimerDeadline(quizId,
+                        TimerDeadlineMessage.paused(timer.phase(), remaining, timer.totalSeconds, timer.roundName));
+            } else {
+                broadcastService.broadcastTimerPaused(quizId, remaining, timer.totalSeconds);
             }
-            timers.put(quizId, state.paused());
-            broadcastService.broadcastTimerPaused(quizId, state.remainingSeconds(), state.totalSeconds());
             broadcastService.broadcastGameState(quizId, GameStateMessage.paused(quizId, "Timer paused"));
-            logger.info("Paused timer for quiz {} at {} seconds", quizId, state.remainingSeconds());
+            logger.info("Paused timer for quiz {} at {} seconds", quizId, remaining);
         }
     }
 
     /**
      * Resumes the timer for a quiz.
-     * 
+     *
      * @param onExpired callback when timer expires
      */
     public void resumeTimer(Long quizId, Consumer<Long> onExpired) {
-        TimerState state = timers.get(quizId);
-        if (state != null && state.isPaused()) {
-            int remaining = state.remainingSeconds();
-            int total = state.totalSeconds();
-            
-            // Restart the timer from where it was paused
-            TimerState newState = new TimerState(remaining, total, true, false, null);
-            timers.put(quizId, newState);
-            
+        QuizTimer timer = timers.get(quizId);
+        if (timer != null && timer.paused) {
+            if (timer.questionId != null) {
+                timer.onExpired = onExpired;
+            }
+
+            // Restart the countdown from where it was paused
+            if (!timer.resume()) {
+                return;
+            }
+            int remaining = timer.remainingSeconds();
+
             // Broadcast resume
-            broadcastService.broadcastTimerTick(quizId, remaining, total);
+            if (deadlineMode()) {
+                broadcastService.broadcastTimerDeadline(quizId, timer.runningMessage());
+            } else {
+                broadcastService.broadcastTimerTick(quizId, remaining, timer.totalSeconds);
+            }
             broadcastService.broadcastGameState(quizId, GameStateMessage.active(
-                    quizId, 
+                    quizId,
                     sessionManager.getCurrentQuestionIndex(quizId),
                     0, // Will be set by caller
                     null
             ));
-            
-            // Schedule remaining ticks
-            Long questionId = sessionManager.getCurrentQuestionId(quizId).orElse(null);
-            
-            ScheduledFuture<?> future = scheduler.scheduleAtFixedRate(() -> {
-                TimerState current = timers.get(quizId);
-                if (current == null || current.isPaused()) return;
-                
-                int rem = current.remainingSeconds() - 1;
-                
-                if (rem <= 0) {
-                    stopTimer(quizId);
-                    broadcastService.broadcastTimerExpired(quizId, current.totalSeconds());
-                    broadcastService.broadcastGameState(quizId, GameStateMessage.grading(quizId));
-                    if (onExpired != null && questionId != null) {
-                        onExpired.accept(questionId);
-                    }
-                } else {
-                    timers.put(quizId, current.withRemaining(rem));
-                    broadcastService.broadcastTimerTick(quizId, rem, current.totalSeconds());
-                }
-            }, 1, 1, TimeUnit.SECONDS);
-            
-            timers.put(quizId, newState.withFuture(future));
             logger.info("Resumed timer for quiz {} with {} seconds remaining", quizId, remaining);
         }
     }
@@ -207,54 +186,282 @@ public class QuizTimerService {
      * Checks if a timer is active for a quiz.
      */
     public boolean isTimerActive(Long quizId) {
-        TimerState state = timers.get(quizId);
-        return state != null && state.isActive() && !state.isPaused();
+        QuizTimer timer = timers.get(quizId);
+        return timer != null && !timer.paused;
     }
 
     /**
      * Checks if a timer is paused for a quiz.
      */
     public boolean isTimerPaused(Long quizId) {
-        TimerState state = timers.get(quizId);
-        return state != null && state.isPaused();
+        QuizTimer timer = timers.get(quizId);
+        return timer != null && timer.paused;
     }
 
     /**
      * Gets the remaining seconds for a quiz timer.
      */
     public int getRemainingSeconds(Long quizId) {
-        TimerState state = timers.get(quizId);
-        return state != null ? state.remainingSeconds() : 0;
+        QuizTimer timer = timers.get(quizId);
+        return timer != null ? timer.remainingSeconds() : 0;
+    }
+
+    /**
+     * Gets the time left on a quiz timer, running or paused, in milliseconds.
+     */
+    public long getRemainingMillis(Long quizId) {
+        QuizTimer timer = timers.get(quizId);
+        return timer != null ? TimeUnit.NANOSECONDS.toMillis(timer.remainingNanos()) : 0;
     }
 
     /**
      * Gets the total seconds for a quiz timer.
      */
     public int getTotalSeconds(Long quizId) {
-        TimerState state = timers.get(quizId);
-        return state != null ? state.totalSeconds() : 0;
+        QuizTimer timer = timers.get(quizId);
+        return timer != null ? timer.totalSeconds : 0;
     }
 
     /**
-     * Timer state record.
+     * Checks whether a question's timer expired no more than {@code graceMillis} ago.
+     * Used to accept answers that were sent before the deadline but were still in flight.
      */
-    private record TimerState(
-            int remainingSeconds,
-            int totalSeconds,
-            boolean isActive,
-            boolean isPaused,
-            ScheduledFuture<?> future
-    ) {
-        TimerState withRemaining(int remaining) {
-            return new TimerState(remaining, totalSeconds, isActive, isPaused, future);
+    public boolean isWithinExpiryGrace(Long quizId, Long questionId, long graceMillis) {
+        Expiry expiry = expiries.get(quizId);
+        if (expiry == null || graceMillis <= 0 || !expiry.questionId().equals(questionId)) {
+            return false;
+        }
+        return System.nanoTime() - expiry.expiredAtNanos() <= TimeUnit.MILLISECONDS.toNanos(graceMillis);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        timers.values().forEach(QuizTimer::stop);
+        timers.clear();
+    }
+
+    private boolean deadlineMode() {
+        return gameProperties.getTimerMode() == TimerMode.DEADLINE;
+    }
+
+    private void runCallback(Long quizId, Runnable callback) {
+        if (callback == null) {
+            return;
+        }
+        try {
+            executors.grading().executeMandatory(callback);
+        } catch (RejectedExecutionException e) {
+            logger.debug("Timer callback for quiz {} not run, shutting down", quizId);
+        }
+    }
+
+    private record Expiry(Long questionId, long expiredAtNanos) {}
+
+    /**
+     * Countdown of one quiz: a buffer countdown when {@code questionId} is null, otherwise a question timer.
+     * Fired by the tick thread; control calls lock the instance.
+     */
+    private final class QuizTimer {
+        final Long quizId;
+        final Long questionId;
+        final String roundName;
+        final int totalSeconds;
+        final Runnable onComplete;
+        volatile Consumer<Long> onExpired;
+        volatile boolean paused;
+        private volatile long deadlineNanos;
+        private volatile long pausedRemainingNanos;
+        // Time left when started: the full duration unless resumed part way through
+        long remainingAtStartNanos;
+        private boolean stopped;
+        private TimingWheel.Timeout timeout;
+        // Firing time of the current timeout; an older firing still in flight is stale
+        private long scheduledAt;
+
+        QuizTimer(Long quizId, Long questionId, String roundName, int totalSeconds,
+                  Runnable onComplete, Consumer<Long> onExpired) {
+            this.quizId = quizId;
+            this.questionId = questionId;
+            this.roundName = roundName;
+            this.totalSeconds = totalSeconds;
+            this.onComplete = onComplete;
+            this.onExpired = onExpired;
+            this.remainingAtStartNanos = TimeUnit.SECONDS.toNanos(totalSeconds);
+        }
+
+        String phase() {
+            return questionId == null ? TimerDeadlineMessage.PHASE_BUFFER : TimerDeadlineMessage.PHASE_QUESTION;
+        }
+
+        long remainingNanos() {
+            return paused ? pausedRemainingNanos : Math.max(0, deadlineNanos - System.nanoTime());
         }
-        
-        TimerState withFuture(ScheduledFuture<?> newFuture) {
-            return new TimerState(remainingSeconds, totalSeconds, isActive, isPaused, newFuture);
+
+        int remainingSeconds() {
+            return (int) ((remainingNanos() + ONE_SECOND_NANOS - 1) / ONE_SECOND_NANOS);
+        }
+
+        TimerDeadlineMessage runningMessage() {
+            long deadlineEpochMillis = System.currentTimeMillis()
+                    + TimeUnit.NANOSECONDS.toMillis(deadlineNanos - System.nanoTime());
+            return TimerDeadlineMessage.running(phase(), deadlineEpochMillis, remainingSeconds(), totalSeconds, roundName);
+        }
+
+        void start() {
+            synchronized (this) {
+                arm(System.nanoTime(), remainingAtStartNanos);
+            }
+            if (deadlineMode()) {
+                broadcastService.broadcastTimerDeadline(quizId, runningMessage());
+            } else if (questionId == null) {
+                broadcastService.broadcastBufferTick(quizId, remainingSeconds(), roundName);
+            } else {
+                broadcastService.broadcastTimerTick(quizId, remainingSeconds(), totalSeconds);
+            }
+        }
+
+        synchronized void stop() {
+            stopped = true;
+            cancelTimeout();
+        }
+
+        synchronized boolean pause() {
+            if (stopped || paused) {
+                return false;
+            }
+            pausedRemainingNanos = Math.max(0, deadlineNanos - System.nanoTime());
+            paused = true;
+            cancelTimeout();
+            return true;
+        }
+
+        synchronized boolean resume() {
+            if (stopped || !paused) {
+                return false;
+            }
+            arm(System.nanoTime(), pausedRemainingNanos);
+            paused = false;
+            return true;
+        }
+
+        private void arm(long now, long remainingNanos) {
+            deadlineNanos = now + remainingNanos;
+            long next = deadlineNanos;
+            if (!deadlineMode() && remainingNanos > 0) {
+                // Next whole second before the deadline, so each tick reports an exact remaining count
+                next = deadlineNanos - ((remainingNanos - 1) / ONE_SECOND_NANOS) * ONE_SECOND_NANOS;
+            }
+            schedule(next);
+        }
+
+        private void schedule(long at) {
+            scheduledAt = at;
+            timeout = wheel.scheduleAt(() -> dispatch(at), at);
         }
-        
-        TimerState paused() {
-            return new TimerState(remainingSeconds, totalSeconds, isActive, true, null);
+
+        // On the wheel thread: only a tick may be turned away by a full tick queue
+        private void dispatch(long at) {
+            if (at >= deadlineNanos) {
+                executors.tick().executeMandatory(quizId, () -> fire(at));
+                return;
+            }
+            try {
+                executors.tick().execute(quizId, () -> fire(at));
+            } catch (RejectedExecutionException e) {
+                synchronized (this) {
+                    if (!stopped && !paused && scheduledAt == at) {
+                        logger.debug("Skipped a timer tick for quiz {}: {}", quizId, e.getMessage());
+                        schedule(Math.min(at + ONE_SECOND_NANOS, deadlineNanos));
+                    }
+                }
+            }
+        }
+
+        private void cancelTimeout() {
+            if (timeout != null) {
+                timeout.cancel();
+                timeout = null;
+            }
+        }
+
+        private void fire(long at) {
+            int remaining;
+            synchronized (this) {
+                if (stopped || paused || scheduledAt != at) {
+                    return;
+                }
+                if (at >= deadlineNanos) {
+                    remaining = 0;
+                    stopped = true;
+                    timeout = null;
+                    timers.remove(quizId, this);
+                } else {
+                    remaining = (int) ((deadlineNanos - at) / ONE_SECOND_NANOS);
+                    schedule(at + ONE_SECOND_NANOS);
+                }
+            }
+
+            if (remaining > 0) {
+                try {
+                    executors.broadcast().execute(quizId, () -> {
+                        if (questionId == null) {
+                            broadcastService.broadcastBufferTick(quizId, remaining, roundName);
+                        } else {
+                            broadcastService.broadcastTimerTick(quizId, remaining, totalSeconds);
+                        }
+                    });
+                } catch (RejectedExecutionException e) {
+                    logger.debug("Skipped a timer tick broadcast for quiz {}: {}", quizId, e.getMessage());
+                }
+            } else if (questionId == null) {
+                executors.broadcast().executeMandatory(quizId, this::finishBuffer);
+            } else {
+                expiries.put(quizId, new Expiry(questionId, System.nanoTime()));
+                // Grading is handed off from the broadcast lane, after the GRADING state went out
+                executors.broadcast().executeMandatory(quizId, this::finishQuestion);
+            }
+        }
+
+        private void finishBuffer() {
+            if (deadlineMode()) {
+                broadcastService.broadcastTimerDeadline(quizId,
+                        TimerDeadlineMessage.expired(phase(), totalSeconds, roundName));
+            } else {
+                broadcastService.broadcastBufferTick(quizId, 0, roundName);
+            }
+            runCallback(quizId, onComplete);
+        }
+
+        private void finishQuestion() {
+            if (deadlineMode()) {
+                broadcastService.broadcastTimerDeadline(quizId,
+                        TimerDeadlineMessage.expired(phase(), totalSeconds, roundName));
+            } else {
+                broadcastService.broadcastTimerExpired(quizId, totalSeconds);
+            }
+
+            // Auto-transition to GRADING; the compare-and-set is the instant the question stops taking answers.
+            // If the host has already moved on to another question, that question is left alone.
+            if (!sessionManager.transition(quizId, questionId, GameState.ACTIVE, GameState.GRADING)) {
+                if (!questionId.equals(sessionManager.getFlow(quizId).questionId())) {
+                    logger.debug("Question {} of quiz {} expired after the host moved on", questionId, quizId);
+                    return;
+                }
+                logger.debug("Quiz {} was not ACTIVE when question {} expired", quizId, questionId);
+            }
+            broadcastService.broadcastGameState(quizId, GameStateMessage.grading(quizId));
+
+            Consumer<Long> callback = onExpired;
+            if (callback == null) {
+                return;
+            }
+            // Hold the question open long enough for answers still in flight from the slowest session
+            long graceMillis = clockSyncService.getMaxOneWayLatencyMillis(quizId);
+            if (graceMillis > 0) {
+                wheel.schedule(() -> runCallback(quizId, () -> callback.accept(questionId)), graceMillis, TimeUnit.MILLISECONDS);
+            } else {
+                runCallback(quizId, () -> callback.accept(questionId));
+            }
         }
     }
 }
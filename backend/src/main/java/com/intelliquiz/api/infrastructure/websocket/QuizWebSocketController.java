@@ -1,7 +1,6 @@
 package com.intelliquiz.api.infrastructure.websocket;
 
 import com.intelliquiz.api.infrastructure.config.QuizBroadcastService;
-import com.intelliquiz.api.infrastructure.config.QuizSessionManager;
 import com.intelliquiz.api.infrastructure.config.WebSocketAuthInterceptor.QuizPrincipal;
 import com.intelliquiz.api.infrastructure.websocket.dto.*;
 import org.slf4j.Logger;
@@ -10,13 +9,20 @@ import org.springframework.messaging.handler.annotation.DestinationVariable;
 import org.springframework.messaging.handler.annotation.MessageMapping;
 import org.springframework.messaging.handler.annotation.Payload;
 import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.annotation.SendToUser;
 import org.springframework.stereotype.Controller;
 
 import java.security.Principal;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.RejectedExecutionException;
 
 /**
  * WebSocket controller for quiz real-time communication.
  * Handles host commands and participant submissions.
+ *
+ * Commands and submissions are validated on the inbound thread and then posted to the quiz's
+ * {@link QuizActor}, which applies them one at a time in arrival order.
  */
 @Controller
 public class QuizWebSocketController {
@@ -24,17 +30,20 @@ public class QuizWebSocketController {
     private static final Logger logger = LoggerFactory.getLogger(QuizWebSocketController.class);
 
     private final GameFlowService gameFlowService;
-    private final QuizSessionManager sessionManager;
     private final QuizBroadcastService broadcastService;
+    private final ClockSyncService clockSyncService;
+    private final QuizActors actors;
 
     public QuizWebSocketController(
             GameFlowService gameFlowService,
-            QuizSessionManager sessionManager,
-            QuizBroadcastService broadcastService
+            QuizBroadcastService broadcastService,
+            ClockSyncService clockSyncService,
+            QuizActors actors
     ) {
         this.gameFlowService = gameFlowService;
-        this.sessionManager = sessionManager;
         this.broadcastService = broadcastService;
+        this.clockSyncService = clockSyncService;
+        this.actors = actors;
     }
 
     /**
@@ -64,6 +73,18 @@ public class QuizWebSocketController {
         
         logger.info("Host command {} for quiz {}", command.type(), quizId);
         
+        try {
+            actors.tell(quizId, () -> applyHostCommand(quizId, command, sessionId));
+        } catch (RejectedExecutionException e) {
+            logger.warn("Rejected host command {} for quiz {}: {}", command.type(), quizId, e.getMessage());
+            broadcastService.sendError(sessionId, ErrorMessage.serverBusy());
+        }
+    }
+
+    /**
+     * Applies a host command on the quiz's actor.
+     */
+    private void applyHostCommand(Long quizId, HostCommand command, String sessionId) {
         try {
             switch (command.type()) {
                 case START_ROUND -> {
@@ -112,6 +133,18 @@ public class QuizWebSocketController {
         
         logger.debug("Submission from team {} for question {} in quiz {}", teamId, submission.questionId(), quizId);
         
+        try {
+            actors.tell(quizId, () -> applySubmission(quizId, teamId, submission, sessionId));
+        } catch (RejectedExecutionException e) {
+            logger.warn("Rejected submission from team {} for quiz {}: {}", teamId, quizId, e.getMessage());
+            broadcastService.sendError(sessionId, ErrorMessage.serverBusy());
+        }
+    }
+
+    /**
+     * Applies a submission on the quiz's actor.
+     */
+    private void applySubmission(Long quizId, Long teamId, SubmissionMessage submission, String sessionId) {
         try {
             gameFlowService.handleSubmission(quizId, teamId, submission.questionId(), submission.answer(), sessionId);
         } catch (Exception e) {
@@ -121,7 +154,27 @@ public class QuizWebSocketController {
     }
 
     /**
-     * Handles connection status requests.
+     * Handles clock sync pings. The pong goes back to the sending session only.
+     */
+    @MessageMapping("/quiz/{quizId}/clock")
+    @SendToUser(destinations = "/queue/clock", broadcast = false)
+    public ClockPong handleClockPing(
+            @DestinationVariable Long quizId,
+            @Payload ClockPing ping,
+            Principal principal,
+            SimpMessageHeaderAccessor headerAccessor
+    ) {
+        QuizPrincipal quizPrincipal = (QuizPrincipal) principal;
+        if (quizPrincipal == null || !quizPrincipal.quizId().equals(quizId)) {
+            broadcastService.sendError(headerAccessor.getSessionId(), ErrorMessage.invalidState("Quiz ID mismatch"));
+            return null;
+        }
+        return clockSyncService.handlePing(quizId, headerAccessor.getSessionId(), ping);
+    }
+
+    /**
+     * Handles connection status requests: the client gets a snapshot of the quiz, as the host
+     * notification {@code STATUS} or on its team queue.
      */
     @MessageMapping("/quiz/{quizId}/status")
     public void handleStatusRequest(
@@ -135,24 +188,62 @@ public class QuizWebSocketController {
         if (quizPrincipal == null) {
             return;
         }
+        if (!quizPrincipal.quizId().equals(quizId)) {
+            broadcastService.sendError(sessionId, ErrorMessage.invalidState("Quiz ID mismatch"));
+            return;
+        }
         
-        // Send current game state to the requesting client
-        GameState currentState = sessionManager.getCurrentState(quizId);
-        int connectedTeams = sessionManager.getConnectedTeamCount(quizId);
+        Long teamId = quizPrincipal.isHost() ? null : quizPrincipal.teamId();
+        try {
+            actors.tell(quizId, () -> {
+                QuizSnapshot snapshot = gameFlowService.snapshot(quizId, teamId);
+                if (teamId == null) {
+                    broadcastService.sendToHost(quizId, new HostNotification("STATUS", snapshot));
+                } else {
+                    broadcastService.sendToTeam(quizId, teamId, snapshot);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            logger.warn("Rejected status request for quiz {}: {}", quizId, e.getMessage());
+            broadcastService.sendError(sessionId, ErrorMessage.serverBusy());
+        }
+    }
+
+    /**
+     * Catches up a client that has reconnected: it gets the quiz frames sent after the last one it
+     * received, on {@code /user/queue/replay}, or a snapshot of the quiz if those are no longer
+     * all kept. Missed frames come from memory on the inbound thread; only a snapshot goes through
+     * the quiz's actor.
+     */
+    @MessageMapping("/quiz/{quizId}/resume")
+    public void handleResume(
+            @DestinationVariable Long quizId,
+            @Payload ResumeRequest request,
+            Principal principal,
+            SimpMessageHeaderAccessor headerAccessor
+    ) {
+        QuizPrincipal quizPrincipal = (QuizPrincipal) principal;
+        String sessionId = headerAccessor.getSessionId();
         
-        GameStateMessage stateMessage = new GameStateMessage(
-                currentState,
-                quizId,
-                sessionManager.getCurrentQuestionIndex(quizId),
-                null,
-                null,
-                "Connected teams: " + connectedTeams
-        );
+        if (quizPrincipal == null || !quizPrincipal.quizId().equals(quizId)) {
+            broadcastService.sendError(sessionId, ErrorMessage.invalidState("Quiz ID mismatch"));
+            return;
+        }
         
-        if (quizPrincipal.isHost()) {
-            broadcastService.sendToHost(quizId, new HostNotification("STATUS", stateMessage));
-        } else {
-            broadcastService.sendToTeam(quizId, quizPrincipal.teamId(), stateMessage);
+        Optional<List<ReplayMessage.Frame>> missed =
+                broadcastService.framesSince(quizId, request.lastSequence(), quizPrincipal.isHost());
+        if (missed.isPresent()) {
+            broadcastService.sendReplay(sessionId, ReplayMessage.frames(missed.get()));
+            return;
+        }
+        
+        Long teamId = quizPrincipal.isHost() ? null : quizPrincipal.teamId();
+        try {
+            actors.tell(quizId, () -> broadcastService.sendReplay(sessionId,
+                    ReplayMessage.snapshot(gameFlowService.snapshot(quizId, teamId))));
+        } catch (RejectedExecutionException e) {
+            logger.warn("Rejected catch-up request for quiz {}: {}", quizId, e.getMessage());
+            broadcastService.sendError(sessionId, ErrorMessage.serverBusy());
         }
     }
 }
@@ -0,0 +1,370 @@
+package com.intelliquiz.api.infrastructure.websocket;
+
+import com.intelliquiz.api.domain.ports.SubmissionBatchRepository;
+import com.intelliquiz.api.domain.ports.SubmissionBatchRepository.PendingAnswer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Write-behind buffer for live answer submissions.
+ * Answers are journaled and kept in memory (latest answer per team) while a question is open,
+ * then written to the submission table in one batch when the question closes.
+ *
+ * Teams are addressed by their {@link TeamIndex} number: "has submitted" is one bit per team
+ * and the latest answers sit in arrays indexed the same way, so accepting an answer allocates
+ * no map entry or boxed ID.
+ */
+@Component
+public class SubmissionBuffer {
+
+    private static final Logger logger = LoggerFactory.getLogger(SubmissionBuffer.class);
+
+    private final SubmissionJournal journal;
+    private final SubmissionBatchRepository batchRepository;
+
+    // Question ID -> buffer (kept after closing so late answers are rejected; only open() adds one)
+    private final Map<Long, QuestionBuffer> buffers = new ConcurrentHashMap<>();
+
+    public SubmissionBuffer(SubmissionJournal journal, SubmissionBatchRepository batchRepository) {
+        this.journal = journal;
+        this.batchRepository = batchRepository;
+    }
+
+    /**
+     * Opens the buffer for a question with a team numbering of its own.
+     */
+    public void open(Long quizId, Long questionId) {
+        open(quizId, questionId, TeamIndex.empty());
+    }
+
+    /**
+     * Opens the buffer for a question, addressing teams by the quiz's numbering.
+     * Any other open question of the quiz is flushed first so no acknowledged answer is left behind.
+     */
+    public void open(Long quizId, Long questionId, TeamIndex teams) {
+        buffers.values().stream()
+                .filter(b -> b.quizId.equals(quizId) && !b.questionId.equals(questionId) && b.isOpen())
+                .toList()
+                .forEach(b -> closeAndFlush(b.questionId));
+        buffers.computeIfAbsent(questionId, id -> new QuestionBuffer(quizId, id, teams));
+    }
+
+    /**
+     * Accepts an answer without touching the database.
+     * The answer is journaled before this method returns, so it is safe to acknowledge.
+     */
+    public AcceptResult accept(Long quizId, Long questionId, Long teamId, String answer) {
+        Accepted accepted = accept(quizId, questionId, teamId, answer, () -> {});
+        SubmissionJournal.await(accepted.journaled());
+        return accepted.result();
+    }
+
+    /**
+     * Accepts an answer and runs {@code onAccepted} before the question can close, so whatever
+     * it records is complete by the time {@link #closeAndFlush(Long)} returns.
+     * An answer to a question that was never opened, or whose quiz was closed, is rejected like
+     * one to a closed question: nothing would ever flush it.
+     *
+     * The answer is journaled with the next group commit, without waiting for it: it is safe to
+     * acknowledge once {@link Accepted#journaled()} completes.
+     */
+    public Accepted accept(Long quizId, Long questionId, Long teamId, String answer, Runnable onAccepted) {
+        QuestionBuffer buffer = buffers.get(questionId);
+        if (buffer == null || !buffer.quizId.equals(quizId)) {
+            return Accepted.CLOSED;
+        }
+        int slot = buffer.teams.indexOrAdd(teamId);
+        buffer.ensureCapacity(slot);
+        buffer.lock.readLock().lock();
+        try {
+            if (buffer.closed) {
+                return Accepted.CLOSED;
+            }
+            long now = System.currentTimeMillis();
+            CompletableFuture<Void> journaled = journal.appendAnswerAsync(quizId, questionId, teamId, now, answer);
+            buffer.answers.set(slot, answer);
+            buffer.submittedAt.set(slot, now);
+            boolean first = buffer.submitted.set(slot);
+            onAccepted.run();
+            return new Accepted(first ? AcceptResult.FIRST : AcceptResult.UPDATED, journaled);
+        } finally {
+            buffer.lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Puts a journaled answer back into its question's reopened buffer when a quiz is resumed
+     * after a restart. It is already in the journal, so it is not journaled again.
+     *
+     * @return whether the answer was restored (false if the question is not open)
+     */
+    public boolean restore(Long questionId, SubmissionJournal.JournaledAnswer answer) {
+        QuestionBuffer buffer = buffers.get(questionId);
+        if (buffer == null) {
+            return false;
+        }
+        int slot = buffer.teams.indexOrAdd(answer.teamId());
+        buffer.ensureCapacity(slot);
+        buffer.lock.readLock().lock();
+        try {
+            if (buffer.closed) {
+                return false;
+            }
+            buffer.answers.set(slot, answer.answer());
+            buffer.submittedAt.set(slot, answer.submittedAtMillis());
+            buffer.submitted.set(slot);
+            return true;
+        } finally {
+            buffer.lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Closes a question and writes all of its buffered answers in one batch.
+     * Safe to call more than once; only the first call writes.
+     *
+     * @return the answers that were flushed, keyed by team ID
+     */
+    public Map<Long, BufferedAnswer> closeAndFlush(Long questionId) {
+        QuestionBuffer buffer = buffers.get(questionId);
+        if (buffer == null) {
+            return Map.of();
+        }
+
+        buffer.lock.writeLock().lock();
+        try {
+            if (buffer.flushed) {
+                return Map.of();
+            }
+            buffer.closed = true;
+
+            Map<Long, BufferedAnswer> snapshot = buffer.snapshot();
+            List<PendingAnswer> rows = snapshot.values().stream()
+                    .map(BufferedAnswer::toPendingAnswer)
+                    .toList();
+            batchRepository.upsertAnswers(questionId, rows);
+            // Its answers' records go before the marker, or a replay would take them as unflushed
+            journal.awaitWritten().join();
+            journal.markFlushed(buffer.quizId, questionId);
+            buffer.flushed = true;
+            buffer.release();
+
+            logger.info("Flushed {} buffered submissions for question {} in quiz {}",
+                    rows.size(), questionId, buffer.quizId);
+            return snapshot;
+        } finally {
+            buffer.lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Flushes any open question of a quiz and forgets all of its buffers (on quiz end).
+     */
+    public void closeQuiz(Long quizId) {
+        buffers.values().stream()
+                .filter(b -> b.quizId.equals(quizId))
+                .toList()
+                .forEach(b -> {
+                    closeAndFlush(b.questionId);
+                    buffers.remove(b.questionId);
+                });
+    }
+
+    /**
+     * Gets the buffered answer of a team for an open question.
+     */
+    public Optional<BufferedAnswer> getAnswer(Long questionId, Long teamId) {
+        QuestionBuffer buffer = buffers.get(questionId);
+        if (buffer == null) {
+            return Optional.empty();
+        }
+        int slot = buffer.teams.indexOf(teamId);
+        if (slot == TeamIndex.NOT_FOUND) {
+            return Optional.empty();
+        }
+        buffer.lock.readLock().lock();
+        try {
+            return Optional.ofNullable(buffer.answerAt(slot));
+        } finally {
+            buffer.lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Gets the answers held for a question while it is open (none once it is closed), for the
+     * state a cluster node stores for whichever node takes its quiz over.
+     */
+    public List<SubmissionJournal.JournaledAnswer> openAnswers(Long questionId) {
+        QuestionBuffer buffer = buffers.get(questionId);
+        if (buffer == null) {
+            return List.of();
+        }
+        buffer.lock.readLock().lock();
+        try {
+            if (buffer.closed) {
+                return List.of();
+            }
+            return buffer.snapshot().values().stream()
+                    .map(a -> new SubmissionJournal.JournaledAnswer(a.teamId(), a.submittedAtMillis(), a.answer()))
+                    .toList();
+        } finally {
+            buffer.lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Gets the number of teams that have answered an open question.
+     */
+    public int getSubmissionCount(Long questionId) {
+        QuestionBuffer buffer = buffers.get(questionId);
+        return buffer != null ? buffer.submitted.cardinality() : 0;
+    }
+
+    /**
+     * Replays answers that were acknowledged but never flushed (e.g. after a crash).
+     * Questions open again, resumed from a checkpoint, are left to be flushed when they close.
+     *
+     * @return the number of answers written to the database
+     */
+    public int recoverFromJournal() {
+        int recovered = 0;
+        for (SubmissionJournal.JournaledQuestion question : journal.readUnflushed()) {
+            QuestionBuffer open = buffers.get(question.questionId());
+            if (open != null && open.isOpen()) {
+                continue;
+            }
+            List<PendingAnswer> rows = question.answers().values().stream()
+                    .map(a -> new BufferedAnswer(a.teamId(), a.answer(), a.submittedAtMillis()).toPendingAnswer())
+                    .toList();
+            batchRepository.upsertAnswers(question.questionId(), rows);
+            journal.markFlushed(question.quizId(), question.questionId());
+            recovered += rows.size();
+        }
+        return recovered;
+    }
+
+    /**
+     * Result of accepting an answer.
+     */
+    /**
+     * The outcome of accepting an answer, and when its journal record is written.
+     */
+    public record Accepted(AcceptResult result, CompletableFuture<Void> journaled) {
+
+        static final Accepted CLOSED = new Accepted(AcceptResult.CLOSED, CompletableFuture.completedFuture(null));
+    }
+
+    public enum AcceptResult {
+        /** First answer of this team for the question. */
+        FIRST,
+        /** Replaced an earlier answer of this team. */
+        UPDATED,
+        /** The question is closed, or not open; the answer was not accepted. */
+        CLOSED
+    }
+
+    /**
+     * A team's latest answer held in memory.
+     */
+    public record BufferedAnswer(Long teamId, String answer, long submittedAtMillis) {
+        PendingAnswer toPendingAnswer() {
+            LocalDateTime submittedAt = LocalDateTime.ofInstant(Instant.ofEpochMilli(submittedAtMillis), ZoneId.systemDefault());
+            return new PendingAnswer(teamId, answer, submittedAt);
+        }
+    }
+
+    private static final class QuestionBuffer {
+        private static final int MIN_SLOTS = 16;
+
+        private final Long quizId;
+        private final Long questionId;
+        private final TeamIndex teams;
+        // Latest answer per team number; the arrays are replaced (grown or released) only under the write lock
+        private volatile AtomicBitSet submitted;
+        private volatile AtomicReferenceArray<String> answers;
+        private volatile AtomicLongArray submittedAt;
+        // Accepts share the read lock; closing and growing take the write lock so no accept races them
+        private final ReadWriteLock lock = new ReentrantReadWriteLock();
+        private volatile boolean closed;
+        private volatile boolean flushed;
+
+        QuestionBuffer(Long quizId, Long questionId, TeamIndex teams) {
+            this.quizId = quizId;
+            this.questionId = questionId;
+            this.teams = teams;
+            int slots = Math.max(MIN_SLOTS, teams.size());
+            this.submitted = new AtomicBitSet(slots);
+            this.answers = new AtomicReferenceArray<>(slots);
+            this.submittedAt = new AtomicLongArray(slots);
+        }
+
+        boolean isOpen() {
+            return !closed;
+        }
+
+        /**
+         * Grows the answer arrays if a team numbered after the question opened needs a slot.
+         */
+        void ensureCapacity(int slot) {
+            if (slot < answers.length()) {
+                return;
+            }
+            lock.writeLock().lock();
+            try {
+                int length = answers.length();
+                if (slot < length || flushed) {
+                    return;
+                }
+                int grown = Math.max(slot + 1, length * 2);
+                AtomicReferenceArray<String> biggerAnswers = new AtomicReferenceArray<>(grown);
+                AtomicLongArray biggerTimes = new AtomicLongArray(grown);
+                for (int i = 0; i < length; i++) {
+                    biggerAnswers.set(i, answers.get(i));
+                    biggerTimes.set(i, submittedAt.get(i));
+                }
+                answers = biggerAnswers;
+                submittedAt = biggerTimes;
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        BufferedAnswer answerAt(int slot) {
+            if (flushed || !submitted.get(slot)) {
+                return null;
+            }
+            return new BufferedAnswer(teams.teamId(slot), answers.get(slot), submittedAt.get(slot));
+        }
+
+        Map<Long, BufferedAnswer> snapshot() {
+            Map<Long, BufferedAnswer> snapshot = new HashMap<>(submitted.cardinality() * 2);
+            submitted.forEach(slot -> snapshot.put(teams.teamId(slot),
+                    new BufferedAnswer(teams.teamId(slot), answers.get(slot), submittedAt.get(slot))));
+            return snapshot;
+        }
+
+        /**
+         * Drops the answers once they are flushed; the buffer itself stays to reject late answers.
+         */
+        void release() {
+            submitted = new AtomicBitSet(0);
+            answers = new AtomicReferenceArray<>(0);
+            submittedAt = new AtomicLongArray(0);
+        }
+    }
+}
@@ -0,0 +1,523 @@
+package com.intelliquiz.api.infrastructure.websocket;
+
+import com.intelliquiz.api.infrastructure.config.GameProperties;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * Local append-only journal for buffered submissions.
+ * Every answer is appended before it is acknowledged, and a marker is appended
+ * once its question has been flushed to the database, so unflushed answers
+ * can be replayed after a crash.
+ *
+ * Answers are group-committed: appends are queued, and the journal's writer thread writes the
+ * whole queue and forces it once, then completes the future of every record that was in it.
+ * Under load one fsync covers many submissions instead of each submission waiting for its
+ * own, and a quiz's actor, which appends its answers one at a time, never waits for one.
+ *
+ * The journal is split into numbered segment files. Appends go to the newest one, which is
+ * rolled over once it reaches {@code game.journal-segment-bytes}, and every segment remembers
+ * which of its questions are not flushed yet. A segment is deleted as soon as all of its
+ * questions are flushed, even while an older one is kept for a question still open; flushed
+ * markers it holds for answers in those older segments are appended again first, so they are
+ * never replayed. The newest segment is truncated when nothing at all is pending, so the
+ * journal stays small however long quizzes keep running. After a restart appends start a new
+ * segment, so a torn record at the end of an old one is never followed by new records.
+ *
+ * Record layout: type (1) | quizId (8) | questionId (8) | teamId (8) | submittedAt millis (8) | answer length (4) | answer UTF-8
+ */
+@Component
+public class SubmissionJournal {
+
+    private static final Logger logger = LoggerFactory.getLogger(SubmissionJournal.class);
+    private static final Pattern SEGMENT_NAME = Pattern.compile("submissions-(\\d+)\\.journal");
+    private static final byte ANSWER = 'A';
+    private static final byte FLUSHED = 'F';
+    private static final int HEADER_BYTES = 1 + 8 + 8 + 8 + 8 + 4;
+    private static final int QUIZ_ID_OFFSET = 1;
+    private static final int QUESTION_ID_OFFSET = 1 + 8;
+    private static final int NO_ANSWER = -1;
+
+    private final Path directory;
+    private final boolean fsync;
+    private final long segmentBytes;
+    // Guarded by this, which is also held while a batch is written; null until first used
+    private TreeMap<Long, Segment> segments;
+    private FileChannel channel;
+
+    // Appends waiting to be written, the batch being written, and whether the writer is running
+    private final ReentrantLock batchLock = new ReentrantLock();
+    private Batch pending = new Batch();
+    private Batch inFlight;
+    private boolean writing;
+    // At most one thread, started when answers are queued and stopped once idle
+    private final ExecutorService writer = new ThreadPoolExecutor(0, 1, 30, TimeUnit.SECONDS,
+            new LinkedBlockingQueue<>(), runnable -> {
+                Thread thread = new Thread(runnable, "submission-journal");
+                thread.setDaemon(true);
+                return thread;
+            });
+
+    public SubmissionJournal(GameProperties gameProperties) {
+        this.directory = Paths.get(gameProperties.getJournalDirectory());
+        this.fsync = gameProperties.isJournalFsync();
+        this.segmentBytes = Math.max(HEADER_BYTES, gameProperties.getJournalSegmentBytes());
+    }
+
+    /**
+     * Appends an answer. Returns only once the record is written (and forced, if fsync is enabled),
+     * possibly together with other callers' records.
+     */
+    public void appendAnswer(Long quizId, Long questionId, Long teamId, long submittedAtMillis, String answer) {
+        await(appendAnswerAsync(quizId, questionId, teamId, submittedAtMillis, answer));
+    }
+
+    /**
+     * Queues an answer for the next group commit without waiting for it.
+     * Records queued by one thread are written in the order they were queued.
+     *
+     * @return a future completed once the record is written (and forced, if fsync is enabled),
+     *         or completed with an {@link IllegalStateException} if it could not be
+     */
+    public CompletableFuture<Void> appendAnswerAsync(Long quizId, Long questionId, Long teamId,
+                                                     long submittedAtMillis, String answer) {
+        byte[] answerBytes = answer != null ? answer.getBytes(StandardCharsets.UTF_8) : new byte[0];
+        ByteBuffer record = ByteBuffer.allocate(HEADER_BYTES + answerBytes.length)
+                .put(ANSWER)
+                .putLong(quizId)
+                .putLong(questionId)
+                .putLong(teamId)
+                .putLong(submittedAtMillis)
+                .putInt(answer != null ? answerBytes.length : NO_ANSWER)
+                .put(answerBytes);
+        record.flip();
+
+        Batch batch;
+        boolean startWriter;
+        batchLock.lock();
+        try {
+            batch = pending;
+            batch.records.add(record);
+            startWriter = !writing;
+            writing = true;
+        } finally {
+            batchLock.unlock();
+        }
+        if (startWriter) {
+            writer.execute(this::writePending);
+        }
+        return batch.written;
+    }
+
+    /**
+     * Gets a future completed once every answer queued so far is written, whether or not
+     * it could be.
+     */
+    public CompletableFuture<Void> awaitWritten() {
+        batchLock.lock();
+        try {
+            // The pending batch is written after the one in flight
+            Batch last = !pending.records.isEmpty() ? pending : inFlight;
+            return last != null
+                    ? last.written.handle((written, failure) -> null)
+                    : CompletableFuture.completedFuture(null);
+        } finally {
+            batchLock.unlock();
+        }
+    }
+
+    /**
+     * Waits for an append, throwing its failure as it was raised.
+     */
+    static void await(CompletableFuture<Void> written) {
+        try {
+            written.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException failure) {
+                throw failure;
+            }
+            throw e;
+        }
+    }
+
+    // Runs on the writer thread: writes queued batches until none is left
+    private void writePending() {
+        while (true) {
+            Batch batch;
+            batchLock.lock();
+            try {
+                if (pending.records.isEmpty()) {
+                    inFlight = null;
+                    writing = false;
+                    return;
+                }
+                batch = pending;
+                inFlight = batch;
+                pending = new Batch();
+            } finally {
+                batchLock.unlock();
+            }
+            IllegalStateException failure;
+            try {
+                failure = writeBatch(batch.records);
+            } catch (RuntimeException e) {
+                failure = new IllegalStateException("Failed to write submission journal in " + directory, e);
+            }
+            if (failure != null) {
+                batch.written.completeExceptionally(failure);
+            } else {
+                batch.written.complete(null);
+            }
+        }
+    }
+
+    /**
+     * Marks every answer of a question as durably stored in the database, and drops the
+     * segments that no longer hold anything pending.
+     */
+    public synchronized void markFlushed(Long quizId, Long questionId) {
+        IllegalStateException failure = writeBatch(List.of(flushedRecord(quizId, questionId)));
+        if (failure != null) {
+            throw failure;
+        }
+        for (Segment segment : segments.values()) {
+            segment.unflushed.remove(questionId);
+        }
+        dropFlushedSegments();
+    }
+
+    private static ByteBuffer flushedRecord(long quizId, long questionId) {
+        return ByteBuffer.allocate(HEADER_BYTES)
+                .put(FLUSHED)
+                .putLong(quizId)
+                .putLong(questionId)
+                .putLong(0L)
+                .putLong(0L)
+                .putInt(0)
+                .flip();
+    }
+
+    /**
+     * Gets the number of segment files the journal currently keeps.
+     */
+    public synchronized int getSegmentCount() {
+        return segments().size();
+    }
+
+    /**
+     * Reads every answer whose question has no flushed marker, keeping the latest answer per team.
+     * A torn record at the end of a segment (crash mid-write) is ignored.
+     */
+    public synchronized List<JournaledQuestion> readUnflushed() {
+        Map<Long, JournaledQuestion> pending = new LinkedHashMap<>();
+        for (Segment segment : segments().values()) {
+            scan(segment.path, (type, quizId, questionId, teamId, submittedAt, answer) -> {
+                if (type == FLUSHED) {
+                    pending.remove(questionId);
+                } else {
+                    pending.computeIfAbsent(questionId, id -> new JournaledQuestion(quizId, id, new LinkedHashMap<>()))
+                            .answers().put(teamId, new JournaledAnswer(teamId, submittedAt, answer));
+                }
+            });
+        }
+        return new ArrayList<>(pending.values());
+    }
+
+    /**
+     * Writes the answers still queued, then closes the newest segment.
+     */
+    @PreDestroy
+    public void close() {
+        awaitWritten().join();
+        synchronized (this) {
+            closeChannel();
+        }
+    }
+
+    /**
+     * Writes records to the newest segment in one go and forces them once.
+     *
+     * @return the failure, or null if every record was written
+     */
+    private synchronized IllegalStateException writeBatch(List<ByteBuffer> records) {
+        try {
+            Segment segment = segments().lastEntry().getValue();
+            if (segment.size >= segmentBytes) {
+                segment = rollOver();
+            }
+            FileChannel out = openChannel(segment);
+            ByteBuffer[] buffers = records.toArray(new ByteBuffer[0]);
+            long remaining = 0;
+            for (ByteBuffer buffer : buffers) {
+                segment.record(buffer.get(0), buffer.getLong(QUIZ_ID_OFFSET), buffer.getLong(QUESTION_ID_OFFSET));
+                remaining += buffer.remaining();
+            }
+            while (remaining > 0) {
+                long written = out.write(buffers);
+                segment.size += written;
+                remaining -= written;
+            }
+            if (fsync) {
+                out.force(false);
+            }
+            return null;
+        } catch (IOException e) {
+            return new IllegalStateException("Failed to write submission journal in " + directory, e);
+        }
+    }
+
+    /**
+     * Deletes every segment but the newest that holds nothing pending, and empties the newest
+     * if it is the only one left and holds nothing pending either.
+     */
+    private void dropFlushedSegments() {
+        List<Segment> older = new ArrayList<>();
+        Segment newest = segments.lastEntry().getValue();
+        for (Segment segment : List.copyOf(segments.values())) {
+            if (segment == newest) {
+                break;
+            }
+            if (!segment.unflushed.isEmpty()) {
+                older.add(segment);
+                continue;
+            }
+            // Its markers may be all that stops answers kept in an older segment from being replayed
+            List<ByteBuffer> carried = new ArrayList<>();
+            segment.markers.forEach((questionId, quizId) -> {
+                if (older.stream().anyMatch(kept -> kept.answered.contains(questionId))
+                        && segments.values().stream().noneMatch(any -> any.unflushed.contains(questionId))) {
+                    carried.add(flushedRecord(quizId, questionId));
+                }
+            });
+            if (!carried.isEmpty()) {
+                IllegalStateException failure = writeBatch(carried);
+                if (failure != null) {
+                    logger.warn("Keeping submission journal segment {}: {}", segment.path, failure.getMessage());
+                    older.add(segment);
+                    continue;
+                }
+            }
+            segments.values().remove(segment);
+            try {
+                Files.deleteIfExists(segment.path);
+            } catch (IOException e) {
+                logger.warn("Failed to delete submission journal segment {}: {}", segment.path, e.getMessage());
+            }
+        }
+        newest = segments.lastEntry().getValue();
+        if (segments.size() == 1 && newest.unflushed.isEmpty() && newest.size > 0) {
+            try {
+                if (channel != null) {
+                    channel.truncate(0);
+                } else {
+                    Files.write(newest.path, new byte[0]);
+                }
+                newest.clear();
+            } catch (IOException e) {
+                logger.warn("Failed to truncate submission journal segment {}: {}", newest.path, e.getMessage());
+            }
+        }
+    }
+
+    private Segment rollOver() {
+        closeChannel();
+        long number = segments.lastKey() + 1;
+        Segment segment = new Segment(segmentPath(number));
+        segments.put(number, segment);
+        return segment;
+    }
+
+    /**
+     * Gets the segments, oldest first, finding the ones left by an earlier run on first use:
+     * each learns which of its questions were not flushed, and a new segment is started.
+     */
+    private TreeMap<Long, Segment> segments() {
+        if (segments != null) {
+            return segments;
+        }
+        TreeMap<Long, Segment> found = new TreeMap<>();
+        if (Files.isDirectory(directory)) {
+            try (Stream<Path> files = Files.list(directory)) {
+                files.forEach(path -> {
+                    Matcher name = SEGMENT_NAME.matcher(path.getFileName().toString());
+                    if (name.matches()) {
+                        found.put(Long.parseLong(name.group(1)), new Segment(path));
+                    }
+                });
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed to list submission journal " + directory, e);
+            }
+        }
+
+        // A question is pending in every segment holding its answers, until a later marker
+        Map<Long, Set<Segment>> holding = new HashMap<>();
+        for (Segment segment : found.values()) {
+            segment.size = scan(segment.path, (type, quizId, questionId, teamId, submittedAt, answer) -> {
+                segment.record(type, quizId, questionId);
+                if (type == FLUSHED) {
+                    holding.remove(questionId);
+                } else {
+                    holding.computeIfAbsent(questionId, id -> new HashSet<>()).add(segment);
+                }
+            });
+        }
+        found.values().forEach(segment -> segment.unflushed.clear());
+        holding.forEach((questionId, holders) -> holders.forEach(segment -> segment.unflushed.add(questionId)));
+
+        long next = found.isEmpty() ? 1 : found.lastKey() + 1;
+        found.put(next, new Segment(segmentPath(next)));
+        segments = found;
+        dropFlushedSegments();
+        return segments;
+    }
+
+    /**
+     * Reads the records of a segment in order, stopping at a torn record.
+     *
+     * @return the bytes read
+     */
+    private long scan(Path path, RecordVisitor visitor) {
+        if (!Files.exists(path)) {
+            return 0;
+        }
+        ByteBuffer buffer;
+        try {
+            buffer = ByteBuffer.wrap(Files.readAllBytes(path));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read submission journal " + path, e);
+        }
+
+        try {
+            while (buffer.remaining() >= HEADER_BYTES) {
+                byte type = buffer.get();
+                long quizId = buffer.getLong();
+                long questionId = buffer.getLong();
+                long teamId = buffer.getLong();
+                long submittedAt = buffer.getLong();
+                int length = buffer.getInt();
+
+                String answer = null;
+                if (type != FLUSHED && length != NO_ANSWER) {
+                    byte[] bytes = new byte[length];
+                    buffer.get(bytes);
+                    answer = new String(bytes, StandardCharsets.UTF_8);
+                }
+                visitor.visit(type, quizId, questionId, teamId, submittedAt, answer);
+            }
+        } catch (BufferUnderflowException e) {
+            logger.warn("Ignoring torn record at the end of submission journal {}", path);
+        }
+        return buffer.capacity();
+    }
+
+    private FileChannel openChannel(Segment segment) throws IOException {
+        if (channel == null) {
+            Files.createDirectories(directory);
+            channel = FileChannel.open(segment.path,
+                    StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        }
+        return channel;
+    }
+
+    private void closeChannel() {
+        if (channel != null) {
+            try {
+                channel.close();
+            } catch (IOException e) {
+                logger.warn("Failed to close submission journal in {}: {}", directory, e.getMessage());
+            }
+            channel = null;
+        }
+    }
+
+    private Path segmentPath(long number) {
+        return directory.resolve("submissions-" + number + ".journal");
+    }
+
+    @FunctionalInterface
+    private interface RecordVisitor {
+        void visit(byte type, long quizId, long questionId, long teamId, long submittedAt, String answer);
+    }
+
+    /**
+     * One segment file, with the questions it holds answers to, those of them not flushed yet,
+     * and the flushed markers it holds.
+     */
+    private static final class Segment {
+        private final Path path;
+        private final Set<Long> answered = new HashSet<>();
+        private final Set<Long> unflushed = new HashSet<>();
+        // Question ID -> quiz ID
+        private final Map<Long, Long> markers = new HashMap<>();
+        private long size;
+
+        Segment(Path path) {
+            this.path = path;
+        }
+
+        void record(byte type, long quizId, long questionId) {
+            if (type == FLUSHED) {
+                markers.put(questionId, quizId);
+            } else {
+                answered.add(questionId);
+                unflushed.add(questionId);
+            }
+        }
+
+        void clear() {
+            answered.clear();
+            unflushed.clear();
+            markers.clear();
+            size = 0;
+        }
+    }
+
+    /**
+     * Records queued for one group commit.
+     */
+    private static final class Batch {
+        private final List<ByteBuffer> records = new ArrayList<>();
+        private final CompletableFuture<Void> written = new CompletableFuture<>();
+    }
+
+    /**
+     * Unflushed answers of one question, keyed by team ID.
+     */
+    public record JournaledQuestion(Long quizId, Long questionId, Map<Long, JournaledAnswer> answers) {}
+
+    /**
+     * A journaled answer.
+     */
+    public record JournaledAnswer(Long teamId, long submittedAtMillis, String answer) {}
+}
@@ -0,0 +1,34 @@
+package com.intelliquiz.api.infrastructure.websocket;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.stereotype.Component;
+
+/**
+ * Replays acknowledged but unflushed submissions from the journal on application startup.
+ */
+@Component
+public class SubmissionJournalRecovery implements ApplicationRunner {
+
+    private static final Logger logger = LoggerFactory.getLogger(SubmissionJournalRecovery.class);
+
+    private final SubmissionBuffer submissionBuffer;
+
+    public SubmissionJournalRecovery(SubmissionBuffer submissionBuffer) {
+        this.submissionBuffer = submissionBuffer;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        try {
+            int recovered = submissionBuffer.recoverFromJournal();
+            if (recovered > 0) {
+                logger.info("Recovered {} unflushed submissions from journal", recovered);
+            }
+        } catch (Exception e) {
+            logger.error("Failed to recover submissions from journal; it will be retried on next startup", e);
+        }
+    }
+}
@@ -0,0 +1,175 @@
+package com.intelliquiz.api.infrastructure.websocket;
+
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Dense 0..N-1 numbering of a live quiz's teams.
+ *
+ * The quiz's teams are numbered when it is activated; a team first seen later (registered
+ * mid-event) gets the next number. Numbers are never reused or reassigned, so per-team
+ * state can live in arrays and bitsets indexed by them instead of maps of boxed IDs.
+ *
+ * Lookups are lock-free over an open-addressing table of primitive keys; only adding
+ * a team takes the lock.
+ */
+public final class TeamIndex {
+
+    public static final int NOT_FOUND = -1;
+
+    private static final int MIN_CAPACITY = 16;
+
+    private volatile Table table;
+    private volatile int size;
+
+    private TeamIndex(int expectedTeams) {
+        this.table = new Table(capacityFor(expectedTeams));
+    }
+
+    /**
+     * Creates an empty index.
+     */
+    public static TeamIndex empty() {
+        return new TeamIndex(0);
+    }
+
+    /**
+     * Numbers the given teams in iteration order.
+     */
+    public static TeamIndex of(Iterable<Long> teamIds, int expectedTeams) {
+        TeamIndex index = new TeamIndex(expectedTeams);
+        for (Long teamId : teamIds) {
+            index.indexOrAdd(teamId);
+        }
+        return index;
+    }
+
+    /**
+     * Gets a team's number, or {@link #NOT_FOUND}.
+     */
+    public int indexOf(long teamId) {
+        int index = table.find(teamId);
+        if (index != NOT_FOUND) {
+            return index;
+        }
+        // The team may have been added by another thread into a table not yet visible here
+        synchronized (this) {
+            return table.find(teamId);
+        }
+    }
+
+    /**
+     * Gets a team's number, numbering it if it is new.
+     */
+    public int indexOrAdd(long teamId) {
+        int index = table.find(teamId);
+        if (index != NOT_FOUND) {
+            return index;
+        }
+        synchronized (this) {
+            index = table.find(teamId);
+            if (index != NOT_FOUND) {
+                return index;
+            }
+            index = size;
+            if ((index + 1) * 2 > table.slots()) {
+                table = table.grow(index);
+            }
+            table.put(teamId, index);
+            size = index + 1;
+            return index;
+        }
+    }
+
+    /**
+     * Gets the team ID numbered {@code index}.
+     */
+    public long teamId(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("No team numbered " + index);
+        }
+        return table.teamId(index);
+    }
+
+    /**
+     * Gets the number of teams numbered so far.
+     */
+    public int size() {
+        return size;
+    }
+
+    private static int capacityFor(int teams) {
+        int capacity = MIN_CAPACITY;
+        while (capacity < teams * 2) {
+            capacity <<= 1;
+        }
+        return capacity;
+    }
+
+    /**
+     * Open-addressing table kept at most half full. A slot's index is written after its key,
+     * both with volatile semantics, so a reader that sees the index also sees the key.
+     */
+    private static final class Table {
+        private final AtomicLongArray keys;
+        private final AtomicIntegerArray indexes;
+        // Team ID by number
+        private final AtomicLongArray teamIds;
+        private final int mask;
+
+        Table(int slots) {
+            this.keys = new AtomicLongArray(slots);
+            this.indexes = new AtomicIntegerArray(slots);
+            this.teamIds = new AtomicLongArray(slots / 2);
+            this.mask = slots - 1;
+            for (int i = 0; i < slots; i++) {
+                indexes.set(i, NOT_FOUND);
+            }
+        }
+
+        int slots() {
+            return keys.length();
+        }
+
+        int find(long teamId) {
+            int slot = hash(teamId) & mask;
+            while (true) {
+                int index = indexes.get(slot);
+                if (index == NOT_FOUND) {
+                    return NOT_FOUND;
+                }
+                if (keys.get(slot) == teamId) {
+                    return index;
+                }
+                slot = (slot + 1) & mask;
+            }
+        }
+
+        void put(long teamId, int index) {
+            teamIds.set(index, teamId);
+            int slot = hash(teamId) & mask;
+            while (indexes.get(slot) != NOT_FOUND) {
+                slot = (slot + 1) & mask;
+            }
+            keys.set(slot, teamId);
+            indexes.set(slot, index);
+        }
+
+        long teamId(int index) {
+            return teamIds.get(index);
+        }
+
+        Table grow(int size) {
+            Table bigger = new Table(slots() * 2);
+            for (int index = 0; index < size; index++) {
+                bigger.put(teamIds.get(index), index);
+            }
+            return bigger;
+        }
+
+        private static int hash(long teamId) {
+            long h = teamId * 0x9E3779B97F4A7C15L;
+            return (int) (h ^ (h >>> 32));
+        }
+    }
+}
@@ -0,0 +1,12 @@
+package com.intelliquiz.api.infrastructure.websocket.dto;
+
+/**
+ * NTP-style clock sync request from a client.
+ *
+ * @param clientSendTime client clock (epoch millis) when the ping was sent
+ * @param lastRoundTripMillis round trip the client measured on its previous ping, or null on the first one
+ */
+public record ClockPing(
+        long clientSendTime,
+        Long lastRoundTripMillis
+) {}
@@ -0,0 +1,12 @@
+package com.intelliquiz.api.infrastructure.websocket.dto;
+
+/**
+ * Clock sync reply. With the client receive time t3, a client computes
+ * round trip = (t3 - clientSendTime) - (serverSendTime - serverReceiveTime) and
+ * offset = ((serverReceiveTime - clientSendTime) + (serverSendTime - t3)) / 2.
+ */
+public record ClockPong(
+        long clientSendTime,
+        long serverReceiveTime,
+        long serverSendTime
+) {}
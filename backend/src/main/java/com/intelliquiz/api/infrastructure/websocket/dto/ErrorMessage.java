@@ -15,6 +15,7 @@ public record ErrorMessage(
     public static final String INVALID_QUESTION = "INVALID_QUESTION";
     public static final String QUIZ_NOT_ACTIVE = "QUIZ_NOT_ACTIVE";
     public static final String INVALID_ACCESS_CODE = "INVALID_ACCESS_CODE";
+    public static final String SERVER_BUSY = "SERVER_BUSY";
     
     public static ErrorMessage timeExpired() {
         return new ErrorMessage(TIME_EXPIRED, "Time has expired. Submission rejected.");
@@ -43,4 +44,8 @@ public record ErrorMessage(
     public static ErrorMessage invalidAccessCode() {
         return new ErrorMessage(INVALID_ACCESS_CODE, "Invalid access code.");
     }
+    
+    public static ErrorMessage serverBusy() {
+        return new ErrorMessage(SERVER_BUSY, "The quiz is busy. Please try again.");
+    }
 }
@@ -0,0 +1,16 @@
+package com.intelliquiz.api.infrastructure.websocket.dto;
+
+import java.util.List;
+
+/**
+ * Lobby and submission changes since the host's previous digest, with the current counts.
+ * {@code submitted} lists the teams whose first answer to {@code questionId} arrived since then.
+ */
+public record HostDigest(
+        List<TeamInfo> joined,
+        List<Long> left,
+        Long questionId,
+        List<Long> submitted,
+        int connectedCount,
+        int submittedCount
+) {}
@@ -14,6 +14,9 @@ public record HostNotification(
     public static final String ALL_SUBMITTED = "ALL_SUBMITTED";
     public static final String TIE_DETECTED = "TIE_DETECTED";
     public static final String HOST_RECONNECTED = "HOST_RECONNECTED";
+    public static final String LIVE_DISTRIBUTION = "LIVE_DISTRIBUTION";
+    public static final String ANSWER_REVEAL = "ANSWER_REVEAL";
+    public static final String TEAM_DIGEST = "TEAM_DIGEST";
     
     public static HostNotification teamJoined(TeamInfo teamInfo) {
         return new HostNotification(TEAM_JOINED, teamInfo);
@@ -34,4 +37,16 @@ public record HostNotification(
     public static HostNotification tieDetected(Object tieInfo) {
         return new HostNotification(TIE_DETECTED, tieInfo);
     }
+    
+    public static HostNotification liveDistribution(Long questionId, AnswerDistribution distribution) {
+        return new HostNotification(LIVE_DISTRIBUTION, new LiveDistribution(questionId, distribution));
+    }
+    
+    public static HostNotification answerReveal(AnswerRevealPayload reveal) {
+        return new HostNotification(ANSWER_REVEAL, reveal);
+    }
+    
+    public static HostNotification teamDigest(HostDigest digest) {
+        return new HostNotification(TEAM_DIGEST, digest);
+    }
 }
@@ -0,0 +1,16 @@
+package com.intelliquiz.api.infrastructure.websocket.dto;
+
+/**
+ * One row of the leaderboard top sent with a split reveal.
+ */
+public record LeaderboardEntry(
+        int rank,
+        Long teamId,
+        String teamName,
+        int totalScore,
+        boolean isTied
+) {
+    public static LeaderboardEntry from(TeamResult result) {
+        return new LeaderboardEntry(result.rank(), result.teamId(), result.teamName(), result.totalScore(), result.isTied());
+    }
+}
@@ -0,0 +1,9 @@
+package com.intelliquiz.api.infrastructure.websocket.dto;
+
+/**
+ * Answer distribution of the open question so far, streamed to the host.
+ */
+public record LiveDistribution(
+        Long questionId,
+        AnswerDistribution distribution
+) {}
@@ -28,7 +28,8 @@ public record QuestionPayload(
                 question.getId(),
                 question.getText(),
                 question.getType(),
-                question.getType() == QuestionType.MULTIPLE_CHOICE ? question.getOptions() : List.of(),
+                question.getType() == QuestionType.MULTIPLE_CHOICE && question.getOptions() != null
+                        ? List.copyOf(question.getOptions()) : List.of(),
                 question.getTimeLimit(),
                 question.getPoints(),
                 question.getOrderIndex(),
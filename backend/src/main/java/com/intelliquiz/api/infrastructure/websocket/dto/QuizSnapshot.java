@@ -0,0 +1,33 @@
+package com.intelliquiz.api.infrastructure.websocket.dto;
+
+import com.intelliquiz.api.infrastructure.websocket.GameState;
+
+/**
+ * Everything a client needs to show a quiz as it stands, for one that connects late or has
+ * missed too many frames to catch up on.
+ *
+ * @param state the game state
+ * @param quizId the quiz
+ * @param currentQuestionIndex the current question's position in the deck
+ * @param totalQuestions questions in the deck
+ * @param question the open question (no correct key), or null if none is open
+ * @param remainingMillis time left on the question or round countdown, 0 if none is running
+ * @param totalSeconds the countdown's full length
+ * @param timerPaused whether the countdown is paused
+ * @param submittedAnswer the requesting team's answer to the open question, or null
+ * @param connectedTeams teams connected to the quiz
+ * @param sequence position of the last quiz frame sent before the snapshot; frames after it follow
+ */
+public record QuizSnapshot(
+        GameState state,
+        Long quizId,
+        Integer currentQuestionIndex,
+        Integer totalQuestions,
+        QuestionPayload question,
+        long remainingMillis,
+        int totalSeconds,
+        boolean timerPaused,
+        String submittedAnswer,
+        int connectedTeams,
+        String sequence
+) {}
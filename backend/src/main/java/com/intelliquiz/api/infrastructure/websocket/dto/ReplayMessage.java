@@ -0,0 +1,38 @@
+package com.intelliquiz.api.infrastructure.websocket.dto;
+
+import com.fasterxml.jackson.annotation.JsonRawValue;
+
+import java.util.List;
+
+/**
+ * Reply to a {@link ResumeRequest}: the quiz frames the client missed, oldest first, or a
+ * snapshot of the quiz when they are no longer all kept.
+ *
+ * @param frames the missed frames (empty when a snapshot is sent instead)
+ * @param snapshot the quiz as it stands, or null when the frames are sent
+ */
+public record ReplayMessage(
+        List<Frame> frames,
+        QuizSnapshot snapshot
+) {
+    public static ReplayMessage frames(List<Frame> frames) {
+        return new ReplayMessage(frames, null);
+    }
+
+    public static ReplayMessage snapshot(QuizSnapshot snapshot) {
+        return new ReplayMessage(List.of(), snapshot);
+    }
+
+    /**
+     * A missed frame, as it was sent.
+     *
+     * @param sequence its {@code quiz-seq} header
+     * @param destination the topic it was sent to
+     * @param body its JSON body
+     */
+    public record Frame(
+            String sequence,
+            String destination,
+            @JsonRawValue String body
+    ) {}
+}
@@ -0,0 +1,11 @@
+package com.intelliquiz.api.infrastructure.websocket.dto;
+
+/**
+ * Catch-up request from a client that has reconnected.
+ *
+ * @param lastSequence the {@code quiz-seq} header of the last quiz frame the client received,
+ *                     or null if it has none (it then gets a snapshot)
+ */
+public record ResumeRequest(
+        String lastSequence
+) {}
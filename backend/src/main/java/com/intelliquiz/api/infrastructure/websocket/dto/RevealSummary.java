@@ -0,0 +1,38 @@
+package com.intelliquiz.api.infrastructure.websocket.dto;
+
+import com.intelliquiz.api.domain.enums.QuestionType;
+
+import java.util.List;
+
+/**
+ * Shared part of a split answer reveal, broadcast to every client of a quiz.
+ * Carries the correct answer, distribution and the leaderboard top only; each team
+ * gets its own result as a {@link TeamReveal}.
+ */
+public record RevealSummary(
+        Long questionId,
+        String correctAnswer,
+        QuestionType type,
+        AnswerDistribution distribution,
+        int teamCount,
+        List<LeaderboardEntry> leaderboard
+) {
+    /**
+     * Builds the summary of a full reveal, keeping the first {@code topK} of its ranked results.
+     */
+    public static RevealSummary from(AnswerRevealPayload reveal, int topK) {
+        List<TeamResult> results = reveal.teamResults();
+        List<LeaderboardEntry> top = results.stream()
+                .limit(Math.max(0, topK))
+                .map(LeaderboardEntry::from)
+                .toList();
+        return new RevealSummary(
+                reveal.questionId(),
+                reveal.correctAnswer(),
+                reveal.type(),
+                reveal.distribution(),
+                results.size(),
+                top
+        );
+    }
+}
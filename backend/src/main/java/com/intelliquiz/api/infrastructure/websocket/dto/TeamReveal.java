@@ -0,0 +1,10 @@
+package com.intelliquiz.api.infrastructure.websocket.dto;
+
+/**
+ * A team's own result of a split answer reveal, sent on its team queue.
+ */
+public record TeamReveal(
+        Long questionId,
+        TeamResult result
+) {
+}
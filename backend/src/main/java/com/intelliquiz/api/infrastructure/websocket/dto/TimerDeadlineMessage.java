@@ -0,0 +1,31 @@
+package com.intelliquiz.api.infrastructure.websocket.dto;
+
+/**
+ * Deadline-based timer message, sent only on start, pause, resume and expiry.
+ * Clients count down locally against {@code deadlineEpochMillis} corrected by their clock offset.
+ */
+public record TimerDeadlineMessage(
+        String phase,
+        String status,
+        long deadlineEpochMillis,
+        long serverTimeEpochMillis,
+        int remainingSeconds,
+        int totalSeconds,
+        String roundName
+) {
+    public static final String PHASE_BUFFER = "BUFFER";
+    public static final String PHASE_QUESTION = "QUESTION";
+
+    public static TimerDeadlineMessage running(String phase, long deadline, int remaining, int total, String roundName) {
+        return new TimerDeadlineMessage(phase, "RUNNING", deadline, System.currentTimeMillis(), remaining, total, roundName);
+    }
+
+    public static TimerDeadlineMessage paused(String phase, int remaining, int total, String roundName) {
+        return new TimerDeadlineMessage(phase, "PAUSED", 0L, System.currentTimeMillis(), remaining, total, roundName);
+    }
+
+    public static TimerDeadlineMessage expired(String phase, int total, String roundName) {
+        long now = System.currentTimeMillis();
+        return new TimerDeadlineMessage(phase, "EXPIRED", now, now, 0, total, roundName);
+    }
+}
@@ -1,8 +1,10 @@
 package com.intelliquiz.api.presentation.controllers;
 
+import com.intelliquiz.api.application.services.AccessIdentity;
 import com.intelliquiz.api.application.services.AccessResolutionResult;
 import com.intelliquiz.api.application.services.AccessResolutionService;
 import com.intelliquiz.api.application.services.RouteType;
+import com.intelliquiz.api.infrastructure.config.ParticipantTokenService;
 import com.intelliquiz.api.presentation.dto.request.AccessCodeRequest;
 import com.intelliquiz.api.presentation.dto.response.AccessResolutionResponse;
 import com.intelliquiz.api.presentation.dto.response.ErrorResponse;
@@ -28,15 +30,19 @@ import org.springframework.web.bind.annotation.*;
 public class AccessController {
 
     private final AccessResolutionService accessResolutionService;
+    private final ParticipantTokenService participantTokenService;
 
-    public AccessController(AccessResolutionService accessResolutionService) {
+    public AccessController(AccessResolutionService accessResolutionService,
+                            ParticipantTokenService participantTokenService) {
         this.accessResolutionService = accessResolutionService;
+        this.participantTokenService = participantTokenService;
     }
 
     /**
      * Resolves an access code to determine the appropriate route.
      * Returns PARTICIPANT route for team codes, HOST route for proctor PINs,
-     * or INVALID route for unrecognized codes.
+     * or INVALID route for unrecognized codes. Valid codes also get a signed token
+     * for WebSocket CONNECT.
      */
     @PostMapping("/resolve")
     @Operation(
@@ -62,10 +68,12 @@ public class AccessController {
         
         AccessResolutionResponse response = switch (result.routeType()) {
             case PARTICIPANT -> AccessResolutionResponse.participant(
-                    TeamResponse.from(result.team())
+                    TeamResponse.from(result.team()),
+                    participantTokenService.issue(AccessIdentity.of(result))
             );
             case HOST -> AccessResolutionResponse.host(
-                    QuizResponse.from(result.quiz())
+                    QuizResponse.from(result.quiz()),
+                    participantTokenService.issue(AccessIdentity.of(result))
             );
             case INVALID -> AccessResolutionResponse.invalid(result.errorMessage());
         };
@@ -286,7 +286,7 @@ public class QuizController {
     @PostMapping("/{id}/activate")
     @Operation(
             summary = "Activate quiz session",
-            description = "Activates a quiz session, allowing teams to submit answers. Only one quiz can be active at a time."
+            description = "Activates a quiz session, allowing teams to submit answers. Other live quizzes stay active, up to the server's capacity."
     )
     @ApiResponses(value = {
             @ApiResponse(
@@ -296,7 +296,7 @@ public class QuizController {
             ),
             @ApiResponse(
                     responseCode = "400",
-                    description = "Invalid state transition or another quiz is already active",
+                    description = "Invalid state transition or another live quiz has the same proctor PIN",
                     content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponse.class))
             ),
             @ApiResponse(
@@ -308,6 +308,11 @@ public class QuizController {
                     responseCode = "404",
                     description = "Quiz not found",
                     content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponse.class))
+            ),
+            @ApiResponse(
+                    responseCode = "503",
+                    description = "The server is at its limit of live quizzes or teams",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponse.class))
             )
     })
     public ResponseEntity<QuizResponse> activateSession(
@@ -360,7 +365,7 @@ public class QuizController {
     @GetMapping("/active")
     @Operation(
             summary = "Get active quiz session",
-            description = "Retrieves the currently active quiz session, if any."
+            description = "Retrieves a currently active quiz session, if any. With several live quizzes, use /live to get them all."
     )
     @ApiResponses(value = {
             @ApiResponse(
@@ -384,4 +389,31 @@ public class QuizController {
                 .map(quiz -> ResponseEntity.ok(QuizResponse.from(quiz)))
                 .orElse(ResponseEntity.noContent().build());
     }
+
+    /**
+     * Lists every active quiz session.
+     */
+    @GetMapping("/live")
+    @Operation(
+            summary = "List live quiz sessions",
+            description = "Retrieves every currently active quiz session."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Live quiz sessions retrieved",
+                    content = @Content(mediaType = "application/json", array = @ArraySchema(schema = @Schema(implementation = QuizResponse.class)))
+            ),
+            @ApiResponse(
+                    responseCode = "401",
+                    description = "Unauthorized - JWT token missing or invalid",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponse.class))
+            )
+    })
+    public ResponseEntity<List<QuizResponse>> getActiveSessions() {
+        List<QuizResponse> responses = quizSessionService.getActiveSessions().stream()
+                .map(QuizResponse::from)
+                .toList();
+        return ResponseEntity.ok(responses);
+    }
 }
@@ -3,6 +3,7 @@ package com.intelliquiz.api.presentation.controllers;
 import com.intelliquiz.api.application.services.TeamRegistrationService;
 import com.intelliquiz.api.domain.entities.Team;
 import com.intelliquiz.api.presentation.dto.request.CreateTeamRequest;
+import com.intelliquiz.api.presentation.dto.request.RegisterTeamsRequest;
 import com.intelliquiz.api.presentation.dto.response.ErrorResponse;
 import com.intelliquiz.api.presentation.dto.response.TeamResponse;
 import io.swagger.v3.oas.annotations.Operation;
@@ -16,9 +17,16 @@ import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
 import java.util.List;
 
 /**
@@ -111,6 +119,84 @@ public class TeamController {
         return ResponseEntity.status(HttpStatus.CREATED).body(TeamResponse.from(team));
     }
 
+    /**
+     * Registers many teams for a quiz from a JSON list of names.
+     * Returns the teams with their generated access codes.
+     */
+    @PostMapping(value = "/quizzes/{quizId}/teams/bulk", consumes = MediaType.APPLICATION_JSON_VALUE)
+    @Operation(
+            summary = "Register teams in bulk",
+            description = "Registers up to 10000 teams for a quiz in one request and generates a unique access code for each. " +
+                    "The same endpoint accepts a text/csv body with one team name per line."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "201",
+                    description = "Teams registered successfully",
+                    content = @Content(mediaType = "application/json", array = @ArraySchema(schema = @Schema(implementation = TeamResponse.class)))
+            ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Invalid request body, blank or too long team name, or too many teams",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponse.class))
+            ),
+            @ApiResponse(
+                    responseCode = "401",
+                    description = "Unauthorized - JWT token missing or invalid",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponse.class))
+            ),
+            @ApiResponse(
+                    responseCode = "404",
+                    description = "Quiz not found",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponse.class))
+            )
+    })
+    public ResponseEntity<List<TeamResponse>> registerTeams(
+            @Parameter(description = "Unique identifier of the quiz", required = true)
+            @PathVariable Long quizId,
+            @Valid @RequestBody RegisterTeamsRequest request) {
+        return registered(teamRegistrationService.registerTeams(quizId, request.names()));
+    }
+
+    /**
+     * Registers many teams for a quiz from a CSV upload.
+     * The first column of each line is a team name; a header line "name" and blank lines are skipped.
+     * The body is read line by line, so the upload is never held in memory as a whole.
+     */
+    @PostMapping(value = "/quizzes/{quizId}/teams/bulk", consumes = "text/csv")
+    @Operation(
+            summary = "Register teams in bulk from CSV",
+            description = "Registers up to 10000 teams for a quiz from a CSV body whose first column is the team name."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "201",
+                    description = "Teams registered successfully",
+                    content = @Content(mediaType = "application/json", array = @ArraySchema(schema = @Schema(implementation = TeamResponse.class)))
+            ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Blank or too long team name, or too many teams",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponse.class))
+            ),
+            @ApiResponse(
+                    responseCode = "401",
+                    description = "Unauthorized - JWT token missing or invalid",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponse.class))
+            ),
+            @ApiResponse(
+                    responseCode = "404",
+                    description = "Quiz not found",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = ErrorResponse.class))
+            )
+    })
+    public ResponseEntity<List<TeamResponse>> registerTeamsFromCsv(
+            @Parameter(description = "Unique identifier of the quiz", required = true)
+            @PathVariable Long quizId,
+            InputStream body) throws IOException {
+        return registered(teamRegistrationService.registerTeams(quizId, readTeamNames(body)));
+    }
+
     /**
      * Removes a team.
      */
@@ -172,4 +258,62 @@ public class TeamController {
         teamRegistrationService.resetTeamScores(quizId);
         return ResponseEntity.ok().build();
     }
+
+    private static ResponseEntity<List<TeamResponse>> registered(List<Team> teams) {
+        List<TeamResponse> responses = teams.stream()
+                .map(TeamResponse::from)
+                .toList();
+        return ResponseEntity.status(HttpStatus.CREATED).body(responses);
+    }
+
+    /**
+     * Reads the first column of each CSV line as a team name.
+     * Stops reading one name past the bulk limit, so an oversized upload is rejected early.
+     */
+    static List<String> readTeamNames(InputStream body) throws IOException {
+        List<String> names = new ArrayList<>();
+        BufferedReader reader = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8));
+        String line;
+        boolean first = true;
+        while ((line = reader.readLine()) != null && names.size() <= TeamRegistrationService.MAX_BULK_TEAMS) {
+            if (first && line.startsWith("\uFEFF")) {
+                line = line.substring(1);
+            }
+            String name = firstCsvField(line).trim();
+            if (first && name.equalsIgnoreCase("name")) {
+                first = false;
+                continue;
+            }
+            first = false;
+            if (!name.isEmpty()) {
+                names.add(name);
+            }
+        }
+        return names;
+    }
+
+    /**
+     * Gets the first field of a CSV line, unquoting it if quoted ("" stands for a quote).
+     */
+    private static String firstCsvField(String line) {
+        if (!line.startsWith("\"")) {
+            int comma = line.indexOf(',');
+            return comma < 0 ? line : line.substring(0, comma);
+        }
+        StringBuilder field = new StringBuilder();
+        for (int i = 1; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (c == '"') {
+                if (i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else {
+                    break;
+                }
+            } else {
+                field.append(c);
+            }
+        }
+        return field.toString();
+    }
 }
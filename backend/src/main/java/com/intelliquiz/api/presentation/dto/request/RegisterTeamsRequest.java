@@ -0,0 +1,18 @@
+package com.intelliquiz.api.presentation.dto.request;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+/**
+ * Request DTO for registering many teams at once.
+ */
+@Schema(description = "Request body for registering many teams at once")
+public record RegisterTeamsRequest(
+    @Schema(description = "Names of the teams to register, each at most 100 characters", example = "[\"Team Alpha\", \"Team Beta\"]", requiredMode = Schema.RequiredMode.REQUIRED)
+    @NotEmpty(message = "Team names list cannot be empty")
+    @Size(max = 10000, message = "At most 10000 teams can be registered at once")
+    List<String> names
+) {}
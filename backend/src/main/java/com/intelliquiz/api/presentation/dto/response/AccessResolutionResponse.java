@@ -18,26 +18,29 @@ public record AccessResolutionResponse(
     QuizResponse quiz,
     
     @Schema(description = "Error message when routeType is INVALID", example = "Invalid access code")
-    String errorMessage
+    String errorMessage,
+
+    @Schema(description = "Short-lived signed token to send as the participantToken header on WebSocket CONNECT, when routeType is PARTICIPANT or HOST")
+    String token
 ) {
     /**
      * Creates a participant response with team details.
      */
-    public static AccessResolutionResponse participant(TeamResponse team) {
-        return new AccessResolutionResponse(RouteType.PARTICIPANT, team, null, null);
+    public static AccessResolutionResponse participant(TeamResponse team, String token) {
+        return new AccessResolutionResponse(RouteType.PARTICIPANT, team, null, null, token);
     }
 
     /**
      * Creates a host response with quiz details.
      */
-    public static AccessResolutionResponse host(QuizResponse quiz) {
-        return new AccessResolutionResponse(RouteType.HOST, null, quiz, null);
+    public static AccessResolutionResponse host(QuizResponse quiz, String token) {
+        return new AccessResolutionResponse(RouteType.HOST, null, quiz, null, token);
     }
 
     /**
      * Creates an invalid response with error message.
      */
     public static AccessResolutionResponse invalid(String errorMessage) {
-        return new AccessResolutionResponse(RouteType.INVALID, null, null, errorMessage);
+        return new AccessResolutionResponse(RouteType.INVALID, null, null, errorMessage, null);
     }
 }
@@ -92,6 +92,17 @@ public class GlobalExceptionHandler {
                 .body(ErrorResponse.of(ex.getMessage(), HttpStatus.BAD_REQUEST.value()));
     }
 
+    /**
+     * Handles SessionCapacityExceededException - returns 503 Service Unavailable.
+     */
+    @ExceptionHandler(SessionCapacityExceededException.class)
+    public ResponseEntity<ErrorResponse> handleSessionCapacityExceeded(SessionCapacityExceededException ex) {
+        logger.warn("Session capacity exceeded: {}", ex.getMessage());
+        return ResponseEntity
+                .status(HttpStatus.SERVICE_UNAVAILABLE)
+                .body(ErrorResponse.of(ex.getMessage(), HttpStatus.SERVICE_UNAVAILABLE.value()));
+    }
+
     /**
      * Handles IllegalArgumentException - returns 400 Bad Request.
      */
@@ -0,0 +1,16 @@
+-- V3__cluster_ownership.sql
+-- Cluster mode (game.cluster-enabled): which node runs each live quiz, with the state a node
+-- taking it over resumes from, and bus messages too large for a NOTIFY payload.
+-- Nodes also create these on startup if they are missing.
+CREATE TABLE IF NOT EXISTS live_quiz_owner (
+    quiz_id BIGINT PRIMARY KEY,
+    node_id VARCHAR(100) NOT NULL,
+    heartbeat_at TIMESTAMPTZ NOT NULL,
+    state TEXT
+);
+
+CREATE TABLE IF NOT EXISTS cluster_message (
+    id BIGSERIAL PRIMARY KEY,
+    body TEXT NOT NULL,
+    created_at TIMESTAMPTZ NOT NULL DEFAULT now()
+);
@@ -0,0 +1,215 @@
+package com.intelliquiz.api.application.services;
+
+import com.intelliquiz.api.application.events.QuizDeactivatedEvent;
+import com.intelliquiz.api.domain.entities.Quiz;
+import com.intelliquiz.api.domain.entities.Team;
+import com.intelliquiz.api.domain.enums.QuizStatus;
+import com.intelliquiz.api.domain.ports.QuizRepository;
+import com.intelliquiz.api.domain.ports.TeamRepository;
+import net.jqwik.api.*;
+import net.jqwik.api.constraints.IntRange;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+/**
+ * Property-based tests for the in-memory access-code index.
+ *
+ * Feature: application-layer, Property 1: Access Code Resolution Correctness
+ * Validates: Requirements 1.1, 1.2, 1.3, 1.5
+ */
+public class AccessCodeIndexPropertyTest {
+
+    /**
+     * Property: With the index warmed, every code resolves to the same route, entity and
+     * message as resolving it from the database alone.
+     */
+    @Property(tries = 30)
+    void indexedResolutionMatchesDatabaseResolution(
+            @ForAll @IntRange(min = 1, max = 4) int quizCount,
+            @ForAll @IntRange(min = 0, max = 6) int teamsPerQuiz,
+            @ForAll("liveFlags") List<Boolean> live,
+            @ForAll("codes") List<String> probes
+    ) {
+        World world = new World(quizCount, teamsPerQuiz, live);
+        AccessResolutionService cold = world.service(new AccessCodeIndex(world.quizRepository, world.teamRepository));
+        AccessCodeIndex index = new AccessCodeIndex(world.quizRepository, world.teamRepository);
+        index.warmLiveQuizzes();
+        AccessResolutionService warm = world.service(index);
+
+        List<String> codes = new ArrayList<>(probes);
+        world.teams.forEach(team -> codes.add(team.getAccessCode().toLowerCase()));
+        world.quizzes.forEach(quiz -> codes.add(quiz.getProctorPin()));
+
+        for (String code : codes) {
+            AccessResolutionResult expected = cold.resolve(code);
+            assertThat(warm.resolve(code)).as(code).isEqualTo(expected);
+            assertThat(warm.resolveIdentity(code)).as(code).isEqualTo(AccessIdentity.of(expected));
+        }
+    }
+
+    /**
+     * Property: Team codes and PINs of live quizzes resolve to an identity without any
+     * repository access once the quiz is indexed.
+     */
+    @Property(tries = 20)
+    void liveCodesResolveIdentityWithoutDatabase(@ForAll @IntRange(min = 1, max = 6) int teamsPerQuiz) {
+        World world = new World(1, teamsPerQuiz, List.of(true));
+        AccessCodeIndex index = new AccessCodeIndex(world.quizRepository, world.teamRepository);
+        index.warm(world.quizzes.get(0).getId());
+        AccessResolutionService service = world.service(index);
+        clearInvocations(world.quizRepository, world.teamRepository);
+
+        Quiz liveQuiz = world.quizzes.get(0);
+        for (Team team : world.teams) {
+            if (team.getQuiz() == liveQuiz) {
+                assertThat(service.resolveIdentity(team.getAccessCode()))
+                        .isEqualTo(new AccessIdentity(RouteType.PARTICIPANT, liveQuiz.getId(), team.getId(), null));
+            }
+        }
+        assertThat(service.resolveIdentity(liveQuiz.getProctorPin()))
+                .isEqualTo(new AccessIdentity(RouteType.HOST, liveQuiz.getId(), null, null));
+        verifyNoInteractions(world.quizRepository, world.teamRepository);
+    }
+
+    /**
+     * Property: Registering and removing teams and ending the session keep the index in step
+     * with the database.
+     */
+    @Property(tries = 20)
+    void indexFollowsRegistrationRemovalAndDeactivation(@ForAll @IntRange(min = 1, max = 6) int teamsPerQuiz) {
+        World world = new World(1, teamsPerQuiz, List.of(true));
+        Quiz quiz = world.quizzes.get(0);
+        AccessCodeIndex index = new AccessCodeIndex(world.quizRepository, world.teamRepository);
+        index.warm(quiz.getId());
+        AccessResolutionService service = world.service(index);
+
+        Team added = world.addTeam(quiz, "NEW-ONE");
+        index.teamRegistered(added);
+        assertThat(index.find("NEW-ONE")).isPresent();
+        assertThat(service.resolve("new-one")).isEqualTo(AccessResolutionResult.participant(added));
+
+        Team removed = world.teams.get(0);
+        world.teams.remove(removed);
+        world.restub();
+        index.teamRemoved(quiz.getId(), removed.getAccessCode());
+        assertThat(index.find(removed.getAccessCode())).isEmpty();
+        assertThat(service.resolve(removed.getAccessCode()).routeType()).isEqualTo(RouteType.INVALID);
+
+        quiz.setLiveSession(false);
+        index.onQuizDeactivated(new QuizDeactivatedEvent(quiz.getId()));
+        assertThat(index.isIndexed(quiz.getId())).isFalse();
+        assertThat(index.find("NEW-ONE")).isEmpty();
+        assertThat(index.find(quiz.getProctorPin())).isEmpty();
+        assertThat(service.resolve("NEW-ONE").errorMessage()).contains("not active");
+    }
+
+    /**
+     * Property: A PIN held back because a team code equals it resolves to its quiz again once
+     * that team is removed, and is held back again when a team takes the code.
+     */
+    @Property(tries = 10)
+    void shadowedPinReturnsWhenItsTeamIsRemoved(@ForAll @IntRange(min = 1, max = 4) int teamsPerQuiz) {
+        World world = new World(2, teamsPerQuiz, List.of(true, false));
+        Quiz quiz = world.quizzes.get(0);
+        AccessCodeIndex index = new AccessCodeIndex(world.quizRepository, world.teamRepository);
+        index.warm(quiz.getId());
+        AccessResolutionService service = world.service(index);
+        Team shadowing = world.teams.stream()
+                .filter(team -> team.getAccessCode().equals(quiz.getProctorPin()))
+                .findFirst().orElseThrow();
+        assertThat(index.find(quiz.getProctorPin())).isEmpty();
+
+        world.teams.remove(shadowing);
+        world.restub();
+        index.teamRemoved(shadowing.getQuiz().getId(), shadowing.getAccessCode());
+        assertThat(index.find(quiz.getProctorPin())).contains(new AccessCodeIndex.Entry(RouteType.HOST, quiz.getId(), null));
+        assertThat(service.resolve(quiz.getProctorPin())).isEqualTo(AccessResolutionResult.host(quiz));
+
+        Team taking = world.addTeam(world.quizzes.get(1), quiz.getProctorPin());
+        index.teamRegistered(taking);
+        assertThat(index.find(quiz.getProctorPin())).isEmpty();
+        world.teams.remove(taking);
+        world.restub();
+        index.teamRemoved(taking.getQuiz().getId(), taking.getAccessCode());
+        assertThat(index.find(quiz.getProctorPin())).isPresent();
+    }
+
+    @Provide
+    Arbitrary<List<Boolean>> liveFlags() {
+        return Arbitraries.of(true, false).list().ofSize(4);
+    }
+
+    @Provide
+    Arbitrary<List<String>> codes() {
+        // Short codes from a small alphabet so probes often hit real team codes and PINs
+        Arbitrary<String> part = Arbitraries.strings().withChars("AB12").ofLength(3);
+        return Combinators.combine(part, part).as((first, second) -> first + "-" + second)
+                .list().ofMaxSize(10);
+    }
+
+    /**
+     * Quizzes and teams served by mocked repositories. One team code equals another quiz's PIN,
+     * to exercise the precedence of team codes.
+     */
+    private static class World {
+        final QuizRepository quizRepository = mock(QuizRepository.class);
+        final TeamRepository teamRepository = mock(TeamRepository.class);
+        final List<Quiz> quizzes = new ArrayList<>();
+        final List<Team> teams = new ArrayList<>();
+        private long nextTeamId = 1;
+
+        World(int quizCount, int teamsPerQuiz, List<Boolean> live) {
+            String[] pins = {"111-111", "112-112", "121-121", "AB1-AB1"};
+            for (int q = 0; q < quizCount; q++) {
+                Quiz quiz = new Quiz("Quiz " + q, "Description", pins[q], QuizStatus.READY);
+                quiz.setId(q + 1L);
+                quiz.setLiveSession(live.get(q));
+                quizzes.add(quiz);
+                for (int t = 0; t < teamsPerQuiz; t++) {
+                    // The first team of the second quiz has the first quiz's PIN as its code
+                    String code = q == 1 && t == 0 ? pins[0] : "T" + q + t + "-" + (char) ('A' + t);
+                    teams.add(newTeam(quiz, code));
+                }
+            }
+            restub();
+        }
+
+        Team addTeam(Quiz quiz, String code) {
+            Team team = newTeam(quiz, code);
+            teams.add(team);
+            restub();
+            return team;
+        }
+
+        AccessResolutionService service(AccessCodeIndex index) {
+            return new AccessResolutionService(teamRepository, quizRepository, index);
+        }
+
+        void restub() {
+            reset(quizRepository, teamRepository);
+            when(quizRepository.findById(anyLong())).thenAnswer(inv -> quizzes.stream()
+                    .filter(quiz -> quiz.getId().equals(inv.getArgument(0))).findFirst());
+            when(quizRepository.findByIsLiveSessionTrue()).thenAnswer(inv -> quizzes.stream()
+                    .filter(Quiz::isLiveSession).toList());
+            when(teamRepository.findById(anyLong())).thenAnswer(inv -> teams.stream()
+                    .filter(team -> team.getId().equals(inv.getArgument(0))).findFirst());
+            when(teamRepository.findByAccessCode(anyString())).thenAnswer(inv -> teams.stream()
+                    .filter(team -> team.getAccessCode().equals(inv.getArgument(0))).findFirst());
+            when(teamRepository.findByQuiz(any(Quiz.class))).thenAnswer(inv -> teams.stream()
+                    .filter(team -> team.getQuiz() == inv.getArgument(0)).toList());
+        }
+
+        private Team newTeam(Quiz quiz, String code) {
+            Team team = new Team(quiz, "Team " + nextTeamId, code);
+            team.setId(nextTeamId++);
+            return team;
+        }
+    }
+}
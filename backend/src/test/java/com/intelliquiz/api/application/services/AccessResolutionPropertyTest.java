@@ -34,7 +34,8 @@ public class AccessResolutionPropertyTest {
         
         when(teamRepository.findByAccessCode(accessCode.toUpperCase())).thenReturn(Optional.of(team));
         
-        AccessResolutionService service = new AccessResolutionService(teamRepository, quizRepository);
+        AccessResolutionService service = new AccessResolutionService(teamRepository, quizRepository,
+                new AccessCodeIndex(quizRepository, teamRepository));
         AccessResolutionResult result = service.resolve(accessCode);
         
         assertThat(result.routeType()).isEqualTo(RouteType.PARTICIPANT);
@@ -55,7 +56,8 @@ public class AccessResolutionPropertyTest {
         when(teamRepository.findByAccessCode(proctorPin.toUpperCase())).thenReturn(Optional.empty());
         when(quizRepository.findByIsLiveSessionTrue()).thenReturn(List.of(activeQuiz));
         
-        AccessResolutionService service = new AccessResolutionService(teamRepository, quizRepository);
+        AccessResolutionService service = new AccessResolutionService(teamRepository, quizRepository,
+                new AccessCodeIndex(quizRepository, teamRepository));
         AccessResolutionResult result = service.resolve(proctorPin);
         
         assertThat(result.routeType()).isEqualTo(RouteType.HOST);
@@ -75,7 +77,8 @@ public class AccessResolutionPropertyTest {
         when(teamRepository.findByAccessCode(proctorPin.toUpperCase())).thenReturn(Optional.empty());
         when(quizRepository.findByIsLiveSessionTrue()).thenReturn(List.of());
         
-        AccessResolutionService service = new AccessResolutionService(teamRepository, quizRepository);
+        AccessResolutionService service = new AccessResolutionService(teamRepository, quizRepository,
+                new AccessCodeIndex(quizRepository, teamRepository));
         AccessResolutionResult result = service.resolve(proctorPin);
         
         assertThat(result.routeType()).isEqualTo(RouteType.INVALID);
@@ -93,7 +96,8 @@ public class AccessResolutionPropertyTest {
         when(teamRepository.findByAccessCode(unknownCode.toUpperCase())).thenReturn(Optional.empty());
         when(quizRepository.findByIsLiveSessionTrue()).thenReturn(List.of());
         
-        AccessResolutionService service = new AccessResolutionService(teamRepository, quizRepository);
+        AccessResolutionService service = new AccessResolutionService(teamRepository, quizRepository,
+                new AccessCodeIndex(quizRepository, teamRepository));
         AccessResolutionResult result = service.resolve(unknownCode);
         
         assertThat(result.routeType()).isEqualTo(RouteType.INVALID);
@@ -113,7 +117,8 @@ public class AccessResolutionPropertyTest {
         
         when(teamRepository.findByAccessCode(accessCode.toUpperCase())).thenReturn(Optional.of(team));
         
-        AccessResolutionService service = new AccessResolutionService(teamRepository, quizRepository);
+        AccessResolutionService service = new AccessResolutionService(teamRepository, quizRepository,
+                new AccessCodeIndex(quizRepository, teamRepository));
         AccessResolutionResult result = service.resolve(accessCode);
         
         assertThat(result.routeType()).isEqualTo(RouteType.INVALID);
@@ -128,7 +133,8 @@ public class AccessResolutionPropertyTest {
         TeamRepository teamRepository = mock(TeamRepository.class);
         QuizRepository quizRepository = mock(QuizRepository.class);
         
-        AccessResolutionService service = new AccessResolutionService(teamRepository, quizRepository);
+        AccessResolutionService service = new AccessResolutionService(teamRepository, quizRepository,
+                new AccessCodeIndex(quizRepository, teamRepository));
         
         assertThat(service.resolve(null).routeType()).isEqualTo(RouteType.INVALID);
         assertThat(service.resolve("").routeType()).isEqualTo(RouteType.INVALID);
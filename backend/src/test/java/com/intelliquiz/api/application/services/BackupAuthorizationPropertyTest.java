@@ -3,6 +3,7 @@ package com.intelliquiz.api.application.services;
 import com.intelliquiz.api.domain.entities.User;
 import com.intelliquiz.api.domain.enums.SystemRole;
 import com.intelliquiz.api.domain.exceptions.AuthorizationException;
+import com.intelliquiz.api.infrastructure.config.GameProperties;
 import net.jqwik.api.*;
 import net.jqwik.api.constraints.*;
 
@@ -26,7 +27,7 @@ class BackupAuthorizationPropertyTest {
     void nonSuperAdminUsersAreRejected(
             @ForAll("nonSuperAdminUsers") User user
     ) {
-        AuthorizationService authorizationService = new AuthorizationService(null);
+        AuthorizationService authorizationService = new AuthorizationService(null, new PermissionIndex(new GameProperties()));
         
         // Verify that requireSuperAdmin throws AuthorizationException for non-super-admin users
         AuthorizationException exception = assertThrows(
@@ -50,7 +51,7 @@ class BackupAuthorizationPropertyTest {
     void superAdminUsersAreAllowed(
             @ForAll("superAdminUsers") User user
     ) {
-        AuthorizationService authorizationService = new AuthorizationService(null);
+        AuthorizationService authorizationService = new AuthorizationService(null, new PermissionIndex(new GameProperties()));
         
         // Verify that requireSuperAdmin does not throw for super admin users
         assertDoesNotThrow(
@@ -72,7 +73,7 @@ class BackupAuthorizationPropertyTest {
             @ForAll SystemRole role
     ) {
         User user = new User(username, "password123", role);
-        AuthorizationService authorizationService = new AuthorizationService(null);
+        AuthorizationService authorizationService = new AuthorizationService(null, new PermissionIndex(new GameProperties()));
         
         if (role == SystemRole.SUPER_ADMIN) {
             // Super admins should pass
@@ -0,0 +1,148 @@
+package com.intelliquiz.api.application.services;
+
+import com.intelliquiz.api.domain.entities.Quiz;
+import com.intelliquiz.api.domain.entities.Team;
+import com.intelliquiz.api.domain.enums.QuizStatus;
+import com.intelliquiz.api.domain.ports.QuizRepository;
+import com.intelliquiz.api.domain.ports.TeamBatchRepository;
+import com.intelliquiz.api.domain.ports.TeamBatchRepository.NewTeam;
+import com.intelliquiz.api.domain.ports.TeamRepository;
+import com.intelliquiz.api.domain.services.CodeGenerationService;
+import net.jqwik.api.*;
+import net.jqwik.api.constraints.IntRange;
+import org.mockito.ArgumentCaptor;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Property-based tests for bulk team registration.
+ * Feature: application-layer
+ */
+class BulkTeamRegistrationPropertyTest {
+
+    private static final long QUIZ_ID = 7L;
+
+    /**
+     * Property: Every team gets a well-formed access code that is unique within the
+     * registration and not already in use, with no per-team lookups or saves.
+     */
+    @Property(tries = 20)
+    void bulkCodesAreUniqueAndAvoidExistingCodes(
+            @ForAll @IntRange(min = 1, max = 300) int teamCount,
+            @ForAll @IntRange(min = 0, max = 50) int existingCount
+    ) {
+        Fixture fixture = new Fixture();
+        CodeGenerationService codes = new CodeGenerationService();
+        Set<String> existing = new HashSet<>();
+        while (existing.size() < existingCount) {
+            existing.add(codes.generateTeamAccessCode());
+        }
+        fixture.existingCodes(existing);
+
+        List<Team> teams = fixture.service().registerTeams(QUIZ_ID, names(teamCount));
+
+        assertThat(teams).hasSize(teamCount);
+        Set<String> issued = new HashSet<>();
+        for (Team team : teams) {
+            assertThat(codes.isTeamCodeFormat(team.getAccessCode())).isTrue();
+            assertThat(existing).doesNotContain(team.getAccessCode());
+            assertThat(issued.add(team.getAccessCode())).as("duplicate %s", team.getAccessCode()).isTrue();
+        }
+        verify(fixture.teamRepository, never()).findByAccessCode(anyString());
+        verify(fixture.teamRepository, never()).save(any());
+        verify(fixture.batchRepository, times(1)).findAllAccessCodes();
+    }
+
+    /**
+     * Property: Teams come back in the order of their names, with the inserted IDs, and are
+     * passed on to the access-code index and the live leaderboard.
+     */
+    @Property(tries = 10)
+    void bulkTeamsKeepOrderAndReachIndexAndLeaderboard(@ForAll @IntRange(min = 1, max = 50) int teamCount) {
+        Fixture fixture = new Fixture();
+        LiveLeaderboard leaderboard = fixture.leaderboardService.getOrCreate(QUIZ_ID);
+
+        List<String> names = names(teamCount);
+        List<Team> teams = fixture.service().registerTeams(QUIZ_ID, names);
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<NewTeam>> inserted = ArgumentCaptor.forClass(List.class);
+        verify(fixture.batchRepository).insertTeams(eq(QUIZ_ID), inserted.capture());
+        for (int i = 0; i < teamCount; i++) {
+            Team team = teams.get(i);
+            assertThat(team.getName()).isEqualTo(names.get(i));
+            assertThat(team.getId()).isEqualTo(1000L + i);
+            assertThat(team.getQuiz()).isSameAs(fixture.quiz);
+            assertThat(team.getTotalScore()).isZero();
+            assertThat(inserted.getValue().get(i)).isEqualTo(new NewTeam(names.get(i), team.getAccessCode()));
+            verify(fixture.accessCodeIndex).teamRegistered(team);
+        }
+        assertThat(leaderboard.size()).isEqualTo(teamCount);
+    }
+
+    /**
+     * Property: A blank or over-long name, or too many names, rejects the whole registration
+     * before anything is inserted.
+     */
+    @Property(tries = 10)
+    void invalidBulkRegistrationInsertsNothing(@ForAll @IntRange(min = 0, max = 5) int badIndex, @ForAll boolean blank) {
+        Fixture fixture = new Fixture();
+        List<String> names = new ArrayList<>(names(6));
+        names.set(badIndex, blank ? "  " : "x".repeat(101));
+
+        assertThatThrownBy(() -> fixture.service().registerTeams(QUIZ_ID, names))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("team " + (badIndex + 1));
+        assertThatThrownBy(() -> fixture.service().registerTeams(
+                QUIZ_ID, names(TeamRegistrationService.MAX_BULK_TEAMS + 1)))
+                .isInstanceOf(IllegalArgumentException.class);
+        verifyNoInteractions(fixture.batchRepository);
+    }
+
+    private static List<String> names(int count) {
+        List<String> names = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            names.add("Team " + i);
+        }
+        return names;
+    }
+
+    private static class Fixture {
+        final TeamRepository teamRepository = mock(TeamRepository.class);
+        final TeamBatchRepository batchRepository = mock(TeamBatchRepository.class);
+        final QuizRepository quizRepository = mock(QuizRepository.class);
+        final LeaderboardService leaderboardService = new LeaderboardService();
+        final AccessCodeIndex accessCodeIndex = mock(AccessCodeIndex.class);
+        final Quiz quiz = new Quiz("Bulk Quiz", "Description", "123-456", QuizStatus.READY);
+
+        Fixture() {
+            quiz.setId(QUIZ_ID);
+            when(quizRepository.findById(QUIZ_ID)).thenReturn(Optional.of(quiz));
+            existingCodes(Set.of());
+            when(batchRepository.insertTeams(eq(QUIZ_ID), anyList())).thenAnswer(inv -> {
+                List<?> teams = inv.getArgument(1);
+                return LongStream.range(1000L, 1000L + teams.size()).boxed().toList();
+            });
+        }
+
+        void existingCodes(Set<String> codes) {
+            // A mutable copy, as the service adds the codes it issues
+            when(batchRepository.findAllAccessCodes()).thenAnswer(inv -> new HashSet<>(codes));
+        }
+
+        TeamRegistrationService service() {
+            return new TeamRegistrationService(teamRepository, batchRepository, quizRepository,
+                    new CodeGenerationService(), leaderboardService, accessCodeIndex, event -> {});
+        }
+    }
+}
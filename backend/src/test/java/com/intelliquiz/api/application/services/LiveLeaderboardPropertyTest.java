@@ -0,0 +1,163 @@
+package com.intelliquiz.api.application.services;
+
+import com.intelliquiz.api.domain.entities.Quiz;
+import com.intelliquiz.api.domain.entities.Team;
+import com.intelliquiz.api.domain.enums.QuizStatus;
+import com.intelliquiz.api.domain.ports.QuizRepository;
+import com.intelliquiz.api.domain.ports.TeamRepository;
+import net.jqwik.api.*;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.Mockito.*;
+
+/**
+ * Property-based tests for the incremental live leaderboard.
+ *
+ * Feature: application-layer, Property 9: Scoreboard Ranking Correctness
+ * Validates: Requirements 10.1, 10.2, 10.3, 10.4
+ */
+class LiveLeaderboardPropertyTest {
+
+    /**
+     * Property: After any sequence of score updates and removals, rank, tie-group size
+     * and standings order match a full sort of the current scores.
+     */
+    @Property(tries = 50)
+    void matchesFullSortAfterUpdates(@ForAll("operations") List<Operation> operations) {
+        LiveLeaderboard leaderboard = new LiveLeaderboard();
+        Map<Long, Integer> model = new LinkedHashMap<>();
+
+        for (Operation op : operations) {
+            if (op.remove()) {
+                leaderboard.remove(op.teamId());
+                model.remove(op.teamId());
+            } else {
+                leaderboard.update(op.teamId(), "Team " + op.teamId(), op.score());
+                model.put(op.teamId(), op.score());
+            }
+        }
+
+        assertThat(leaderboard.size()).isEqualTo(model.size());
+        for (Map.Entry<Long, Integer> entry : model.entrySet()) {
+            int score = entry.getValue();
+            long higher = model.values().stream().filter(s -> s > score).count();
+            long same = model.values().stream().filter(s -> s == score).count();
+            assertThat(leaderboard.rank(entry.getKey())).as("Rank of team %d", entry.getKey()).isEqualTo(higher + 1);
+            assertThat(leaderboard.tieGroupSize(entry.getKey())).isEqualTo(same);
+        }
+
+        List<Integer> expectedScores = model.values().stream().sorted(Comparator.reverseOrder()).toList();
+        List<LiveLeaderboard.Standing> standings = leaderboard.standings();
+        assertThat(standings).extracting(LiveLeaderboard.Standing::score).isEqualTo(expectedScores);
+        for (LiveLeaderboard.Standing standing : standings) {
+            assertThat(standing.rank()).isEqualTo(leaderboard.rank(standing.teamId()));
+            assertThat(standing.isTied()).isEqualTo(standing.tieGroupSize() > 1);
+        }
+    }
+
+    /**
+     * Property: Top K is the first K standings, and ranks skip after ties (1, 1, 3).
+     */
+    @Example
+    void topKUsesCompetitionRanking() {
+        LiveLeaderboard leaderboard = new LiveLeaderboard();
+        leaderboard.update(1L, "A", 100);
+        leaderboard.update(2L, "B", 50);
+        leaderboard.update(3L, "C", 100);
+        leaderboard.update(4L, "D", 10);
+
+        assertThat(leaderboard.top(3))
+                .extracting(LiveLeaderboard.Standing::teamId, LiveLeaderboard.Standing::rank)
+                .containsExactly(
+                        tuple(1L, 1),
+                        tuple(3L, 1),
+                        tuple(2L, 3));
+        assertThat(leaderboard.top(0)).isEmpty();
+        assertThat(leaderboard.rank(99L)).as("Unknown team").isZero();
+
+        leaderboard.update(4L, "D", 100);
+        assertThat(leaderboard.tieGroupSize(1L)).isEqualTo(3);
+        assertThat(leaderboard.rank(2L)).isEqualTo(4);
+    }
+
+    /**
+     * Property: While a quiz is in play the scoreboard comes from its live leaderboard
+     * rather than the team table.
+     */
+    @Example
+    void scoreboardUsesLiveLeaderboard() {
+        QuizRepository quizRepository = mock(QuizRepository.class);
+        TeamRepository teamRepository = mock(TeamRepository.class);
+        Quiz quiz = new Quiz("Test Quiz", "Description", "123456", QuizStatus.READY);
+        quiz.setId(1L);
+        Team team = new Team(quiz, "Team 1", "CODE1");
+        team.setId(1L);
+        quiz.addTeam(team);
+        when(quizRepository.findById(1L)).thenReturn(Optional.of(quiz));
+
+        LeaderboardService leaderboardService = new LeaderboardService();
+        leaderboardService.forQuiz(quiz).update(1L, "Team 1", 40);
+        ScoreboardService service = new ScoreboardService(quizRepository, teamRepository, leaderboardService);
+
+        assertThat(service.getScoreboard(1L))
+                .extracting(ScoreboardService.ScoreboardEntry::score)
+                .containsExactly(40);
+        verifyNoInteractions(teamRepository);
+    }
+
+    /**
+     * Property: A change made in a transaction reaches the leaderboard only if the transaction
+     * commits; outside one it is applied at once.
+     */
+    @Example
+    void changesInATransactionApplyOnlyOnCommit() {
+        LeaderboardService leaderboardService = new LeaderboardService();
+        LiveLeaderboard leaderboard = leaderboardService.getOrCreate(1L);
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            leaderboardService.updateAfterCommit(1L, board -> board.update(1L, "Rolled back", 10));
+            assertThat(leaderboard.size()).isZero();
+            TransactionSynchronizationUtils.triggerAfterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        assertThat(leaderboard.size()).isZero();
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            leaderboardService.updateAfterCommit(1L, board -> board.update(2L, "Committed", 20));
+            leaderboardService.evictAfterCommit(2L);
+            assertThat(leaderboard.size()).isZero();
+            TransactionSynchronizationUtils.triggerAfterCommit();
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        assertThat(leaderboard.size()).isEqualTo(1);
+
+        leaderboardService.updateAfterCommit(1L, board -> board.remove(2L));
+        assertThat(leaderboard.size()).isZero();
+    }
+
+    @Provide
+    Arbitrary<List<Operation>> operations() {
+        Arbitrary<Operation> operation = Combinators.combine(
+                Arbitraries.longs().between(1, 30),
+                Arbitraries.integers().between(0, 20),
+                Arbitraries.integers().between(0, 9)
+        ).as((teamId, score, roll) -> new Operation(teamId, score * 10, roll == 0));
+        return operation.list().ofMaxSize(200);
+    }
+
+    record Operation(Long teamId, int score, boolean remove) {}
+}
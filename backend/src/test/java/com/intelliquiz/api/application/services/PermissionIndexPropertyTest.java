@@ -0,0 +1,217 @@
+package com.intelliquiz.api.application.services;
+
+import com.intelliquiz.api.application.events.UserPermissionsChangedEvent;
+import com.intelliquiz.api.domain.entities.Quiz;
+import com.intelliquiz.api.domain.entities.QuizAssignment;
+import com.intelliquiz.api.domain.entities.User;
+import com.intelliquiz.api.domain.enums.AdminPermission;
+import com.intelliquiz.api.domain.enums.QuizStatus;
+import com.intelliquiz.api.domain.enums.SystemRole;
+import com.intelliquiz.api.domain.exceptions.AuthorizationException;
+import com.intelliquiz.api.domain.ports.PasswordHashingService;
+import com.intelliquiz.api.domain.ports.QuizAssignmentRepository;
+import com.intelliquiz.api.domain.ports.QuizRepository;
+import com.intelliquiz.api.domain.ports.UserRepository;
+import com.intelliquiz.api.infrastructure.config.GameProperties;
+import net.jqwik.api.*;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Property-based tests for the in-memory permission index behind AuthorizationService.
+ *
+ * Feature: application-layer, Property 8: User Permission Authorization
+ * Validates: Requirements 8.4, 8.5, 9.1, 9.2, 9.3, 9.4
+ */
+public class PermissionIndexPropertyTest {
+
+    /**
+     * Property: Access and permission checks through the index agree with the assignments.
+     */
+    @Property(tries = 30)
+    void indexAgreesWithAssignments(
+            @ForAll("grants") List<Set<AdminPermission>> grants,
+            @ForAll boolean superAdmin
+    ) {
+        User user = newUser(1L, superAdmin ? SystemRole.SUPER_ADMIN : SystemRole.ADMIN);
+        List<Quiz> quizzes = assign(user, grants);
+        Quiz unassigned = newQuiz(99L);
+        quizzes.add(unassigned);
+        AuthorizationService authorization = new AuthorizationService(null, new PermissionIndex(new GameProperties()));
+
+        for (Quiz quiz : quizzes) {
+            int i = quizzes.indexOf(quiz);
+            boolean assigned = i < grants.size();
+            assertThat(passes(() -> authorization.checkQuizAccess(user, quiz))).isEqualTo(superAdmin || assigned);
+            for (AdminPermission permission : AdminPermission.values()) {
+                boolean expected = superAdmin || (assigned && grants.get(i).contains(permission));
+                assertThat(passes(() -> authorization.checkPermission(user, quiz, permission)))
+                        .as("%s on quiz %d", permission, quiz.getId())
+                        .isEqualTo(expected);
+                assertThat(user.hasPermissionFor(quiz, permission)).isEqualTo(expected);
+            }
+        }
+    }
+
+    /**
+     * Property: Once a user's permissions are indexed, checks do not touch the assignments.
+     */
+    @Property(tries = 20)
+    void cachedChecksDoNotLoadAssignments(@ForAll("grants") List<Set<AdminPermission>> grants) {
+        User user = spy(newUser(1L, SystemRole.ADMIN));
+        List<Quiz> quizzes = assign(user, grants);
+        PermissionIndex index = new PermissionIndex(new GameProperties());
+        AuthorizationService authorization = new AuthorizationService(null, index);
+        index.permissionsOf(user);
+        clearInvocations(user);
+
+        for (Quiz quiz : quizzes) {
+            passes(() -> authorization.checkQuizAccess(user, quiz));
+            passes(() -> authorization.checkPermission(user, quiz, AdminPermission.CAN_HOST_GAME));
+        }
+        verify(user, never()).getAssignments();
+    }
+
+    /**
+     * Property: Assigning, granting, revoking and removing quiz access through
+     * UserManagementService is visible to the next check.
+     */
+    @Property(tries = 20)
+    void permissionChangesInvalidateTheIndex(@ForAll("permissions") AdminPermission permission) {
+        User user = newUser(1L, SystemRole.ADMIN);
+        Quiz quiz = newQuiz(10L);
+        PermissionIndex index = new PermissionIndex(new GameProperties());
+        AuthorizationService authorization = new AuthorizationService(null, index);
+        UserManagementService users = userManagement(user, quiz, index);
+
+        assertThat(passes(() -> authorization.checkQuizAccess(user, quiz))).isFalse();
+        assertThat(index.isCached(user.getId())).isTrue();
+
+        users.assignQuizPermissions(user.getId(), quiz.getId(), new HashSet<>());
+        assertThat(passes(() -> authorization.checkQuizAccess(user, quiz))).isTrue();
+        assertThat(passes(() -> authorization.checkPermission(user, quiz, permission))).isFalse();
+
+        users.grantPermission(user.getId(), quiz.getId(), permission);
+        assertThat(passes(() -> authorization.checkPermission(user, quiz, permission))).isTrue();
+
+        users.revokePermission(user.getId(), quiz.getId(), permission);
+        assertThat(passes(() -> authorization.checkPermission(user, quiz, permission))).isFalse();
+
+        users.assignQuizPermissions(user.getId(), quiz.getId(), new HashSet<>(Set.of(permission)));
+        assertThat(passes(() -> authorization.checkPermission(user, quiz, permission))).isTrue();
+
+        users.revokeQuizAccess(user.getId(), quiz.getId());
+        assertThat(passes(() -> authorization.checkQuizAccess(user, quiz))).isFalse();
+        assertThat(passes(() -> authorization.checkPermission(user, quiz, permission))).isFalse();
+    }
+
+    /**
+     * Property: A change this node was not told about, such as one made on another node, is
+     * seen once the user's cached permissions are older than the cache time.
+     */
+    @Example
+    void unannouncedChangesAreSeenOnceTheCacheExpires() throws InterruptedException {
+        User user = newUser(1L, SystemRole.ADMIN);
+        Quiz quiz = newQuiz(10L);
+        GameProperties gameProperties = new GameProperties();
+        gameProperties.setPermissionCacheTtlMillis(1_000);
+        PermissionIndex index = new PermissionIndex(gameProperties);
+        AuthorizationService authorization = new AuthorizationService(null, index);
+
+        assertThat(passes(() -> authorization.checkQuizAccess(user, quiz))).isFalse();
+        user.addAssignment(new QuizAssignment(user, quiz));
+        assertThat(passes(() -> authorization.checkQuizAccess(user, quiz))).as("Still cached").isFalse();
+
+        Thread.sleep(1_100);
+
+        assertThat(index.isCached(user.getId())).isFalse();
+        assertThat(passes(() -> authorization.checkQuizAccess(user, quiz))).isTrue();
+    }
+
+    /**
+     * Property: Failed checks still report the existing authorization errors.
+     */
+    @Property(tries = 10)
+    void unauthorizedChecksThrowAuthorizationException(@ForAll("permissions") AdminPermission permission) {
+        User user = newUser(1L, SystemRole.ADMIN);
+        Quiz quiz = newQuiz(10L);
+        AuthorizationService authorization = new AuthorizationService(null, new PermissionIndex(new GameProperties()));
+
+        assertThatThrownBy(() -> authorization.checkQuizAccess(user, quiz))
+                .isInstanceOf(AuthorizationException.class)
+                .hasMessageContaining("access");
+        assertThatThrownBy(() -> authorization.checkPermission(user, quiz, permission))
+                .isInstanceOf(AuthorizationException.class)
+                .hasMessageContaining(permission.name());
+    }
+
+    @Provide
+    Arbitrary<List<Set<AdminPermission>>> grants() {
+        return Arbitraries.of(AdminPermission.values()).set().list().ofMaxSize(5);
+    }
+
+    @Provide
+    Arbitrary<AdminPermission> permissions() {
+        return Arbitraries.of(AdminPermission.values());
+    }
+
+    /**
+     * A UserManagementService over mocked repositories holding one user, one quiz and their
+     * assignment, if any, delivering its events to the index straight away.
+     */
+    private static UserManagementService userManagement(User user, Quiz quiz, PermissionIndex index) {
+        UserRepository userRepository = mock(UserRepository.class);
+        QuizRepository quizRepository = mock(QuizRepository.class);
+        QuizAssignmentRepository assignmentRepository = mock(QuizAssignmentRepository.class);
+        when(userRepository.findById(user.getId())).thenReturn(Optional.of(user));
+        when(quizRepository.findById(quiz.getId())).thenReturn(Optional.of(quiz));
+        when(assignmentRepository.findByUserAndQuiz(user, quiz))
+                .thenAnswer(inv -> user.getAssignments().stream().findFirst());
+        when(assignmentRepository.save(any(QuizAssignment.class))).thenAnswer(inv -> inv.getArgument(0));
+        return new UserManagementService(userRepository, quizRepository, assignmentRepository,
+                mock(PasswordHashingService.class),
+                event -> index.onUserPermissionsChanged((UserPermissionsChangedEvent) event));
+    }
+
+    private static List<Quiz> assign(User user, List<Set<AdminPermission>> grants) {
+        List<Quiz> quizzes = new ArrayList<>();
+        for (int i = 0; i < grants.size(); i++) {
+            Quiz quiz = newQuiz(i + 1L);
+            QuizAssignment assignment = new QuizAssignment(user, quiz);
+            assignment.setPermissions(new HashSet<>(grants.get(i)));
+            user.addAssignment(assignment);
+            quizzes.add(quiz);
+        }
+        return quizzes;
+    }
+
+    private static boolean passes(Runnable check) {
+        try {
+            check.run();
+            return true;
+        } catch (AuthorizationException e) {
+            return false;
+        }
+    }
+
+    private static User newUser(Long id, SystemRole role) {
+        User user = new User("admin" + id, "password123", role);
+        user.setId(id);
+        return user;
+    }
+
+    private static Quiz newQuiz(Long id) {
+        Quiz quiz = new Quiz("Quiz " + id, "Description", "123-456", QuizStatus.DRAFT);
+        quiz.setId(id);
+        return quiz;
+    }
+}
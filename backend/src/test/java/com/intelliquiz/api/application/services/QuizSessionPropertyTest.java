@@ -5,57 +5,172 @@ import com.intelliquiz.api.domain.entities.Quiz;
 import com.intelliquiz.api.domain.enums.Difficulty;
 import com.intelliquiz.api.domain.enums.QuestionType;
 import com.intelliquiz.api.domain.enums.QuizStatus;
+import com.intelliquiz.api.domain.exceptions.InvalidQuizStateException;
+import com.intelliquiz.api.domain.exceptions.SessionCapacityExceededException;
 import com.intelliquiz.api.domain.ports.QuizRepository;
+import com.intelliquiz.api.infrastructure.config.GameProperties;
 import net.jqwik.api.*;
+import org.mockito.InOrder;
 
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
 
 /**
  * Property-based tests for QuizSessionService.
  * 
- * Feature: application-layer, Property 2: Single Active Session Invariant
+ * Feature: application-layer, Property 2: Concurrent Live Sessions
  * Validates: Requirements 3.1, 3.2, 3.3
  */
 public class QuizSessionPropertyTest {
 
     /**
-     * Property 2: Single Active Session Invariant
-     * When activating a quiz, any other active quiz must be deactivated.
+     * Property 2: Concurrent Live Sessions
+     * Activating a quiz leaves the other live quizzes live.
      */
     @Property(tries = 20)
-    void activatingQuizDeactivatesOtherActiveQuizzes(@ForAll("quizCounts") int quizCount) {
+    void activatingQuizKeepsOtherQuizzesLive(@ForAll("quizCounts") int quizCount) {
         QuizRepository quizRepository = mock(QuizRepository.class);
         
-        // Create multiple quizzes, one is currently active
-        List<Quiz> allQuizzes = new ArrayList<>();
-        Quiz currentlyActiveQuiz = createReadyQuiz(1L, "Active Quiz", true);
-        allQuizzes.add(currentlyActiveQuiz);
+        List<Quiz> liveQuizzes = new ArrayList<>();
+        for (int i = 1; i < quizCount; i++) {
+            liveQuizzes.add(createReadyQuiz((long) i, "Quiz " + i, "PIN-" + i, true));
+        }
+        Quiz quizToActivate = createReadyQuiz((long) quizCount, "Quiz " + quizCount, "PIN-" + quizCount, false);
+        
+        when(quizRepository.findById(quizToActivate.getId())).thenReturn(Optional.of(quizToActivate));
+        when(quizRepository.countLiveLoad(quizToActivate.getId()))
+                .thenReturn(new QuizRepository.LiveLoad(liveQuizzes.size(), 0));
+        when(quizRepository.save(any(Quiz.class))).thenAnswer(inv -> inv.getArgument(0));
         
-        for (int i = 2; i <= quizCount; i++) {
-            allQuizzes.add(createReadyQuiz((long) i, "Quiz " + i, false));
+        QuizSessionService service = new QuizSessionService(quizRepository, event -> {}, new GameProperties());
+        Quiz result = service.activateSession(quizToActivate.getId());
+        
+        assertThat(result.isLiveSession()).isTrue();
+        assertThat(liveQuizzes).allMatch(Quiz::isLiveSession);
+    }
+
+    /**
+     * Property 2: Activation is refused once the node runs its limit of live quizzes.
+     */
+    @Property(tries = 20)
+    void activatingBeyondLiveQuizLimitIsRefused(@ForAll("quizCounts") int limit) {
+        QuizRepository quizRepository = mock(QuizRepository.class);
+        
+        List<Quiz> liveQuizzes = new ArrayList<>();
+        for (int i = 1; i <= limit; i++) {
+            liveQuizzes.add(createReadyQuiz((long) i, "Quiz " + i, "PIN-" + i, true));
         }
+        Quiz quizToActivate = createReadyQuiz(100L, "Extra", "PIN-100", false);
+        
+        when(quizRepository.findById(100L)).thenReturn(Optional.of(quizToActivate));
+        when(quizRepository.countLiveLoad(100L)).thenReturn(new QuizRepository.LiveLoad(liveQuizzes.size(), 0));
+        
+        GameProperties gameProperties = new GameProperties();
+        gameProperties.setMaxLiveQuizzes(limit);
+        QuizSessionService service = new QuizSessionService(quizRepository, event -> {}, gameProperties);
+        
+        assertThatThrownBy(() -> service.activateSession(100L))
+                .isInstanceOf(SessionCapacityExceededException.class);
+        assertThat(quizToActivate.isLiveSession()).isFalse();
+        verify(quizRepository, never()).save(any(Quiz.class));
+    }
+
+    /**
+     * Property 2: Activation is refused when the live quizzes' teams would exceed the node's limit.
+     */
+    @Property(tries = 20)
+    void activatingBeyondTeamLimitIsRefused(@ForAll("teamCounts") int teams) {
+        QuizRepository quizRepository = mock(QuizRepository.class);
+        
+        Quiz quizToActivate = createReadyQuiz(2L, "Next", "PIN-2", false);
+        
+        when(quizRepository.findById(2L)).thenReturn(Optional.of(quizToActivate));
+        when(quizRepository.countLiveLoad(2L)).thenReturn(new QuizRepository.LiveLoad(1, 2L * teams));
+        when(quizRepository.save(any(Quiz.class))).thenAnswer(inv -> inv.getArgument(0));
+        
+        GameProperties gameProperties = new GameProperties();
+        gameProperties.setMaxConnectedTeams(2 * teams - 1);
+        QuizSessionService refusing = new QuizSessionService(quizRepository, event -> {}, gameProperties);
+        assertThatThrownBy(() -> refusing.activateSession(2L))
+                .isInstanceOf(SessionCapacityExceededException.class);
+        
+        gameProperties.setMaxConnectedTeams(2 * teams);
+        QuizSessionService admitting = new QuizSessionService(quizRepository, event -> {}, gameProperties);
+        assertThat(admitting.activateSession(2L).isLiveSession()).isTrue();
+    }
+
+    /**
+     * Property 2: Two live quizzes cannot share a proctor PIN, since the PIN identifies the quiz.
+     * The repository compares PINs ignoring case.
+     */
+    @Property(tries = 20)
+    void activatingQuizWithLivePinIsRefused(@ForAll("validTitles") String title) {
+        QuizRepository quizRepository = mock(QuizRepository.class);
         
-        // Quiz to activate
-        Quiz quizToActivate = allQuizzes.get(quizCount - 1);
+        Quiz quizToActivate = createReadyQuiz(2L, title, "abc-123", false);
+        
+        when(quizRepository.findById(2L)).thenReturn(Optional.of(quizToActivate));
+        when(quizRepository.countLiveLoad(2L)).thenReturn(new QuizRepository.LiveLoad(1, 0));
+        when(quizRepository.existsLiveWithProctorPin("abc-123", 2L)).thenReturn(true);
+        
+        QuizSessionService service = new QuizSessionService(quizRepository, event -> {}, new GameProperties());
+        
+        assertThatThrownBy(() -> service.activateSession(2L))
+                .isInstanceOf(InvalidQuizStateException.class);
+        assertThat(quizToActivate.isLiveSession()).isFalse();
+    }
+
+    /**
+     * Property 2: Activation takes the database activation lock before it reads the quiz or the
+     * live quizzes, so what it checks cannot change before it commits.
+     */
+    @Property(tries = 10)
+    void activationLocksBeforeReading(@ForAll("quizCounts") int quizCount) {
+        QuizRepository quizRepository = mock(QuizRepository.class);
+        
+        List<Quiz> liveQuizzes = new ArrayList<>();
+        for (int i = 1; i < quizCount; i++) {
+            liveQuizzes.add(createReadyQuiz((long) i, "Quiz " + i, "PIN-" + i, true));
+        }
+        Quiz quizToActivate = createReadyQuiz((long) quizCount, "Quiz " + quizCount, "PIN-" + quizCount, false);
         
         when(quizRepository.findById(quizToActivate.getId())).thenReturn(Optional.of(quizToActivate));
-        when(quizRepository.findByIsLiveSessionTrue()).thenReturn(List.of(currentlyActiveQuiz));
+        when(quizRepository.countLiveLoad(quizToActivate.getId()))
+                .thenReturn(new QuizRepository.LiveLoad(liveQuizzes.size(), 0));
         when(quizRepository.save(any(Quiz.class))).thenAnswer(inv -> inv.getArgument(0));
         
-        QuizSessionService service = new QuizSessionService(quizRepository);
-        Quiz result = service.activateSession(quizToActivate.getId());
+        new QuizSessionService(quizRepository, event -> {}, new GameProperties()).activateSession(quizToActivate.getId());
         
-        // Verify the previously active quiz was deactivated
-        assertThat(currentlyActiveQuiz.isLiveSession()).isFalse();
+        InOrder order = inOrder(quizRepository);
+        order.verify(quizRepository).lockActivations();
+        order.verify(quizRepository).findById(quizToActivate.getId());
+        order.verify(quizRepository).countLiveLoad(quizToActivate.getId());
+        order.verify(quizRepository).save(quizToActivate);
+    }
+
+    /**
+     * Property 2: getActiveSessions returns every live quiz.
+     */
+    @Property(tries = 20)
+    void getActiveSessionsReturnsAllLiveQuizzes(@ForAll("quizCounts") int quizCount) {
+        QuizRepository quizRepository = mock(QuizRepository.class);
         
-        // Verify the new quiz is active
-        assertThat(result.isLiveSession()).isTrue();
+        List<Quiz> liveQuizzes = new ArrayList<>();
+        for (int i = 1; i <= quizCount; i++) {
+            liveQuizzes.add(createReadyQuiz((long) i, "Quiz " + i, "PIN-" + i, true));
+        }
+        when(quizRepository.findByIsLiveSessionTrue()).thenReturn(liveQuizzes);
+        
+        QuizSessionService service = new QuizSessionService(quizRepository, event -> {}, new GameProperties());
+        
+        assertThat(service.getActiveSessions()).extracting(Quiz::getId)
+                .containsExactlyElementsOf(liveQuizzes.stream().map(Quiz::getId).toList());
     }
 
     /**
@@ -70,7 +185,7 @@ public class QuizSessionPropertyTest {
         when(quizRepository.findById(1L)).thenReturn(Optional.of(activeQuiz));
         when(quizRepository.save(any(Quiz.class))).thenAnswer(inv -> inv.getArgument(0));
         
-        QuizSessionService service = new QuizSessionService(quizRepository);
+        QuizSessionService service = new QuizSessionService(quizRepository, event -> {}, new GameProperties());
         Quiz result = service.deactivateSession(1L);
         
         assertThat(result.isLiveSession()).isFalse();
@@ -87,7 +202,7 @@ public class QuizSessionPropertyTest {
         
         when(quizRepository.findByIsLiveSessionTrue()).thenReturn(List.of(activeQuiz));
         
-        QuizSessionService service = new QuizSessionService(quizRepository);
+        QuizSessionService service = new QuizSessionService(quizRepository, event -> {}, new GameProperties());
         Optional<Quiz> result = service.getActiveSession();
         
         assertThat(result).isPresent();
@@ -103,7 +218,7 @@ public class QuizSessionPropertyTest {
         
         when(quizRepository.findByIsLiveSessionTrue()).thenReturn(List.of());
         
-        QuizSessionService service = new QuizSessionService(quizRepository);
+        QuizSessionService service = new QuizSessionService(quizRepository, event -> {}, new GameProperties());
         Optional<Quiz> result = service.getActiveSession();
         
         assertThat(result).isEmpty();
@@ -122,7 +237,7 @@ public class QuizSessionPropertyTest {
         when(quizRepository.findByIsLiveSessionTrue()).thenReturn(List.of(quiz));
         when(quizRepository.save(any(Quiz.class))).thenAnswer(inv -> inv.getArgument(0));
         
-        QuizSessionService service = new QuizSessionService(quizRepository);
+        QuizSessionService service = new QuizSessionService(quizRepository, event -> {}, new GameProperties());
         Quiz result = service.activateSession(1L);
         
         // Quiz should still be active
@@ -134,6 +249,11 @@ public class QuizSessionPropertyTest {
         return Arbitraries.integers().between(2, 5);
     }
 
+    @Provide
+    Arbitrary<Integer> teamCounts() {
+        return Arbitraries.integers().between(1, 20);
+    }
+
     @Provide
     Arbitrary<String> validTitles() {
         return Arbitraries.strings()
@@ -143,7 +263,11 @@ public class QuizSessionPropertyTest {
     }
 
     private Quiz createReadyQuiz(Long id, String title, boolean isLive) {
-        Quiz quiz = new Quiz(title, "Description", "123-456", QuizStatus.READY);
+        return createReadyQuiz(id, title, "123-456", isLive);
+    }
+
+    private Quiz createReadyQuiz(Long id, String title, String proctorPin, boolean isLive) {
+        Quiz quiz = new Quiz(title, "Description", proctorPin, QuizStatus.READY);
         quiz.setId(id);
         quiz.setLiveSession(isLive);
         
@@ -35,7 +35,7 @@ public class ScoreboardPropertyTest {
         when(quizRepository.findById(1L)).thenReturn(Optional.of(quiz));
         when(teamRepository.findByQuiz(quiz)).thenReturn(quiz.getTeams());
         
-        ScoreboardService service = new ScoreboardService(quizRepository, teamRepository);
+        ScoreboardService service = new ScoreboardService(quizRepository, teamRepository, new LeaderboardService());
         List<ScoreboardService.ScoreboardEntry> scoreboard = service.getScoreboard(1L);
         
         // Verify descending order
@@ -66,7 +66,7 @@ public class ScoreboardPropertyTest {
         when(quizRepository.findById(1L)).thenReturn(Optional.of(quiz));
         when(teamRepository.findByQuiz(quiz)).thenReturn(quiz.getTeams());
         
-        ScoreboardService service = new ScoreboardService(quizRepository, teamRepository);
+        ScoreboardService service = new ScoreboardService(quizRepository, teamRepository, new LeaderboardService());
         List<ScoreboardService.ScoreboardEntry> scoreboard = service.getScoreboard(1L);
         
         // All teams should have rank 1 since they all have the same score
@@ -93,7 +93,7 @@ public class ScoreboardPropertyTest {
         when(quizRepository.findById(1L)).thenReturn(Optional.of(quiz));
         when(teamRepository.findByQuiz(quiz)).thenReturn(quiz.getTeams());
         
-        ScoreboardService service = new ScoreboardService(quizRepository, teamRepository);
+        ScoreboardService service = new ScoreboardService(quizRepository, teamRepository, new LeaderboardService());
         List<ScoreboardService.ScoreboardEntry> scoreboard = service.getScoreboard(1L);
         
         assertThat(scoreboard).hasSize(3);
@@ -115,7 +115,7 @@ public class ScoreboardPropertyTest {
         when(quizRepository.findById(1L)).thenReturn(Optional.of(quiz));
         when(teamRepository.findByQuiz(quiz)).thenReturn(quiz.getTeams());
         
-        ScoreboardService service = new ScoreboardService(quizRepository, teamRepository);
+        ScoreboardService service = new ScoreboardService(quizRepository, teamRepository, new LeaderboardService());
         List<ScoreboardService.ScoreboardEntry> scoreboard = service.getScoreboard(1L);
         
         assertThat(scoreboard).hasSize(scores.size());
@@ -134,7 +134,7 @@ public class ScoreboardPropertyTest {
         when(quizRepository.findById(1L)).thenReturn(Optional.of(quiz));
         when(teamRepository.findByQuiz(quiz)).thenReturn(quiz.getTeams());
         
-        ScoreboardService service = new ScoreboardService(quizRepository, teamRepository);
+        ScoreboardService service = new ScoreboardService(quizRepository, teamRepository, new LeaderboardService());
         List<ScoreboardService.ScoreboardEntry> scoreboard = service.getScoreboard(1L);
         
         // Collect all scores from scoreboard
@@ -162,7 +162,7 @@ public class ScoreboardPropertyTest {
         when(quizRepository.findById(1L)).thenReturn(Optional.of(quiz));
         when(teamRepository.findByQuiz(quiz)).thenReturn(quiz.getTeams());
         
-        ScoreboardService service = new ScoreboardService(quizRepository, teamRepository);
+        ScoreboardService service = new ScoreboardService(quizRepository, teamRepository, new LeaderboardService());
         List<ScoreboardService.ScoreboardEntry> scoreboard = service.getScoreboard(1L);
         
         for (ScoreboardService.ScoreboardEntry entry : scoreboard) {
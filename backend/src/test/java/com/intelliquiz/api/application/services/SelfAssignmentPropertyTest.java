@@ -53,7 +53,7 @@ public class SelfAssignmentPropertyTest {
         when(quizAssignmentRepository.findByUser(user)).thenReturn(expectedAssignments);
         
         UserManagementService service = new UserManagementService(
-                userRepository, quizRepository, quizAssignmentRepository, passwordHashingService);
+                userRepository, quizRepository, quizAssignmentRepository, passwordHashingService, event -> {});
         
         // Act
         List<QuizAssignment> actualAssignments = service.getUserAssignments(user.getId());
@@ -151,7 +151,7 @@ public class SelfAssignmentPropertyTest {
         when(quizAssignmentRepository.findByUser(userB)).thenReturn(assignmentsB);
         
         UserManagementService service = new UserManagementService(
-                userRepository, quizRepository, quizAssignmentRepository, passwordHashingService);
+                userRepository, quizRepository, quizAssignmentRepository, passwordHashingService, event -> {});
         
         // Act - get assignments for user A
         List<QuizAssignment> resultA = service.getUserAssignments(userA.getId());
@@ -0,0 +1,152 @@
+package com.intelliquiz.api.infrastructure.adapters.persistence.impl;
+
+import com.intelliquiz.api.domain.entities.Quiz;
+import com.intelliquiz.api.domain.entities.Team;
+import com.intelliquiz.api.domain.enums.QuizStatus;
+import com.intelliquiz.api.domain.ports.QuizRepository;
+import com.intelliquiz.api.infrastructure.adapters.persistence.spring.SpringQuizRepository;
+import com.intelliquiz.api.infrastructure.cluster.QuizOwnership;
+import com.intelliquiz.api.infrastructure.config.GameProperties;
+import net.jqwik.api.*;
+import net.jqwik.spring.JqwikSpringSupport;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Property-based tests for the quiz token epoch and the activation checks against the JPA
+ * schema. Each step commits, as the epoch is moved on in a transaction of its own.
+ * Feature: application-layer
+ */
+@JqwikSpringSupport
+@DataJpaTest
+@ActiveProfiles("test")
+@Import({QuizRepositoryImpl.class, QuizOwnership.class, GameProperties.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class QuizRepositoryImplPropertyTest {
+
+    @Autowired
+    private QuizRepositoryImpl quizRepository;
+
+    @Autowired
+    private SpringQuizRepository springQuizRepository;
+
+    /**
+     * Property: A new quiz starts at epoch zero, and each increment moves it on by one.
+     */
+    @Example
+    void incrementMovesEpochOn() {
+        Quiz quiz = quizRepository.save(new Quiz("Epoch Quiz", "Description", "123456", QuizStatus.READY));
+        try {
+            assertThat(quizRepository.findTokenEpoch(quiz.getId())).isZero();
+            assertThat(quizRepository.incrementTokenEpoch(quiz.getId())).isEqualTo(1);
+            assertThat(quizRepository.incrementTokenEpoch(quiz.getId())).isEqualTo(2);
+        } finally {
+            quizRepository.deleteById(quiz.getId());
+        }
+    }
+
+    /**
+     * Property: Saving a quiz loaded before its tokens were revoked does not move the epoch
+     * back, so the revoked tokens stay revoked.
+     */
+    @Example
+    void savingAStaleQuizKeepsTheEpoch() {
+        Quiz quiz = quizRepository.save(new Quiz("Epoch Quiz", "Description", "123456", QuizStatus.READY));
+        try {
+            Quiz stale = quizRepository.findById(quiz.getId()).orElseThrow();
+            quizRepository.incrementTokenEpoch(quiz.getId());
+
+            stale.setTitle("Renamed");
+            quizRepository.save(stale);
+
+            assertThat(quizRepository.findTokenEpoch(quiz.getId())).isEqualTo(1);
+            assertThat(quizRepository.findById(quiz.getId()).orElseThrow().getTitle()).isEqualTo("Renamed");
+        } finally {
+            quizRepository.deleteById(quiz.getId());
+        }
+    }
+
+    /**
+     * Property: A single node counts every other live quiz, and the teams of those and of the
+     * quiz being activated; quizzes that are not live are left out.
+     */
+    @Example
+    void liveLoadCountsEveryLiveQuizOnASingleNode() {
+        List<Quiz> quizzes = List.of(
+                saveQuiz("Activating", false, 3), saveQuiz("Live A", true, 2),
+                saveQuiz("Live B", true, 0), saveQuiz("Idle", false, 4));
+        try {
+            QuizRepository.LiveLoad load = quizRepository.countLiveLoad(quizzes.get(0).getId());
+
+            assertThat(load.otherQuizzes()).isEqualTo(2);
+            assertThat(load.teams()).isEqualTo(5);
+        } finally {
+            quizzes.forEach(quiz -> quizRepository.deleteById(quiz.getId()));
+        }
+    }
+
+    /**
+     * Property: In a cluster only the live quizzes this node owns are counted, with none at
+     * all while it owns none.
+     */
+    @Example
+    void liveLoadCountsOnlyOwnedQuizzesInACluster() {
+        List<Quiz> quizzes = List.of(
+                saveQuiz("Activating", false, 1), saveQuiz("Owned", true, 2), saveQuiz("Elsewhere", true, 5));
+        try {
+            QuizOwnership ownership = mock(QuizOwnership.class);
+            when(ownership.isClustered()).thenReturn(true);
+            QuizRepositoryImpl clustered = new QuizRepositoryImpl(springQuizRepository, ownership);
+
+            when(ownership.ownedQuizzes()).thenReturn(Set.of(quizzes.get(1).getId()));
+            assertThat(clustered.countLiveLoad(quizzes.get(0).getId()))
+                    .isEqualTo(new QuizRepository.LiveLoad(1, 3));
+
+            when(ownership.ownedQuizzes()).thenReturn(Set.of());
+            assertThat(clustered.countLiveLoad(quizzes.get(0).getId()))
+                    .isEqualTo(new QuizRepository.LiveLoad(0, 1));
+        } finally {
+            quizzes.forEach(quiz -> quizRepository.deleteById(quiz.getId()));
+        }
+    }
+
+    /**
+     * Property: A proctor PIN is taken if another live quiz has it in any case, but not by the
+     * quiz itself or by a quiz that is not live.
+     */
+    @Example
+    void proctorPinIsTakenOnlyByAnotherLiveQuiz() {
+        Quiz live = quizRepository.save(new Quiz("Live", "Description", "ABC-123", QuizStatus.READY));
+        live.setLiveSession(true);
+        quizRepository.save(live);
+        Quiz idle = quizRepository.save(new Quiz("Idle", "Description", "XYZ-789", QuizStatus.READY));
+        try {
+            assertThat(quizRepository.existsLiveWithProctorPin("abc-123", idle.getId())).isTrue();
+            assertThat(quizRepository.existsLiveWithProctorPin("ABC-123", live.getId())).isFalse();
+            assertThat(quizRepository.existsLiveWithProctorPin("XYZ-789", live.getId())).isFalse();
+        } finally {
+            quizRepository.deleteById(live.getId());
+            quizRepository.deleteById(idle.getId());
+        }
+    }
+
+    private Quiz saveQuiz(String title, boolean live, int teams) {
+        Quiz quiz = new Quiz(title, "Description", "PIN-" + title, QuizStatus.READY);
+        quiz.setLiveSession(live);
+        for (int i = 0; i < teams; i++) {
+            quiz.addTeam(new Team(quiz, "Team " + i, title.replace(" ", "") + "-" + i));
+        }
+        return quizRepository.save(quiz);
+    }
+}
@@ -0,0 +1,127 @@
+package com.intelliquiz.api.infrastructure.adapters.persistence.jdbc;
+
+import com.intelliquiz.api.domain.entities.*;
+import com.intelliquiz.api.domain.enums.*;
+import com.intelliquiz.api.domain.ports.QuestionGradingRepository.TeamGrade;
+import net.jqwik.api.*;
+import net.jqwik.spring.JqwikSpringSupport;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Property-based tests for set-based question grading against the JPA schema.
+ * Feature: websocket-realtime
+ */
+@JqwikSpringSupport
+@DataJpaTest
+@ActiveProfiles("test")
+@Import(JdbcQuestionGradingRepository.class)
+class JdbcQuestionGradingRepositoryPropertyTest {
+
+    private static final int POINTS = 10;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private JdbcQuestionGradingRepository gradingRepository;
+
+    /**
+     * Property: Set-based grading gives every team the same outcome and total score as
+     * grading each submission with Submission.grade().
+     */
+    @Property(tries = 10)
+    void matchesEntityGrading(@ForAll("answers") List<String> answers) {
+        Quiz quiz = entityManager.persistAndFlush(new Quiz("Grading Quiz", "Description", "123456", QuizStatus.READY));
+        Question question = new Question(quiz, "Question?", QuestionType.IDENTIFICATION, Difficulty.EASY, "Paris");
+        question.setPoints(POINTS);
+        entityManager.persistAndFlush(question);
+
+        List<Team> teams = new ArrayList<>();
+        for (int i = 0; i < answers.size(); i++) {
+            Team team = new Team(quiz, "Team " + i, "GRADE" + i);
+            team.setTotalScore(i);
+            teams.add(entityManager.persistAndFlush(team));
+            if (answers.get(i) != null) {
+                entityManager.persistAndFlush(new Submission(team, question, answers.get(i)));
+            }
+        }
+        // Expected totals, using the entity grading rule
+        Map<Long, Integer> expectedTotals = teams.stream().collect(Collectors.toMap(Team::getId, Team::getTotalScore));
+        for (int i = 0; i < answers.size(); i++) {
+            if (question.isCorrectAnswer(answers.get(i))) {
+                expectedTotals.merge(teams.get(i).getId(), POINTS, Integer::sum);
+            }
+        }
+        entityManager.clear();
+
+        List<TeamGrade> grades = gradingRepository.gradeQuestion(
+                quiz.getId(), question.getId(), question.getCorrectKey(), question.getPoints());
+
+        assertThat(grades).hasSize(teams.size());
+        Map<Long, TeamGrade> byTeam = grades.stream().collect(Collectors.toMap(TeamGrade::teamId, Function.identity()));
+        for (int i = 0; i < answers.size(); i++) {
+            Long teamId = teams.get(i).getId();
+            TeamGrade grade = byTeam.get(teamId);
+            boolean correct = question.isCorrectAnswer(answers.get(i));
+            assertThat(grade.hasSubmitted()).isEqualTo(answers.get(i) != null);
+            assertThat(grade.submittedAnswer()).isEqualTo(answers.get(i));
+            assertThat(grade.isCorrect()).as("Answer '%s'", answers.get(i)).isEqualTo(correct);
+            assertThat(grade.awardedPoints()).isEqualTo(correct ? POINTS : 0);
+            assertThat(grade.totalScore()).isEqualTo(expectedTotals.get(teamId));
+            assertThat(entityManager.find(Team.class, teamId).getTotalScore()).isEqualTo(expectedTotals.get(teamId));
+        }
+        assertThat(countUngraded(question.getId())).isZero();
+    }
+
+    /**
+     * Property: Grading a question again does not award points twice.
+     */
+    @Example
+    void regradingIsIdempotent() {
+        Quiz quiz = entityManager.persistAndFlush(new Quiz("Grading Quiz", "Description", "123456", QuizStatus.READY));
+        Question question = new Question(quiz, "Question?", QuestionType.MULTIPLE_CHOICE, Difficulty.EASY, "A");
+        question.setPoints(POINTS);
+        entityManager.persistAndFlush(question);
+        Team team = entityManager.persistAndFlush(new Team(quiz, "Team", "GRADE1"));
+        entityManager.persistAndFlush(new Submission(team, question, " a "));
+        entityManager.clear();
+
+        gradingRepository.gradeQuestion(quiz.getId(), question.getId(), "A", POINTS);
+        List<TeamGrade> again = gradingRepository.gradeQuestion(quiz.getId(), question.getId(), "A", POINTS);
+
+        assertThat(again).singleElement().satisfies(grade -> {
+            assertThat(grade.isCorrect()).isTrue();
+            assertThat(grade.awardedPoints()).isEqualTo(POINTS);
+            assertThat(grade.totalScore()).isEqualTo(POINTS);
+        });
+    }
+
+    private long countUngraded(Long questionId) {
+        return entityManager.getEntityManager()
+                .createQuery("SELECT COUNT(s) FROM Submission s WHERE s.question.id = :questionId AND s.isGraded = false",
+                        Long.class)
+                .setParameter("questionId", questionId)
+                .getSingleResult();
+    }
+
+    @Provide
+    Arbitrary<List<String>> answers() {
+        Arbitrary<String> answer = Arbitraries.oneOf(
+                Arbitraries.of("Paris", "paris", " PARIS ", "Paris\t", "Pari s", "London", "", "  "),
+                Arbitraries.just(null)
+        );
+        return answer.list().ofMinSize(1).ofMaxSize(12);
+    }
+}
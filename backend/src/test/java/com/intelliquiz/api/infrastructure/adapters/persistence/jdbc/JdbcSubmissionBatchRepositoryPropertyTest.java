@@ -0,0 +1,80 @@
+package com.intelliquiz.api.infrastructure.adapters.persistence.jdbc;
+
+import com.intelliquiz.api.domain.entities.*;
+import com.intelliquiz.api.domain.enums.*;
+import com.intelliquiz.api.domain.ports.SubmissionBatchRepository.PendingAnswer;
+import net.jqwik.api.*;
+import net.jqwik.spring.JqwikSpringSupport;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Property-based tests for batch submission writes against the JPA schema.
+ * Feature: websocket-realtime
+ */
+@JqwikSpringSupport
+@DataJpaTest
+@ActiveProfiles("test")
+@Import(JdbcSubmissionBatchRepository.class)
+class JdbcSubmissionBatchRepositoryPropertyTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private JdbcSubmissionBatchRepository batchRepository;
+
+    /**
+     * Property: New answers are inserted ungraded, and existing submissions are updated in place.
+     */
+    @Example
+    void upsertInsertsNewAndUpdatesExisting() {
+        Quiz quiz = entityManager.persistAndFlush(new Quiz("Batch Quiz", "Description", "123456", QuizStatus.READY));
+        Team first = entityManager.persistAndFlush(new Team(quiz, "First", "BATCH1"));
+        Team second = entityManager.persistAndFlush(new Team(quiz, "Second", "BATCH2"));
+        Question question = entityManager.persistAndFlush(
+                new Question(quiz, "Question?", QuestionType.MULTIPLE_CHOICE, Difficulty.EASY, "A"));
+
+        Submission existing = new Submission(first, question, "B");
+        existing.setGraded(true);
+        entityManager.persistAndFlush(existing);
+
+        LocalDateTime now = LocalDateTime.now().withNano(0);
+        batchRepository.upsertAnswers(question.getId(), List.of(
+                new PendingAnswer(first.getId(), "A", now),
+                new PendingAnswer(second.getId(), "C", now)
+        ));
+        entityManager.clear();
+
+        List<Submission> submissions = entityManager.getEntityManager()
+                .createQuery("SELECT s FROM Submission s WHERE s.question.id = :questionId", Submission.class)
+                .setParameter("questionId", question.getId())
+                .getResultList();
+
+        assertThat(submissions).hasSize(2);
+        assertThat(submissions).allSatisfy(s -> assertThat(s.isGraded()).as("Rewritten answers need grading").isFalse());
+        assertThat(submissions)
+                .filteredOn(s -> s.getTeam().getId().equals(first.getId()))
+                .singleElement()
+                .satisfies(s -> {
+                    assertThat(s.getId()).isEqualTo(existing.getId());
+                    assertThat(s.getSubmittedAnswer()).isEqualTo("A");
+                });
+        assertThat(submissions)
+                .filteredOn(s -> s.getTeam().getId().equals(second.getId()))
+                .singleElement()
+                .satisfies(s -> {
+                    assertThat(s.getSubmittedAnswer()).isEqualTo("C");
+                    assertThat(s.getAwardedPoints()).isZero();
+                    assertThat(s.getSubmittedAt()).isEqualTo(now);
+                });
+    }
+}
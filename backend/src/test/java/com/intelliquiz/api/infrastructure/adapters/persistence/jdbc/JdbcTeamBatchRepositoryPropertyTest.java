@@ -0,0 +1,82 @@
+package com.intelliquiz.api.infrastructure.adapters.persistence.jdbc;
+
+import com.intelliquiz.api.domain.entities.Quiz;
+import com.intelliquiz.api.domain.entities.Team;
+import com.intelliquiz.api.domain.enums.QuizStatus;
+import com.intelliquiz.api.domain.ports.TeamBatchRepository.NewTeam;
+import net.jqwik.api.*;
+import net.jqwik.spring.JqwikSpringSupport;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Property-based tests for batch team inserts against the JPA schema.
+ * Feature: application-layer
+ */
+@JqwikSpringSupport
+@DataJpaTest
+@ActiveProfiles("test")
+@Import(JdbcTeamBatchRepository.class)
+class JdbcTeamBatchRepositoryPropertyTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private JdbcTeamBatchRepository batchRepository;
+
+    /**
+     * Property: Inserted teams, across several batches, are stored with score zero under the
+     * IDs returned in order, and their codes are then reported as in use.
+     */
+    @Example
+    void insertsTeamsInBatchesAndReturnsTheirIds() {
+        Quiz quiz = entityManager.persistAndFlush(new Quiz("Bulk Quiz", "Description", "123456", QuizStatus.READY));
+        entityManager.persistAndFlush(new Team(quiz, "Existing", "EXIST1"));
+
+        int count = JdbcTeamBatchRepository.BATCH_SIZE * 2 + 3;
+        List<NewTeam> teams = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            teams.add(new NewTeam("Team " + i, "BULK" + i));
+        }
+
+        List<Long> ids = batchRepository.insertTeams(quiz.getId(), teams);
+        entityManager.clear();
+
+        assertThat(ids).hasSize(count).doesNotHaveDuplicates();
+        for (int i = 0; i < count; i++) {
+            Team stored = entityManager.find(Team.class, ids.get(i));
+            assertThat(stored.getName()).isEqualTo("Team " + i);
+            assertThat(stored.getAccessCode()).isEqualTo("BULK" + i);
+            assertThat(stored.getTotalScore()).isZero();
+            assertThat(stored.getQuiz().getId()).isEqualTo(quiz.getId());
+        }
+        assertThat(batchRepository.findAllAccessCodes())
+                .hasSize(count + 1)
+                .contains("EXIST1", "BULK0", "BULK" + (count - 1));
+    }
+
+    /**
+     * Property: The unique index on access_code rejects a code that is already taken.
+     */
+    @Example
+    void rejectsAccessCodeAlreadyInUse() {
+        Quiz quiz = entityManager.persistAndFlush(new Quiz("Bulk Quiz", "Description", "123456", QuizStatus.READY));
+        entityManager.persistAndFlush(new Team(quiz, "Existing", "TAKEN1"));
+
+        assertThatThrownBy(() -> batchRepository.insertTeams(quiz.getId(), List.of(
+                new NewTeam("Fresh", "FRESH1"),
+                new NewTeam("Clash", "TAKEN1"))))
+                .isInstanceOf(DataIntegrityViolationException.class);
+    }
+}
@@ -0,0 +1,126 @@
+package com.intelliquiz.api.infrastructure.adapters.persistence.jdbc;
+
+import com.intelliquiz.api.domain.ports.TeamBatchRepository.NewTeam;
+import com.intelliquiz.api.domain.services.CodeGenerationService;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Throughput of registering teams: one at a time as {@code TeamRegistrationService.registerTeam}
+ * does (an access-code lookup per generated code, then one INSERT per team), versus the bulk
+ * path (all codes in use loaded once, codes generated in memory, then
+ * {@link JdbcTeamBatchRepository#insertTeams} in batches).
+ *
+ * Runs against an in-memory H2 database with the team table and its unique access_code index.
+ * H2 runs in-process, so every statement is a method call rather than a network round trip;
+ * against PostgreSQL the per-team path pays one more round trip per statement, and the gap is
+ * wider than reported here.
+ *
+ * Not part of the test suite. Run with:
+ * <pre>
+ * mvn -q test-compile exec:java -Dexec.classpathScope=test \
+ *     -Dexec.mainClass=com.intelliquiz.api.infrastructure.adapters.persistence.jdbc.TeamRegistrationBenchmark \
+ *     -Dexec.args="10000 50000"
+ * </pre>
+ * The arguments are the number of teams to register (default 10,000) and the number of teams
+ * already registered for other quizzes (default 50,000).
+ */
+public class TeamRegistrationBenchmark {
+
+    private static final long QUIZ_ID = 1L;
+    private static final long OTHER_QUIZ_ID = 2L;
+
+    public static void main(String[] args) {
+        int teams = args.length > 0 ? Integer.parseInt(args[0]) : 10_000;
+        int existing = args.length > 1 ? Integer.parseInt(args[1]) : 50_000;
+
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:teams;DB_CLOSE_DELAY=-1;MODE=PostgreSQL", "sa", "");
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("CREATE TABLE team (" +
+                "id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY, " +
+                "quiz_id BIGINT NOT NULL, " +
+                "name VARCHAR(255) NOT NULL, " +
+                "access_code VARCHAR(255) NOT NULL UNIQUE, " +
+                "total_score INT NOT NULL)");
+        JdbcTeamBatchRepository batchRepository = new JdbcTeamBatchRepository(jdbcTemplate);
+        CodeGenerationService codeGenerationService = new CodeGenerationService();
+
+        System.out.printf("%-12s %8s %12s %12s%n", "path", "teams", "millis", "teams/s");
+        // Warm-up on a small batch, then measure
+        int[][] runs = {{Math.min(teams, 1_000), Math.min(existing, 1_000)}, {teams, existing}};
+        for (int r = 0; r < runs.length; r++) {
+            int[] run = runs[r];
+            boolean measured = r == runs.length - 1;
+            seed(jdbcTemplate, batchRepository, codeGenerationService, run[1]);
+            long start = System.nanoTime();
+            registerOneByOne(jdbcTemplate, codeGenerationService, run[0]);
+            report("one by one", run[0], System.nanoTime() - start, measured);
+
+            seed(jdbcTemplate, batchRepository, codeGenerationService, run[1]);
+            start = System.nanoTime();
+            registerInBulk(batchRepository, codeGenerationService, run[0]);
+            report("bulk", run[0], System.nanoTime() - start, measured);
+        }
+    }
+
+    /**
+     * The former path: per team, look codes up until one is free, then insert the team alone.
+     */
+    private static void registerOneByOne(JdbcTemplate jdbcTemplate, CodeGenerationService codes, int teams) {
+        for (int i = 0; i < teams; i++) {
+            String code;
+            do {
+                code = codes.generateTeamAccessCode();
+            } while (!jdbcTemplate.queryForList("SELECT id FROM team WHERE access_code = ?", Long.class, code).isEmpty());
+            jdbcTemplate.update("INSERT INTO team (quiz_id, name, access_code, total_score) VALUES (?, ?, ?, 0)",
+                    QUIZ_ID, "Team " + i, code);
+        }
+    }
+
+    /**
+     * The bulk path of {@code TeamRegistrationService.registerTeams}.
+     */
+    private static void registerInBulk(JdbcTeamBatchRepository batchRepository, CodeGenerationService codes, int teams) {
+        Set<String> used = batchRepository.findAllAccessCodes();
+        List<NewTeam> newTeams = new ArrayList<>(teams);
+        for (int i = 0; i < teams; i++) {
+            String code;
+            do {
+                code = codes.generateTeamAccessCode();
+            } while (used.contains(code));
+            used.add(code);
+            newTeams.add(new NewTeam("Team " + i, code));
+        }
+        batchRepository.insertTeams(QUIZ_ID, newTeams);
+    }
+
+    /**
+     * Empties the table and registers teams of another quiz, whose codes must be avoided.
+     */
+    private static void seed(JdbcTemplate jdbcTemplate, JdbcTeamBatchRepository batchRepository,
+                             CodeGenerationService codes, int existing) {
+        jdbcTemplate.update("DELETE FROM team");
+        Set<String> used = new HashSet<>();
+        List<NewTeam> teams = new ArrayList<>(existing);
+        while (teams.size() < existing) {
+            String code = codes.generateTeamAccessCode();
+            if (used.add(code)) {
+                teams.add(new NewTeam("Other " + teams.size(), code));
+            }
+        }
+        batchRepository.insertTeams(OTHER_QUIZ_ID, teams);
+    }
+
+    private static void report(String path, int teams, long nanos, boolean measured) {
+        if (measured) {
+            double millis = nanos / 1e6;
+            System.out.printf("%-12s %8d %12.0f %12.0f%n", path, teams, millis, teams / (millis / 1000));
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package com.intelliquiz.api.infrastructure.cluster;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.intelliquiz.api.infrastructure.websocket.GameState;
+import com.intelliquiz.api.infrastructure.websocket.QuizCheckpoint;
+import com.intelliquiz.api.infrastructure.websocket.SubmissionJournal;
+import net.jqwik.api.*;
+import net.jqwik.api.constraints.IntRange;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Property-based tests for what the nodes of a cluster keep when one of them dies: the state
+ * the owner of a quiz stores for the node taking it over, and the clients of the dead node.
+ * Feature: websocket-realtime
+ */
+class ClusterFailoverPropertyTest {
+
+    private static final long LEASE_MILLIS = 5_000;
+
+    /**
+     * Property: The stored state reads back with the checkpoint and every answer held for the
+     * open question.
+     */
+    @Property(tries = 20)
+    void quizStateRoundTrips(@ForAll @IntRange(max = 50) int teams) throws Exception {
+        ObjectMapper objectMapper = new ObjectMapper();
+        QuizCheckpoint checkpoint = new QuizCheckpoint(7L, GameState.ACTIVE, 2, 300L,
+                1_700_000_030_000L, 0, false, 1_700_000_000_000L, "EASY");
+        List<SubmissionJournal.JournaledAnswer> answers = new ArrayList<>();
+        for (long team = 1; team <= teams; team++) {
+            answers.add(new SubmissionJournal.JournaledAnswer(team, 1_700_000_000_000L + team, "A" + team));
+        }
+        ClusterCoordinator.QuizState state = new ClusterCoordinator.QuizState(checkpoint, answers);
+
+        ClusterCoordinator.QuizState decoded = objectMapper.readValue(
+                objectMapper.writeValueAsString(state), ClusterCoordinator.QuizState.class);
+
+        assertThat(decoded).isEqualTo(state);
+    }
+
+    /**
+     * Property: The clients of a node not heard from for the lease are dropped, once; those of
+     * a node still heard from, and clients that disconnected, are not.
+     */
+    @Property(tries = 20)
+    void clientsOfASilentNodeAreDropped(@ForAll @IntRange(min = 1, max = 20) int clients) {
+        RemoteSessions sessions = new RemoteSessions(LEASE_MILLIS);
+        sessions.heard("node-b", 0);
+        sessions.heard("node-c", 0);
+        List<String> expected = new ArrayList<>();
+        for (int i = 0; i < clients; i++) {
+            sessions.connected("node-b", "b-" + i);
+            sessions.connected("node-c", "c-" + i);
+            expected.add("b-" + i);
+        }
+        sessions.connected("node-b", "b-gone");
+        sessions.disconnected("node-b", "b-gone");
+
+        sessions.heard("node-c", LEASE_MILLIS);
+        assertThat(sessions.expire(LEASE_MILLIS - 1)).isEmpty();
+        assertThat(sessions.expire(LEASE_MILLIS)).containsExactlyInAnyOrderElementsOf(expected);
+        assertThat(sessions.expire(2 * LEASE_MILLIS - 1)).isEmpty();
+    }
+
+    /**
+     * Property: A node is reported as new when first heard from and when heard from again after
+     * its lease lapsed, so the clients connected to it get announced again; not otherwise.
+     */
+    @Example
+    void nodeBackAfterItsLeaseLapsedIsReportedAsNew() {
+        RemoteSessions sessions = new RemoteSessions(LEASE_MILLIS);
+
+        assertThat(sessions.heard("node-b", 0)).isTrue();
+        assertThat(sessions.heard("node-b", 1_000)).isFalse();
+        sessions.expire(1_000 + LEASE_MILLIS);
+        assertThat(sessions.heard("node-b", 1_000 + LEASE_MILLIS)).isTrue();
+    }
+}
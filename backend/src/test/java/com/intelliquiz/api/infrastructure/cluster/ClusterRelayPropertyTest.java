@@ -0,0 +1,242 @@
+package com.intelliquiz.api.infrastructure.cluster;
+
+import com.intelliquiz.api.infrastructure.config.ClientOutboundQueues;
+import com.intelliquiz.api.infrastructure.config.GameProperties;
+import com.intelliquiz.api.infrastructure.config.QuizBroadcastService;
+import com.intelliquiz.api.infrastructure.config.WebSocketAuthInterceptor.QuizPrincipal;
+import net.jqwik.api.*;
+import net.jqwik.api.constraints.LongRange;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.support.MessageBuilder;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+/**
+ * Property-based tests for routing quiz traffic between the nodes of a cluster.
+ * Feature: websocket-realtime
+ */
+class ClusterRelayPropertyTest {
+
+    private static final String NODE = "node-a";
+    private static final String SEQUENCE = "s1:42";
+
+    /**
+     * Property: A host command, answer or status request for a quiz another node owns is
+     * published for that node and not handled here; for an owned quiz it passes through.
+     */
+    @Property(tries = 50)
+    void inboundMessagesAreForwardedOnlyForQuizzesOwnedElsewhere(
+            @ForAll @LongRange(min = 1, max = 100_000) long quizId,
+            @ForAll("ownerActions") String action,
+            @ForAll boolean owned
+    ) {
+        InMemoryBus bus = new InMemoryBus();
+        ClusterInboundForwarder forwarder = new ClusterInboundForwarder(ownership(owned, quizId), bus);
+        QuizPrincipal principal = new QuizPrincipal("team-7", quizId, 7L, false);
+        Message<byte[]> message = clientMessage("/app/quiz/" + quizId + "/" + action, "s1", principal, "{\"a\":1}");
+
+        Message<?> result = forwarder.preSend(message, mock(MessageChannel.class));
+
+        if (owned) {
+            assertThat(result).isSameAs(message);
+            assertThat(bus.published).isEmpty();
+        } else {
+            assertThat(result).isNull();
+            assertThat(bus.published).singleElement().satisfies(forwarded -> {
+                assertThat(forwarded.kind()).isEqualTo(ClusterMessage.Kind.INBOUND);
+                assertThat(forwarded.quizId()).isEqualTo(quizId);
+                assertThat(forwarded.sessionId()).isEqualTo("s1");
+                assertThat(forwarded.principal()).isEqualTo(principal);
+            });
+        }
+    }
+
+    /**
+     * Property: A forwarded message rebuilt on the owner keeps its destination, session,
+     * principal and body, and is not forwarded again.
+     */
+    @Property(tries = 50)
+    void forwardedMessagesRoundTrip(
+            @ForAll @LongRange(min = 1, max = 100_000) long quizId,
+            @ForAll("ownerActions") String action,
+            @ForAll boolean host
+    ) {
+        QuizPrincipal principal = host
+                ? new QuizPrincipal("host-" + quizId, quizId, null, true)
+                : new QuizPrincipal("team-3", quizId, 3L, false);
+        ClusterMessage inbound = ClusterMessage.inbound("node-b", principal, "s9", quizId,
+                "/app/quiz/" + quizId + "/" + action, "{}".getBytes(StandardCharsets.UTF_8));
+
+        Message<byte[]> rebuilt = ClusterInboundForwarder.toInboundMessage(inbound);
+
+        assertThat(SimpMessageHeaderAccessor.getDestination(rebuilt.getHeaders())).isEqualTo(inbound.destination());
+        assertThat(SimpMessageHeaderAccessor.getSessionId(rebuilt.getHeaders())).isEqualTo("s9");
+        assertThat(SimpMessageHeaderAccessor.getUser(rebuilt.getHeaders())).isEqualTo(principal);
+        assertThat(SimpMessageHeaderAccessor.getSessionAttributes(rebuilt.getHeaders())).isNotNull();
+        assertThat(rebuilt.getPayload()).isEqualTo(inbound.payload());
+
+        // Arriving at a node that has since lost the quiz, it is dropped rather than bounced on
+        InMemoryBus bus = new InMemoryBus();
+        ClusterInboundForwarder forwarder = new ClusterInboundForwarder(ownership(false, quizId), bus);
+        assertThat(forwarder.preSend(rebuilt, mock(MessageChannel.class))).isNull();
+        assertThat(bus.published).isEmpty();
+    }
+
+    /**
+     * Property: Only command, submit and status destinations name a quiz whose owner handles them.
+     */
+    @Property(tries = 50)
+    void ownedQuizIsParsedFromOwnerActionsOnly(
+            @ForAll @LongRange(min = 1, max = 100_000) long quizId,
+            @ForAll("actions") String action
+    ) {
+        Long parsed = ClusterInboundForwarder.ownedQuizOf("/app/quiz/" + quizId + "/" + action);
+
+        if (List.of("command", "submit", "status", "resume").contains(action)) {
+            assertThat(parsed).isEqualTo(quizId);
+        } else {
+            assertThat(parsed).isNull();
+        }
+        assertThat(ClusterInboundForwarder.ownedQuizOf("/app/quiz/abc/" + action)).isNull();
+        assertThat(ClusterInboundForwarder.ownedQuizOf(null)).isNull();
+    }
+
+    /**
+     * Property: Frames to an owned quiz's topics are published; frames to another node's quiz,
+     * frames relayed from another node, and user frames for local sessions are not.
+     */
+    @Property(tries = 50)
+    void relayPublishesOnlyFramesOtherNodesNeed(
+            @ForAll @LongRange(min = 1, max = 100_000) long quizId,
+            @ForAll("topics") String topic,
+            @ForAll boolean owned
+    ) {
+        InMemoryBus bus = new InMemoryBus();
+        ClusterBroadcastRelay relay = new ClusterBroadcastRelay(ownership(owned, quizId), bus);
+        MessageChannel channel = mock(MessageChannel.class);
+
+        relay.preSend(frame("/topic/quiz/" + quizId + "/" + topic, "state"), channel);
+        assertThat(bus.published).hasSize(owned ? 1 : 0);
+
+        bus.published.clear();
+        Message<byte[]> relayed = ClusterBroadcastRelay.toBrokerMessage(
+                ClusterMessage.frame("node-b", quizId, "/topic/quiz/" + quizId + "/" + topic, null, null, new byte[] {1}));
+        relay.preSend(relayed, channel);
+        assertThat(bus.published).isEmpty();
+
+        relay.onConnectedSession("local-1", new QuizPrincipal("team-1", quizId, 1L, false));
+        relay.preSend(frame("/user/local-1/queue/errors", null), channel);
+        assertThat(bus.published).isEmpty();
+        relay.preSend(frame("/user/remote-1/queue/errors", null), channel);
+        assertThat(bus.published).singleElement()
+                .satisfies(published -> assertThat(published.destination()).isEqualTo("/user/remote-1/queue/errors"));
+    }
+
+    /**
+     * Property: A relayed frame becomes a broker message with the same destination, body,
+     * conflation key and sequence, marked so it is not published again.
+     */
+    @Property(tries = 50)
+    void relayedFramesRoundTrip(
+            @ForAll @LongRange(min = 1, max = 100_000) long quizId,
+            @ForAll("topics") String topic,
+            @ForAll boolean keyed
+    ) {
+        InMemoryBus bus = new InMemoryBus();
+        ClusterBroadcastRelay relay = new ClusterBroadcastRelay(ownership(true, quizId), bus);
+        relay.preSend(frame("/topic/quiz/" + quizId + "/" + topic, keyed ? topic : null), mock(MessageChannel.class));
+        ClusterMessage published = bus.published.get(0);
+
+        Message<byte[]> rebuilt = ClusterBroadcastRelay.toBrokerMessage(published);
+
+        assertThat(SimpMessageHeaderAccessor.getMessageType(rebuilt.getHeaders())).isEqualTo(SimpMessageType.MESSAGE);
+        assertThat(SimpMessageHeaderAccessor.getDestination(rebuilt.getHeaders()))
+                .isEqualTo("/topic/quiz/" + quizId + "/" + topic);
+        assertThat(SimpMessageHeaderAccessor.getFirstNativeHeader(ClientOutboundQueues.CONFLATION_HEADER, rebuilt.getHeaders()))
+                .isEqualTo(keyed ? topic : null);
+        assertThat(SimpMessageHeaderAccessor.getFirstNativeHeader(QuizBroadcastService.SEQUENCE_HEADER, rebuilt.getHeaders()))
+                .isEqualTo(SEQUENCE);
+        assertThat(new String(rebuilt.getPayload(), StandardCharsets.UTF_8)).isEqualTo("{\"frame\":true}");
+        assertThat(rebuilt.getHeaders()).containsKey(ClusterBroadcastRelay.RELAYED_HEADER);
+    }
+
+    /**
+     * Property: Without cluster mode every quiz is local and claiming one always succeeds,
+     * with no database involved.
+     */
+    @Property(tries = 20)
+    void singleNodeOwnsEveryQuiz(@ForAll @LongRange(min = 1, max = 100_000) long quizId) {
+        QuizOwnership ownership = new QuizOwnership(new GameProperties(), null);
+
+        assertThat(ownership.isClustered()).isFalse();
+        assertThat(ownership.isLocal(quizId)).isTrue();
+        assertThat(ownership.claim(quizId)).isTrue();
+        assertThat(ownership.heartbeat(java.util.Map.of())).isEmpty();
+        assertThat(ownership.lastState(quizId)).isEmpty();
+    }
+
+    @Provide
+    Arbitrary<String> ownerActions() {
+        return Arbitraries.of("command", "submit", "status", "resume");
+    }
+
+    @Provide
+    Arbitrary<String> actions() {
+        return Arbitraries.of("command", "submit", "status", "resume", "clock", "ping", "");
+    }
+
+    @Provide
+    Arbitrary<String> topics() {
+        return Arbitraries.of("state", "timer", "host", "question", "leaderboard");
+    }
+
+    private static QuizOwnership ownership(boolean owned, long quizId) {
+        QuizOwnership ownership = mock(QuizOwnership.class);
+        when(ownership.nodeId()).thenReturn(NODE);
+        when(ownership.isClustered()).thenReturn(true);
+        when(ownership.isLocal(quizId)).thenReturn(owned);
+        return ownership;
+    }
+
+    private static Message<byte[]> clientMessage(String destination, String sessionId, QuizPrincipal principal, String body) {
+        SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.create(SimpMessageType.MESSAGE);
+        accessor.setDestination(destination);
+        accessor.setSessionId(sessionId);
+        accessor.setUser(principal);
+        return MessageBuilder.createMessage(body.getBytes(StandardCharsets.UTF_8), accessor.getMessageHeaders());
+    }
+
+    private static Message<byte[]> frame(String destination, String conflationKey) {
+        SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.create(SimpMessageType.MESSAGE);
+        accessor.setDestination(destination);
+        if (conflationKey != null) {
+            accessor.setNativeHeader(ClientOutboundQueues.CONFLATION_HEADER, conflationKey);
+        }
+        if (destination.startsWith("/topic/quiz/")) {
+            accessor.setNativeHeader(QuizBroadcastService.SEQUENCE_HEADER, SEQUENCE);
+        }
+        return MessageBuilder.createMessage("{\"frame\":true}".getBytes(StandardCharsets.UTF_8), accessor.getMessageHeaders());
+    }
+
+    private static class InMemoryBus implements ClusterBus {
+        final List<ClusterMessage> published = new CopyOnWriteArrayList<>();
+
+        @Override
+        public void publish(ClusterMessage message) {
+            published.add(message);
+        }
+
+        @Override
+        public void subscribe(Consumer<ClusterMessage> listener) {
+        }
+    }
+}
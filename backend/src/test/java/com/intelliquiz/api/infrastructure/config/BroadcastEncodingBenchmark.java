@@ -0,0 +1,99 @@
+package com.intelliquiz.api.infrastructure.config;
+
+import com.intelliquiz.api.domain.enums.QuestionType;
+import com.intelliquiz.api.infrastructure.websocket.dto.AnswerDistribution;
+import com.intelliquiz.api.infrastructure.websocket.dto.AnswerRevealPayload;
+import com.intelliquiz.api.infrastructure.websocket.dto.GameStateMessage;
+import com.intelliquiz.api.infrastructure.websocket.dto.TeamResult;
+import com.intelliquiz.api.infrastructure.websocket.dto.TimerMessage;
+import org.springframework.messaging.converter.MappingJackson2MessageConverter;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * CPU time and allocation per broadcast on the sending thread: the former
+ * {@code convertAndSend} of a POJO to a concatenated destination, versus
+ * {@link QuizBroadcastService} sending frames encoded once with pre-computed headers.
+ *
+ * Both paths end in a broker channel that accepts and drops the message, so only the
+ * conversion and header work on the broadcasting thread is measured; the broker's per-session
+ * fan-out is the same for both. Measured with the thread CPU and allocation counters of
+ * {@link com.sun.management.ThreadMXBean}.
+ *
+ * Not part of the test suite. Run with:
+ * <pre>
+ * mvn -q test-compile exec:java -Dexec.classpathScope=test \
+ *     -Dexec.mainClass=com.intelliquiz.api.infrastructure.config.BroadcastEncodingBenchmark \
+ *     -Dexec.args="200000"
+ * </pre>
+ * The optional argument is the number of measured broadcasts per scenario (default 200,000;
+ * a tenth of that for reveals).
+ */
+public class BroadcastEncodingBenchmark {
+
+    private static final long QUIZ_ID = 42L;
+
+    public static void main(String[] args) {
+        int operations = args.length > 0 ? Integer.parseInt(args[0]) : 200_000;
+
+        SimpMessagingTemplate template = new SimpMessagingTemplate((message, timeout) -> true);
+        template.setMessageConverter(new MappingJackson2MessageConverter());
+        QuizBroadcastService broadcastService = new QuizBroadcastService(template, new QuizSessionManager(), new GameProperties());
+        AnswerRevealPayload reveal = reveal(100);
+
+        System.out.printf("%-20s %-10s %12s %14s%n", "message", "path", "cpu ns/op", "alloc B/op");
+        run("timer tick", operations, i -> template.convertAndSend(
+                        "/topic/quiz/" + QUIZ_ID + "/timer", TimerMessage.active(i % 30, 30)),
+                i -> broadcastService.broadcastTimerTick(QUIZ_ID, i % 30, 30));
+        run("game state", operations, i -> template.convertAndSend(
+                        "/topic/quiz/" + QUIZ_ID + "/state", GameStateMessage.active(QUIZ_ID, i % 10, 10, "EASY")),
+                i -> broadcastService.broadcastGameState(QUIZ_ID, GameStateMessage.active(QUIZ_ID, i % 10, 10, "EASY")));
+        run("reveal (100 teams)", operations / 10, i -> template.convertAndSend(
+                        "/topic/quiz/" + QUIZ_ID + "/state", reveal),
+                i -> broadcastService.broadcastAnswerReveal(QUIZ_ID, reveal));
+    }
+
+    private static void run(String message, int operations, Broadcast before, Broadcast after) {
+        print(message, "before", measure(operations, before));
+        print(message, "after", measure(operations, after));
+    }
+
+    private static double[] measure(int operations, Broadcast broadcast) {
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        // Warm-up
+        for (int i = 0; i < operations; i++) {
+            broadcast.send(i);
+        }
+        long cpuBefore = threads.getCurrentThreadCpuTime();
+        long allocatedBefore = threads.getCurrentThreadAllocatedBytes();
+        for (int i = 0; i < operations; i++) {
+            broadcast.send(i);
+        }
+        long cpu = threads.getCurrentThreadCpuTime() - cpuBefore;
+        long allocated = threads.getCurrentThreadAllocatedBytes() - allocatedBefore;
+        return new double[] {(double) cpu / operations, (double) allocated / operations};
+    }
+
+    private static void print(String message, String path, double[] result) {
+        System.out.printf("%-20s %-10s %12.0f %14.0f%n", message, path, result[0], result[1]);
+    }
+
+    private static AnswerRevealPayload reveal(int teams) {
+        List<TeamResult> results = new ArrayList<>(teams);
+        for (int i = 0; i < teams; i++) {
+            long teamId = 1_000L + i;
+            results.add(TeamResult.correct(teamId, "Team " + teamId, "B", 10, (teams - i) * 10, i + 1, false));
+        }
+        return AnswerRevealPayload.create(7L, "B", QuestionType.MULTIPLE_CHOICE,
+                new AnswerDistribution(Map.of("A", 0, "B", teams, "C", 0, "D", 0), teams, 0), results);
+    }
+
+    @FunctionalInterface
+    private interface Broadcast {
+        void send(int i);
+    }
+}
@@ -0,0 +1,256 @@
+package com.intelliquiz.api.infrastructure.config;
+
+import com.intelliquiz.api.infrastructure.websocket.GameExecutors;
+import net.jqwik.api.*;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.handler.SessionLimitExceededException;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Property-based tests for the per-session outbound queues.
+ * Feature: websocket-realtime
+ */
+class ClientOutboundQueuesPropertyTest {
+
+    /**
+     * Property: While a client is slow, every unkeyed frame is delivered in order, each key's
+     * latest frame is delivered, and a keyed frame is only dropped for a newer one with the same
+     * key that no unkeyed frame came between.
+     */
+    @Property(tries = 50)
+    void conflationKeepsUnkeyedFramesAndLatestOfEachKey(@ForAll("keys") List<String> keys) throws Exception {
+        GameProperties gameProperties = new GameProperties();
+        GameExecutors executors = new GameExecutors(gameProperties);
+        ClientOutboundQueues queues = new ClientOutboundQueues(gameProperties, executors);
+        SlowClient client = new SlowClient();
+        try {
+            WebSocketSession session = queues.open(client.session);
+            session.sendMessage(frame("first", null));
+            client.awaitFirstWrite();
+
+            for (int i = 0; i < keys.size(); i++) {
+                session.sendMessage(frame("f" + i, keys.get(i)));
+            }
+            client.release();
+            client.awaitDelivered(keys.isEmpty() ? "first" : "f" + (keys.size() - 1));
+
+            List<Integer> delivered = client.deliveredIndexes();
+            assertThat(delivered).isSorted();
+            for (int i = 0; i < keys.size(); i++) {
+                String key = keys.get(i);
+                boolean latestOfKey = key != null && keys.subList(i + 1, keys.size()).stream().noneMatch(key::equals);
+                if (key == null || latestOfKey) {
+                    assertThat(delivered).as("frame %d (%s)", i, key).contains(i);
+                } else if (!delivered.contains(i)) {
+                    int next = i + 1 + keys.subList(i + 1, keys.size()).indexOf(key);
+                    assertThat(keys.subList(i + 1, next)).as("unkeyed frame overtaken by %d", next).doesNotContainNull();
+                }
+            }
+            // A frame is counted as sent only after the client's write returns
+            ClientOutboundQueues.Snapshot snapshot = queues.snapshot();
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while (snapshot.sent() < delivered.size() + 1 && System.nanoTime() < deadline) {
+                Thread.sleep(1);
+                snapshot = queues.snapshot();
+            }
+            assertThat(snapshot.conflated()).isEqualTo(keys.size() - delivered.size());
+            assertThat(snapshot.sent()).isEqualTo(delivered.size() + 1);
+            assertThat(snapshot.dropped()).isZero();
+        } finally {
+            queues.shutdown();
+            executors.shutdown();
+        }
+    }
+
+    /**
+     * Property: Keyed frames never fill a slow session's buffer; unkeyed frames beyond the
+     * buffer size limit close it as not reliable, and later frames are dropped.
+     */
+    @Example
+    void unsentFramesBeyondTheBufferLimitCloseTheSession() throws Exception {
+        GameProperties gameProperties = new GameProperties();
+        gameProperties.setOutboundBufferSizeLimitBytes(2_000);
+        GameExecutors executors = new GameExecutors(gameProperties);
+        ClientOutboundQueues queues = new ClientOutboundQueues(gameProperties, executors);
+        SlowClient client = new SlowClient();
+        try {
+            WebSocketSession session = queues.open(client.session);
+            session.sendMessage(frame("first", null));
+            client.awaitFirstWrite();
+
+            for (int i = 0; i < 1_000; i++) {
+                session.sendMessage(frame("tick" + i, "/topic/quiz/1/timer"));
+            }
+            assertThatThrownBy(() -> {
+                for (int i = 0; i < 100; i++) {
+                    session.sendMessage(frame("reveal" + i, null));
+                }
+            }).isInstanceOfSatisfying(SessionLimitExceededException.class,
+                    e -> assertThat(e.getStatus()).isEqualTo(CloseStatus.SESSION_NOT_RELIABLE));
+
+            long dropped = queues.snapshot().dropped();
+            session.sendMessage(frame("late", null));
+            ClientOutboundQueues.Snapshot snapshot = queues.snapshot();
+            assertThat(snapshot.slowSessions()).isEqualTo(1);
+            assertThat(snapshot.dropped()).isEqualTo(dropped + 1).isGreaterThan(1);
+            assertThat(snapshot.queuedFrames()).isZero();
+        } finally {
+            client.release();
+            queues.shutdown();
+            executors.shutdown();
+        }
+    }
+
+    /**
+     * Property: A write that takes longer than the send time limit closes the session on the next send.
+     */
+    @Example
+    void writeBeyondTheSendTimeLimitClosesTheSession() throws Exception {
+        GameProperties gameProperties = new GameProperties();
+        gameProperties.setOutboundSendTimeLimitMillis(50);
+        GameExecutors executors = new GameExecutors(gameProperties);
+        ClientOutboundQueues queues = new ClientOutboundQueues(gameProperties, executors);
+        SlowClient client = new SlowClient();
+        try {
+            WebSocketSession session = queues.open(client.session);
+            session.sendMessage(frame("first", null));
+            client.awaitFirstWrite();
+            session.sendMessage(frame("tick", "/topic/quiz/1/timer"));
+
+            Thread.sleep(100);
+
+            assertThatThrownBy(() -> session.sendMessage(frame("tick", "/topic/quiz/1/timer")))
+                    .isInstanceOf(SessionLimitExceededException.class);
+            assertThat(queues.snapshot().slowSessions()).isEqualTo(1);
+        } finally {
+            client.release();
+            queues.shutdown();
+            executors.shutdown();
+        }
+    }
+
+    /**
+     * Property: A session whose writer the full outbound pool turned away still gets its frames,
+     * without sending any more.
+     */
+    @Example
+    void framesTurnedAwayByAFullPoolAreStillSent() throws Exception {
+        GameProperties gameProperties = new GameProperties();
+        gameProperties.setOutboundThreads(1);
+        gameProperties.setOutboundQueueCapacity(1);
+        GameExecutors executors = new GameExecutors(gameProperties);
+        ClientOutboundQueues queues = new ClientOutboundQueues(gameProperties, executors);
+        SlowClient busy = new SlowClient("session-1");
+        List<SlowClient> waiting = List.of(new SlowClient("session-2"), new SlowClient("session-3"));
+        try {
+            queues.open(busy.session).sendMessage(frame("first", null));
+            busy.awaitFirstWrite();
+            for (SlowClient client : waiting) {
+                client.release();
+                queues.open(client.session).sendMessage(frame("only", null));
+            }
+
+            busy.release();
+            for (SlowClient client : waiting) {
+                client.awaitDelivered("only");
+            }
+            assertThat(queues.snapshot().queuedFrames()).isZero();
+        } finally {
+            busy.release();
+            queues.shutdown();
+            executors.shutdown();
+        }
+    }
+
+    /**
+     * Property: The key is read from the frame's headers only, not from its body.
+     */
+    @Example
+    void conflationKeyIsReadFromHeaders() {
+        assertThat(ClientOutboundQueues.conflationKey(frame("x", "/topic/quiz/7/state"))).isEqualTo("/topic/quiz/7/state");
+        assertThat(ClientOutboundQueues.conflationKey(frame("x", null))).isNull();
+        assertThat(ClientOutboundQueues.conflationKey(frame("conflation-key:/topic/quiz/7/state\n", null))).isNull();
+        assertThat(ClientOutboundQueues.conflationKey(new TextMessage("\n"))).isNull();
+    }
+
+    @Provide
+    Arbitrary<List<String>> keys() {
+        return Arbitraries.of("/topic/quiz/1/timer", "/topic/quiz/1/state").injectNull(0.3).list().ofMaxSize(60);
+    }
+
+    /**
+     * A STOMP MESSAGE frame whose body is its name.
+     */
+    private static TextMessage frame(String name, String key) {
+        StringBuilder frame = new StringBuilder("MESSAGE\ndestination:/topic/quiz/1/state\n");
+        if (key != null) {
+            frame.append(ClientOutboundQueues.CONFLATION_HEADER).append(':').append(key).append('\n');
+        }
+        frame.append("content-length:").append(name.length()).append("\n\n").append(name).append('\u0000');
+        return new TextMessage(frame.toString());
+    }
+
+    /**
+     * A session whose first write blocks until released, recording the bodies it is sent.
+     */
+    private static class SlowClient {
+        final WebSocketSession session = mock(WebSocketSession.class);
+        final List<String> delivered = new CopyOnWriteArrayList<>();
+        final CountDownLatch firstWrite = new CountDownLatch(1);
+        final CountDownLatch gate = new CountDownLatch(1);
+
+        SlowClient() throws Exception {
+            this("session-1");
+        }
+
+        SlowClient(String id) throws Exception {
+            when(session.getId()).thenReturn(id);
+            doAnswer(inv -> {
+                firstWrite.countDown();
+                gate.await();
+                String frame = ((TextMessage) inv.getArgument(0)).getPayload();
+                delivered.add(frame.substring(frame.indexOf("\n\n") + 2, frame.length() - 1));
+                return null;
+            }).when(session).sendMessage(any());
+        }
+
+        void awaitFirstWrite() throws InterruptedException {
+            assertThat(firstWrite.await(5, TimeUnit.SECONDS)).isTrue();
+        }
+
+        void release() {
+            gate.countDown();
+        }
+
+        void awaitDelivered(String name) throws InterruptedException {
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while (!delivered.contains(name) && System.nanoTime() < deadline) {
+                Thread.sleep(1);
+            }
+            assertThat(delivered).contains(name);
+        }
+
+        // Indexes of the delivered "f<i>" frames, in delivery order
+        List<Integer> deliveredIndexes() {
+            List<Integer> indexes = new ArrayList<>();
+            for (String name : delivered) {
+                if (name.startsWith("f") && !name.equals("first")) {
+                    indexes.add(Integer.parseInt(name.substring(1)));
+                }
+            }
+            return indexes;
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package com.intelliquiz.api.infrastructure.config;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import javax.crypto.SecretKey;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+import java.util.function.Function;
+
+/**
+ * CPU time and allocation per authenticated request in {@link JwtAuthenticationFilter}:
+ * the former filter, which rebuilt the signing key and parsed the token four times
+ * (subject, role, then subject and expiry again to validate), versus the filter parsing
+ * once through {@link JwtConfig#verify(String)}, with a fresh token each request (cache miss)
+ * and with the same token on every request (cache hit, like a polling dashboard).
+ *
+ * Each request runs the whole filter on a mock request, including setting the security
+ * context, which is cleared between requests. Measured with the thread CPU and allocation
+ * counters of {@link com.sun.management.ThreadMXBean}.
+ *
+ * Not part of the test suite. Run with:
+ * <pre>
+ * mvn -q test-compile exec:java -Dexec.classpathScope=test \
+ *     -Dexec.mainClass=com.intelliquiz.api.infrastructure.config.JwtFilterBenchmark \
+ *     -Dexec.args="50000"
+ * </pre>
+ * The optional argument is the number of measured requests per scenario (default 50,000).
+ */
+public class JwtFilterBenchmark {
+
+    private static final String SECRET = "benchmarkSecretKeyThatIsLongEnoughForHS256Algorithm123456";
+
+    public static void main(String[] args) throws Exception {
+        int requests = args.length > 0 ? Integer.parseInt(args[0]) : 50_000;
+
+        JwtConfig jwtConfig = new JwtConfig(SECRET, 3_600_000L, 10_000);
+        JwtAuthenticationFilter filter = new JwtAuthenticationFilter(jwtConfig);
+        // Distinct tokens for the cache-miss scenario: one per warm-up and measured request
+        String[] tokens = new String[requests * 2];
+        for (int i = 0; i < tokens.length; i++) {
+            tokens[i] = jwtConfig.generateToken("admin" + i, "ADMIN");
+        }
+        String pollingToken = jwtConfig.generateToken("dashboard", "ADMIN");
+
+        System.out.printf("%-22s %12s %14s%n", "filter", "cpu ns/req", "alloc B/req");
+        print("before (4 parses)", measure(requests, i -> legacyFilter(tokens[i])));
+        JwtConfig uncached = new JwtConfig(SECRET, 3_600_000L, 0);
+        JwtAuthenticationFilter uncachedFilter = new JwtAuthenticationFilter(uncached);
+        print("after, new token", measure(requests, i -> run(uncachedFilter, tokens[i])));
+        print("after, cached token", measure(requests, i -> run(filter, pollingToken)));
+    }
+
+    private static double[] measure(int requests, Request request) throws Exception {
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        // Warm-up
+        for (int i = 0; i < requests; i++) {
+            request.run(i);
+        }
+        long cpuBefore = threads.getCurrentThreadCpuTime();
+        long allocatedBefore = threads.getCurrentThreadAllocatedBytes();
+        for (int i = requests; i < requests * 2; i++) {
+            request.run(i);
+        }
+        long cpu = threads.getCurrentThreadCpuTime() - cpuBefore;
+        long allocated = threads.getCurrentThreadAllocatedBytes() - allocatedBefore;
+        return new double[] {(double) cpu / requests, (double) allocated / requests};
+    }
+
+    private static void run(JwtAuthenticationFilter filter, String token) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/quizzes");
+        request.addHeader("Authorization", "Bearer " + token);
+        filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+        if (SecurityContextHolder.getContext().getAuthentication() == null) {
+            throw new IllegalStateException("Token was not accepted");
+        }
+        SecurityContextHolder.clearContext();
+    }
+
+    /**
+     * The former filter's token work: four parses, each with a freshly built key.
+     */
+    private static void legacyFilter(String token) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/quizzes");
+        request.addHeader("Authorization", "Bearer " + token);
+        new MockHttpServletResponse();
+        String jwt = request.getHeader("Authorization").substring(7);
+        String username = legacyClaim(jwt, Claims::getSubject);
+        String role = legacyClaim(jwt, claims -> claims.get("role", String.class));
+        boolean valid = legacyClaim(jwt, Claims::getSubject).equals(username)
+                && !legacyClaim(jwt, Claims::getExpiration).before(new Date());
+        if (!valid || role == null) {
+            throw new IllegalStateException("Token was not accepted");
+        }
+        new MockFilterChain().doFilter(request, new MockHttpServletResponse());
+    }
+
+    private static <T> T legacyClaim(String token, Function<Claims, T> resolver) {
+        SecretKey key = Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8));
+        return resolver.apply(Jwts.parser().verifyWith(key).build().parseSignedClaims(token).getPayload());
+    }
+
+    private static void print(String filter, double[] result) {
+        System.out.printf("%-22s %12.0f %14.0f%n", filter, result[0], result[1]);
+    }
+
+    @FunctionalInterface
+    private interface Request {
+        void run(int i) throws Exception;
+    }
+}
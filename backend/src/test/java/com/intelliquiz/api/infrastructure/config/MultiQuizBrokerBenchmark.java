@@ -0,0 +1,195 @@
+package com.intelliquiz.api.infrastructure.config;
+
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageHandler;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.simp.broker.AbstractBrokerMessageHandler;
+import org.springframework.messaging.simp.broker.SimpleBrokerMessageHandler;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompEncoder;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.ExecutorSubscribableChannel;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.util.MimeTypeUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Delivery latency of many concurrent quizzes through Spring's simple broker versus the
+ * quiz-sharded {@link QuizBrokerMessageHandler}: one large quiz and many small ones each
+ * publish a state message per round, large quiz first.
+ *
+ * Both brokers send into an outbound channel with a thread pool sized like Spring's default,
+ * whose handler STOMP-encodes every frame as each WebSocket session does. Latency is measured
+ * from publishing a message to encoding each of its frames, separately for the large quiz and
+ * for the small ones.
+ *
+ * Not part of the test suite. Run with:
+ * <pre>
+ * mvn -q test-compile exec:java -Dexec.classpathScope=test \
+ *     -Dexec.mainClass=com.intelliquiz.api.infrastructure.config.MultiQuizBrokerBenchmark \
+ *     -Dexec.args="50 3000 30 20"
+ * </pre>
+ * The optional arguments are the number of quizzes (default 50), the teams in the large quiz
+ * (default 3000), the teams in each small quiz (default 30) and the measured rounds (default 20).
+ */
+public class MultiQuizBrokerBenchmark {
+
+    private static final String PUBLISHED_AT = "publishedAt";
+    private static final List<String> PREFIXES = List.of("/topic", "/queue");
+
+    public static void main(String[] args) throws InterruptedException {
+        int quizzes = args.length > 0 ? Integer.parseInt(args[0]) : 50;
+        int largeTeams = args.length > 1 ? Integer.parseInt(args[1]) : 3_000;
+        int smallTeams = args.length > 2 ? Integer.parseInt(args[2]) : 30;
+        int rounds = args.length > 3 ? Integer.parseInt(args[3]) : 20;
+        int threads = Runtime.getRuntime().availableProcessors();
+
+        System.out.printf("%d quizzes: 1 with %d teams, %d with %d teams, %d rounds%n",
+                quizzes, largeTeams, quizzes - 1, smallTeams, rounds);
+        System.out.printf("%-8s %12s %12s %12s %12s %12s %14s%n",
+                "broker", "small p50", "small p99", "small max", "large p50", "large p99", "frames/s");
+        Scenario scenario = new Scenario(quizzes, largeTeams, smallTeams);
+        print("SIMPLE", scenario.run(rounds, (outbound, brokerChannel) -> new SimpleBrokerMessageHandler(
+                new ExecutorSubscribableChannel(), outbound, brokerChannel, PREFIXES)));
+        print("SHARDED", scenario.run(rounds, (outbound, brokerChannel) -> new QuizBrokerMessageHandler(
+                new ExecutorSubscribableChannel(), outbound, brokerChannel, PREFIXES, threads, 64)));
+    }
+
+    private static void print(String broker, Result result) {
+        System.out.printf("%-8s %10.2fms %10.2fms %10.2fms %10.2fms %10.2fms %14.0f%n", broker,
+                result.small().percentile(50), result.small().percentile(99), result.small().percentile(100),
+                result.large().percentile(50), result.large().percentile(99), result.framesPerSecond());
+    }
+
+    private interface BrokerFactory {
+        AbstractBrokerMessageHandler create(ExecutorSubscribableChannel outbound, ExecutorSubscribableChannel brokerChannel);
+    }
+
+    private record Scenario(int quizzes, int largeTeams, int smallTeams) {
+
+        Result run(int rounds, BrokerFactory factory) throws InterruptedException {
+            ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+            executor.setCorePoolSize(Runtime.getRuntime().availableProcessors() * 2);
+            executor.setThreadNamePrefix("outbound-");
+            executor.initialize();
+            ExecutorSubscribableChannel outbound = new ExecutorSubscribableChannel(executor);
+            ExecutorSubscribableChannel brokerChannel = new ExecutorSubscribableChannel();
+            Wire wire = new Wire();
+            outbound.subscribe(wire);
+            AbstractBrokerMessageHandler broker = factory.create(outbound, brokerChannel);
+            broker.start();
+            try {
+                long framesPerRound = largeTeams + (long) (quizzes - 1) * smallTeams;
+                for (int quiz = 1; quiz <= quizzes; quiz++) {
+                    int teams = quiz == 1 ? largeTeams : smallTeams;
+                    for (int team = 0; team < teams; team++) {
+                        subscribe(broker, quiz, team);
+                    }
+                }
+
+                // Warm-up
+                for (int round = 0; round < 3; round++) {
+                    publishRound(brokerChannel);
+                    wire.await(framesPerRound * (round + 1));
+                }
+                wire.reset();
+
+                long start = System.nanoTime();
+                for (int round = 0; round < rounds; round++) {
+                    publishRound(brokerChannel);
+                    wire.await(framesPerRound * (round + 1));
+                }
+                long elapsed = System.nanoTime() - start;
+                return new Result(Latencies.of(wire.small), Latencies.of(wire.large),
+                        framesPerRound * rounds * 1e9 / elapsed);
+            } finally {
+                broker.stop();
+                executor.shutdown();
+            }
+        }
+
+        private void publishRound(ExecutorSubscribableChannel brokerChannel) {
+            for (int quiz = 1; quiz <= quizzes; quiz++) {
+                SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.create(SimpMessageType.MESSAGE);
+                accessor.setDestination("/topic/quiz/" + quiz + "/state");
+                accessor.setContentType(MimeTypeUtils.APPLICATION_JSON);
+                accessor.setHeader(PUBLISHED_AT, System.nanoTime());
+                byte[] payload = ("{\"quizId\":" + quiz + ",\"state\":\"QUESTION_ACTIVE\"}").getBytes(StandardCharsets.UTF_8);
+                brokerChannel.send(MessageBuilder.createMessage(payload, accessor.getMessageHeaders()));
+            }
+        }
+
+        private static void subscribe(AbstractBrokerMessageHandler broker, int quiz, int team) {
+            String sessionId = "quiz-" + quiz + "-team-" + team;
+            SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.create(SimpMessageType.SUBSCRIBE);
+            accessor.setSessionId(sessionId);
+            accessor.setSubscriptionId("sub-0");
+            accessor.setDestination("/topic/quiz/" + quiz + "/state");
+            accessor.setUser(new WebSocketAuthInterceptor.QuizPrincipal(sessionId, (long) quiz, (long) team, false));
+            broker.handleMessage(MessageBuilder.createMessage(new byte[0], accessor.getMessageHeaders()));
+        }
+    }
+
+    /**
+     * Encodes every frame and records its latency by quiz size.
+     */
+    private static final class Wire implements MessageHandler {
+        private final StompEncoder encoder = new StompEncoder();
+        private final AtomicLong frames = new AtomicLong();
+        private final ConcurrentLinkedQueue<Long> small = new ConcurrentLinkedQueue<>();
+        private final ConcurrentLinkedQueue<Long> large = new ConcurrentLinkedQueue<>();
+
+        @Override
+        public void handleMessage(Message<?> message) {
+            String destination = SimpMessageHeaderAccessor.getDestination(message.getHeaders());
+            StompHeaderAccessor accessor = StompHeaderAccessor.create(StompCommand.MESSAGE);
+            accessor.setSubscriptionId(SimpMessageHeaderAccessor.getSubscriptionId(message.getHeaders()));
+            accessor.setDestination(destination);
+            accessor.setMessageId(Long.toString(frames.get()));
+            accessor.setContentType(MimeTypeUtils.APPLICATION_JSON);
+            encoder.encode(MessageBuilder.createMessage((byte[]) message.getPayload(), accessor.getMessageHeaders()));
+
+            long latency = System.nanoTime() - (Long) message.getHeaders().get(PUBLISHED_AT);
+            ("/topic/quiz/1/state".equals(destination) ? large : small).add(latency);
+            frames.incrementAndGet();
+        }
+
+        void await(long count) throws InterruptedException {
+            while (frames.get() < count) {
+                Thread.sleep(1);
+            }
+        }
+
+        void reset() {
+            frames.set(0);
+            small.clear();
+            large.clear();
+        }
+    }
+
+    private record Latencies(long[] sortedNanos) {
+        static Latencies of(ConcurrentLinkedQueue<Long> samples) {
+            long[] nanos = samples.stream().mapToLong(Long::longValue).toArray();
+            Arrays.sort(nanos);
+            return new Latencies(nanos);
+        }
+
+        double percentile(int percentile) {
+            if (sortedNanos.length == 0) {
+                return 0;
+            }
+            int index = (int) Math.ceil(percentile / 100.0 * sortedNanos.length) - 1;
+            return TimeUnit.NANOSECONDS.toMicros(sortedNanos[Math.max(0, index)]) / 1e3;
+        }
+    }
+
+    private record Result(Latencies small, Latencies large, double framesPerSecond) {}
+}
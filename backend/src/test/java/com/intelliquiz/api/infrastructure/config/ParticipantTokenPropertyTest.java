@@ -0,0 +1,223 @@
+package com.intelliquiz.api.infrastructure.config;
+
+import com.intelliquiz.api.application.events.QuizDeactivatedEvent;
+import com.intelliquiz.api.application.events.TeamRemovedEvent;
+import com.intelliquiz.api.application.services.AccessIdentity;
+import com.intelliquiz.api.application.services.AccessResolutionService;
+import com.intelliquiz.api.application.services.RouteType;
+import com.intelliquiz.api.domain.ports.QuizRepository;
+import net.jqwik.api.*;
+import net.jqwik.api.constraints.LongRange;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.MessageBuilder;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.*;
+
+/**
+ * Property-based tests for signed participant tokens and their use on WebSocket CONNECT.
+ * Feature: websocket-realtime
+ */
+class ParticipantTokenPropertyTest {
+
+    private static final String SECRET = "participantTokenTestSecretThatIsLongEnough1234567890";
+
+    /**
+     * Property: A token verifies to exactly the identity it was issued for.
+     */
+    @Property(tries = 50)
+    void tokenVerifiesToItsIdentity(
+            @ForAll @LongRange(min = 1, max = 1_000_000) long quizId,
+            @ForAll @LongRange(min = 1, max = 1_000_000) long teamId,
+            @ForAll boolean host
+    ) {
+        ParticipantTokenService tokens = tokens(3600);
+        AccessIdentity identity = host
+                ? new AccessIdentity(RouteType.HOST, quizId, null, null)
+                : new AccessIdentity(RouteType.PARTICIPANT, quizId, teamId, null);
+
+        assertThat(tokens.verify(tokens.issue(identity))).contains(identity);
+    }
+
+    /**
+     * Property: Tampered, foreign-key, expired and admin tokens are all rejected.
+     */
+    @Property(tries = 20)
+    void forgedOrStaleTokensAreRejected(@ForAll @LongRange(min = 1, max = 1_000) long quizId) {
+        ParticipantTokenService tokens = tokens(3600);
+        AccessIdentity identity = new AccessIdentity(RouteType.PARTICIPANT, quizId, 7L, null);
+        String token = tokens.issue(identity);
+
+        String[] parts = token.split("\\.");
+        String otherPayload = tokens.issue(new AccessIdentity(RouteType.HOST, quizId, null, null)).split("\\.")[1];
+        assertThat(tokens.verify(parts[0] + "." + otherPayload + "." + parts[2])).isEmpty();
+        assertThat(tokens.verify(token.substring(0, token.length() - 2))).isEmpty();
+        assertThat(tokens.verify("not-a-token")).isEmpty();
+        assertThat(tokens.verify(null)).isEmpty();
+
+        ParticipantTokenService otherSecret = new ParticipantTokenService(SECRET + "x", properties(3600), epochStore());
+        assertThat(otherSecret.verify(token)).isEmpty();
+        assertThat(tokens(-1).verify(tokens(-1).issue(identity))).isEmpty();
+
+        JwtConfig jwtConfig = new JwtConfig(SECRET, 3_600_000L, 10_000);
+        assertThat(tokens.verify(jwtConfig.generateToken("admin", "SUPER_ADMIN"))).isEmpty();
+    }
+
+    /**
+     * Property: Deactivating a quiz or removing one of its teams revokes the quiz's tokens
+     * and only those; tokens issued afterwards are accepted again.
+     */
+    @Property(tries = 20)
+    void revocationIsPerQuiz(@ForAll @LongRange(min = 1, max = 1_000) long quizId, @ForAll boolean byTeamRemoval) {
+        ParticipantTokenService tokens = tokens(3600);
+        Long otherQuizId = quizId + 1;
+        String revoked = tokens.issue(new AccessIdentity(RouteType.PARTICIPANT, quizId, 1L, null));
+        String kept = tokens.issue(new AccessIdentity(RouteType.PARTICIPANT, otherQuizId, 2L, null));
+
+        if (byTeamRemoval) {
+            tokens.onTeamRemoved(new TeamRemovedEvent(quizId, 1L));
+        } else {
+            tokens.onQuizDeactivated(new QuizDeactivatedEvent(quizId));
+        }
+
+        assertThat(tokens.verify(revoked)).isEmpty();
+        assertThat(tokens.verify(kept)).isPresent();
+        String reissued = tokens.issue(new AccessIdentity(RouteType.PARTICIPANT, quizId, 3L, null));
+        assertThat(tokens.verify(reissued)).isPresent();
+    }
+
+    /**
+     * Property: A token is accepted by every node sharing the database and after a restart, and
+     * a revocation on one node is seen by the others once their cached epoch is read again.
+     */
+    @Property(tries = 20)
+    void epochIsSharedAcrossNodesAndRestarts(@ForAll @LongRange(min = 1, max = 1_000) long quizId) {
+        QuizRepository database = epochStore();
+        GameProperties properties = properties(3600);
+        properties.setParticipantTokenEpochRefreshMillis(60_000);
+        ParticipantTokenService issuing = new ParticipantTokenService(SECRET, properties, database);
+        ParticipantTokenService other = new ParticipantTokenService(SECRET, properties, database);
+        String token = issuing.issue(new AccessIdentity(RouteType.PARTICIPANT, quizId, 1L, null));
+
+        assertThat(other.verify(token)).isPresent();
+        assertThat(new ParticipantTokenService(SECRET, properties, database).verify(token))
+                .as("Accepted after a restart").isPresent();
+
+        issuing.revoke(quizId);
+        assertThat(issuing.verify(token)).isEmpty();
+        assertThat(other.verify(token)).as("Cached epoch not yet due").isPresent();
+
+        properties.setParticipantTokenEpochRefreshMillis(0);
+        ParticipantTokenService refreshing = new ParticipantTokenService(SECRET, properties, database);
+        assertThat(refreshing.verify(token)).isEmpty();
+        assertThat(new ParticipantTokenService(SECRET, properties, database).verify(token))
+                .as("Still revoked after a restart").isEmpty();
+    }
+
+    /**
+     * Property: CONNECT with a valid token sets the principal without resolving any access code.
+     */
+    @Property(tries = 20)
+    void connectWithTokenSkipsAccessResolution(
+            @ForAll @LongRange(min = 1, max = 1_000) long quizId,
+            @ForAll @LongRange(min = 1, max = 1_000) long teamId
+    ) {
+        ParticipantTokenService tokens = tokens(3600);
+        AccessResolutionService resolution = mock(AccessResolutionService.class);
+        WebSocketAuthInterceptor interceptor = new WebSocketAuthInterceptor(resolution, tokens, new QuizSessionManager(), new GameProperties());
+        String token = tokens.issue(new AccessIdentity(RouteType.PARTICIPANT, quizId, teamId, null));
+
+        Message<?> result = interceptor.preSend(connect("participantToken", token), null);
+
+        StompHeaderAccessor accessor = StompHeaderAccessor.wrap(result);
+        assertThat(accessor.getUser()).isEqualTo(
+                new WebSocketAuthInterceptor.QuizPrincipal("team-" + teamId, quizId, teamId, false));
+        verifyNoInteractions(resolution);
+    }
+
+    /**
+     * Property: CONNECT with a revoked token and no access code is refused; with an access code
+     * it falls back to resolving the code.
+     */
+    @Property(tries = 10)
+    void revokedTokenFallsBackToAccessCode(@ForAll @LongRange(min = 1, max = 1_000) long quizId) {
+        ParticipantTokenService tokens = tokens(3600);
+        AccessResolutionService resolution = mock(AccessResolutionService.class);
+        when(resolution.resolveIdentity("ABC-DEF"))
+                .thenReturn(new AccessIdentity(RouteType.PARTICIPANT, quizId, 9L, null));
+        WebSocketAuthInterceptor interceptor = new WebSocketAuthInterceptor(resolution, tokens, new QuizSessionManager(), new GameProperties());
+        String token = tokens.issue(new AccessIdentity(RouteType.PARTICIPANT, quizId, 9L, null));
+        tokens.revoke(quizId);
+
+        assertThatThrownBy(() -> interceptor.preSend(connect("participantToken", token), null))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("token");
+
+        Message<?> fallback = connect("participantToken", token);
+        StompHeaderAccessor.getAccessor(fallback, StompHeaderAccessor.class).addNativeHeader("accessCode", "ABC-DEF");
+        Message<?> result = interceptor.preSend(fallback, null);
+        assertThat(StompHeaderAccessor.wrap(result).getUser()).isEqualTo(
+                new WebSocketAuthInterceptor.QuizPrincipal("team-9", quizId, 9L, false));
+    }
+
+    /**
+     * Property: Once the node has its limit of teams connected, a new team's CONNECT is refused,
+     * while a team that is already connected and the host still get in.
+     */
+    @Example
+    void connectBeyondTeamLimitIsRefused() {
+        ParticipantTokenService tokens = tokens(3600);
+        GameProperties gameProperties = properties(3600);
+        gameProperties.setMaxConnectedTeams(2);
+        QuizSessionManager sessionManager = new QuizSessionManager();
+        sessionManager.registerParticipant(1L, 1L, "session-1");
+        sessionManager.registerParticipant(2L, 2L, "session-2");
+        WebSocketAuthInterceptor interceptor = new WebSocketAuthInterceptor(
+                mock(AccessResolutionService.class), tokens, sessionManager, gameProperties);
+
+        String newTeam = tokens.issue(new AccessIdentity(RouteType.PARTICIPANT, 1L, 3L, null));
+        assertThatThrownBy(() -> interceptor.preSend(connect("participantToken", newTeam), null))
+                .isInstanceOf(IllegalStateException.class);
+
+        String connectedTeam = tokens.issue(new AccessIdentity(RouteType.PARTICIPANT, 2L, 2L, null));
+        String host = tokens.issue(new AccessIdentity(RouteType.HOST, 1L, null, null));
+        assertThat(StompHeaderAccessor.wrap(interceptor.preSend(connect("participantToken", connectedTeam), null))
+                .getUser()).isNotNull();
+        assertThat(StompHeaderAccessor.wrap(interceptor.preSend(connect("participantToken", host), null))
+                .getUser()).isNotNull();
+    }
+
+    private static ParticipantTokenService tokens(long ttlSeconds) {
+        return new ParticipantTokenService(SECRET, properties(ttlSeconds), epochStore());
+    }
+
+    // Quiz repository keeping only token epochs, as the quiz table does
+    private static QuizRepository epochStore() {
+        Map<Long, Long> epochs = new ConcurrentHashMap<>();
+        QuizRepository repository = mock(QuizRepository.class);
+        when(repository.findTokenEpoch(anyLong()))
+                .thenAnswer(inv -> epochs.getOrDefault(inv.<Long>getArgument(0), 0L));
+        when(repository.incrementTokenEpoch(anyLong()))
+                .thenAnswer(inv -> epochs.merge(inv.getArgument(0), 1L, Long::sum));
+        return repository;
+    }
+
+    private static GameProperties properties(long ttlSeconds) {
+        GameProperties properties = new GameProperties();
+        properties.setParticipantTokenTtlSeconds(ttlSeconds);
+        return properties;
+    }
+
+    private static Message<?> connect(String header, String value) {
+        StompHeaderAccessor accessor = StompHeaderAccessor.create(StompCommand.CONNECT);
+        accessor.addNativeHeader(header, value);
+        accessor.setLeaveMutable(true);
+        return MessageBuilder.createMessage(new byte[0], accessor.getMessageHeaders());
+    }
+}
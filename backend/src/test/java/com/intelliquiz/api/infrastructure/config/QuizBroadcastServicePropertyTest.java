@@ -0,0 +1,252 @@
+package com.intelliquiz.api.infrastructure.config;
+
+import com.intelliquiz.api.infrastructure.websocket.dto.GameStateMessage;
+import com.intelliquiz.api.infrastructure.websocket.dto.ReplayMessage;
+import com.intelliquiz.api.infrastructure.websocket.dto.TimerMessage;
+import net.jqwik.api.*;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.converter.MappingJackson2MessageConverter;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.util.MimeTypeUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.*;
+
+/**
+ * Property-based tests for the encode-once broadcast pipeline.
+ * Feature: websocket-realtime
+ */
+class QuizBroadcastServicePropertyTest {
+
+    /**
+     * Property: Every frame carries the destination, message type and JSON content type that
+     * SimpMessagingTemplate would set, and the same bytes as converting the payload.
+     */
+    @Property(tries = 30)
+    void framesMatchTemplateConversion(
+            @ForAll("quizIds") Long quizId,
+            @ForAll("remainingSeconds") int remaining
+    ) {
+        Broker broker = new Broker();
+
+        broker.broadcastService.broadcastTimerTick(quizId, remaining, 60);
+        broker.broadcastService.broadcastGameState(quizId, GameStateMessage.grading(quizId));
+
+        assertThat(broker.channel.sent).hasSize(2);
+        assertFrame(broker.channel.sent.get(0), "/topic/quiz/" + quizId + "/timer", TimerMessage.active(remaining, 60));
+        assertFrame(broker.channel.sent.get(1), "/topic/quiz/" + quizId + "/state", GameStateMessage.grading(quizId));
+    }
+
+    /**
+     * Property: A repeated timer or state message is sent with the same encoded bytes,
+     * converted once per quiz however often it is broadcast.
+     */
+    @Property(tries = 20)
+    void repeatedMessagesAreEncodedOnce(@ForAll("tickSequences") List<Integer> ticks) {
+        Broker broker = new Broker();
+
+        for (int remaining : ticks) {
+            broker.broadcastService.broadcastTimerTick(1L, remaining, 60);
+            broker.broadcastService.broadcastGameState(1L, GameStateMessage.reveal(1L));
+        }
+
+        long distinctTicks = ticks.stream().distinct().count();
+        verify(broker.converter, times((int) distinctTicks + (ticks.isEmpty() ? 0 : 1))).toMessage(any(), isNull());
+        for (int i = 0; i < ticks.size(); i++) {
+            int first = ticks.indexOf(ticks.get(i));
+            assertThat(broker.channel.sent.get(i * 2).getPayload()).isSameAs(broker.channel.sent.get(first * 2).getPayload());
+            assertThat(broker.channel.sent.get(i * 2 + 1).getPayload()).isSameAs(broker.channel.sent.get(1).getPayload());
+        }
+    }
+
+    /**
+     * Property: Messages that are not kept (e.g. host notifications) are converted on every send,
+     * and releasing a quiz drops its kept frames.
+     */
+    @Example
+    void releaseDropsKeptFrames() {
+        Broker broker = new Broker();
+
+        broker.broadcastService.broadcastTimerTick(1L, 10, 60);
+        broker.broadcastService.releaseQuiz(1L);
+        broker.broadcastService.broadcastTimerTick(1L, 10, 60);
+        broker.broadcastService.notifyAllSubmitted(1L, 3);
+        broker.broadcastService.notifyAllSubmitted(1L, 3);
+
+        verify(broker.converter, times(4)).toMessage(any(), isNull());
+        assertThat(broker.channel.sent.get(1).getPayload()).isNotSameAs(broker.channel.sent.get(0).getPayload());
+        assertThat(broker.channel.sent.get(1).getPayload()).isEqualTo(broker.channel.sent.get(0).getPayload());
+    }
+
+    /**
+     * Property: Timer and game state frames carry their destination as conflation key, while
+     * other frames on the state topic carry none and are never conflated.
+     */
+    @Example
+    void onlyTimerAndGameStateFramesConflate() {
+        Broker broker = new Broker();
+
+        broker.broadcastService.broadcastTimerTick(1L, 10, 60);
+        broker.broadcastService.broadcastGameState(1L, GameStateMessage.grading(1L));
+        broker.broadcastService.broadcastScoreboard(1L, List.of());
+
+        assertThat(broker.channel.sent).extracting(frame ->
+                SimpMessageHeaderAccessor.wrap(frame).getFirstNativeHeader(ClientOutboundQueues.CONFLATION_HEADER))
+                .containsExactly("/topic/quiz/1/timer", "/topic/quiz/1/state", null);
+        assertFrame(broker.channel.sent.get(2), "/topic/quiz/1/state", List.of());
+    }
+
+    /**
+     * Property: Frames to a quiz's topics are numbered one after another and team queue frames
+     * are not; a client is sent exactly the topic frames after the last one it saw, as they were
+     * sent, without host frames unless it is the host.
+     */
+    @Property(tries = 30)
+    void missedFramesAreReplayedInOrder(@ForAll("tickSequences") List<Integer> ticks) {
+        Broker broker = new Broker(new GameProperties());
+        String start = broker.broadcastService.sequencePosition(1L);
+
+        for (int remaining : ticks) {
+            broker.broadcastService.broadcastTimerTick(1L, remaining, 60);
+            broker.broadcastService.notifyAllSubmitted(1L, remaining);
+            broker.broadcastService.sendToTeam(1L, 5L, "Team only");
+        }
+
+        List<Message<?>> topicFrames = new ArrayList<>();
+        for (int i = 0; i < broker.channel.sent.size(); i++) {
+            Message<?> frame = broker.channel.sent.get(i);
+            if (i % 3 == 2) {
+                assertThat(sequenceOf(frame)).as("Team queue frame").isNull();
+            } else {
+                topicFrames.add(frame);
+                assertThat(sequenceOf(frame)).endsWith(":" + topicFrames.size());
+            }
+        }
+
+        List<ReplayMessage.Frame> toHost = broker.broadcastService.framesSince(1L, start, true).orElseThrow();
+        assertThat(toHost).extracting(ReplayMessage.Frame::sequence)
+                .containsExactlyElementsOf(topicFrames.stream().map(QuizBroadcastServicePropertyTest::sequenceOf).toList());
+        for (int i = 0; i < toHost.size(); i++) {
+            assertThat(toHost.get(i).body()).isEqualTo(new String((byte[]) topicFrames.get(i).getPayload(), StandardCharsets.UTF_8));
+        }
+        assertThat(broker.broadcastService.framesSince(1L, start, false).orElseThrow())
+                .hasSize(ticks.size())
+                .allSatisfy(frame -> assertThat(frame.destination()).isEqualTo("/topic/quiz/1/timer"));
+        assertThat(broker.broadcastService.framesSince(1L, broker.broadcastService.sequencePosition(1L), false))
+                .as("A client that missed nothing gets nothing")
+                .contains(List.of());
+    }
+
+    /**
+     * Property: A client further behind than the kept frames, or holding a position that is not
+     * of the quiz's current sequence, is not replayed to (it gets a snapshot instead).
+     */
+    @Example
+    void positionsOutsideTheRingAreNotReplayed() {
+        GameProperties properties = new GameProperties();
+        properties.setReplayBufferFrames(4);
+        Broker broker = new Broker(properties);
+        String start = broker.broadcastService.sequencePosition(1L);
+
+        for (int i = 0; i < 4; i++) {
+            broker.broadcastService.broadcastTimerTick(1L, i, 60);
+        }
+        assertThat(broker.broadcastService.framesSince(1L, start, true))
+                .hasValueSatisfying(frames -> assertThat(frames).hasSize(4));
+
+        broker.broadcastService.broadcastTimerTick(1L, 9, 60);
+        String last = broker.broadcastService.sequencePosition(1L);
+        assertThat(broker.broadcastService.framesSince(1L, start, true)).isEmpty();
+        assertThat(broker.broadcastService.framesSince(1L, last, true)).contains(List.of());
+        assertThat(broker.broadcastService.framesSince(1L, null, true)).isEmpty();
+        assertThat(broker.broadcastService.framesSince(1L, "other:3", true)).isEmpty();
+        assertThat(broker.broadcastService.framesSince(1L, start.replace(":0", ":99"), true))
+                .as("A position ahead of the sequence")
+                .isEmpty();
+
+        broker.broadcastService.releaseQuiz(1L);
+        assertThat(broker.broadcastService.framesSince(1L, last, true))
+                .as("A released quiz starts a new sequence")
+                .isEmpty();
+    }
+
+    /**
+     * Property: A destination keeps at most its bound of frames.
+     */
+    @Example
+    void keptFramesAreBounded() {
+        BroadcastDestination destination = new BroadcastDestination("/topic/quiz/1/state");
+        MappingJackson2MessageConverter converter = new MappingJackson2MessageConverter();
+
+        for (int i = 0; i < BroadcastDestination.MAX_CACHED_FRAMES * 3; i++) {
+            destination.cached(GameStateMessage.paused(1L, "Paused " + i), converter);
+            assertThat(destination.cachedFrameCount()).isLessThanOrEqualTo(BroadcastDestination.MAX_CACHED_FRAMES);
+        }
+    }
+
+    private static String sequenceOf(Message<?> frame) {
+        return SimpMessageHeaderAccessor.wrap(frame).getFirstNativeHeader(QuizBroadcastService.SEQUENCE_HEADER);
+    }
+
+    private static void assertFrame(Message<?> frame, String destination, Object payload) {
+        SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.wrap(frame);
+        assertThat(accessor.getDestination()).isEqualTo(destination);
+        assertThat(accessor.getMessageType()).isEqualTo(SimpMessageType.MESSAGE);
+        assertThat(accessor.getContentType()).isEqualTo(MimeTypeUtils.APPLICATION_JSON);
+        assertThat(frame.getPayload())
+                .isEqualTo(new MappingJackson2MessageConverter().toMessage(payload, null).getPayload());
+    }
+
+    @Provide
+    Arbitrary<Long> quizIds() {
+        return Arbitraries.longs().between(1, 10_000);
+    }
+
+    @Provide
+    Arbitrary<Integer> remainingSeconds() {
+        return Arbitraries.integers().between(0, 60);
+    }
+
+    @Provide
+    Arbitrary<List<Integer>> tickSequences() {
+        return Arbitraries.integers().between(0, 10).list().ofMaxSize(40);
+    }
+
+    /**
+     * Broadcast service over a template whose broker channel records every frame.
+     */
+    private static class Broker {
+        final RecordingChannel channel = new RecordingChannel();
+        final MappingJackson2MessageConverter converter = spy(new MappingJackson2MessageConverter());
+        final QuizBroadcastService broadcastService;
+
+        Broker() {
+            this(new GameProperties());
+        }
+
+        Broker(GameProperties gameProperties) {
+            SimpMessagingTemplate messagingTemplate = new SimpMessagingTemplate(channel);
+            messagingTemplate.setMessageConverter(converter);
+            broadcastService = new QuizBroadcastService(messagingTemplate, new QuizSessionManager(), gameProperties);
+        }
+    }
+
+    private static class RecordingChannel implements MessageChannel {
+        final List<Message<?>> sent = new ArrayList<>();
+
+        @Override
+        public boolean send(Message<?> message, long timeout) {
+            sent.add(message);
+            return true;
+        }
+    }
+}
@@ -0,0 +1,263 @@
+package com.intelliquiz.api.infrastructure.config;
+
+import net.jqwik.api.*;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.support.ExecutorSubscribableChannel;
+import org.springframework.messaging.support.MessageBuilder;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Property-based tests for the quiz-sharded STOMP broker.
+ * Feature: websocket-realtime
+ */
+class QuizBrokerMessageHandlerPropertyTest {
+
+    /**
+     * Property: Every subscriber receives exactly the messages of its destinations, in publish
+     * order, whichever lanes the quizzes share and however fan-outs are sliced.
+     */
+    @Property(tries = 30)
+    void subscribersReceiveTheirQuizMessagesInOrder(@ForAll("publications") List<Integer> quizzes) throws Exception {
+        RecordingChannel outbound = new RecordingChannel();
+        QuizBrokerMessageHandler broker = broker(outbound, 2, 3);
+        broker.start();
+        try {
+            // Quiz q has 2q teams on its state topic, and team 100+q on its own queue
+            Map<String, List<String>> expected = new HashMap<>();
+            for (int quiz = 1; quiz <= 3; quiz++) {
+                for (int team = 1; team <= quiz * 2; team++) {
+                    String session = "q" + quiz + "-t" + team;
+                    subscribe(broker, session, "/topic/quiz/" + quiz + "/state", quiz);
+                    expected.put(session, new ArrayList<>());
+                }
+                subscribe(broker, "q" + quiz + "-queue", "/queue/team/" + (100 + quiz), quiz);
+                expected.put("q" + quiz + "-queue", new ArrayList<>());
+            }
+            subscribe(broker, "q1-t1", "/topic/quiz/1/host", 1);
+            broker.handleMessage(unsubscribe("q1-t1", "/topic/quiz/1/host"));
+
+            int frames = 0;
+            for (int i = 0; i < quizzes.size(); i++) {
+                int quiz = quizzes.get(i);
+                String payload = "m" + i;
+                if (i % 3 == 0) {
+                    broker.handleMessage(publish("/queue/team/" + (100 + quiz), payload));
+                    expected.get("q" + quiz + "-queue").add(payload);
+                    frames++;
+                } else {
+                    broker.handleMessage(publish("/topic/quiz/" + quiz + "/state", payload));
+                    for (int team = 1; team <= quiz * 2; team++) {
+                        expected.get("q" + quiz + "-t" + team).add(payload);
+                    }
+                    frames += quiz * 2;
+                }
+            }
+            broker.handleMessage(publish("/topic/quiz/1/host", "unsubscribed"));
+            outbound.awaitFrames(frames);
+            Thread.sleep(20);
+
+            assertThat(outbound.bySession()).isEqualTo(expected.entrySet().stream()
+                    .filter(e -> !e.getValue().isEmpty())
+                    .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue)));
+            assertThat(broker.snapshot().lanes()).allMatch(lane -> lane.queuedDeliveries() == 0);
+        } finally {
+            broker.stop();
+        }
+    }
+
+    /**
+     * Property: A small quiz's message is sent after at most a quantum of a large quiz's fan-out
+     * on the same lane, not after all of it.
+     */
+    @Example
+    void largeFanOutDoesNotHoldUpSmallQuiz() throws Exception {
+        RecordingChannel outbound = new RecordingChannel();
+        QuizBrokerMessageHandler broker = broker(outbound, 1, 16);
+        broker.start();
+        try {
+            subscribe(broker, "blocker", "/topic/quiz/3/timer", 3);
+            for (int team = 0; team < 2_000; team++) {
+                subscribe(broker, "large-" + team, "/topic/quiz/1/state", 1);
+            }
+            subscribe(broker, "small", "/topic/quiz/2/timer", 2);
+
+            // Hold the lane on one frame while both quizzes queue up behind it
+            outbound.blockNextFrame();
+            broker.handleMessage(publish("/topic/quiz/3/timer", "hold"));
+            outbound.awaitBlocked();
+            broker.handleMessage(publish("/topic/quiz/1/state", "reveal"));
+            broker.handleMessage(publish("/topic/quiz/2/timer", "tick"));
+            outbound.release();
+            outbound.awaitFrames(2_002);
+
+            List<String> order = outbound.sessions();
+            assertThat(order.indexOf("small")).isBetween(1, 1 + 16 + 1);
+            assertThat(broker.snapshot().subscriptions()).isEqualTo(2_002);
+        } finally {
+            broker.stop();
+        }
+    }
+
+    /**
+     * Property: CONNECT is acknowledged once per session; DISCONNECT is acknowledged and drops
+     * the session's subscriptions.
+     */
+    @Example
+    void connectAndDisconnectAreAcknowledged() throws Exception {
+        RecordingChannel outbound = new RecordingChannel();
+        QuizBrokerMessageHandler broker = broker(outbound, 1, 64);
+        broker.start();
+        try {
+            Message<byte[]> connect = message(SimpMessageType.CONNECT, "s1", null, null);
+            broker.handleMessage(connect);
+            broker.handleMessage(connect);
+            subscribe(broker, "s1", "/topic/quiz/1/state", 1);
+            broker.handleMessage(message(SimpMessageType.DISCONNECT, "s1", null, null));
+            broker.handleMessage(publish("/topic/quiz/1/state", "after"));
+            Thread.sleep(50);
+
+            assertThat(outbound.sent).extracting(m -> SimpMessageHeaderAccessor.getMessageType(m.getHeaders()))
+                    .containsExactly(SimpMessageType.CONNECT_ACK, SimpMessageType.DISCONNECT_ACK);
+            assertThat(outbound.sent.get(0).getHeaders().get(SimpMessageHeaderAccessor.CONNECT_MESSAGE_HEADER))
+                    .isSameAs(connect);
+            assertThat(broker.snapshot().subscriptions()).isZero();
+        } finally {
+            broker.stop();
+        }
+    }
+
+    /**
+     * Property: Quiz topics belong to the quiz in their name, other destinations to the subscriber's quiz.
+     */
+    @Example
+    void destinationsBelongToTheirQuiz() {
+        WebSocketAuthInterceptor.QuizPrincipal team = new WebSocketAuthInterceptor.QuizPrincipal("team-7", 9L, 7L, false);
+
+        assertThat(QuizBrokerMessageHandler.quizOf("/topic/quiz/42/state", team)).isEqualTo(42L);
+        assertThat(QuizBrokerMessageHandler.quizOf("/topic/quiz/42", null)).isEqualTo(42L);
+        assertThat(QuizBrokerMessageHandler.quizOf("/queue/team/7", team)).isEqualTo(9L);
+        assertThat(QuizBrokerMessageHandler.quizOf("/topic/quiz/x/state", team)).isEqualTo(9L);
+        assertThat(QuizBrokerMessageHandler.quizOf("/queue/errors-user1", null)).isZero();
+    }
+
+    @Provide
+    Arbitrary<List<Integer>> publications() {
+        return Arbitraries.integers().between(1, 3).list().ofMaxSize(60);
+    }
+
+    private static QuizBrokerMessageHandler broker(MessageChannel outbound, int lanes, int quantum) {
+        return new QuizBrokerMessageHandler(new ExecutorSubscribableChannel(), outbound,
+                new ExecutorSubscribableChannel(), List.of("/topic", "/queue"), lanes, quantum);
+    }
+
+    private static void subscribe(QuizBrokerMessageHandler broker, String sessionId, String destination, long quizId) {
+        SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.create(SimpMessageType.SUBSCRIBE);
+        accessor.setSessionId(sessionId);
+        accessor.setSubscriptionId(destination);
+        accessor.setDestination(destination);
+        accessor.setUser(new WebSocketAuthInterceptor.QuizPrincipal(sessionId, quizId, null, false));
+        broker.handleMessage(MessageBuilder.createMessage(new byte[0], accessor.getMessageHeaders()));
+    }
+
+    // Subscription IDs are the destinations, as subscribe() uses
+    private static Message<byte[]> unsubscribe(String sessionId, String destination) {
+        SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.create(SimpMessageType.UNSUBSCRIBE);
+        accessor.setSessionId(sessionId);
+        accessor.setSubscriptionId(destination);
+        return MessageBuilder.createMessage(new byte[0], accessor.getMessageHeaders());
+    }
+
+    private static Message<byte[]> publish(String destination, String payload) {
+        return message(SimpMessageType.MESSAGE, null, destination, payload);
+    }
+
+    private static Message<byte[]> message(SimpMessageType type, String sessionId, String destination, String payload) {
+        SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.create(type);
+        accessor.setSessionId(sessionId);
+        accessor.setDestination(destination);
+        byte[] body = payload != null ? payload.getBytes(StandardCharsets.UTF_8) : new byte[0];
+        return MessageBuilder.createMessage(body, accessor.getMessageHeaders());
+    }
+
+    /**
+     * Records frames sent to clients; can hold the sending thread on the next frame.
+     */
+    private static class RecordingChannel implements MessageChannel {
+        final List<Message<?>> sent = new CopyOnWriteArrayList<>();
+        private volatile CountDownLatch blocked;
+        private final CountDownLatch gate = new CountDownLatch(1);
+
+        @Override
+        public boolean send(Message<?> message, long timeout) {
+            CountDownLatch block = blocked;
+            if (block != null) {
+                blocked = null;
+                block.countDown();
+                try {
+                    gate.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            sent.add(message);
+            return true;
+        }
+
+        void blockNextFrame() {
+            blocked = new CountDownLatch(1);
+        }
+
+        void awaitBlocked() throws InterruptedException {
+            CountDownLatch block = blocked;
+            if (block != null) {
+                assertThat(block.await(5, TimeUnit.SECONDS)).isTrue();
+            }
+        }
+
+        void release() {
+            gate.countDown();
+        }
+
+        void awaitFrames(int count) throws InterruptedException {
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while (frames().size() < count && System.nanoTime() < deadline) {
+                Thread.sleep(1);
+            }
+            assertThat(frames()).hasSize(count);
+        }
+
+        List<Message<?>> frames() {
+            return sent.stream()
+                    .filter(m -> SimpMessageHeaderAccessor.getMessageType(m.getHeaders()) == SimpMessageType.MESSAGE)
+                    .toList();
+        }
+
+        List<String> sessions() {
+            return frames().stream().map(m -> SimpMessageHeaderAccessor.getSessionId(m.getHeaders())).toList();
+        }
+
+        // Session ID -> payloads received, in order
+        Map<String, List<String>> bySession() {
+            Map<String, List<String>> received = new HashMap<>();
+            for (Message<?> frame : frames()) {
+                received.computeIfAbsent(SimpMessageHeaderAccessor.getSessionId(frame.getHeaders()), s -> new ArrayList<>())
+                        .add(new String((byte[]) frame.getPayload(), StandardCharsets.UTF_8));
+            }
+            return received;
+        }
+    }
+}
@@ -1,6 +1,13 @@
 package com.intelliquiz.api.infrastructure.config;
 
 import net.jqwik.api.*;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.Map;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -19,10 +26,7 @@ class SecurityPropertyTest {
             @ForAll("usernames") String username,
             @ForAll("roles") String role) {
         // Given
-        JwtConfig jwtConfig = new JwtConfig();
-        // Use reflection to set the secret since @Value won't work in unit tests
-        setField(jwtConfig, "secret", "testSecretKeyThatIsLongEnoughForHS256Algorithm123456");
-        setField(jwtConfig, "expiration", 86400000L);
+        JwtConfig jwtConfig = jwtConfig(86400000L);
         
         // When
         String token = jwtConfig.generateToken(username, role);
@@ -38,9 +42,7 @@ class SecurityPropertyTest {
             @ForAll("usernames") String username,
             @ForAll("roles") String role) {
         // Given
-        JwtConfig jwtConfig = new JwtConfig();
-        setField(jwtConfig, "secret", "testSecretKeyThatIsLongEnoughForHS256Algorithm123456");
-        setField(jwtConfig, "expiration", 86400000L);
+        JwtConfig jwtConfig = jwtConfig(86400000L);
         
         String token = jwtConfig.generateToken(username, role);
         
@@ -54,9 +56,7 @@ class SecurityPropertyTest {
             @ForAll("usernames") String username,
             @ForAll("roles") String role) {
         // Given
-        JwtConfig jwtConfig = new JwtConfig();
-        setField(jwtConfig, "secret", "testSecretKeyThatIsLongEnoughForHS256Algorithm123456");
-        setField(jwtConfig, "expiration", 86400000L);
+        JwtConfig jwtConfig = jwtConfig(86400000L);
         
         String token = jwtConfig.generateToken(username, role);
         
@@ -68,6 +68,83 @@ class SecurityPropertyTest {
         assertThat(expiration).isAfter(new java.util.Date());
     }
 
+    @Property(tries = 10)
+    void jwtConfigVerifiesTokenOnceAndCachesClaims(
+            @ForAll("usernames") String username,
+            @ForAll("roles") String role) {
+        // Given
+        JwtConfig jwtConfig = jwtConfig(86400000L);
+        String token = jwtConfig.generateToken(username, role);
+
+        // When
+        var first = jwtConfig.verify(token);
+        var second = jwtConfig.verify(token);
+
+        // Then - the second lookup is served from the cache
+        assertThat(first).isPresent();
+        assertThat(first.get().username()).isEqualTo(username);
+        assertThat(first.get().role()).isEqualTo(role);
+        assertThat(second.get()).isSameAs(first.get());
+    }
+
+    @Property(tries = 10)
+    void jwtConfigRejectsExpiredAndTamperedTokens(
+            @ForAll("usernames") String username,
+            @ForAll("roles") String role) {
+        // Given
+        JwtConfig jwtConfig = jwtConfig(-1000L);
+        String expired = jwtConfig.generateToken(username, role);
+        JwtConfig otherSecret = new JwtConfig("anotherSecretKeyThatIsLongEnoughForHS256Algorithm9876", 86400000L, 10_000);
+        String foreign = otherSecret.generateToken(username, role);
+
+        // When/Then
+        assertThat(jwtConfig.verify(expired)).isEmpty();
+        assertThat(jwtConfig.validateToken(expired, username)).isFalse();
+        assertThat(jwtConfig.verify(foreign)).isEmpty();
+        assertThat(jwtConfig.verify("not.a.token")).isEmpty();
+    }
+
+    @Property(tries = 10)
+    void jwtClaimsCacheStaysWithinItsBound(@ForAll("roles") String role) {
+        // Given
+        JwtConfig jwtConfig = new JwtConfig("testSecretKeyThatIsLongEnoughForHS256Algorithm123456", 86400000L, 3);
+
+        // When - more tokens than the cache holds are verified
+        for (int i = 0; i < 10; i++) {
+            String token = jwtConfig.generateToken("user" + i, role);
+            // Then - every one still verifies, cached or not
+            assertThat(jwtConfig.verify(token)).isPresent();
+        }
+        assertThat((Map<?, ?>) getField(jwtConfig, "verifiedTokens")).hasSizeLessThanOrEqualTo(3);
+    }
+
+    @Property(tries = 10)
+    void jwtFilterAuthenticatesWithTokenRole(
+            @ForAll("usernames") String username,
+            @ForAll("roles") String role) throws Exception {
+        // Given
+        JwtConfig jwtConfig = jwtConfig(86400000L);
+        JwtAuthenticationFilter filter = new JwtAuthenticationFilter(jwtConfig);
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/quizzes");
+        request.addHeader("Authorization", "Bearer " + jwtConfig.generateToken(username, role));
+        SecurityContextHolder.clearContext();
+
+        try {
+            // When
+            filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+
+            // Then
+            Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+            assertThat(authentication).isNotNull();
+            assertThat(authentication.getName()).isEqualTo(username);
+            assertThat(authentication.getAuthorities())
+                    .extracting(Object::toString)
+                    .containsExactly("ROLE_" + role);
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+    }
+
     // ==================== Public Endpoint Pattern Tests ====================
 
     @Property(tries = 10)
@@ -99,13 +176,17 @@ class SecurityPropertyTest {
 
     // ==================== Helper Methods ====================
 
-    private void setField(Object target, String fieldName, Object value) {
+    private JwtConfig jwtConfig(long expiration) {
+        return new JwtConfig("testSecretKeyThatIsLongEnoughForHS256Algorithm123456", expiration, 10_000);
+    }
+
+    private Object getField(Object target, String fieldName) {
         try {
             var field = target.getClass().getDeclaredField(fieldName);
             field.setAccessible(true);
-            field.set(target, value);
+            return field.get(target);
         } catch (Exception e) {
-            throw new RuntimeException("Failed to set field: " + fieldName, e);
+            throw new RuntimeException("Failed to get field: " + fieldName, e);
         }
     }
 
@@ -0,0 +1,161 @@
+package com.intelliquiz.api.infrastructure.websocket;
+
+import com.intelliquiz.api.domain.entities.Question;
+import com.intelliquiz.api.domain.entities.Submission;
+import com.intelliquiz.api.domain.entities.Team;
+import com.intelliquiz.api.domain.enums.QuestionType;
+import com.intelliquiz.api.domain.ports.QuestionRepository;
+import com.intelliquiz.api.domain.ports.SubmissionRepository;
+import com.intelliquiz.api.infrastructure.config.GameProperties;
+import com.intelliquiz.api.infrastructure.config.QuizBroadcastService;
+import com.intelliquiz.api.infrastructure.config.QuizSessionManager;
+import com.intelliquiz.api.infrastructure.websocket.dto.AnswerDistribution;
+import com.intelliquiz.api.infrastructure.websocket.dto.HostNotification;
+import com.intelliquiz.api.infrastructure.websocket.dto.LiveDistribution;
+import net.jqwik.api.*;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+/**
+ * Property-based tests for the live answer-distribution counters.
+ * Feature: websocket-realtime
+ */
+class AnswerTallyServicePropertyTest {
+
+    /**
+     * Property: After any sequence of answers and answer changes, the live counters equal the
+     * distribution computed from the teams' final submissions.
+     *
+     * **Validates: Requirements 2.5**
+     */
+    @Property(tries = 50)
+    void liveCountersMatchRecomputedDistribution(
+            @ForAll("questionTypes") QuestionType type,
+            @ForAll("answers") List<Tuple.Tuple2<Long, String>> answers
+    ) {
+        GameProperties gameProperties = new GameProperties();
+        gameProperties.setLiveDistributionIntervalMillis(0);
+        AnswerTallyService tally = new AnswerTallyService(mock(QuizBroadcastService.class),
+                new GameExecutors(gameProperties), gameProperties);
+        Question question = question(type);
+        tally.open(1L, deckQuestion(question));
+
+        Map<Long, String> finalAnswers = new LinkedHashMap<>();
+        for (Tuple.Tuple2<Long, String> answer : answers) {
+            tally.record(question.getId(), answer.get1(), answer.get2());
+            finalAnswers.put(answer.get1(), answer.get2());
+        }
+
+        assertThat(tally.getDistribution(question.getId())).contains(recompute(question, finalAnswers));
+    }
+
+    /**
+     * Property: The host stream is throttled to the interval, and its last message carries
+     * the final distribution.
+     */
+    @Example
+    void hostStreamIsThrottled() throws InterruptedException {
+        GameProperties gameProperties = new GameProperties();
+        gameProperties.setLiveDistributionIntervalMillis(100);
+        GameExecutors executors = new GameExecutors(gameProperties);
+        RecordingBroadcastService broadcastService = new RecordingBroadcastService();
+        AnswerTallyService tally = new AnswerTallyService(broadcastService, executors, gameProperties);
+        try {
+            Question question = question(QuestionType.MULTIPLE_CHOICE);
+            tally.open(1L, deckQuestion(question));
+
+            long start = System.nanoTime();
+            for (long teamId = 1; teamId <= 300; teamId++) {
+                tally.record(question.getId(), teamId, teamId % 3 == 0 ? "B" : "A");
+                Thread.sleep(1);
+            }
+            long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+            Thread.sleep(300);
+
+            List<LiveDistribution> sent = broadcastService.sent;
+            assertThat(sent.size())
+                    .as("At most one message per 100 ms over %d ms", elapsedMillis)
+                    .isBetween(1, (int) (elapsedMillis / 100) + 2);
+            assertThat(sent.get(sent.size() - 1).distribution())
+                    .isEqualTo(tally.getDistribution(question.getId()).orElseThrow());
+            assertThat(sent.get(sent.size() - 1).distribution().totalSubmissions()).isEqualTo(300);
+
+            // Nothing is streamed once the question has closed
+            int before = sent.size();
+            tally.close(question.getId());
+            tally.record(question.getId(), 999L, "C");
+            Thread.sleep(300);
+            assertThat(sent).hasSize(before);
+        } finally {
+            executors.shutdown();
+        }
+    }
+
+    private static Question question(QuestionType type) {
+        Question question = new Question();
+        question.setId(100L);
+        question.setType(type);
+        question.setOptions(List.of("Option A", "Option B", "Option C", "Option D"));
+        question.setCorrectKey("B");
+        return question;
+    }
+
+    private static QuizDeck.DeckQuestion deckQuestion(Question question) {
+        return QuizDeck.compile(1L, List.of(question)).get(0).orElseThrow();
+    }
+
+    private static AnswerDistribution recompute(Question question, Map<Long, String> finalAnswers) {
+        QuestionRepository questionRepository = mock(QuestionRepository.class);
+        SubmissionRepository submissionRepository = mock(SubmissionRepository.class);
+        List<Submission> submissions = finalAnswers.entrySet().stream()
+                .map(e -> {
+                    Team team = new Team();
+                    team.setId(e.getKey());
+                    return new Submission(team, question, e.getValue());
+                })
+                .toList();
+        when(questionRepository.findById(question.getId())).thenReturn(Optional.of(question));
+        when(submissionRepository.findByQuestion(question)).thenReturn(submissions);
+        return new AnswerDistributionService(questionRepository, submissionRepository)
+                .calculateDistribution(question.getId());
+    }
+
+    @Provide
+    Arbitrary<QuestionType> questionTypes() {
+        return Arbitraries.of(QuestionType.class);
+    }
+
+    @Provide
+    Arbitrary<List<Tuple.Tuple2<Long, String>>> answers() {
+        return Combinators.combine(
+                Arbitraries.longs().between(1, 15),
+                Arbitraries.of("A", "b", " B ", "c", "D", "E", "", "  ", "Option A")
+        ).as(Tuple::of).list().ofMaxSize(60);
+    }
+
+    /**
+     * Records live distributions sent to the host.
+     */
+    private static class RecordingBroadcastService extends QuizBroadcastService {
+        private final List<LiveDistribution> sent = new CopyOnWriteArrayList<>();
+
+        RecordingBroadcastService() {
+            super(null, new QuizSessionManager(), new GameProperties());
+        }
+
+        @Override
+        public void sendToHost(Long quizId, HostNotification notification) {
+            if (HostNotification.LIVE_DISTRIBUTION.equals(notification.type())) {
+                sent.add((LiveDistribution) notification.payload());
+            }
+        }
+    }
+}
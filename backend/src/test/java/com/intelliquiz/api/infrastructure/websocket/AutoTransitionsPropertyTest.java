@@ -1,5 +1,6 @@
 package com.intelliquiz.api.infrastructure.websocket;
 
+import com.intelliquiz.api.infrastructure.config.GameProperties;
 import com.intelliquiz.api.infrastructure.config.QuizBroadcastService;
 import com.intelliquiz.api.infrastructure.config.QuizSessionManager;
 import com.intelliquiz.api.infrastructure.websocket.dto.GameStateMessage;
@@ -32,7 +33,7 @@ class AutoTransitionsPropertyTest {
     void timerExpirationTriggersGradingState() throws InterruptedException {
         QuizBroadcastService broadcastService = mock(QuizBroadcastService.class);
         QuizSessionManager sessionManager = new QuizSessionManager();
-        QuizTimerService timerService = new QuizTimerService(broadcastService, sessionManager);
+        QuizTimerService timerService = new QuizTimerService(broadcastService, sessionManager, new GameProperties(), new ClockSyncService(new GameProperties()), new GameExecutors(new GameProperties()));
         
         Long quizId = 1L;
         Long questionId = 100L;
@@ -99,7 +100,7 @@ class AutoTransitionsPropertyTest {
     void bufferCountdownCompletesAndTriggersCallback() throws InterruptedException {
         QuizBroadcastService broadcastService = mock(QuizBroadcastService.class);
         QuizSessionManager sessionManager = new QuizSessionManager();
-        QuizTimerService timerService = new QuizTimerService(broadcastService, sessionManager);
+        QuizTimerService timerService = new QuizTimerService(broadcastService, sessionManager, new GameProperties(), new ClockSyncService(new GameProperties()), new GameExecutors(new GameProperties()));
         
         Long quizId = 1L;
         int shortDuration = 2;
@@ -151,7 +152,7 @@ class AutoTransitionsPropertyTest {
     void timerBroadcastsCorrectRemainingSeconds() throws InterruptedException {
         QuizBroadcastService broadcastService = mock(QuizBroadcastService.class);
         QuizSessionManager sessionManager = new QuizSessionManager();
-        QuizTimerService timerService = new QuizTimerService(broadcastService, sessionManager);
+        QuizTimerService timerService = new QuizTimerService(broadcastService, sessionManager, new GameProperties(), new ClockSyncService(new GameProperties()), new GameExecutors(new GameProperties()));
         
         Long quizId = 1L;
         int duration = 3;
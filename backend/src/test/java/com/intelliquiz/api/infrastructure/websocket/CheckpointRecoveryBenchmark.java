@@ -0,0 +1,202 @@
+package com.intelliquiz.api.infrastructure.websocket;
+
+import com.intelliquiz.api.application.services.LeaderboardService;
+import com.intelliquiz.api.domain.entities.Question;
+import com.intelliquiz.api.domain.entities.Quiz;
+import com.intelliquiz.api.domain.entities.Team;
+import com.intelliquiz.api.domain.enums.Difficulty;
+import com.intelliquiz.api.domain.enums.QuestionType;
+import com.intelliquiz.api.domain.ports.QuestionGradingRepository;
+import com.intelliquiz.api.domain.ports.QuestionRepository;
+import com.intelliquiz.api.domain.ports.QuizRepository;
+import com.intelliquiz.api.domain.ports.SubmissionBatchRepository;
+import com.intelliquiz.api.domain.ports.TeamRepository;
+import com.intelliquiz.api.infrastructure.cluster.QuizOwnership;
+import com.intelliquiz.api.infrastructure.config.GameProperties;
+import com.intelliquiz.api.infrastructure.config.QuizBroadcastService;
+import com.intelliquiz.api.infrastructure.config.QuizSessionManager;
+
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+/**
+ * Recovery time of live quizzes after a restart, from their checkpoints and the submission
+ * journal, and the cost of writing a checkpoint.
+ *
+ * Before the "restart", every quiz is checkpointed part way through its second question,
+ * with its countdown running, and half of its teams' answers are journaled. Each checkpoint
+ * is then rewritten many times to time a write. After it, a fresh set of services (the real
+ * game flow, timers, actors, submission buffer and journal, with stubbed repositories and
+ * broadcasts) reads the checkpoints and resumes every quiz, as {@link QuizCheckpointRecovery}
+ * does on startup. The run reports the time to read the checkpoints and to resume all quizzes,
+ * and checks that every quiz has its timer running again with its answers back in its buffer.
+ *
+ * Not part of the test suite. Run with:
+ * <pre>
+ * mvn -q test-compile exec:java -Dexec.classpathScope=test \
+ *     -Dexec.mainClass=com.intelliquiz.api.infrastructure.websocket.CheckpointRecoveryBenchmark \
+ *     -Dexec.args="100 40"
+ * </pre>
+ * The optional arguments are the number of live quizzes (default 100) and the teams in each
+ * quiz (default 40).
+ */
+public class CheckpointRecoveryBenchmark {
+
+    private static final int QUESTIONS = 5;
+    private static final int TIME_LIMIT_SECONDS = 60;
+    private static final int CURRENT_QUESTION = 1;
+    private static final int WRITE_ROUNDS = 1_000;
+
+    public static void main(String[] args) throws Exception {
+        int quizzes = args.length > 0 ? Integer.parseInt(args[0]) : 100;
+        int teams = args.length > 1 ? Integer.parseInt(args[1]) : 40;
+
+        GameProperties gameProperties = new GameProperties();
+        gameProperties.setJournalDirectory(Files.createTempDirectory("recovery-journal").toString());
+        gameProperties.setJournalFsync(false);
+
+        long writeNanos = beforeRestart(gameProperties, quizzes, teams);
+        System.out.printf("checkpoint write: %.2f us each (%d quizzes x %d rounds)%n",
+                writeNanos / 1e3, quizzes, WRITE_ROUNDS);
+
+        // Restart: nothing survives but the files in the journal directory
+        QuizRepository quizRepository = mock(QuizRepository.class, withSettings().stubOnly());
+        when(quizRepository.findById(anyLong())).thenAnswer(inv -> {
+            Quiz quiz = new Quiz();
+            quiz.setId(inv.getArgument(0));
+            quiz.setLiveSession(true);
+            return Optional.of(quiz);
+        });
+        QuestionRepository questionRepository = mock(QuestionRepository.class, withSettings().stubOnly());
+        when(questionRepository.findByQuizOrderByOrderIndex(any(Quiz.class)))
+                .thenAnswer(inv -> questions(inv.getArgument(0)));
+        TeamRepository teamRepository = mock(TeamRepository.class, withSettings().stubOnly());
+        when(teamRepository.findByQuiz(any(Quiz.class))).thenAnswer(inv -> teams(inv.getArgument(0), teams));
+
+        QuizBroadcastService broadcastService = mock(QuizBroadcastService.class, withSettings().stubOnly());
+        QuizSessionManager sessionManager = new QuizSessionManager();
+        GameExecutors executors = new GameExecutors(gameProperties);
+        QuizActors actors = new QuizActors(gameProperties);
+        ClockSyncService clockSyncService = new ClockSyncService(gameProperties);
+        QuizTimerService timerService = new QuizTimerService(
+                broadcastService, sessionManager, gameProperties, clockSyncService, executors);
+        SubmissionJournal journal = new SubmissionJournal(gameProperties);
+        SubmissionBuffer submissionBuffer = new SubmissionBuffer(journal,
+                mock(SubmissionBatchRepository.class, withSettings().stubOnly()));
+        QuizCheckpoints checkpoints = new QuizCheckpoints(gameProperties, sessionManager, timerService);
+        GameFlowService gameFlowService = new GameFlowService(
+                timerService, broadcastService,
+                mock(HostNotificationCoalescer.class, withSettings().stubOnly()),
+                sessionManager, quizRepository,
+                new QuizDeckCache(quizRepository, questionRepository),
+                mock(QuestionGradingRepository.class, withSettings().stubOnly()),
+                mock(AnswerDistributionService.class, withSettings().stubOnly()),
+                new AnswerTallyService(broadcastService, executors, gameProperties),
+                submissionBuffer, clockSyncService, new LeaderboardService(),
+                gameProperties, actors, checkpoints);
+        QuizCheckpointRecovery recovery = new QuizCheckpointRecovery(
+                checkpoints, journal, quizRepository, new QuizOwnership(gameProperties, null),
+                new LiveSessionPreparer(quizRepository, teamRepository, sessionManager),
+                gameFlowService, actors);
+
+        long started = System.nanoTime();
+        List<QuizCheckpoint> found = checkpoints.readAll();
+        long read = System.nanoTime();
+        int resumed = recovery.recover(found);
+        long done = System.nanoTime();
+
+        int armed = 0;
+        int restoredAnswers = 0;
+        for (long quizId = 1; quizId <= quizzes; quizId++) {
+            if (timerService.isTimerActive(quizId)) {
+                armed++;
+            }
+            restoredAnswers += submissionBuffer.getSubmissionCount(questionId(quizId, CURRENT_QUESTION));
+        }
+        System.out.printf("recovered %d of %d quizzes: read %.2f ms, resumed %.2f ms, total %.2f ms%n",
+                resumed, found.size(), (read - started) / 1e6, (done - read) / 1e6, (done - started) / 1e6);
+        System.out.printf("%d timers re-armed, %d journaled answers back in their buffers%n", armed, restoredAnswers);
+
+        timerService.shutdown();
+        actors.shutdown();
+        executors.shutdown();
+        if (resumed != quizzes || armed != quizzes || restoredAnswers != quizzes * (teams / 2)) {
+            throw new IllegalStateException("Not every quiz was recovered");
+        }
+    }
+
+    /**
+     * Checkpoints every quiz mid-question and journals half of its teams' answers.
+     *
+     * @return the average time to write one checkpoint, in nanoseconds
+     */
+    private static long beforeRestart(GameProperties gameProperties, int quizzes, int teams) {
+        QuizCheckpoints checkpoints = new QuizCheckpoints(gameProperties, new QuizSessionManager(),
+                mock(QuizTimerService.class, withSettings().stubOnly()));
+        SubmissionJournal journal = new SubmissionJournal(gameProperties);
+        long deadline = System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(TIME_LIMIT_SECONDS);
+        for (long quizId = 1; quizId <= quizzes; quizId++) {
+            long questionId = questionId(quizId, CURRENT_QUESTION);
+            for (int team = 0; team < teams / 2; team++) {
+                journal.appendAnswer(quizId, questionId, teamId(quizId, team), System.currentTimeMillis(), "B");
+            }
+        }
+
+        long started = System.nanoTime();
+        for (int round = 0; round < WRITE_ROUNDS; round++) {
+            for (long quizId = 1; quizId <= quizzes; quizId++) {
+                checkpoints.write(new QuizCheckpoint(quizId, GameState.ACTIVE, CURRENT_QUESTION,
+                        questionId(quizId, CURRENT_QUESTION), deadline, 0, false, System.currentTimeMillis(), "EASY"));
+            }
+        }
+        long elapsed = System.nanoTime() - started;
+        checkpoints.close();
+        journal.close();
+        return elapsed / ((long) WRITE_ROUNDS * quizzes);
+    }
+
+    private static long questionId(long quizId, int index) {
+        return quizId * 1_000 + index;
+    }
+
+    private static long teamId(long quizId, int team) {
+        return quizId * 100_000 + team;
+    }
+
+    private static List<Question> questions(Quiz quiz) {
+        List<Question> questions = new ArrayList<>(QUESTIONS);
+        for (int i = 0; i < QUESTIONS; i++) {
+            Question question = new Question();
+            question.setId(questionId(quiz.getId(), i));
+            question.setQuiz(quiz);
+            question.setText("Question " + i + "?");
+            question.setType(QuestionType.MULTIPLE_CHOICE);
+            question.setDifficulty(Difficulty.EASY);
+            question.setOptions(List.of("1", "2", "3", "4"));
+            question.setCorrectKey("B");
+            question.setPoints(10);
+            question.setTimeLimit(TIME_LIMIT_SECONDS);
+            question.setOrderIndex(i);
+            questions.add(question);
+        }
+        return questions;
+    }
+
+    private static List<Team> teams(Quiz quiz, int count) {
+        List<Team> teams = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Team team = new Team();
+            team.setId(teamId(quiz.getId(), i));
+            team.setName("Team " + i);
+            teams.add(team);
+        }
+        return teams;
+    }
+}
@@ -0,0 +1,80 @@
+package com.intelliquiz.api.infrastructure.websocket;
+
+import com.intelliquiz.api.infrastructure.config.GameProperties;
+import com.intelliquiz.api.infrastructure.websocket.dto.ClockPing;
+import com.intelliquiz.api.infrastructure.websocket.dto.ClockPong;
+import net.jqwik.api.*;
+import net.jqwik.api.constraints.LongRange;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Property-based tests for client clock sync and latency tracking.
+ * Feature: websocket-realtime
+ */
+class ClockSyncServicePropertyTest {
+
+    /**
+     * Property: The pong echoes the client send time and carries ordered server timestamps.
+     */
+    @Property(tries = 20)
+    void pongEchoesClientTime(@ForAll @LongRange(min = 0, max = 4_000_000_000_000L) long clientSendTime) {
+        ClockSyncService service = new ClockSyncService(new GameProperties());
+
+        long before = System.currentTimeMillis();
+        ClockPong pong = service.handlePing(1L, "session", new ClockPing(clientSendTime, null));
+
+        assertThat(pong.clientSendTime()).isEqualTo(clientSendTime);
+        assertThat(pong.serverReceiveTime()).isGreaterThanOrEqualTo(before);
+        assertThat(pong.serverSendTime()).isGreaterThanOrEqualTo(pong.serverReceiveTime());
+    }
+
+    /**
+     * Property: One-way latency is half the round trip and never exceeds the configured cap.
+     */
+    @Property(tries = 50)
+    void oneWayLatencyIsHalfRoundTripCapped(@ForAll @LongRange(min = 0, max = 10_000) long roundTrip) {
+        GameProperties gameProperties = new GameProperties();
+        gameProperties.setLatencyGraceMaxMillis(500);
+        ClockSyncService service = new ClockSyncService(gameProperties);
+
+        service.handlePing(1L, "session", new ClockPing(0L, roundTrip));
+
+        assertThat(service.getOneWayLatencyMillis("session"))
+                .isEqualTo(Math.min(Math.round(roundTrip / 2.0), 500));
+    }
+
+    /**
+     * Property: Samples are smoothed, so one slow round trip does not dominate the estimate.
+     */
+    @Example
+    void roundTripIsSmoothed() {
+        ClockSyncService service = new ClockSyncService(new GameProperties());
+
+        service.handlePing(1L, "session", new ClockPing(0L, 100L));
+        service.handlePing(1L, "session", new ClockPing(0L, 500L));
+
+        // 0.75 * 100 + 0.25 * 500 = 200 ms round trip
+        assertThat(service.getOneWayLatencyMillis("session")).isEqualTo(100);
+    }
+
+    /**
+     * Property: Sessions without samples get no grace, and the quiz maximum only covers its own sessions.
+     */
+    @Example
+    void maxLatencyIsPerQuiz() {
+        ClockSyncService service = new ClockSyncService(new GameProperties());
+
+        service.handlePing(1L, "fast", new ClockPing(0L, 40L));
+        service.handlePing(1L, "slow", new ClockPing(0L, 300L));
+        service.handlePing(2L, "other", new ClockPing(0L, 900L));
+        service.handlePing(1L, "unmeasured", new ClockPing(0L, null));
+
+        assertThat(service.getOneWayLatencyMillis("unmeasured")).isZero();
+        assertThat(service.getMaxOneWayLatencyMillis(1L)).isEqualTo(150);
+
+        service.removeSession("slow");
+        assertThat(service.getMaxOneWayLatencyMillis(1L)).isEqualTo(20);
+        assertThat(service.getMaxOneWayLatencyMillis(3L)).isZero();
+    }
+}
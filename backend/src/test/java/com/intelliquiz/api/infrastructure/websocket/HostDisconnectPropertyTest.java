@@ -1,5 +1,6 @@
 package com.intelliquiz.api.infrastructure.websocket;
 
+import com.intelliquiz.api.infrastructure.config.GameProperties;
 import com.intelliquiz.api.infrastructure.config.QuizBroadcastService;
 import com.intelliquiz.api.infrastructure.config.QuizSessionManager;
 import net.jqwik.api.*;
@@ -24,7 +25,7 @@ class HostDisconnectPropertyTest {
     void hostDisconnectPausesActiveTimer() {
         QuizBroadcastService broadcastService = mock(QuizBroadcastService.class);
         QuizSessionManager sessionManager = new QuizSessionManager();
-        QuizTimerService timerService = new QuizTimerService(broadcastService, sessionManager);
+        QuizTimerService timerService = new QuizTimerService(broadcastService, sessionManager, new GameProperties(), new ClockSyncService(new GameProperties()), new GameExecutors(new GameProperties()));
         
         Long quizId = 1L;
         int duration = 30;
@@ -67,7 +68,7 @@ class HostDisconnectPropertyTest {
     void hostReconnectResumesTimer() {
         QuizBroadcastService broadcastService = mock(QuizBroadcastService.class);
         QuizSessionManager sessionManager = new QuizSessionManager();
-        QuizTimerService timerService = new QuizTimerService(broadcastService, sessionManager);
+        QuizTimerService timerService = new QuizTimerService(broadcastService, sessionManager, new GameProperties(), new ClockSyncService(new GameProperties()), new GameExecutors(new GameProperties()));
         
         Long quizId = 1L;
         int duration = 30;
@@ -104,7 +105,7 @@ class HostDisconnectPropertyTest {
     void pausingNonExistentTimerIsSafe() {
         QuizBroadcastService broadcastService = mock(QuizBroadcastService.class);
         QuizSessionManager sessionManager = new QuizSessionManager();
-        QuizTimerService timerService = new QuizTimerService(broadcastService, sessionManager);
+        QuizTimerService timerService = new QuizTimerService(broadcastService, sessionManager, new GameProperties(), new ClockSyncService(new GameProperties()), new GameExecutors(new GameProperties()));
         
         Long quizId = 999L;
         
@@ -126,7 +127,7 @@ class HostDisconnectPropertyTest {
     void resumingNonPausedTimerIsSafe() {
         QuizBroadcastService broadcastService = mock(QuizBroadcastService.class);
         QuizSessionManager sessionManager = new QuizSessionManager();
-        QuizTimerService timerService = new QuizTimerService(broadcastService, sessionManager);
+        QuizTimerService timerService = new QuizTimerService(broadcastService, sessionManager, new GameProperties(), new ClockSyncService(new GameProperties()), new GameExecutors(new GameProperties()));
         
         Long quizId = 1L;
         int duration = 30;
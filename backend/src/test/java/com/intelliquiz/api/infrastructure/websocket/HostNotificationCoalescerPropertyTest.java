@@ -0,0 +1,191 @@
+package com.intelliquiz.api.infrastructure.websocket;
+
+import com.intelliquiz.api.domain.entities.Team;
+import com.intelliquiz.api.domain.ports.TeamRepository;
+import com.intelliquiz.api.infrastructure.config.GameProperties;
+import com.intelliquiz.api.infrastructure.config.LiveQuizSession;
+import com.intelliquiz.api.infrastructure.config.QuizBroadcastService;
+import com.intelliquiz.api.infrastructure.config.QuizSessionManager;
+import com.intelliquiz.api.infrastructure.websocket.dto.HostDigest;
+import com.intelliquiz.api.infrastructure.websocket.dto.HostNotification;
+import com.intelliquiz.api.infrastructure.websocket.dto.TeamInfo;
+import net.jqwik.api.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+/**
+ * Property-based tests for the host notification digest.
+ * Feature: websocket-realtime
+ */
+class HostNotificationCoalescerPropertyTest {
+
+    private static final long QUIZ_ID = 1L;
+
+    /**
+     * Property: A burst of joins and submissions reaches the host as at most one digest per
+     * interval, listing every team once with its name from the live session.
+     */
+    @Example
+    void burstIsCoalescedIntoFewDigests() throws InterruptedException {
+        Fixture f = new Fixture(100, 0);
+        try {
+            int teams = 500;
+            f.activate(teams);
+
+            long start = System.nanoTime();
+            for (long teamId = 1; teamId <= teams; teamId++) {
+                f.connect(teamId);
+                f.coalescer.teamSubmitted(QUIZ_ID, 100L, teamId, (int) teamId);
+                if (teamId % 5 == 0) {
+                    Thread.sleep(1);
+                }
+            }
+            long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+            Thread.sleep(300);
+
+            List<HostDigest> sent = f.broadcastService.sent;
+            assertThat(sent.size())
+                    .as("At most one digest per 100 ms over %d ms", elapsedMillis)
+                    .isBetween(1, (int) (elapsedMillis / 100) + 2);
+            assertThat(sent.stream().flatMap(d -> d.joined().stream()).map(TeamInfo::teamId))
+                    .containsExactlyInAnyOrderElementsOf(LongStream.rangeClosed(1, teams).boxed().toList());
+            assertThat(sent.stream().flatMap(d -> d.joined().stream()))
+                    .allMatch(info -> info.teamName().equals("Team " + info.teamId()) && info.isConnected());
+            assertThat(sent.stream().flatMap(d -> d.submitted().stream()))
+                    .hasSize(teams)
+                    .doesNotHaveDuplicates();
+            HostDigest last = sent.get(sent.size() - 1);
+            assertThat(last.connectedCount()).isEqualTo(teams);
+            assertThat(last.submittedCount()).isEqualTo(teams);
+            assertThat(last.questionId()).isEqualTo(100L);
+            verifyNoInteractions(f.teamRepository);
+        } finally {
+            f.executors.shutdown();
+        }
+    }
+
+    /**
+     * Property: A team that reconnects within the grace period is never reported as left or
+     * joined again; one that stays away is reported as left once.
+     */
+    @Example
+    void briefReconnectsProduceNoEvents() throws InterruptedException {
+        Fixture f = new Fixture(20, 200);
+        try {
+            f.activate(2);
+            f.connect(1L);
+            f.connect(2L);
+            Thread.sleep(100);
+            int afterJoins = f.broadcastService.sent.size();
+
+            for (int i = 0; i < 5; i++) {
+                f.disconnect(1L);
+                f.connect(1L);
+            }
+            f.disconnect(2L);
+            Thread.sleep(400);
+
+            List<HostDigest> sent = f.broadcastService.sent;
+            List<HostDigest> later = sent.subList(afterJoins, sent.size());
+            assertThat(later.stream().flatMap(d -> d.joined().stream())).isEmpty();
+            assertThat(later.stream().flatMap(d -> d.left().stream())).containsExactly(2L);
+            assertThat(sent.get(sent.size() - 1).connectedCount()).isEqualTo(1);
+        } finally {
+            f.executors.shutdown();
+        }
+    }
+
+    /**
+     * Property: A team the live session does not know is looked up once, then named from memory.
+     */
+    @Example
+    void unknownTeamIsLookedUpOnce() throws InterruptedException {
+        Fixture f = new Fixture(10, 0);
+        try {
+            f.activate(0);
+            Team team = new Team();
+            team.setId(42L);
+            team.setName("Late Team");
+            when(f.teamRepository.findById(42L)).thenReturn(Optional.of(team));
+
+            f.connect(42L);
+            Thread.sleep(100);
+            f.disconnect(42L);
+            Thread.sleep(100);
+            f.connect(42L);
+            Thread.sleep(100);
+
+            List<TeamInfo> joined = new ArrayList<>();
+            f.broadcastService.sent.forEach(d -> joined.addAll(d.joined()));
+            assertThat(joined).extracting(TeamInfo::teamName).containsExactly("Late Team", "Late Team");
+            verify(f.teamRepository, times(1)).findById(anyLong());
+        } finally {
+            f.executors.shutdown();
+        }
+    }
+
+    /**
+     * Wires a coalescer over a real session manager and executors, recording digests.
+     */
+    private static class Fixture {
+        final GameProperties gameProperties = new GameProperties();
+        final QuizSessionManager sessionManager = new QuizSessionManager();
+        final TeamRepository teamRepository = mock(TeamRepository.class);
+        final RecordingBroadcastService broadcastService = new RecordingBroadcastService(sessionManager);
+        final GameExecutors executors;
+        final HostNotificationCoalescer coalescer;
+
+        Fixture(long intervalMillis, long graceMillis) {
+            gameProperties.setHostDigestIntervalMillis(intervalMillis);
+            gameProperties.setHostDisconnectGraceMillis(graceMillis);
+            executors = new GameExecutors(gameProperties);
+            coalescer = new HostNotificationCoalescer(broadcastService, sessionManager, teamRepository,
+                    executors, gameProperties);
+        }
+
+        // Registers teams 1..count with their names, as LiveSessionPreparer does
+        void activate(int count) {
+            List<Long> teamIds = LongStream.rangeClosed(1, count).boxed().toList();
+            LiveQuizSession session = sessionManager.activate(QUIZ_ID, TeamIndex.of(teamIds, count));
+            teamIds.forEach(teamId -> session.putTeamName(teamId, "Team " + teamId));
+        }
+
+        // Same order as WebSocketEventListener: the session manager first, then the coalescer
+        void connect(long teamId) {
+            sessionManager.registerParticipant(QUIZ_ID, teamId, "session-" + teamId);
+            coalescer.teamConnected(QUIZ_ID, teamId);
+        }
+
+        void disconnect(long teamId) {
+            sessionManager.unregister("session-" + teamId);
+            coalescer.teamDisconnected(QUIZ_ID, teamId);
+        }
+    }
+
+    /**
+     * Records digests sent to the host.
+     */
+    private static class RecordingBroadcastService extends QuizBroadcastService {
+        private final List<HostDigest> sent = new CopyOnWriteArrayList<>();
+
+        RecordingBroadcastService(QuizSessionManager sessionManager) {
+            super(null, sessionManager, new GameProperties());
+        }
+
+        @Override
+        public void sendToHost(Long quizId, HostNotification notification) {
+            if (HostNotification.TEAM_DIGEST.equals(notification.type())) {
+                sent.add((HostDigest) notification.payload());
+            }
+        }
+    }
+}
@@ -0,0 +1,141 @@
+package com.intelliquiz.api.infrastructure.websocket;
+
+import net.jqwik.api.*;
+import net.jqwik.api.constraints.IntRange;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Property-based tests for the bounded, instrumented game executors.
+ * Feature: websocket-realtime
+ */
+class InstrumentedExecutorPropertyTest {
+
+    /**
+     * Property: Tasks submitted with the same key run in submission order.
+     */
+    @Property(tries = 10)
+    void keyedTasksRunInOrder(@ForAll @IntRange(min = 1, max = 20) int keys) throws InterruptedException {
+        InstrumentedExecutor executor = new InstrumentedExecutor("test", 4, 10_000);
+        try {
+            int perKey = 200;
+            Map<Integer, List<Integer>> seen = new ConcurrentHashMap<>();
+            CountDownLatch done = new CountDownLatch(keys * perKey);
+            for (int i = 0; i < perKey; i++) {
+                for (int key = 0; key < keys; key++) {
+                    int sequence = i;
+                    int k = key;
+                    executor.execute(k, () -> {
+                        seen.computeIfAbsent(k, x -> new CopyOnWriteArrayList<>()).add(sequence);
+                        done.countDown();
+                    });
+                }
+            }
+
+            assertThat(done.await(5, TimeUnit.SECONDS)).isTrue();
+            List<Integer> expected = IntStream.range(0, perKey).boxed().toList();
+            seen.values().forEach(order -> assertThat(order).isEqualTo(expected));
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    /**
+     * Property: Once the queue is full further tasks are rejected and counted.
+     */
+    @Example
+    void fullQueueRejects() throws InterruptedException {
+        InstrumentedExecutor executor = new InstrumentedExecutor("test", 1, 2);
+        try {
+            CountDownLatch running = new CountDownLatch(1);
+            CountDownLatch release = new CountDownLatch(1);
+            executor.execute(() -> {
+                running.countDown();
+                try {
+                    release.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+            assertThat(running.await(2, TimeUnit.SECONDS)).isTrue();
+
+            executor.execute(() -> {});
+            executor.execute("key", () -> {});
+            assertThat(executor.getQueueDepth()).isEqualTo(2);
+
+            assertThatThrownBy(() -> executor.execute(() -> {}))
+                    .isInstanceOf(RejectedExecutionException.class);
+
+            InstrumentedExecutor.Snapshot snapshot = executor.snapshot();
+            assertThat(snapshot.rejected()).isEqualTo(1);
+            assertThat(snapshot.maxQueueDepth()).isEqualTo(2);
+
+            release.countDown();
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    /**
+     * Property: Tasks that must not be lost are queued past a full queue and all run.
+     */
+    @Example
+    void mandatoryTasksPassFullQueue() throws InterruptedException {
+        InstrumentedExecutor executor = new InstrumentedExecutor("test", 1, 1);
+        try {
+            CountDownLatch running = new CountDownLatch(1);
+            CountDownLatch release = new CountDownLatch(1);
+            executor.execute(() -> {
+                running.countDown();
+                try {
+                    release.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+            assertThat(running.await(2, TimeUnit.SECONDS)).isTrue();
+            executor.execute(() -> {});
+
+            CountDownLatch ran = new CountDownLatch(3);
+            executor.executeMandatory(ran::countDown);
+            executor.executeMandatory(1L, ran::countDown);
+            executor.executeMandatory(1L, ran::countDown);
+            assertThatThrownBy(() -> executor.execute(1L, () -> {}))
+                    .isInstanceOf(RejectedExecutionException.class);
+
+            release.countDown();
+            assertThat(ran.await(2, TimeUnit.SECONDS)).isTrue();
+            assertThat(executor.snapshot().rejected()).isEqualTo(1);
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    /**
+     * Property: A failing task is counted and does not stop its key's later tasks.
+     */
+    @Example
+    void failingTaskDoesNotBlockKey() throws InterruptedException {
+        InstrumentedExecutor executor = new InstrumentedExecutor("test", 2, 100);
+        try {
+            CountDownLatch after = new CountDownLatch(1);
+            executor.execute(1L, () -> { throw new IllegalStateException("boom"); });
+            executor.execute(1L, after::countDown);
+
+            assertThat(after.await(2, TimeUnit.SECONDS)).isTrue();
+            assertThat(executor.snapshot().failed()).isEqualTo(1);
+        } finally {
+            executor.shutdown();
+        }
+    }
+}
@@ -0,0 +1,367 @@
+package com.intelliquiz.api.infrastructure.websocket;
+
+import com.intelliquiz.api.application.services.LeaderboardService;
+import com.intelliquiz.api.domain.entities.Question;
+import com.intelliquiz.api.domain.entities.Quiz;
+import com.intelliquiz.api.domain.enums.Difficulty;
+import com.intelliquiz.api.domain.enums.QuestionType;
+import com.intelliquiz.api.domain.ports.QuestionGradingRepository;
+import com.intelliquiz.api.domain.ports.QuestionRepository;
+import com.intelliquiz.api.domain.ports.QuizRepository;
+import com.intelliquiz.api.domain.ports.SubmissionBatchRepository;
+import com.intelliquiz.api.domain.ports.TeamRepository;
+import com.intelliquiz.api.infrastructure.config.GameProperties;
+import com.intelliquiz.api.infrastructure.config.QuizBroadcastService;
+import com.intelliquiz.api.infrastructure.config.QuizSessionManager;
+import com.intelliquiz.api.infrastructure.websocket.dto.AnswerDistribution;
+import com.intelliquiz.api.infrastructure.websocket.dto.AnswerRevealPayload;
+import com.intelliquiz.api.infrastructure.websocket.dto.ErrorMessage;
+import com.intelliquiz.api.infrastructure.websocket.dto.GameStateMessage;
+import com.intelliquiz.api.infrastructure.websocket.dto.QuestionPayload;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.converter.MappingJackson2MessageConverter;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+/**
+ * Soak run of many quizzes live on one node at once, each played from its buffer countdown
+ * through every question to its end, with per-quiz latencies.
+ *
+ * The game flow, timers, actors, submission buffer and journal (without fsync), tally, host
+ * digests and leaderboard are the real ones; broadcasts go through a real
+ * {@link SimpMessagingTemplate} with Jackson conversion into a channel that only counts
+ * frames. Repositories are stubs, so the database is not part of the result.
+ *
+ * Every team answers each question once, after a random delay within the first part of the
+ * question's time, from an inbound pool with twice as many threads as cores that posts the
+ * answer to the quiz's {@link QuizActor}. The host advances shortly after each reveal and ends
+ * the quiz after the last one. Per quiz, the run reports the acknowledgement latency (from
+ * the inbound thread taking the answer to the confirmation being sent) and the reveal lag
+ * (from the question's deadline to its reveal being sent). It fails if any quiz does not end;
+ * {@link MultiQuizSoakPropertyTest} plays a shorter game the same way in the test suite.
+ *
+ * Run with:
+ * <pre>
+ * mvn -q test-compile exec:java -Dexec.classpathScope=test \
+ *     -Dexec.mainClass=com.intelliquiz.api.infrastructure.websocket.MultiQuizSoakBenchmark \
+ *     -Dexec.args="50 40 5 3"
+ * </pre>
+ * The optional arguments are the number of quizzes (default 50), the teams in each quiz
+ * (default 40), the questions in each quiz (default 5) and each question's time limit in
+ * seconds (default 3).
+ */
+public class MultiQuizSoakBenchmark {
+
+    private static final long HOST_DELAY_MILLIS = 200;
+
+    public static void main(String[] args) throws Exception {
+        int quizzes = args.length > 0 ? Integer.parseInt(args[0]) : 50;
+        int teams = args.length > 1 ? Integer.parseInt(args[1]) : 40;
+        int questions = args.length > 2 ? Integer.parseInt(args[2]) : 5;
+        int timeLimit = args.length > 3 ? Integer.parseInt(args[3]) : 3;
+
+        System.out.printf("%d quizzes x %d teams, %d questions of %ds%n", quizzes, teams, questions, timeLimit);
+        Soak soak = run(quizzes, teams, questions, timeLimit);
+        List<Long> stuck = soak.runs().stream().filter(run -> !run.ended()).map(QuizRun::quizId).toList();
+        if (!stuck.isEmpty()) {
+            throw new IllegalStateException(stuck.size() + " quizzes did not end: " + stuck);
+        }
+
+        System.out.printf("%-6s %8s %7s %10s %10s %10s %12s %12s%n",
+                "quiz", "acks", "errors", "ack p50", "ack p99", "ack max", "reveal p50", "reveal max");
+        List<Long> allAcks = new ArrayList<>();
+        List<Long> allReveals = new ArrayList<>();
+        for (QuizRun run : soak.runs()) {
+            long[] acks = sorted(run.acks);
+            long[] reveals = sorted(run.revealLags);
+            allAcks.addAll(run.acks);
+            allReveals.addAll(run.revealLags);
+            System.out.printf("%-6d %8d %7d %8.2fms %8.2fms %8.2fms %10.2fms %10.2fms%n",
+                    run.quizId(), acks.length, run.errors.get(),
+                    millis(acks, 0.50), millis(acks, 0.99), millis(acks, 1.0),
+                    millis(reveals, 0.50), millis(reveals, 1.0));
+        }
+        long[] acks = sorted(allAcks);
+        long[] reveals = sorted(allReveals);
+        System.out.printf("%-6s %8d %7d %8.2fms %8.2fms %8.2fms %10.2fms %10.2fms%n",
+                "all", acks.length, soak.runs().stream().mapToInt(run -> run.errors.get()).sum(),
+                millis(acks, 0.50), millis(acks, 0.99), millis(acks, 1.0),
+                millis(reveals, 0.50), millis(reveals, 1.0));
+        System.out.printf("%d frames sent, %.1fs elapsed%n",
+                soak.frames(), TimeUnit.NANOSECONDS.toMillis(soak.elapsedNanos()) / 1e3);
+    }
+
+    /**
+     * Plays the quizzes until every one has ended or the time allowed for them has passed.
+     *
+     * @return every quiz's run, by quiz ID, whether it ended or not
+     */
+    static Soak run(int quizzes, int teams, int questions, int timeLimit) throws Exception {
+        GameProperties gameProperties = new GameProperties();
+        gameProperties.setJournalDirectory(Files.createTempDirectory("soak-journal").toString());
+        gameProperties.setJournalFsync(false);
+
+        QuizRepository quizRepository = mock(QuizRepository.class, withSettings().stubOnly());
+        when(quizRepository.findById(anyLong())).thenAnswer(inv -> {
+            Quiz quiz = new Quiz();
+            quiz.setId(inv.getArgument(0));
+            return Optional.of(quiz);
+        });
+        QuestionRepository questionRepository = mock(QuestionRepository.class, withSettings().stubOnly());
+        when(questionRepository.findByQuizOrderByOrderIndex(any(Quiz.class)))
+                .thenAnswer(inv -> questions(inv.getArgument(0), questions, timeLimit));
+        AnswerDistributionService distributionService = mock(AnswerDistributionService.class, withSettings().stubOnly());
+        when(distributionService.calculateDistribution(anyLong())).thenReturn(AnswerDistribution.empty());
+
+        CountingChannel wire = new CountingChannel();
+        SimpMessagingTemplate template = new SimpMessagingTemplate(wire);
+        template.setMessageConverter(new MappingJackson2MessageConverter());
+        QuizSessionManager sessionManager = new QuizSessionManager();
+        GameExecutors executors = new GameExecutors(gameProperties);
+        QuizActors actors = new QuizActors(gameProperties);
+        ClockSyncService clockSyncService = new ClockSyncService(gameProperties);
+        SoakBroadcast broadcastService = new SoakBroadcast(template, sessionManager, timeLimit);
+        QuizTimerService timerService = new QuizTimerService(
+                broadcastService, sessionManager, gameProperties, clockSyncService, executors);
+        SubmissionBuffer submissionBuffer = new SubmissionBuffer(new SubmissionJournal(gameProperties),
+                mock(SubmissionBatchRepository.class, withSettings().stubOnly()));
+        GameFlowService gameFlowService = new GameFlowService(
+                timerService, broadcastService,
+                new HostNotificationCoalescer(broadcastService, sessionManager,
+                        mock(TeamRepository.class, withSettings().stubOnly()), executors, gameProperties),
+                sessionManager, quizRepository,
+                new QuizDeckCache(quizRepository, questionRepository),
+                mock(QuestionGradingRepository.class, withSettings().stubOnly()),
+                distributionService,
+                new AnswerTallyService(broadcastService, executors, gameProperties),
+                submissionBuffer, clockSyncService, new LeaderboardService(),
+                gameProperties, actors, new QuizCheckpoints(gameProperties, sessionManager, timerService));
+
+        ScheduledExecutorService inbound = Executors.newScheduledThreadPool(Runtime.getRuntime().availableProcessors() * 2);
+        ScheduledExecutorService host = Executors.newSingleThreadScheduledExecutor();
+        broadcastService.wire(gameFlowService, actors, inbound, host, quizzes, questions);
+
+        for (long quizId = 1; quizId <= quizzes; quizId++) {
+            QuizRun run = broadcastService.add(quizId, teams);
+            for (int t = 0; t < teams; t++) {
+                sessionManager.registerParticipant(quizId, run.teamId(t), "session-" + run.teamId(t));
+            }
+        }
+
+        long startedAt = System.nanoTime();
+        try {
+            for (long quizId = 1; quizId <= quizzes; quizId++) {
+                long quiz = quizId;
+                actors.tell(quiz, () -> gameFlowService.startRound(quiz, "EASY"));
+            }
+            broadcastService.ended.await(30 + (long) questions * (timeLimit + 5), TimeUnit.SECONDS);
+        } finally {
+            host.shutdownNow();
+            inbound.shutdownNow();
+            timerService.shutdown();
+            actors.shutdown();
+            executors.shutdown();
+        }
+        long elapsed = System.nanoTime() - startedAt;
+        List<QuizRun> runs = broadcastService.runs.values().stream()
+                .sorted((a, b) -> Long.compare(a.quizId(), b.quizId()))
+                .toList();
+        return new Soak(runs, wire.frames.get(), elapsed);
+    }
+
+    private static List<Question> questions(Quiz quiz, int count, int timeLimit) {
+        List<Question> questions = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Question question = new Question();
+            question.setId(quiz.getId() * 1_000 + i);
+            question.setQuiz(quiz);
+            question.setText("Question " + i + "?");
+            question.setType(QuestionType.MULTIPLE_CHOICE);
+            question.setDifficulty(Difficulty.EASY);
+            question.setOptions(List.of("1", "2", "3", "4"));
+            question.setCorrectKey("B");
+            question.setPoints(10);
+            question.setTimeLimit(timeLimit);
+            question.setOrderIndex(i);
+            questions.add(question);
+        }
+        return questions;
+    }
+
+    private static long[] sorted(Iterable<Long> samples) {
+        List<Long> copy = new ArrayList<>();
+        samples.forEach(copy::add);
+        long[] nanos = copy.stream().mapToLong(Long::longValue).toArray();
+        Arrays.sort(nanos);
+        return nanos;
+    }
+
+    private static double millis(long[] sorted, double percentile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.min(sorted.length - 1, Math.ceil(sorted.length * percentile) - 1);
+        return TimeUnit.NANOSECONDS.toMicros(sorted[Math.max(0, index)]) / 1e3;
+    }
+
+    /**
+     * Outcome of a soak run.
+     */
+    record Soak(List<QuizRun> runs, long frames, long elapsedNanos) {}
+
+    /**
+     * State of one quiz in the run. Answer send times are written on the inbound pool and read
+     * on the quiz's actor, after the answer is posted there.
+     */
+    static final class QuizRun {
+        private final long quizId;
+        private final long[] sentAt;
+        private final ConcurrentLinkedQueue<Long> acks = new ConcurrentLinkedQueue<>();
+        private final ConcurrentLinkedQueue<Long> revealLags = new ConcurrentLinkedQueue<>();
+        private final AtomicInteger errors = new AtomicInteger();
+        private volatile long deadline;
+        private volatile int questionIndex;
+        private volatile boolean ended;
+
+        QuizRun(long quizId, int teams) {
+            this.quizId = quizId;
+            this.sentAt = new long[teams];
+        }
+
+        long quizId() {
+            return quizId;
+        }
+
+        boolean ended() {
+            return ended;
+        }
+
+        int reveals() {
+            return revealLags.size();
+        }
+
+        long teamId(int team) {
+            return quizId * 100_000 + team;
+        }
+
+        int team(long teamId) {
+            return (int) (teamId - quizId * 100_000);
+        }
+    }
+
+    /**
+     * Plays the teams and the host off the quiz's broadcasts: a question makes every team
+     * answer, a reveal makes the host advance. Everything is still sent to the wire.
+     */
+    private static final class SoakBroadcast extends QuizBroadcastService {
+        private final Map<Long, QuizRun> runs = new ConcurrentHashMap<>();
+        private final int timeLimitSeconds;
+        private CountDownLatch ended;
+        private GameFlowService gameFlowService;
+        private QuizActors actors;
+        private ScheduledExecutorService inbound;
+        private ScheduledExecutorService host;
+        private int questions;
+
+        SoakBroadcast(SimpMessagingTemplate template, QuizSessionManager sessionManager, int timeLimitSeconds) {
+            super(template, sessionManager, new GameProperties());
+            this.timeLimitSeconds = timeLimitSeconds;
+        }
+
+        void wire(GameFlowService gameFlowService, QuizActors actors,
+                  ScheduledExecutorService inbound, ScheduledExecutorService host, int quizzes, int questions) {
+            this.ended = new CountDownLatch(quizzes);
+            this.gameFlowService = gameFlowService;
+            this.actors = actors;
+            this.inbound = inbound;
+            this.host = host;
+            this.questions = questions;
+        }
+
+        QuizRun add(long quizId, int teams) {
+            QuizRun run = new QuizRun(quizId, teams);
+            runs.put(quizId, run);
+            return run;
+        }
+
+        @Override
+        public void broadcastQuestion(Long quizId, QuestionPayload question) {
+            super.broadcastQuestion(quizId, question);
+            QuizRun run = runs.get(quizId);
+            run.deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(timeLimitSeconds);
+            long answerWindowMillis = timeLimitSeconds * 700L;
+            for (int t = 0; t < run.sentAt.length; t++) {
+                int team = t;
+                long teamId = run.teamId(t);
+                String answer = String.valueOf((char) ('A' + ThreadLocalRandom.current().nextInt(4)));
+                inbound.schedule(() -> {
+                    run.sentAt[team] = System.nanoTime();
+                    actors.tell(quizId, () -> gameFlowService.handleSubmission(
+                            quizId, teamId, question.questionId(), answer, "session-" + teamId));
+                }, ThreadLocalRandom.current().nextLong(answerWindowMillis), TimeUnit.MILLISECONDS);
+            }
+        }
+
+        @Override
+        public void broadcastAnswerReveal(Long quizId, AnswerRevealPayload reveal) {
+            super.broadcastAnswerReveal(quizId, reveal);
+            QuizRun run = runs.get(quizId);
+            run.revealLags.add(System.nanoTime() - run.deadline);
+            boolean last = ++run.questionIndex >= questions;
+            host.schedule(() -> actors.tell(quizId, last
+                    ? () -> gameFlowService.endQuiz(quizId)
+                    : () -> gameFlowService.advanceToNextQuestion(quizId)), HOST_DELAY_MILLIS, TimeUnit.MILLISECONDS);
+        }
+
+        @Override
+        public void broadcastGameState(Long quizId, GameStateMessage stateMessage) {
+            super.broadcastGameState(quizId, stateMessage);
+            QuizRun run = runs.get(quizId);
+            if (stateMessage.state() == GameState.ENDED && run != null && !run.ended) {
+                run.ended = true;
+                ended.countDown();
+            }
+        }
+
+        @Override
+        public void sendSubmissionConfirmation(Long quizId, Long teamId, Long questionId) {
+            super.sendSubmissionConfirmation(quizId, teamId, questionId);
+            QuizRun run = runs.get(quizId);
+            run.acks.add(System.nanoTime() - run.sentAt[run.team(teamId)]);
+        }
+
+        @Override
+        public void sendError(String sessionId, ErrorMessage error) {
+            super.sendError(sessionId, error);
+            long teamId = Long.parseLong(sessionId.substring("session-".length()));
+            runs.get(teamId / 100_000).errors.incrementAndGet();
+        }
+    }
+
+    /**
+     * Counts the frames handed to the broker.
+     */
+    private static final class CountingChannel implements MessageChannel {
+        private final AtomicLong frames = new AtomicLong();
+
+        @Override
+        public boolean send(Message<?> message, long timeout) {
+            frames.incrementAndGet();
+            return true;
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package com.intelliquiz.api.infrastructure.websocket;
+
+import net.jqwik.api.Example;
+import net.jqwik.api.Tag;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Soak test of many quizzes live on one node at once, played as {@link MultiQuizSoakBenchmark}
+ * plays them, with shorter questions. Takes about 15 seconds; tagged {@code soak}, so it can
+ * be left out with {@code mvn test -DexcludedGroups=soak}.
+ * Feature: websocket-realtime
+ */
+@Tag("soak")
+class MultiQuizSoakPropertyTest {
+
+    private static final int QUIZZES = 50;
+    private static final int TEAMS = 40;
+    private static final int QUESTIONS = 3;
+    private static final int TIME_LIMIT_SECONDS = 1;
+
+    /**
+     * Property: Fifty quizzes played at once all reach their end, each with every question
+     * revealed.
+     */
+    @Example
+    void fiftySimultaneousQuizzesAllEnd() throws Exception {
+        MultiQuizSoakBenchmark.Soak soak = MultiQuizSoakBenchmark.run(QUIZZES, TEAMS, QUESTIONS, TIME_LIMIT_SECONDS);
+
+        assertThat(soak.runs()).hasSize(QUIZZES);
+        assertThat(soak.runs()).allSatisfy(run -> {
+            assertThat(run.ended()).as("Quiz %d ended", run.quizId()).isTrue();
+            assertThat(run.reveals()).as("Questions revealed in quiz %d", run.quizId()).isEqualTo(QUESTIONS);
+        });
+    }
+}
@@ -0,0 +1,193 @@
+package com.intelliquiz.api.infrastructure.websocket;
+
+import com.intelliquiz.api.application.services.LeaderboardService;
+import com.intelliquiz.api.domain.ports.QuestionGradingRepository;
+import com.intelliquiz.api.domain.ports.QuestionRepository;
+import com.intelliquiz.api.domain.ports.QuizRepository;
+import com.intelliquiz.api.domain.ports.SubmissionBatchRepository;
+import com.intelliquiz.api.domain.ports.TeamRepository;
+import com.intelliquiz.api.infrastructure.config.GameProperties;
+import com.intelliquiz.api.infrastructure.config.QuizBroadcastService;
+import com.intelliquiz.api.infrastructure.config.QuizSessionManager;
+import com.intelliquiz.api.infrastructure.websocket.dto.ErrorMessage;
+import com.intelliquiz.api.infrastructure.websocket.dto.HostNotification;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+/**
+ * Answer throughput and acknowledgement latency of {@link GameFlowService#handleSubmission}:
+ * called directly on the inbound pool (the former design), versus posted from the inbound pool
+ * to the quiz's {@link QuizActor}.
+ *
+ * Every team is a client on its own virtual thread that submits an answer, waits for its
+ * confirmation and submits again, so the latency is the full time from handing the answer to
+ * the inbound pool until the confirmation is sent. The inbound pool has twice as many threads
+ * as cores, like Spring's {@code clientInboundChannel}. The buffer and journal are real, the
+ * journal with fsync as in production; repositories are stubs, so the database is not part of
+ * the result.
+ *
+ * Not part of the test suite. Run with:
+ * <pre>
+ * mvn -q test-compile exec:java -Dexec.classpathScope=test \
+ *     -Dexec.mainClass=com.intelliquiz.api.infrastructure.websocket.QuizActorBenchmark \
+ *     -Dexec.args="20"
+ * </pre>
+ * The optional argument is the number of answers each team submits per scenario (default 20).
+ */
+public class QuizActorBenchmark {
+
+    private static final int[][] SCENARIOS = {{1, 1_000}, {10, 200}, {50, 100}};
+    private static final long QUESTION_OFFSET = 1_000_000L;
+
+    public static void main(String[] args) throws Exception {
+        int answersPerTeam = args.length > 0 ? Integer.parseInt(args[0]) : 20;
+
+        System.out.printf("%-8s %-8s %-10s %12s %10s %10s%n",
+                "quizzes", "teams", "design", "answers/s", "p50 us", "p99 us");
+        for (int[] scenario : SCENARIOS) {
+            int quizzes = scenario[0];
+            int teams = scenario[1];
+            print(quizzes, teams, "direct", run(quizzes, teams, answersPerTeam, false));
+            print(quizzes, teams, "actor", run(quizzes, teams, answersPerTeam, true));
+        }
+    }
+
+    private static Result run(int quizzes, int teamsPerQuiz, int answersPerTeam, boolean useActors)
+            throws IOException, InterruptedException {
+        GameProperties gameProperties = new GameProperties();
+        gameProperties.setJournalDirectory(Files.createTempDirectory("bench-journal").toString());
+        gameProperties.setLiveDistributionIntervalMillis(0);
+
+        AckRecorder broadcastService = new AckRecorder();
+        QuizSessionManager sessionManager = new QuizSessionManager();
+        QuizTimerService timerService = mock(QuizTimerService.class, withSettings().stubOnly());
+        when(timerService.isTimerActive(anyLong())).thenReturn(true);
+        QuizRepository quizRepository = mock(QuizRepository.class, withSettings().stubOnly());
+        SubmissionBuffer submissionBuffer = new SubmissionBuffer(new SubmissionJournal(gameProperties),
+                mock(SubmissionBatchRepository.class, withSettings().stubOnly()));
+        GameExecutors executors = new GameExecutors(gameProperties);
+        QuizActors actors = new QuizActors(gameProperties);
+        GameFlowService gameFlowService = new GameFlowService(
+                timerService, broadcastService,
+                new HostNotificationCoalescer(broadcastService, sessionManager,
+                        mock(TeamRepository.class, withSettings().stubOnly()), executors, gameProperties),
+                sessionManager, quizRepository,
+                new QuizDeckCache(quizRepository, mock(QuestionRepository.class, withSettings().stubOnly())),
+                mock(QuestionGradingRepository.class, withSettings().stubOnly()),
+                mock(AnswerDistributionService.class, withSettings().stubOnly()),
+                new AnswerTallyService(broadcastService, executors, gameProperties),
+                submissionBuffer, new ClockSyncService(gameProperties), new LeaderboardService(),
+                gameProperties, actors, new QuizCheckpoints(gameProperties, sessionManager, timerService));
+
+        for (long quizId = 1; quizId <= quizzes; quizId++) {
+            sessionManager.setCurrentState(quizId, GameState.ACTIVE);
+            sessionManager.setCurrentQuestionId(quizId, QUESTION_OFFSET + quizId);
+            submissionBuffer.open(quizId, QUESTION_OFFSET + quizId);
+            for (int t = 0; t < teamsPerQuiz; t++) {
+                long teamId = quizId * 100_000 + t;
+                sessionManager.registerParticipant(quizId, teamId, "session-" + teamId);
+            }
+        }
+
+        ExecutorService inbound = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors() * 2);
+        ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor();
+        int clientCount = quizzes * teamsPerQuiz;
+        long[] latencies = new long[clientCount * answersPerTeam];
+        AtomicLong latencyIndex = new AtomicLong();
+        CountDownLatch finished = new CountDownLatch(clientCount);
+        long startedAt = System.nanoTime();
+        long elapsed;
+        try {
+            for (long quizId = 1; quizId <= quizzes; quizId++) {
+                for (int t = 0; t < teamsPerQuiz; t++) {
+                    long quiz = quizId;
+                    long teamId = quizId * 100_000 + t;
+                    Semaphore acked = broadcastService.register(teamId);
+                    clients.execute(() -> {
+                        for (int i = 0; i < answersPerTeam; i++) {
+                            String answer = String.valueOf((char) ('A' + i % 4));
+                            Runnable submit = () -> gameFlowService.handleSubmission(
+                                    quiz, teamId, QUESTION_OFFSET + quiz, answer, "session-" + teamId);
+                            long sentAt = System.nanoTime();
+                            inbound.execute(useActors ? () -> actors.tell(quiz, submit) : submit);
+                            acked.acquireUninterruptibly();
+                            latencies[(int) latencyIndex.getAndIncrement()] = System.nanoTime() - sentAt;
+                        }
+                        finished.countDown();
+                    });
+                }
+            }
+            finished.await();
+            elapsed = System.nanoTime() - startedAt;
+        } finally {
+            clients.shutdownNow();
+            inbound.shutdownNow();
+            actors.shutdown();
+            executors.shutdown();
+            for (long quizId = 1; quizId <= quizzes; quizId++) {
+                submissionBuffer.closeQuiz(quizId);
+            }
+        }
+
+        Arrays.sort(latencies);
+        return new Result(latencies.length * 1e9 / elapsed, percentile(latencies, 0.50), percentile(latencies, 0.99));
+    }
+
+    private static long percentile(long[] sorted, double percentile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.min(sorted.length - 1, Math.ceil(sorted.length * percentile) - 1);
+        return TimeUnit.NANOSECONDS.toMicros(sorted[Math.max(0, index)]);
+    }
+
+    private static void print(int quizzes, int teams, String design, Result result) {
+        System.out.printf("%-8d %-8d %-10s %12.0f %10d %10d%n",
+                quizzes, teams, design, result.answersPerSecond(), result.p50Micros(), result.p99Micros());
+    }
+
+    private record Result(double answersPerSecond, long p50Micros, long p99Micros) {}
+
+    /**
+     * Releases the waiting client when its confirmation (or an error) is sent; other messages are dropped.
+     */
+    private static class AckRecorder extends QuizBroadcastService {
+        private final Map<Long, Semaphore> clients = new ConcurrentHashMap<>();
+
+        AckRecorder() {
+            super(null, new QuizSessionManager(), new GameProperties());
+        }
+
+        Semaphore register(Long teamId) {
+            Semaphore acked = new Semaphore(0);
+            clients.put(teamId, acked);
+            return acked;
+        }
+
+        @Override
+        public void sendSubmissionConfirmation(Long quizId, Long teamId, Long questionId) {
+            clients.get(teamId).release();
+        }
+
+        @Override
+        public void sendError(String sessionId, ErrorMessage error) {
+            clients.get(Long.parseLong(sessionId.substring("session-".length()))).release();
+        }
+
+        @Override
+        public void sendToHost(Long quizId, HostNotification notification) {
+        }
+
+        @Override
+        public void notifyAllSubmitted(Long quizId, int teamCount) {
+        }
+    }
+}
@@ -0,0 +1,262 @@
+package com.intelliquiz.api.infrastructure.websocket;
+
+import com.intelliquiz.api.infrastructure.config.GameProperties;
+import net.jqwik.api.*;
+import net.jqwik.api.constraints.IntRange;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Property-based tests for the per-quiz single-writer actors.
+ * Feature: websocket-realtime
+ */
+class QuizActorPropertyTest {
+
+    /**
+     * Property: Tasks posted to one quiz from many threads run one at a time,
+     * and each poster's tasks run in the order it posted them.
+     */
+    @Property(tries = 10)
+    void tasksOfAQuizRunOneAtATimeInPostingOrder(
+            @ForAll @IntRange(min = 1, max = 8) int posters,
+            @ForAll @IntRange(min = 1, max = 5) int quizzes
+    ) throws InterruptedException {
+        QuizActors actors = new QuizActors(new GameProperties());
+        ExecutorService posterPool = Executors.newFixedThreadPool(posters);
+        try {
+            int perPoster = 500;
+            AtomicInteger[] running = new AtomicInteger[quizzes];
+            AtomicInteger overlaps = new AtomicInteger();
+            // Quiz -> poster -> sequence numbers seen; only ever written by the quiz's actor
+            List<List<List<Integer>>> seen = new ArrayList<>();
+            for (int q = 0; q < quizzes; q++) {
+                running[q] = new AtomicInteger();
+                List<List<Integer>> perPosterSeen = new ArrayList<>();
+                for (int p = 0; p < posters; p++) {
+                    perPosterSeen.add(new ArrayList<>());
+                }
+                seen.add(perPosterSeen);
+            }
+            CountDownLatch done = new CountDownLatch(posters * quizzes * perPoster);
+
+            for (int p = 0; p < posters; p++) {
+                int poster = p;
+                posterPool.execute(() -> {
+                    for (int i = 0; i < perPoster; i++) {
+                        for (int q = 0; q < quizzes; q++) {
+                            int quiz = q;
+                            int sequence = i;
+                            actors.tell((long) quiz, () -> {
+                                if (running[quiz].incrementAndGet() > 1) {
+                                    overlaps.incrementAndGet();
+                                }
+                                seen.get(quiz).get(poster).add(sequence);
+                                running[quiz].decrementAndGet();
+                                done.countDown();
+                            });
+                        }
+                    }
+                });
+            }
+
+            assertThat(done.await(10, TimeUnit.SECONDS)).isTrue();
+            assertThat(overlaps.get()).as("Tasks of one quiz never overlap").isZero();
+            List<Integer> expected = IntStream.range(0, perPoster).boxed().toList();
+            seen.forEach(perPosterSeen -> perPosterSeen.forEach(order -> assertThat(order).isEqualTo(expected)));
+        } finally {
+            posterPool.shutdownNow();
+            actors.shutdown();
+        }
+    }
+
+    /**
+     * Property: A slow quiz does not hold up another quiz's tasks.
+     */
+    @Example
+    void slowQuizDoesNotBlockOtherQuizzes() throws InterruptedException {
+        QuizActors actors = new QuizActors(new GameProperties());
+        try {
+            CountDownLatch release = new CountDownLatch(1);
+            actors.tell(1L, () -> awaitQuietly(release));
+
+            CountDownLatch otherDone = new CountDownLatch(1);
+            actors.tell(2L, otherDone::countDown);
+
+            assertThat(otherDone.await(2, TimeUnit.SECONDS)).isTrue();
+            release.countDown();
+        } finally {
+            actors.shutdown();
+        }
+    }
+
+    /**
+     * Property: A full mailbox rejects further tasks and counts them; a failing task
+     * does not stop the tasks after it.
+     */
+    @Example
+    void fullMailboxRejectsAndFailuresAreContained() throws InterruptedException {
+        GameProperties gameProperties = new GameProperties();
+        gameProperties.setActorMailboxCapacity(2);
+        QuizActors actors = new QuizActors(gameProperties);
+        try {
+            CountDownLatch running = new CountDownLatch(1);
+            CountDownLatch release = new CountDownLatch(1);
+            actors.tell(1L, () -> {
+                running.countDown();
+                awaitQuietly(release);
+            });
+            assertThat(running.await(2, TimeUnit.SECONDS)).isTrue();
+
+            CountDownLatch afterFailure = new CountDownLatch(1);
+            actors.tell(1L, () -> {
+                throw new IllegalStateException("boom");
+            });
+            actors.tell(1L, afterFailure::countDown);
+            assertThatThrownBy(() -> actors.tell(1L, () -> {}))
+                    .isInstanceOf(RejectedExecutionException.class);
+
+            release.countDown();
+            assertThat(afterFailure.await(2, TimeUnit.SECONDS)).isTrue();
+
+            Map<Long, QuizActor.Snapshot> snapshots = new ConcurrentHashMap<>();
+            actors.snapshots().forEach(s -> snapshots.put(s.quizId(), s));
+            QuizActor.Snapshot snapshot = snapshots.get(1L);
+            assertThat(snapshot.rejected()).isEqualTo(1);
+            assertThat(snapshot.failed()).isEqualTo(1);
+            assertThat(snapshot.maxMailboxDepth()).isEqualTo(2);
+        } finally {
+            actors.shutdown();
+        }
+    }
+
+    /**
+     * Property: Asking from the actor's own thread runs inline instead of waiting on itself.
+     */
+    @Example
+    void askFromOwnThreadRunsInline() throws Exception {
+        QuizActors actors = new QuizActors(new GameProperties());
+        try {
+            List<String> order = new CopyOnWriteArrayList<>();
+            actors.ask(1L, () -> {
+                order.add("outer");
+                actors.ask(1L, () -> order.add("inner")).join();
+                order.add("after");
+            }).get(2, TimeUnit.SECONDS);
+
+            assertThat(order).containsExactly("outer", "inner", "after");
+        } finally {
+            actors.shutdown();
+        }
+    }
+
+    /**
+     * Property: Releasing a quiz's actor, even from one of its own tasks, while tasks are still
+     * queued and more keep arriving never lets two threads run the quiz's tasks at once, and
+     * every task runs in posting order.
+     */
+    @Property(tries = 20)
+    void releaseWhileDrainingKeepsOneWriter(@ForAll @IntRange(min = 1, max = 200) int releaseAfter)
+            throws InterruptedException {
+        QuizActors actors = new QuizActors(new GameProperties());
+        try {
+            int tasks = 400;
+            AtomicInteger running = new AtomicInteger();
+            AtomicInteger overlaps = new AtomicInteger();
+            List<Integer> seen = new CopyOnWriteArrayList<>();
+            CountDownLatch done = new CountDownLatch(tasks);
+            for (int i = 0; i < tasks; i++) {
+                int sequence = i;
+                actors.tell(1L, () -> {
+                    if (running.incrementAndGet() > 1) {
+                        overlaps.incrementAndGet();
+                    }
+                    seen.add(sequence);
+                    if (sequence == releaseAfter) {
+                        actors.release(1L);
+                    }
+                    running.decrementAndGet();
+                    done.countDown();
+                });
+                if (i == releaseAfter / 2) {
+                    actors.release(1L);
+                }
+            }
+
+            assertThat(done.await(10, TimeUnit.SECONDS)).isTrue();
+            assertThat(overlaps.get()).as("Tasks of one quiz never overlap").isZero();
+            assertThat(seen).isEqualTo(IntStream.range(0, tasks).boxed().toList());
+        } finally {
+            actors.shutdown();
+        }
+    }
+
+    /**
+     * Property: A released actor is forgotten once it has run its last task, and the next task
+     * for the quiz starts a new one.
+     */
+    @Example
+    void releasedActorRetiresOnceIdle() throws Exception {
+        QuizActors actors = new QuizActors(new GameProperties());
+        try {
+            actors.ask(1L, () -> {}).get(2, TimeUnit.SECONDS);
+            actors.release(1L);
+            for (int i = 0; i < 100 && !actors.snapshots().isEmpty(); i++) {
+                Thread.sleep(10);
+            }
+            assertThat(actors.snapshots()).as("The retired actor is forgotten").isEmpty();
+
+            actors.ask(1L, () -> {}).get(2, TimeUnit.SECONDS);
+            assertThat(actors.snapshots()).extracting(QuizActor.Snapshot::processed).containsExactly(1L);
+        } finally {
+            actors.shutdown();
+        }
+    }
+
+    /**
+     * Property: Timer callbacks are posted past a full mailbox instead of being rejected, and the
+     * thread posting them does not wait for the busy actor.
+     */
+    @Example
+    void timerCallbacksBypassMailboxCapacity() throws Exception {
+        GameProperties gameProperties = new GameProperties();
+        gameProperties.setActorMailboxCapacity(1);
+        QuizActors actors = new QuizActors(gameProperties);
+        try {
+            CountDownLatch running = new CountDownLatch(1);
+            CountDownLatch release = new CountDownLatch(1);
+            actors.tell(1L, () -> {
+                running.countDown();
+                awaitQuietly(release);
+            });
+            assertThat(running.await(2, TimeUnit.SECONDS)).isTrue();
+            actors.tell(1L, () -> {});
+            assertThatThrownBy(() -> actors.tell(1L, () -> {}))
+                    .isInstanceOf(RejectedExecutionException.class);
+
+            CountDownLatch ran = new CountDownLatch(2);
+            actors.tellUnbounded(1L, ran::countDown);
+            actors.onActor(1L, ran::countDown).run();
+            assertThat(ran.getCount()).as("Neither ran while the actor was busy").isEqualTo(2);
+            release.countDown();
+            assertThat(ran.await(2, TimeUnit.SECONDS)).isTrue();
+        } finally {
+            actors.shutdown();
+        }
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,233 @@
+package com.intelliquiz.api.infrastructure.websocket;
+
+import com.intelliquiz.api.infrastructure.config.GameProperties;
+import com.intelliquiz.api.infrastructure.config.QuizSessionManager;
+import net.jqwik.api.*;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Property-based tests for the memory-mapped quiz checkpoints.
+ * Feature: websocket-realtime
+ */
+class QuizCheckpointsPropertyTest {
+
+    /**
+     * Property: A checkpoint written before a restart is read back unchanged after it.
+     */
+    @Property(tries = 50)
+    void checkpointSurvivesRestart(
+            @ForAll("states") GameState state,
+            @ForAll("indexes") int questionIndex,
+            @ForAll boolean paused,
+            @ForAll("roundNames") String roundName
+    ) throws IOException {
+        Path dir = tempDir();
+        QuizCheckpoint written = new QuizCheckpoint(7L, state, questionIndex,
+                questionIndex > 0 ? 700L + questionIndex : null, paused ? 0 : 1_700_000_060_000L,
+                paused ? 12_345 : 0, paused, 1_700_000_000_000L, roundName);
+
+        QuizCheckpoints before = checkpoints(dir);
+        before.write(written);
+        before.close();
+
+        assertThat(checkpoints(dir).readAll()).containsExactly(written);
+    }
+
+    @Provide
+    Arbitrary<GameState> states() {
+        return Arbitraries.of(GameState.class);
+    }
+
+    @Provide
+    Arbitrary<Integer> indexes() {
+        return Arbitraries.integers().between(0, 200);
+    }
+
+    @Provide
+    Arbitrary<String> roundNames() {
+        return Arbitraries.of("EASY", "MEDIUM", "HARD", "TIE_BREAKER").injectNull(0.2);
+    }
+
+    /**
+     * Property: A round name too long for its slot is read back cut short at a character
+     * boundary, never as a broken character.
+     */
+    @Property(tries = 50)
+    void longRoundNameIsCutAtCharacterBoundary(@ForAll("longRoundNames") String roundName) throws IOException {
+        Path dir = tempDir();
+        QuizCheckpoints before = checkpoints(dir);
+        before.write(new QuizCheckpoint(7L, GameState.BUFFER, 0, null, 0, 0, false, 1_700_000_000_000L, roundName));
+        before.close();
+
+        String read = checkpoints(dir).readAll().get(0).roundName();
+        assertThat(roundName).startsWith(read);
+        assertThat(read.getBytes(StandardCharsets.UTF_8).length).isBetween(10, 12);
+    }
+
+    /**
+     * Property: The round a quiz is playing is part of its checkpoint, so a round countdown
+     * resumes under its own name.
+     */
+    @Example
+    void captureKeepsRoundName() throws IOException {
+        Path dir = tempDir();
+        QuizSessionManager sessionManager = new QuizSessionManager();
+        sessionManager.setCurrentState(7L, GameState.BUFFER);
+        sessionManager.setRoundName(7L, "TIE_BREAKER");
+        QuizCheckpoints before = new QuizCheckpoints(properties(dir), sessionManager, mock(QuizTimerService.class));
+        before.save(7L);
+        before.close();
+
+        assertThat(checkpoints(dir).readAll())
+                .extracting(QuizCheckpoint::state, QuizCheckpoint::roundName)
+                .containsExactly(tuple(GameState.BUFFER, "TIE_BREAKER"));
+    }
+
+    @Provide
+    Arbitrary<String> longRoundNames() {
+        return Arbitraries.strings().withChars("ABCÉ€_").ofMinLength(13).ofMaxLength(30);
+    }
+
+    /**
+     * Property: Rewriting a quiz's checkpoint replaces it, and a discarded one is gone and its
+     * slot reused.
+     */
+    @Example
+    void rewriteReplacesAndDiscardFreesSlot() throws IOException {
+        Path dir = tempDir();
+        QuizCheckpoints checkpoints = checkpoints(dir);
+        checkpoints.write(checkpoint(1L, GameState.ACTIVE, 0));
+        checkpoints.write(checkpoint(1L, GameState.REVEAL, 0));
+        checkpoints.write(checkpoint(2L, GameState.ACTIVE, 3));
+        checkpoints.discard(2L);
+        checkpoints.write(checkpoint(3L, GameState.LOBBY, 0));
+        checkpoints.close();
+
+        assertThat(Files.size(dir.resolve("checkpoints.bin")))
+                .as("The file holds the initial slots only")
+                .isEqualTo(64L * QuizCheckpoints.SLOT_BYTES);
+        assertThat(checkpoints(dir).readAll())
+                .extracting(QuizCheckpoint::quizId, QuizCheckpoint::state)
+                .containsExactlyInAnyOrder(
+                        tuple(1L, GameState.REVEAL),
+                        tuple(3L, GameState.LOBBY));
+    }
+
+    /**
+     * Property: The file grows to hold any number of live quizzes, keeping the earlier ones.
+     */
+    @Property(tries = 10)
+    void fileGrowsWithLiveQuizzes(@ForAll("quizCounts") int quizzes) throws IOException {
+        Path dir = tempDir();
+        QuizCheckpoints checkpoints = checkpoints(dir);
+        for (long quizId = 1; quizId <= quizzes; quizId++) {
+            checkpoints.write(checkpoint(quizId, GameState.ACTIVE, (int) quizId));
+        }
+        checkpoints.close();
+
+        List<QuizCheckpoint> read = checkpoints(dir).readAll();
+        assertThat(read).hasSize(quizzes);
+        assertThat(read).allSatisfy(checkpoint ->
+                assertThat(checkpoint.questionIndex()).isEqualTo(checkpoint.quizId().intValue()));
+    }
+
+    @Provide
+    Arbitrary<Integer> quizCounts() {
+        return Arbitraries.integers().between(1, 300);
+    }
+
+    /**
+     * Property: A slot damaged by a torn write is ignored and the other checkpoints still read,
+     * and the damaged slot is reused.
+     */
+    @Example
+    void tornSlotIsIgnored() throws IOException {
+        Path dir = tempDir();
+        QuizCheckpoints before = checkpoints(dir);
+        before.write(checkpoint(1L, GameState.ACTIVE, 2));
+        before.write(checkpoint(2L, GameState.ACTIVE, 4));
+        before.close();
+
+        // Quiz 1 took the first slot; damage its question index
+        try (RandomAccessFile file = new RandomAccessFile(dir.resolve("checkpoints.bin").toFile(), "rw")) {
+            file.seek(40);
+            file.writeInt(99);
+        }
+
+        QuizCheckpoints after = checkpoints(dir);
+        assertThat(after.readAll()).extracting(QuizCheckpoint::quizId).containsExactly(2L);
+        after.write(checkpoint(3L, GameState.LOBBY, 0));
+        after.close();
+        assertThat(checkpoints(dir).readAll()).extracting(QuizCheckpoint::quizId).containsExactlyInAnyOrder(2L, 3L);
+    }
+
+    /**
+     * Property: Nothing is read back when checkpoints are disabled.
+     */
+    @Example
+    void disabledCheckpointsAreNotRead() throws IOException {
+        Path dir = tempDir();
+        QuizCheckpoints before = checkpoints(dir);
+        before.write(checkpoint(1L, GameState.ACTIVE, 0));
+        before.close();
+
+        GameProperties properties = properties(dir);
+        properties.setCheckpointEnabled(false);
+        assertThat(new QuizCheckpoints(properties, new QuizSessionManager(), mock(QuizTimerService.class)).readAll())
+                .isEmpty();
+    }
+
+    /**
+     * Property: A running countdown has until its deadline left, never less than nothing;
+     * a paused one keeps what it had.
+     */
+    @Property(tries = 50)
+    void remainingTimeFollowsDeadline(
+            @ForAll("millis") long remaining,
+            @ForAll("millis") long elapsed
+    ) {
+        long now = 1_700_000_000_000L;
+        QuizCheckpoint running = new QuizCheckpoint(1L, GameState.ACTIVE, 0, 100L, now + remaining, 0, false, now, null);
+        QuizCheckpoint paused = new QuizCheckpoint(1L, GameState.PAUSED, 0, 100L, 0, remaining, true, now, null);
+        QuizCheckpoint idle = new QuizCheckpoint(1L, GameState.REVEAL, 0, 100L, 0, 0, false, now, null);
+
+        assertThat(running.remainingMillisAt(now + elapsed)).isEqualTo(Math.max(0, remaining - elapsed));
+        assertThat(paused.remainingMillisAt(now + elapsed)).isEqualTo(remaining);
+        assertThat(idle.remainingMillisAt(now + elapsed)).isZero();
+    }
+
+    @Provide
+    Arbitrary<Long> millis() {
+        return Arbitraries.longs().between(0, 120_000);
+    }
+
+    private QuizCheckpoint checkpoint(Long quizId, GameState state, int questionIndex) {
+        return new QuizCheckpoint(quizId, state, questionIndex, quizId * 1_000 + questionIndex,
+                1_700_000_060_000L, 0, false, 1_700_000_000_000L, "EASY");
+    }
+
+    private QuizCheckpoints checkpoints(Path dir) {
+        return new QuizCheckpoints(properties(dir), new QuizSessionManager(), mock(QuizTimerService.class));
+    }
+
+    private Path tempDir() throws IOException {
+        return Files.createTempDirectory("checkpoints");
+    }
+
+    private GameProperties properties(Path dir) {
+        GameProperties properties = new GameProperties();
+        properties.setJournalDirectory(dir.toString());
+        properties.setJournalFsync(false);
+        return properties;
+    }
+}
@@ -0,0 +1,96 @@
+package com.intelliquiz.api.infrastructure.websocket;
+
+import com.intelliquiz.api.application.events.QuestionsChangedEvent;
+import com.intelliquiz.api.domain.entities.Question;
+import com.intelliquiz.api.domain.entities.Quiz;
+import com.intelliquiz.api.domain.enums.Difficulty;
+import com.intelliquiz.api.domain.enums.QuestionType;
+import com.intelliquiz.api.domain.ports.QuestionRepository;
+import com.intelliquiz.api.domain.ports.QuizRepository;
+import net.jqwik.api.*;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+/**
+ * Property-based tests for the compiled question deck of a live quiz.
+ * Feature: websocket-realtime
+ */
+class QuizDeckPropertyTest {
+
+    /**
+     * Property: A deck lists questions by orderIndex whatever order they are loaded in,
+     * with option keys and the effective time limit worked out.
+     */
+    @Property(tries = 20)
+    void deckIsOrderedByOrderIndex(@ForAll("orderIndexes") List<Integer> orderIndexes) {
+        List<Question> questions = new ArrayList<>();
+        for (int i = 0; i < orderIndexes.size(); i++) {
+            questions.add(question((long) i + 1, orderIndexes.get(i), i % 2 == 0 ? 0 : 15));
+        }
+        Collections.shuffle(questions);
+
+        QuizDeck deck = QuizDeck.compile(1L, questions);
+
+        assertThat(deck.getQuestions())
+                .extracting(q -> q.payload().orderIndex())
+                .isSorted()
+                .hasSize(orderIndexes.size());
+        for (int i = 0; i < deck.size(); i++) {
+            QuizDeck.DeckQuestion compiled = deck.get(i).orElseThrow();
+            assertThat(compiled.index()).isEqualTo(i);
+            assertThat(deck.find(compiled.questionId())).contains(compiled);
+            assertThat(compiled.optionKeys()).containsExactly("A", "B", "C");
+            assertThat(compiled.timeLimitSeconds())
+                    .isEqualTo(compiled.payload().timeLimit() > 0 ? compiled.payload().timeLimit() : 30);
+        }
+        assertThat(deck.get(deck.size())).isEmpty();
+    }
+
+    /**
+     * Property: The cache compiles a deck once, and an edit to the quiz's questions makes
+     * the next use compile a fresh one.
+     */
+    @Example
+    void cacheCompilesOnceUntilQuestionsChange() {
+        QuizRepository quizRepository = mock(QuizRepository.class);
+        QuestionRepository questionRepository = mock(QuestionRepository.class);
+        Quiz quiz = new Quiz();
+        quiz.setId(1L);
+        when(quizRepository.findById(1L)).thenReturn(Optional.of(quiz));
+        when(questionRepository.findByQuizOrderByOrderIndex(quiz))
+                .thenReturn(List.of(question(10L, 0, 20)))
+                .thenReturn(List.of(question(10L, 0, 20), question(11L, 1, 20)));
+        QuizDeckCache cache = new QuizDeckCache(quizRepository, questionRepository);
+
+        QuizDeck first = cache.reload(1L);
+        assertThat(cache.get(1L)).isSameAs(first);
+        assertThat(cache.get(1L).find(10L)).isPresent();
+        verify(questionRepository, times(1)).findByQuizOrderByOrderIndex(quiz);
+
+        cache.onQuestionsChanged(new QuestionsChangedEvent(1L));
+        QuizDeck second = cache.get(1L);
+        assertThat(second).isNotSameAs(first);
+        assertThat(second.size()).isEqualTo(2);
+        verify(questionRepository, times(2)).findByQuizOrderByOrderIndex(quiz);
+    }
+
+    private static Question question(Long id, int orderIndex, int timeLimit) {
+        Question question = new Question(null, "Question " + id, QuestionType.MULTIPLE_CHOICE, Difficulty.EASY, "B");
+        question.setId(id);
+        question.setOrderIndex(orderIndex);
+        question.setTimeLimit(timeLimit);
+        question.setOptions(List.of("One", "Two", "Three"));
+        return question;
+    }
+
+    @Provide
+    Arbitrary<List<Integer>> orderIndexes() {
+        return Arbitraries.integers().between(0, 100).list().uniqueElements().ofMaxSize(20);
+    }
+}
@@ -1,13 +1,18 @@
 package com.intelliquiz.api.infrastructure.websocket;
 
+import com.intelliquiz.api.infrastructure.config.LiveQuizSession;
 import com.intelliquiz.api.infrastructure.config.QuizSessionManager;
 import net.jqwik.api.*;
 import net.jqwik.api.constraints.IntRange;
 import net.jqwik.api.constraints.Positive;
 
+import java.util.ArrayList;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -169,4 +174,155 @@ class QuizSessionManagerPropertyTest {
         assertThat(sessionManager.getCurrentState(quizId)).isEqualTo(GameState.LOBBY);
         assertThat(sessionManager.getCurrentQuestionIndex(quizId)).isZero();
     }
+
+    /**
+     * Property: Clearing one quiz removes only its own connections; other quizzes are untouched.
+     * **Validates: Requirements 7.6**
+     */
+    @Property(tries = 100)
+    void clearingOneQuizKeepsOtherQuizzesConnections(
+            @ForAll @IntRange(min = 1, max = 10) int teamsA,
+            @ForAll @IntRange(min = 1, max = 10) int teamsB
+    ) {
+        QuizSessionManager sessionManager = new QuizSessionManager();
+        sessionManager.registerHost(1L, "host-a");
+        sessionManager.registerHost(2L, "host-b");
+        for (int i = 0; i < teamsA; i++) {
+            sessionManager.registerParticipant(1L, (long) i, "a-" + i);
+        }
+        for (int i = 0; i < teamsB; i++) {
+            sessionManager.registerParticipant(2L, (long) i, "b-" + i);
+        }
+
+        sessionManager.clearQuizSession(1L);
+
+        assertThat(sessionManager.getConnection("host-a")).isEmpty();
+        assertThat(sessionManager.getConnection("a-0")).isEmpty();
+        assertThat(sessionManager.getConnection("host-b")).isPresent();
+        for (int i = 0; i < teamsB; i++) {
+            assertThat(sessionManager.getConnection("b-" + i)).isPresent();
+        }
+        assertThat(sessionManager.getConnectedTeamCount(2L)).isEqualTo(teamsB);
+    }
+
+    /**
+     * Property: A session started by connections made before activation takes the numbering
+     * made on activation, keeping the host and the connected teams; a connected team missing
+     * from it gets the next number. Activating again keeps that numbering.
+     */
+    @Property(tries = 50)
+    void activationRenumbersASessionStartedByEarlyConnections(
+            @ForAll @IntRange(min = 1, max = 30) int registeredTeams,
+            @ForAll @IntRange(min = 0, max = 30) int earlyTeams
+    ) {
+        QuizSessionManager sessionManager = new QuizSessionManager();
+        sessionManager.registerHost(1L, "host");
+        sessionManager.registerParticipant(1L, 999L, "unregistered");
+        int early = Math.min(earlyTeams, registeredTeams);
+        for (int i = 0; i < early; i++) {
+            // Connect in the reverse of the registration order
+            sessionManager.registerParticipant(1L, (long) (registeredTeams - i), "team-" + i);
+        }
+
+        List<Long> teamIds = new ArrayList<>();
+        for (long teamId = 1; teamId <= registeredTeams; teamId++) {
+            teamIds.add(teamId);
+        }
+        TeamIndex numbering = TeamIndex.of(teamIds, registeredTeams);
+        LiveQuizSession session = sessionManager.activate(1L, numbering);
+
+        assertThat(session.getTeamIndex()).isSameAs(numbering);
+        for (long teamId = 1; teamId <= registeredTeams; teamId++) {
+            assertThat(numbering.indexOf(teamId)).isEqualTo((int) teamId - 1);
+        }
+        assertThat(numbering.indexOf(999L)).isEqualTo(registeredTeams);
+        assertThat(sessionManager.getHostSessionId(1L)).hasValue("host");
+        assertThat(sessionManager.getConnectedTeamCount(1L)).isEqualTo(early + 1);
+        assertThat(sessionManager.isTeamConnected(1L, 999L)).isTrue();
+
+        sessionManager.unregister("unregistered");
+        assertThat(sessionManager.isTeamConnected(1L, 999L)).isFalse();
+        assertThat(sessionManager.activate(1L, TeamIndex.empty())).isSameAs(session);
+    }
+
+    /**
+     * Property: Showing a question sets state, index and question ID together.
+     * **Validates: Requirements 7.1**
+     */
+    @Property(tries = 100)
+    void showQuestionUpdatesFlowAtomically(
+            @ForAll @Positive Long quizId,
+            @ForAll @IntRange(min = 0, max = 50) int index,
+            @ForAll @Positive Long questionId
+    ) {
+        QuizSessionManager sessionManager = new QuizSessionManager();
+        sessionManager.setCurrentState(quizId, GameState.REVEAL);
+
+        sessionManager.showQuestion(quizId, index, questionId);
+
+        LiveQuizSession.Flow flow = sessionManager.getFlow(quizId);
+        assertThat(flow.state()).isEqualTo(GameState.ACTIVE);
+        assertThat(flow.questionIndex()).isEqualTo(index);
+        assertThat(flow.questionId()).isEqualTo(questionId);
+    }
+
+    /**
+     * Property: When many threads race to move a quiz from ACTIVE to GRADING,
+     * exactly one of them makes the transition.
+     * **Validates: Requirements 2.4**
+     */
+    @Property(tries = 20)
+    void activeToGradingHappensExactlyOnce(@ForAll @IntRange(min = 2, max = 16) int threads)
+            throws InterruptedException {
+        QuizSessionManager sessionManager = new QuizSessionManager();
+        sessionManager.showQuestion(1L, 0, 100L);
+
+        AtomicInteger winners = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        List<Thread> racers = new ArrayList<>();
+        for (int i = 0; i < threads; i++) {
+            Thread racer = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                if (sessionManager.transition(1L, GameState.ACTIVE, GameState.GRADING)) {
+                    winners.incrementAndGet();
+                }
+            });
+            racer.start();
+            racers.add(racer);
+        }
+        start.countDown();
+        for (Thread racer : racers) {
+            racer.join();
+        }
+
+        assertThat(winners.get()).isEqualTo(1);
+        assertThat(sessionManager.getCurrentState(1L)).isEqualTo(GameState.GRADING);
+        assertThat(sessionManager.getCurrentQuestionId(1L)).hasValue(100L);
+    }
+
+    /**
+     * Property: A question's ACTIVE to GRADING transition only applies while it is still the
+     * current question; once the next question is shown, it leaves that one ACTIVE.
+     */
+    @Property(tries = 50)
+    void gradingTransitionOnlyMovesItsOwnQuestion(
+            @ForAll @IntRange(min = 0, max = 50) int index,
+            @ForAll @Positive Long questionId
+    ) {
+        QuizSessionManager sessionManager = new QuizSessionManager();
+        sessionManager.showQuestion(1L, index, questionId);
+        sessionManager.showQuestion(1L, index + 1, questionId + 1);
+
+        assertThat(sessionManager.transition(1L, questionId, GameState.ACTIVE, GameState.GRADING)).isFalse();
+        assertThat(sessionManager.getFlow(1L))
+                .isEqualTo(new LiveQuizSession.Flow(GameState.ACTIVE, index + 1, questionId + 1));
+
+        assertThat(sessionManager.transition(1L, questionId + 1, GameState.ACTIVE, GameState.GRADING)).isTrue();
+        assertThat(sessionManager.getCurrentState(1L)).isEqualTo(GameState.GRADING);
+    }
 }
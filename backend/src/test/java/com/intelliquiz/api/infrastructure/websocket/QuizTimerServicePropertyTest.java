@@ -1,12 +1,19 @@
 package com.intelliquiz.api.infrastructure.websocket;
 
+import com.intelliquiz.api.infrastructure.config.GameProperties;
 import com.intelliquiz.api.infrastructure.config.QuizBroadcastService;
 import com.intelliquiz.api.infrastructure.config.QuizSessionManager;
 import net.jqwik.api.*;
 import net.jqwik.api.constraints.IntRange;
 import net.jqwik.api.constraints.Positive;
+import com.intelliquiz.api.infrastructure.websocket.dto.ClockPing;
+import com.intelliquiz.api.infrastructure.websocket.dto.TimerDeadlineMessage;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mockito;
 
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.*;
@@ -28,7 +35,7 @@ class QuizTimerServicePropertyTest {
     void bufferCountdownStartsWithCorrectDuration() {
         QuizBroadcastService broadcastService = mock(QuizBroadcastService.class);
         QuizSessionManager sessionManager = new QuizSessionManager();
-        QuizTimerService timerService = new QuizTimerService(broadcastService, sessionManager);
+        QuizTimerService timerService = new QuizTimerService(broadcastService, sessionManager, new GameProperties(), new ClockSyncService(new GameProperties()), new GameExecutors(new GameProperties()));
         
         Long quizId = 1L;
         int duration = 10;
@@ -63,7 +70,7 @@ class QuizTimerServicePropertyTest {
     void questionTimerStartsWithCorrectDuration() {
         QuizBroadcastService broadcastService = mock(QuizBroadcastService.class);
         QuizSessionManager sessionManager = new QuizSessionManager();
-        QuizTimerService timerService = new QuizTimerService(broadcastService, sessionManager);
+        QuizTimerService timerService = new QuizTimerService(broadcastService, sessionManager, new GameProperties(), new ClockSyncService(new GameProperties()), new GameExecutors(new GameProperties()));
         
         Long quizId = 1L;
         Long questionId = 100L;
@@ -102,7 +109,7 @@ class QuizTimerServicePropertyTest {
     ) {
         QuizBroadcastService broadcastService = mock(QuizBroadcastService.class);
         QuizSessionManager sessionManager = new QuizSessionManager();
-        QuizTimerService timerService = new QuizTimerService(broadcastService, sessionManager);
+        QuizTimerService timerService = new QuizTimerService(broadcastService, sessionManager, new GameProperties(), new ClockSyncService(new GameProperties()), new GameExecutors(new GameProperties()));
         
         // Start timer
         timerService.startQuestionTimer(quizId, 1L, duration, (qId) -> {});
@@ -124,7 +131,7 @@ class QuizTimerServicePropertyTest {
     void pausingTimerPreservesRemainingTime() {
         QuizBroadcastService broadcastService = mock(QuizBroadcastService.class);
         QuizSessionManager sessionManager = new QuizSessionManager();
-        QuizTimerService timerService = new QuizTimerService(broadcastService, sessionManager);
+        QuizTimerService timerService = new QuizTimerService(broadcastService, sessionManager, new GameProperties(), new ClockSyncService(new GameProperties()), new GameExecutors(new GameProperties()));
         
         Long quizId = 1L;
         int duration = 30;
@@ -164,7 +171,7 @@ class QuizTimerServicePropertyTest {
     ) {
         QuizBroadcastService broadcastService = mock(QuizBroadcastService.class);
         QuizSessionManager sessionManager = new QuizSessionManager();
-        QuizTimerService timerService = new QuizTimerService(broadcastService, sessionManager);
+        QuizTimerService timerService = new QuizTimerService(broadcastService, sessionManager, new GameProperties(), new ClockSyncService(new GameProperties()), new GameExecutors(new GameProperties()));
         
         // Start first timer
         timerService.startQuestionTimer(quizId, 1L, duration1, (qId) -> {});
@@ -181,4 +188,74 @@ class QuizTimerServicePropertyTest {
         // Clean up
         timerService.stopTimer(quizId);
     }
+
+    /**
+     * Property: In deadline mode a question timer sends one deadline message instead of per-second ticks.
+     * **Validates: Requirements 2.3, 3.3**
+     */
+    @Example
+    void deadlineModeBroadcastsDeadlineOnce() throws InterruptedException {
+        QuizBroadcastService broadcastService = mock(QuizBroadcastService.class);
+        GameProperties gameProperties = new GameProperties();
+        gameProperties.setTimerMode(GameProperties.TimerMode.DEADLINE);
+        QuizTimerService timerService = new QuizTimerService(
+                broadcastService, new QuizSessionManager(), gameProperties, new ClockSyncService(gameProperties), new GameExecutors(gameProperties));
+
+        Long quizId = 1L;
+        long before = System.currentTimeMillis();
+        timerService.startQuestionTimer(quizId, 100L, 30, (qId) -> {});
+
+        ArgumentCaptor<TimerDeadlineMessage> captor = ArgumentCaptor.forClass(TimerDeadlineMessage.class);
+        verify(broadcastService).broadcastTimerDeadline(eq(quizId), captor.capture());
+        TimerDeadlineMessage message = captor.getValue();
+        assertThat(message.status()).isEqualTo("RUNNING");
+        assertThat(message.phase()).isEqualTo(TimerDeadlineMessage.PHASE_QUESTION);
+        assertThat(message.deadlineEpochMillis())
+                .as("Deadline should be about 30 seconds from now")
+                .isBetween(before + 29_900, System.currentTimeMillis() + 30_100);
+
+        Thread.sleep(1_200);
+        verify(broadcastService, never()).broadcastTimerTick(anyLong(), anyInt(), anyInt());
+        assertThat(timerService.getRemainingSeconds(quizId)).isEqualTo(29);
+
+        timerService.stopTimer(quizId);
+    }
+
+    /**
+     * Property: On expiry the callback waits for the slowest session's one-way latency,
+     * and answers from within that window are recognised as in grace.
+     * **Validates: Requirements 3.4**
+     */
+    @Example
+    void expiryWaitsForLatencyGrace() throws InterruptedException {
+        QuizBroadcastService broadcastService = mock(QuizBroadcastService.class);
+        GameProperties gameProperties = new GameProperties();
+        gameProperties.setTimerMode(GameProperties.TimerMode.DEADLINE);
+        ClockSyncService clockSyncService = new ClockSyncService(gameProperties);
+        QuizTimerService timerService = new QuizTimerService(
+                broadcastService, new QuizSessionManager(), gameProperties, clockSyncService, new GameExecutors(gameProperties));
+
+        Long quizId = 1L;
+        Long questionId = 100L;
+        // 600 ms round trip -> 300 ms one-way grace
+        clockSyncService.handlePing(quizId, "slow-session", new ClockPing(System.currentTimeMillis(), 600L));
+
+        CountDownLatch expired = new CountDownLatch(1);
+        long[] calledAt = new long[1];
+        timerService.startQuestionTimer(quizId, questionId, 1, (qId) -> {
+            calledAt[0] = System.nanoTime();
+            expired.countDown();
+        });
+
+        verify(broadcastService, timeout(2_000)).broadcastGameState(eq(quizId), argThat(m -> m.state() == GameState.GRADING));
+        long expiredAt = System.nanoTime();
+        assertThat(timerService.isWithinExpiryGrace(quizId, questionId, 300)).isTrue();
+        assertThat(timerService.isWithinExpiryGrace(quizId, 999L, 300)).as("Other question").isFalse();
+        assertThat(timerService.isWithinExpiryGrace(quizId, questionId, 0)).as("No measured latency").isFalse();
+
+        assertThat(expired.await(2, TimeUnit.SECONDS)).isTrue();
+        assertThat(TimeUnit.NANOSECONDS.toMillis(calledAt[0] - expiredAt))
+                .as("Callback should be held for the grace window")
+                .isGreaterThanOrEqualTo(200);
+    }
 }
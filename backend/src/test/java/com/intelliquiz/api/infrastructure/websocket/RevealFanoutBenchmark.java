@@ -0,0 +1,142 @@
+package com.intelliquiz.api.infrastructure.websocket;
+
+import com.intelliquiz.api.domain.enums.QuestionType;
+import com.intelliquiz.api.infrastructure.config.GameProperties;
+import com.intelliquiz.api.infrastructure.config.QuizBroadcastService;
+import com.intelliquiz.api.infrastructure.config.QuizSessionManager;
+import com.intelliquiz.api.infrastructure.websocket.dto.AnswerDistribution;
+import com.intelliquiz.api.infrastructure.websocket.dto.AnswerRevealPayload;
+import com.intelliquiz.api.infrastructure.websocket.dto.TeamResult;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.converter.MappingJackson2MessageConverter;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompEncoder;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.util.MimeTypeUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Bytes on the wire and broadcast time of one answer reveal: the full reveal (every client
+ * gets every team's result) versus the split reveal (summary with the top 10 to all,
+ * own result per team, full table to the host only).
+ *
+ * Messages go through a real {@link SimpMessagingTemplate} with Jackson conversion into a
+ * channel that stands in for the simple broker: a message is STOMP-encoded once per
+ * subscriber of its destination, as each WebSocket session does. The state topic has every
+ * team plus the host subscribed; team queues and the host topic have one subscriber.
+ *
+ * Not part of the test suite. Run with:
+ * <pre>
+ * mvn -q test-compile exec:java -Dexec.classpathScope=test \
+ *     -Dexec.mainClass=com.intelliquiz.api.infrastructure.websocket.RevealFanoutBenchmark \
+ *     -Dexec.args="3"
+ * </pre>
+ * The optional argument is the number of measured reveals per scenario (default 3).
+ */
+public class RevealFanoutBenchmark {
+
+    private static final int[] TEAM_COUNTS = {100, 1_000, 5_000};
+    private static final int TOP_K = 10;
+    private static final long QUIZ_ID = 1L;
+
+    public static void main(String[] args) {
+        int iterations = args.length > 0 ? Integer.parseInt(args[0]) : 3;
+
+        System.out.printf("%-8s %-8s %10s %16s %14s %12s%n",
+                "teams", "mode", "frames", "bytes", "bytes/team", "ms/reveal");
+        for (int teams : TEAM_COUNTS) {
+            AnswerRevealPayload reveal = reveal(teams);
+            print(teams, "FULL", run(teams, iterations, broadcast -> broadcast.broadcastAnswerReveal(QUIZ_ID, reveal)));
+            print(teams, "SPLIT", run(teams, iterations, broadcast -> broadcast.broadcastSplitReveal(QUIZ_ID, reveal, TOP_K)));
+        }
+    }
+
+    private static Result run(int teams, int iterations, Consumer<QuizBroadcastService> reveal) {
+        WireChannel wire = new WireChannel(teams + 1);
+        SimpMessagingTemplate template = new SimpMessagingTemplate(wire);
+        template.setMessageConverter(new MappingJackson2MessageConverter());
+        QuizBroadcastService broadcastService = new QuizBroadcastService(template, new QuizSessionManager(), new GameProperties());
+
+        // Warm-up
+        reveal.accept(broadcastService);
+        wire.reset();
+
+        long start = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            reveal.accept(broadcastService);
+        }
+        long elapsed = System.nanoTime() - start;
+        return new Result(
+                wire.frames / iterations,
+                wire.bytes / iterations,
+                TimeUnit.NANOSECONDS.toMicros(elapsed) / 1e3 / iterations
+        );
+    }
+
+    private static AnswerRevealPayload reveal(int teams) {
+        List<TeamResult> results = new ArrayList<>(teams);
+        for (int i = 0; i < teams; i++) {
+            long teamId = 1_000L + i;
+            int score = (teams - i) * 10;
+            results.add(i % 3 == 0
+                    ? TeamResult.incorrect(teamId, "Team " + teamId, "C", score, i + 1, false)
+                    : TeamResult.correct(teamId, "Team " + teamId, "B", 10, score, i + 1, false));
+        }
+        AnswerDistribution distribution = new AnswerDistribution(
+                Map.of("A", 0, "B", teams - teams / 3, "C", teams / 3, "D", 0), teams - teams / 3, teams / 3);
+        return AnswerRevealPayload.create(42L, "B", QuestionType.MULTIPLE_CHOICE, distribution, results);
+    }
+
+    private static void print(int teams, String mode, Result result) {
+        System.out.printf("%-8d %-8s %10d %16d %14d %12.2f%n",
+                teams, mode, result.frames(), result.bytes(), result.bytes() / teams, result.millisPerReveal());
+    }
+
+    /**
+     * Encodes each message once per subscriber of its destination and counts the frames and bytes.
+     */
+    private static final class WireChannel implements MessageChannel {
+        private final int stateSubscribers;
+        private final StompEncoder encoder = new StompEncoder();
+        private long frames;
+        private long bytes;
+
+        WireChannel(int stateSubscribers) {
+            this.stateSubscribers = stateSubscribers;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public boolean send(Message<?> message, long timeout) {
+            String destination = SimpMessageHeaderAccessor.getDestination(message.getHeaders());
+            int subscribers = destination != null && destination.endsWith("/state") ? stateSubscribers : 1;
+            byte[] payload = ((Message<byte[]>) message).getPayload();
+            for (int i = 0; i < subscribers; i++) {
+                StompHeaderAccessor accessor = StompHeaderAccessor.create(StompCommand.MESSAGE);
+                accessor.setSubscriptionId("sub-" + i);
+                accessor.setDestination(destination);
+                accessor.setMessageId(Long.toString(frames));
+                accessor.setContentType(MimeTypeUtils.APPLICATION_JSON);
+                bytes += encoder.encode(MessageBuilder.createMessage(payload, accessor.getMessageHeaders())).length;
+                frames++;
+            }
+            return true;
+        }
+
+        void reset() {
+            frames = 0;
+            bytes = 0;
+        }
+    }
+
+    private record Result(long frames, long bytes, double millisPerReveal) {}
+}
@@ -0,0 +1,103 @@
+package com.intelliquiz.api.infrastructure.websocket;
+
+import com.intelliquiz.api.domain.enums.QuestionType;
+import com.intelliquiz.api.infrastructure.config.GameProperties;
+import com.intelliquiz.api.infrastructure.config.QuizBroadcastService;
+import com.intelliquiz.api.infrastructure.config.QuizSessionManager;
+import com.intelliquiz.api.infrastructure.websocket.dto.*;
+import net.jqwik.api.*;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.converter.MappingJackson2MessageConverter;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Property-based tests for the split answer reveal.
+ * Feature: websocket-realtime
+ */
+class SplitRevealPropertyTest {
+
+    private static final MappingJackson2MessageConverter CONVERTER = new MappingJackson2MessageConverter();
+
+    /**
+     * Property: A split reveal sends one summary with the leaderboard top to the state topic,
+     * each team exactly its own result on its queue, and the full table to the host only.
+     */
+    @Property(tries = 30)
+    void splitRevealSendsSummaryOwnResultsAndHostTable(
+            @ForAll("teamCounts") int teamCount,
+            @ForAll("topKs") int topK
+    ) {
+        RecordingChannel channel = new RecordingChannel();
+        SimpMessagingTemplate messagingTemplate = new SimpMessagingTemplate(channel);
+        messagingTemplate.setMessageConverter(CONVERTER);
+        QuizBroadcastService broadcastService = new QuizBroadcastService(messagingTemplate, new QuizSessionManager(), new GameProperties());
+        AnswerRevealPayload reveal = reveal(teamCount);
+
+        broadcastService.broadcastSplitReveal(1L, reveal, topK);
+
+        RevealSummary summary = RevealSummary.from(reveal, topK);
+        assertThat(summary.teamCount()).isEqualTo(teamCount);
+        assertThat(summary.leaderboard())
+                .extracting(LeaderboardEntry::teamId)
+                .containsExactlyElementsOf(reveal.teamResults().stream()
+                        .limit(topK).map(TeamResult::teamId).toList());
+
+        List<Tuple.Tuple2<String, String>> expected = new ArrayList<>();
+        expected.add(Tuple.of("/topic/quiz/1/state", json(summary)));
+        for (TeamResult result : reveal.teamResults()) {
+            expected.add(Tuple.of("/queue/team/" + result.teamId(), json(new TeamReveal(reveal.questionId(), result))));
+        }
+        expected.add(Tuple.of("/topic/quiz/1/host", json(HostNotification.answerReveal(reveal))));
+        assertThat(channel.sent).containsExactlyElementsOf(expected);
+    }
+
+    private static AnswerRevealPayload reveal(int teamCount) {
+        List<TeamResult> results = new ArrayList<>();
+        for (int i = 0; i < teamCount; i++) {
+            long teamId = 10L + i;
+            results.add(i % 2 == 0
+                    ? TeamResult.correct(teamId, "Team " + teamId, "B", 10, 100 - i, i + 1, false)
+                    : TeamResult.noSubmission(teamId, "Team " + teamId, 100 - i, i + 1, false));
+        }
+        return AnswerRevealPayload.create(5L, "B", QuestionType.MULTIPLE_CHOICE,
+                new AnswerDistribution(Map.of("B", (teamCount + 1) / 2), (teamCount + 1) / 2, 0), results);
+    }
+
+    private static String json(Object payload) {
+        return new String((byte[]) CONVERTER.toMessage(payload, null).getPayload(), StandardCharsets.UTF_8);
+    }
+
+    @Provide
+    Arbitrary<Integer> teamCounts() {
+        return Arbitraries.integers().between(0, 40);
+    }
+
+    @Provide
+    Arbitrary<Integer> topKs() {
+        return Arbitraries.integers().between(0, 15);
+    }
+
+    /**
+     * Broker channel recording the destination and JSON of every frame sent.
+     */
+    private static class RecordingChannel implements MessageChannel {
+        private final List<Tuple.Tuple2<String, String>> sent = new ArrayList<>();
+
+        @Override
+        public boolean send(Message<?> message, long timeout) {
+            sent.add(Tuple.of(
+                    SimpMessageHeaderAccessor.getDestination(message.getHeaders()),
+                    new String((byte[]) message.getPayload(), StandardCharsets.UTF_8)));
+            return true;
+        }
+    }
+}
@@ -0,0 +1,315 @@
+package com.intelliquiz.api.infrastructure.websocket;
+
+import com.intelliquiz.api.domain.ports.SubmissionBatchRepository;
+import com.intelliquiz.api.domain.ports.SubmissionBatchRepository.PendingAnswer;
+import com.intelliquiz.api.infrastructure.config.GameProperties;
+import com.intelliquiz.api.infrastructure.websocket.SubmissionBuffer.AcceptResult;
+import net.jqwik.api.*;
+import net.jqwik.api.constraints.IntRange;
+import org.mockito.ArgumentCaptor;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Property-based tests for the write-behind submission buffer and its journal.
+ * Feature: websocket-realtime
+ */
+class SubmissionBufferPropertyTest {
+
+    /**
+     * Property: Only the latest answer per team is written when the question closes.
+     */
+    @Property(tries = 50)
+    void latestAnswerPerTeamIsFlushed(
+            @ForAll("answerSequences") List<String> answers
+    ) throws IOException {
+        SubmissionBatchRepository batchRepository = mock(SubmissionBatchRepository.class);
+        SubmissionBuffer buffer = new SubmissionBuffer(new SubmissionJournal(properties(tempDir())), batchRepository);
+
+        buffer.open(1L, 100L);
+        for (int i = 0; i < answers.size(); i++) {
+            AcceptResult result = buffer.accept(1L, 100L, 10L, answers.get(i));
+            assertThat(result).isEqualTo(i == 0 ? AcceptResult.FIRST : AcceptResult.UPDATED);
+        }
+        buffer.accept(1L, 100L, 20L, "D");
+
+        buffer.closeAndFlush(100L);
+
+        assertThat(flushed(batchRepository, 100L))
+                .as("One row per team, holding its latest answer")
+                .extracting(PendingAnswer::teamId, PendingAnswer::answer)
+                .containsExactlyInAnyOrder(tuple(10L, answers.get(answers.size() - 1)), tuple(20L, "D"));
+    }
+
+    @Provide
+    Arbitrary<List<String>> answerSequences() {
+        return Arbitraries.of("A", "B", "C", "D").list().ofMinSize(1).ofMaxSize(10);
+    }
+
+    /**
+     * Property: Answers arriving after the question closed are rejected and never written.
+     */
+    @Example
+    void acceptAfterCloseIsRejected() throws IOException {
+        SubmissionBatchRepository batchRepository = mock(SubmissionBatchRepository.class);
+        SubmissionBuffer buffer = new SubmissionBuffer(new SubmissionJournal(properties(tempDir())), batchRepository);
+
+        buffer.open(1L, 100L);
+        buffer.accept(1L, 100L, 10L, "A");
+        buffer.closeAndFlush(100L);
+
+        assertThat(buffer.accept(1L, 100L, 20L, "B")).isEqualTo(AcceptResult.CLOSED);
+        assertThat(buffer.closeAndFlush(100L)).as("Second close writes nothing").isEmpty();
+        verify(batchRepository, times(1)).upsertAnswers(eq(100L), any());
+    }
+
+    /**
+     * Property: Answers to a question that was never opened, or whose quiz was closed, are
+     * rejected and not journaled, so they cannot keep the journal from being emptied.
+     */
+    @Example
+    void acceptWithoutOpenQuestionIsRejected() throws IOException {
+        SubmissionJournal journal = new SubmissionJournal(properties(tempDir()));
+        SubmissionBuffer buffer = new SubmissionBuffer(journal, mock(SubmissionBatchRepository.class));
+
+        assertThat(buffer.accept(1L, 100L, 10L, "A")).isEqualTo(AcceptResult.CLOSED);
+
+        buffer.open(1L, 101L);
+        buffer.accept(1L, 101L, 10L, "A");
+        buffer.closeQuiz(1L);
+        assertThat(buffer.accept(1L, 101L, 20L, "B")).isEqualTo(AcceptResult.CLOSED);
+
+        assertThat(journal.readUnflushed()).isEmpty();
+        assertThat(buffer.getSubmissionCount(100L)).isZero();
+    }
+
+    /**
+     * Property: Opening the next question flushes the previous one of the same quiz.
+     */
+    @Example
+    void openingNextQuestionFlushesPrevious() throws IOException {
+        SubmissionBatchRepository batchRepository = mock(SubmissionBatchRepository.class);
+        SubmissionBuffer buffer = new SubmissionBuffer(new SubmissionJournal(properties(tempDir())), batchRepository);
+
+        buffer.open(1L, 100L);
+        buffer.accept(1L, 100L, 10L, "A");
+        buffer.open(1L, 101L);
+
+        assertThat(flushed(batchRepository, 100L)).hasSize(1);
+        assertThat(buffer.accept(1L, 100L, 10L, "B")).isEqualTo(AcceptResult.CLOSED);
+    }
+
+    /**
+     * Property: The answers held for an open question, put back into another node's buffer,
+     * are flushed there as they would have been here; a closed question hands over none.
+     */
+    @Property(tries = 20)
+    void openAnswersCarryOverToAnotherBuffer(
+            @ForAll("answerSequences") List<String> answers
+    ) throws IOException {
+        SubmissionBuffer owner = new SubmissionBuffer(new SubmissionJournal(properties(tempDir())),
+                mock(SubmissionBatchRepository.class));
+        owner.open(1L, 100L);
+        for (int i = 0; i < answers.size(); i++) {
+            owner.accept(1L, 100L, 10L + i % 3, answers.get(i));
+        }
+
+        SubmissionBatchRepository batchRepository = mock(SubmissionBatchRepository.class);
+        SubmissionBuffer takeover = new SubmissionBuffer(new SubmissionJournal(properties(tempDir())), batchRepository);
+        takeover.open(1L, 100L);
+        owner.openAnswers(100L).forEach(answer -> takeover.restore(100L, answer));
+        takeover.closeAndFlush(100L);
+
+        assertThat(flushed(batchRepository, 100L))
+                .extracting(PendingAnswer::teamId, PendingAnswer::answer)
+                .containsExactlyInAnyOrderElementsOf(owner.closeAndFlush(100L).values().stream()
+                        .map(answer -> tuple(answer.teamId(), answer.answer()))
+                        .toList());
+        assertThat(owner.openAnswers(100L)).isEmpty();
+    }
+
+    /**
+     * Property: Acknowledged answers that were never flushed are replayed from the journal on restart,
+     * and a flushed question is not replayed.
+     */
+    @Example
+    void unflushedAnswersAreRecoveredFromJournal() throws IOException {
+        Path dir = tempDir();
+
+        SubmissionBuffer crashed = new SubmissionBuffer(new SubmissionJournal(properties(dir)), mock(SubmissionBatchRepository.class));
+        crashed.open(1L, 99L);
+        crashed.accept(1L, 99L, 10L, "C");
+        crashed.closeAndFlush(99L);
+        crashed.open(1L, 100L);
+        crashed.accept(1L, 100L, 10L, "A");
+        crashed.accept(1L, 100L, 10L, "B");
+        crashed.accept(1L, 100L, 20L, null);
+
+        SubmissionBatchRepository batchRepository = mock(SubmissionBatchRepository.class);
+        SubmissionBuffer restarted = new SubmissionBuffer(new SubmissionJournal(properties(dir)), batchRepository);
+
+        assertThat(restarted.recoverFromJournal()).isEqualTo(2);
+        assertThat(flushed(batchRepository, 100L))
+                .extracting(PendingAnswer::teamId, PendingAnswer::answer)
+                .containsExactlyInAnyOrder(tuple(10L, "B"), tuple(20L, null));
+        verify(batchRepository, never()).upsertAnswers(eq(99L), any());
+
+        assertThat(restarted.recoverFromJournal()).as("Recovery is not repeated").isZero();
+    }
+
+    /**
+     * Property: A record torn by a crash mid-write does not prevent recovery of earlier answers.
+     */
+    @Example
+    void tornTailIsIgnored() throws IOException {
+        Path dir = tempDir();
+
+        SubmissionBuffer crashed = new SubmissionBuffer(new SubmissionJournal(properties(dir)), mock(SubmissionBatchRepository.class));
+        crashed.open(1L, 100L);
+        crashed.accept(1L, 100L, 10L, "A");
+        Files.write(dir.resolve("submissions-1.journal"), new byte[]{'A', 0, 0, 0}, StandardOpenOption.APPEND);
+
+        SubmissionBatchRepository batchRepository = mock(SubmissionBatchRepository.class);
+        SubmissionBuffer restarted = new SubmissionBuffer(new SubmissionJournal(properties(dir)), batchRepository);
+
+        assertThat(restarted.recoverFromJournal()).isEqualTo(1);
+        assertThat(flushed(batchRepository, 100L))
+                .extracting(PendingAnswer::answer)
+                .containsExactly("A");
+    }
+
+    /**
+     * Property: Answers appended concurrently, and so group-committed, are all in the journal
+     * once their appends return.
+     */
+    @Property(tries = 10)
+    void concurrentAppendsAreAllJournaled(
+            @ForAll @IntRange(min = 2, max = 16) int threads,
+            @ForAll @IntRange(min = 1, max = 50) int answersEach
+    ) throws Exception {
+        GameProperties properties = properties(tempDir());
+        properties.setJournalFsync(true);
+        SubmissionJournal journal = new SubmissionJournal(properties);
+
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<?>> appends = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                long teamId = t;
+                appends.add(pool.submit(() -> {
+                    for (int i = 0; i < answersEach; i++) {
+                        journal.appendAnswer(1L, 100L + i, teamId, i, "A" + i);
+                    }
+                }));
+            }
+            for (Future<?> append : appends) {
+                append.get(10, TimeUnit.SECONDS);
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+
+        List<SubmissionJournal.JournaledQuestion> questions = journal.readUnflushed();
+        assertThat(questions).hasSize(answersEach);
+        assertThat(questions).allSatisfy(question ->
+                assertThat(question.answers()).hasSize(threads));
+        journal.close();
+    }
+
+    /**
+     * Property: While quizzes keep running, the journal rolls over into segments and deletes each
+     * one once its questions are flushed, even while an older segment is kept for a question that
+     * is still open; after a crash only that question is recovered.
+     */
+    @Property(tries = 10)
+    void flushedSegmentsAreDropped(@ForAll @IntRange(min = 2, max = 40) int questions) throws IOException {
+        Path dir = tempDir();
+        GameProperties properties = properties(dir);
+        properties.setJournalSegmentBytes(256);
+        SubmissionJournal journal = new SubmissionJournal(properties);
+        SubmissionBuffer crashed = new SubmissionBuffer(journal, mock(SubmissionBatchRepository.class));
+
+        // Quiz 2's question stays open while quiz 1 runs through its questions
+        crashed.open(2L, 2_000L);
+        crashed.accept(2L, 2_000L, 20L, "A");
+        for (long question = 1; question <= questions; question++) {
+            crashed.open(1L, question);
+            for (long team = 1; team <= 5; team++) {
+                crashed.accept(1L, question, team, "B");
+            }
+            crashed.closeAndFlush(question);
+        }
+        assertThat(journal.getSegmentCount())
+                .as("The segment with the open question's first answer and the newest one")
+                .isEqualTo(2);
+        crashed.accept(2L, 2_000L, 21L, "C");
+        journal.close();
+
+        SubmissionJournal restartedJournal = new SubmissionJournal(properties);
+        SubmissionBatchRepository batchRepository = mock(SubmissionBatchRepository.class);
+        SubmissionBuffer restarted = new SubmissionBuffer(restartedJournal, batchRepository);
+        assertThat(restarted.recoverFromJournal()).as("Only the open question is recovered").isEqualTo(2);
+        assertThat(flushed(batchRepository, 2_000L))
+                .extracting(PendingAnswer::teamId, PendingAnswer::answer)
+                .containsExactlyInAnyOrder(tuple(20L, "A"), tuple(21L, "C"));
+        verify(batchRepository, times(1)).upsertAnswers(anyLong(), any());
+        assertThat(restartedJournal.getSegmentCount()).isEqualTo(1);
+    }
+
+    /**
+     * Property: With every question flushed, the journal is emptied rather than growing.
+     */
+    @Example
+    void journalIsEmptiedOnceEverythingIsFlushed() throws IOException {
+        Path dir = tempDir();
+        GameProperties properties = properties(dir);
+        properties.setJournalSegmentBytes(256);
+        SubmissionBuffer buffer = new SubmissionBuffer(new SubmissionJournal(properties), mock(SubmissionBatchRepository.class));
+
+        for (long question = 1; question <= 20; question++) {
+            buffer.open(1L, question);
+            buffer.accept(1L, question, 10L, "A");
+            buffer.accept(1L, question, 20L, "B");
+            buffer.closeAndFlush(question);
+        }
+
+        try (var files = Files.list(dir)) {
+            assertThat(files.toList())
+                    .singleElement()
+                    .satisfies(file -> assertThat(Files.size(file)).isZero());
+        }
+    }
+
+    private Path tempDir() throws IOException {
+        return Files.createTempDirectory("journal");
+    }
+
+    private GameProperties properties(Path dir) {
+        GameProperties properties = new GameProperties();
+        properties.setJournalDirectory(dir.toString());
+        properties.setJournalFsync(false);
+        return properties;
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<PendingAnswer> flushed(SubmissionBatchRepository batchRepository, Long questionId) {
+        ArgumentCaptor<Collection<PendingAnswer>> captor = ArgumentCaptor.forClass(Collection.class);
+        verify(batchRepository).upsertAnswers(eq(questionId), captor.capture());
+        return List.copyOf(captor.getValue());
+    }
+}
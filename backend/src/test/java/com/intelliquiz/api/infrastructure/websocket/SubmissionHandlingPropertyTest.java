@@ -1,24 +1,25 @@
 package com.intelliquiz.api.infrastructure.websocket;
 
-import com.intelliquiz.api.domain.entities.Question;
-import com.intelliquiz.api.domain.entities.Quiz;
-import com.intelliquiz.api.domain.entities.Submission;
-import com.intelliquiz.api.domain.entities.Team;
-import com.intelliquiz.api.domain.enums.QuestionType;
-import com.intelliquiz.api.domain.enums.QuizStatus;
+import com.intelliquiz.api.application.services.LeaderboardService;
+import com.intelliquiz.api.domain.ports.QuestionGradingRepository;
 import com.intelliquiz.api.domain.ports.QuestionRepository;
 import com.intelliquiz.api.domain.ports.QuizRepository;
-import com.intelliquiz.api.domain.ports.SubmissionRepository;
-import com.intelliquiz.api.domain.ports.TeamRepository;
+import com.intelliquiz.api.domain.ports.SubmissionBatchRepository;
+import com.intelliquiz.api.domain.ports.SubmissionBatchRepository.PendingAnswer;
+import com.intelliquiz.api.infrastructure.config.GameProperties;
 import com.intelliquiz.api.infrastructure.config.QuizBroadcastService;
 import com.intelliquiz.api.infrastructure.config.QuizSessionManager;
+import com.intelliquiz.api.infrastructure.websocket.dto.ClockPing;
 import net.jqwik.api.*;
 import org.mockito.ArgumentCaptor;
 
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.Collection;
 import java.util.List;
-import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.*;
 
@@ -31,201 +32,112 @@ class SubmissionHandlingPropertyTest {
     /**
      * Feature: websocket-realtime, Property 11: Submission Persistence and Confirmation
      * For any valid answer submission from a participant during an active timer,
-     * the WebSocket server SHALL persist the submission AND send a confirmation.
-     * 
+     * the WebSocket server SHALL buffer the submission, persist it when the question closes,
+     * AND send a confirmation without touching the database on the submit path.
+     *
      * **Validates: Requirements 5.1, 5.2**
      */
     @Example
-    void validSubmissionIsPersisted() {
-        // Setup mocks
-        QuizBroadcastService broadcastService = mock(QuizBroadcastService.class);
-        QuizSessionManager sessionManager = new QuizSessionManager();
-        QuizTimerService timerService = mock(QuizTimerService.class);
-        QuizRepository quizRepository = mock(QuizRepository.class);
-        QuestionRepository questionRepository = mock(QuestionRepository.class);
-        TeamRepository teamRepository = mock(TeamRepository.class);
-        SubmissionRepository submissionRepository = mock(SubmissionRepository.class);
-        AnswerDistributionService distributionService = mock(AnswerDistributionService.class);
-        
-        // Setup test data
+    void validSubmissionIsPersisted() throws IOException {
+        Fixture f = new Fixture();
+
         Long quizId = 1L;
         Long teamId = 10L;
         Long questionId = 100L;
         String answer = "B";
         String sessionId = "session-123";
-        
-        Quiz quiz = new Quiz();
-        quiz.setId(quizId);
-        quiz.setStatus(QuizStatus.READY);
-        
-        Team team = new Team();
-        team.setId(teamId);
-        team.setName("Team Alpha");
-        team.setQuiz(quiz);
-        
-        Question question = new Question();
-        question.setId(questionId);
-        question.setType(QuestionType.MULTIPLE_CHOICE);
-        question.setCorrectKey("B");
-        question.setQuiz(quiz);
-        
-        // Configure session state
-        sessionManager.setCurrentState(quizId, GameState.ACTIVE);
-        sessionManager.setCurrentQuestionId(quizId, questionId);
-        
-        // Configure mocks
-        when(timerService.isTimerActive(quizId)).thenReturn(true);
-        when(teamRepository.findById(teamId)).thenReturn(Optional.of(team));
-        when(questionRepository.findById(questionId)).thenReturn(Optional.of(question));
-        when(submissionRepository.findByTeamAndQuestion(team, question)).thenReturn(Optional.empty());
-        
-        // Create service
-        GameFlowService gameFlowService = new GameFlowService(
-                timerService, broadcastService, sessionManager,
-                quizRepository, questionRepository, teamRepository,
-                submissionRepository, distributionService
-        );
-        
-        // Execute
-        gameFlowService.handleSubmission(quizId, teamId, questionId, answer, sessionId);
-        
-        // Verify submission was saved
-        verify(submissionRepository).save(any(Submission.class));
-        
+
+        f.sessionManager.setCurrentState(quizId, GameState.ACTIVE);
+        f.sessionManager.setCurrentQuestionId(quizId, questionId);
+        f.submissionBuffer.open(quizId, questionId);
+        when(f.timerService.isTimerActive(quizId)).thenReturn(true);
+
+        f.gameFlowService.handleSubmission(quizId, teamId, questionId, answer, sessionId);
+
+        // Nothing is written on the submit path
+        verifyNoInteractions(f.batchRepository, f.gradingRepository, f.questionRepository);
+
         // Verify confirmation was sent
-        verify(broadcastService).sendSubmissionConfirmation(quizId, teamId, questionId);
-        
+        verify(f.broadcastService, timeout(2_000)).sendSubmissionConfirmation(quizId, teamId, questionId);
+
         // Verify host was notified
-        verify(broadcastService).notifyTeamSubmitted(quizId, teamId);
+        verify(f.hostNotifications, timeout(2_000)).teamSubmitted(quizId, questionId, teamId, 1);
+
+        // Closing the question writes the buffered answer in one batch
+        f.submissionBuffer.closeAndFlush(questionId);
+
+        assertThat(f.flushedAnswers(questionId))
+                .extracting(PendingAnswer::teamId, PendingAnswer::answer)
+                .containsExactly(tuple(teamId, answer));
     }
 
     /**
      * Feature: websocket-realtime, Property 12: Answer Update Allowed Until Timer Expires
-     * For any team that has already submitted, subsequent submissions SHALL update the answer.
-     * 
+     * For any team that has already submitted, subsequent submissions SHALL replace the answer,
+     * and only the latest answer SHALL be persisted.
+     *
      * **Validates: Requirements 5.1 (answer change allowed)**
      */
     @Example
-    void answerUpdateReplacesExistingSubmission() {
-        // Setup mocks
-        QuizBroadcastService broadcastService = mock(QuizBroadcastService.class);
-        QuizSessionManager sessionManager = new QuizSessionManager();
-        QuizTimerService timerService = mock(QuizTimerService.class);
-        QuizRepository quizRepository = mock(QuizRepository.class);
-        QuestionRepository questionRepository = mock(QuestionRepository.class);
-        TeamRepository teamRepository = mock(TeamRepository.class);
-        SubmissionRepository submissionRepository = mock(SubmissionRepository.class);
-        AnswerDistributionService distributionService = mock(AnswerDistributionService.class);
-        
+    void answerUpdateReplacesExistingSubmission() throws IOException {
+        Fixture f = new Fixture();
+
         Long quizId = 1L;
         Long teamId = 10L;
         Long questionId = 100L;
-        String newAnswer = "C";
         String sessionId = "session-123";
-        
-        Quiz quiz = new Quiz();
-        quiz.setId(quizId);
-        
-        Team team = new Team();
-        team.setId(teamId);
-        team.setQuiz(quiz);
-        
-        Question question = new Question();
-        question.setId(questionId);
-        question.setType(QuestionType.MULTIPLE_CHOICE);
-        question.setCorrectKey("B");
-        question.setQuiz(quiz);
-        
-        // Existing submission
-        Submission existingSubmission = new Submission(team, question, "A");
-        existingSubmission.setId(1L);
-        
-        sessionManager.setCurrentState(quizId, GameState.ACTIVE);
-        sessionManager.setCurrentQuestionId(quizId, questionId);
-        
-        when(timerService.isTimerActive(quizId)).thenReturn(true);
-        when(teamRepository.findById(teamId)).thenReturn(Optional.of(team));
-        when(questionRepository.findById(questionId)).thenReturn(Optional.of(question));
-        when(submissionRepository.findByTeamAndQuestion(team, question)).thenReturn(Optional.of(existingSubmission));
-        
-        GameFlowService gameFlowService = new GameFlowService(
-                timerService, broadcastService, sessionManager,
-                quizRepository, questionRepository, teamRepository,
-                submissionRepository, distributionService
-        );
-        
-        // Execute - update answer
-        gameFlowService.handleSubmission(quizId, teamId, questionId, newAnswer, sessionId);
-        
-        // Verify the existing submission was updated
-        assertThat(existingSubmission.getSubmittedAnswer())
-                .as("Existing submission should be updated with new answer")
-                .isEqualTo(newAnswer);
-        
-        // Verify it was saved
-        verify(submissionRepository).save(existingSubmission);
-        
-        // Verify confirmation was sent
-        verify(broadcastService).sendSubmissionConfirmation(quizId, teamId, questionId);
+
+        f.sessionManager.setCurrentState(quizId, GameState.ACTIVE);
+        f.sessionManager.setCurrentQuestionId(quizId, questionId);
+        f.submissionBuffer.open(quizId, questionId);
+        when(f.timerService.isTimerActive(quizId)).thenReturn(true);
+
+        f.gameFlowService.handleSubmission(quizId, teamId, questionId, "A", sessionId);
+        f.gameFlowService.handleSubmission(quizId, teamId, questionId, "C", sessionId);
+
+        assertThat(f.submissionBuffer.getAnswer(questionId, teamId))
+                .as("Buffer should hold the latest answer")
+                .hasValueSatisfying(a -> assertThat(a.answer()).isEqualTo("C"));
+
+        // Both answers are confirmed, but the host hears about the team only once
+        verify(f.broadcastService, timeout(2_000).times(2)).sendSubmissionConfirmation(quizId, teamId, questionId);
+        verify(f.hostNotifications, timeout(2_000).times(1)).teamSubmitted(eq(quizId), eq(questionId), eq(teamId), anyInt());
+
+        f.submissionBuffer.closeAndFlush(questionId);
+
+        assertThat(f.flushedAnswers(questionId))
+                .extracting(PendingAnswer::answer)
+                .containsExactly("C");
     }
 
     /**
      * Feature: websocket-realtime, Property 13: Host Notification Without Answer Leak
      * For any successful submission, the host notification SHALL NOT include the answer content.
-     * 
+     *
      * **Validates: Requirements 5.3**
      */
     @Example
-    void hostNotificationDoesNotContainAnswer() {
-        QuizBroadcastService broadcastService = mock(QuizBroadcastService.class);
-        QuizSessionManager sessionManager = new QuizSessionManager();
-        QuizTimerService timerService = mock(QuizTimerService.class);
-        QuizRepository quizRepository = mock(QuizRepository.class);
-        QuestionRepository questionRepository = mock(QuestionRepository.class);
-        TeamRepository teamRepository = mock(TeamRepository.class);
-        SubmissionRepository submissionRepository = mock(SubmissionRepository.class);
-        AnswerDistributionService distributionService = mock(AnswerDistributionService.class);
-        
+    void hostNotificationDoesNotContainAnswer() throws IOException {
+        Fixture f = new Fixture();
+
         Long quizId = 1L;
         Long teamId = 10L;
         Long questionId = 100L;
         String answer = "B";
         String sessionId = "session-123";
-        
-        Quiz quiz = new Quiz();
-        quiz.setId(quizId);
-        
-        Team team = new Team();
-        team.setId(teamId);
-        team.setQuiz(quiz);
-        
-        Question question = new Question();
-        question.setId(questionId);
-        question.setType(QuestionType.MULTIPLE_CHOICE);
-        question.setCorrectKey("B");
-        question.setQuiz(quiz);
-        
-        sessionManager.setCurrentState(quizId, GameState.ACTIVE);
-        sessionManager.setCurrentQuestionId(quizId, questionId);
-        
-        when(timerService.isTimerActive(quizId)).thenReturn(true);
-        when(teamRepository.findById(teamId)).thenReturn(Optional.of(team));
-        when(questionRepository.findById(questionId)).thenReturn(Optional.of(question));
-        when(submissionRepository.findByTeamAndQuestion(team, question)).thenReturn(Optional.empty());
-        
-        GameFlowService gameFlowService = new GameFlowService(
-                timerService, broadcastService, sessionManager,
-                quizRepository, questionRepository, teamRepository,
-                submissionRepository, distributionService
-        );
-        
-        gameFlowService.handleSubmission(quizId, teamId, questionId, answer, sessionId);
-        
+
+        f.sessionManager.setCurrentState(quizId, GameState.ACTIVE);
+        f.sessionManager.setCurrentQuestionId(quizId, questionId);
+        f.submissionBuffer.open(quizId, questionId);
+        when(f.timerService.isTimerActive(quizId)).thenReturn(true);
+
+        f.gameFlowService.handleSubmission(quizId, teamId, questionId, answer, sessionId);
+
         // Verify host notification was called with only teamId (no answer)
-        verify(broadcastService).notifyTeamSubmitted(eq(quizId), eq(teamId));
-        
+        verify(f.hostNotifications, timeout(2_000)).teamSubmitted(eq(quizId), eq(questionId), eq(teamId), anyInt());
+
         // Verify no method was called that would leak the answer to host
-        verify(broadcastService, never()).sendToHost(eq(quizId), argThat(notification -> 
+        verify(f.broadcastService, never()).sendToHost(eq(quizId), argThat(notification ->
                 notification != null && notification.toString().contains(answer)
         ));
     }
@@ -234,47 +146,88 @@ class SubmissionHandlingPropertyTest {
      * Feature: websocket-realtime, Property 9: Timer Expiration Locks Submissions
      * For any question, when the timer reaches 0, all subsequent submission attempts
      * SHALL be rejected with a TIME_EXPIRED error.
-     * 
+     *
      * **Validates: Requirements 3.4, 3.5**
      */
     @Example
-    void submissionRejectedWhenTimerExpired() {
-        QuizBroadcastService broadcastService = mock(QuizBroadcastService.class);
-        QuizSessionManager sessionManager = new QuizSessionManager();
-        QuizTimerService timerService = mock(QuizTimerService.class);
-        QuizRepository quizRepository = mock(QuizRepository.class);
-        QuestionRepository questionRepository = mock(QuestionRepository.class);
-        TeamRepository teamRepository = mock(TeamRepository.class);
-        SubmissionRepository submissionRepository = mock(SubmissionRepository.class);
-        AnswerDistributionService distributionService = mock(AnswerDistributionService.class);
-        
+    void submissionRejectedWhenTimerExpired() throws IOException {
+        Fixture f = new Fixture();
+
         Long quizId = 1L;
-        Long teamId = 10L;
         Long questionId = 100L;
-        String answer = "B";
         String sessionId = "session-123";
-        
-        sessionManager.setCurrentState(quizId, GameState.ACTIVE);
-        sessionManager.setCurrentQuestionId(quizId, questionId);
-        
+
+        f.sessionManager.setCurrentState(quizId, GameState.ACTIVE);
+        f.sessionManager.setCurrentQuestionId(quizId, questionId);
+
         // Timer is NOT active (expired)
-        when(timerService.isTimerActive(quizId)).thenReturn(false);
-        
-        GameFlowService gameFlowService = new GameFlowService(
-                timerService, broadcastService, sessionManager,
-                quizRepository, questionRepository, teamRepository,
-                submissionRepository, distributionService
-        );
-        
-        gameFlowService.handleSubmission(quizId, teamId, questionId, answer, sessionId);
-        
+        when(f.timerService.isTimerActive(quizId)).thenReturn(false);
+
+        f.gameFlowService.handleSubmission(quizId, 10L, questionId, "B", sessionId);
+
         // Verify error was sent
-        verify(broadcastService).sendError(eq(sessionId), argThat(error -> 
+        verify(f.broadcastService).sendError(eq(sessionId), argThat(error ->
+                error.code().equals("TIME_EXPIRED")
+        ));
+
+        // Verify nothing was buffered
+        assertThat(f.submissionBuffer.getSubmissionCount(questionId)).isZero();
+    }
+
+    /**
+     * Property: Submissions arriving after the question closed are rejected, never silently dropped.
+     * **Validates: Requirements 3.4, 5.2**
+     */
+    @Example
+    void submissionRejectedAfterQuestionClosed() throws IOException {
+        Fixture f = new Fixture();
+
+        Long quizId = 1L;
+        Long questionId = 100L;
+        String sessionId = "session-123";
+
+        f.sessionManager.setCurrentState(quizId, GameState.ACTIVE);
+        f.sessionManager.setCurrentQuestionId(quizId, questionId);
+        when(f.timerService.isTimerActive(quizId)).thenReturn(true);
+
+        f.submissionBuffer.open(quizId, questionId);
+        f.submissionBuffer.closeAndFlush(questionId);
+
+        f.gameFlowService.handleSubmission(quizId, 10L, questionId, "B", sessionId);
+
+        verify(f.broadcastService).sendError(eq(sessionId), argThat(error ->
                 error.code().equals("TIME_EXPIRED")
         ));
-        
-        // Verify no submission was saved
-        verify(submissionRepository, never()).save(any());
+        verify(f.broadcastService, never()).sendSubmissionConfirmation(anyLong(), anyLong(), anyLong());
+    }
+
+    /**
+     * Property: An answer arriving just after expiry, within the session's measured one-way latency,
+     * is accepted while the question is still open for grading.
+     * **Validates: Requirements 3.4, 5.1**
+     */
+    @Example
+    void submissionAcceptedWithinLatencyGrace() throws IOException {
+        Fixture f = new Fixture();
+
+        Long quizId = 1L;
+        Long questionId = 100L;
+        String sessionId = "session-123";
+
+        f.sessionManager.setCurrentState(quizId, GameState.GRADING);
+        f.sessionManager.setCurrentQuestionId(quizId, questionId);
+        f.submissionBuffer.open(quizId, questionId);
+        when(f.timerService.isTimerActive(quizId)).thenReturn(false);
+
+        // Session measured a 240 ms round trip -> 120 ms grace
+        f.clockSyncService.handlePing(quizId, sessionId, new ClockPing(System.currentTimeMillis(), 240L));
+        when(f.timerService.isWithinExpiryGrace(quizId, questionId, 120L)).thenReturn(true);
+
+        f.gameFlowService.handleSubmission(quizId, 10L, questionId, "B", sessionId);
+
+        verify(f.broadcastService, timeout(2_000)).sendSubmissionConfirmation(quizId, 10L, questionId);
+        verify(f.broadcastService, never()).sendError(anyString(), any());
+        assertThat(f.submissionBuffer.getSubmissionCount(questionId)).isEqualTo(1);
     }
 
     /**
@@ -282,36 +235,67 @@ class SubmissionHandlingPropertyTest {
      * **Validates: Requirements 5.1**
      */
     @Example
-    void submissionRejectedWhenNotInActiveState() {
-        QuizBroadcastService broadcastService = mock(QuizBroadcastService.class);
-        QuizSessionManager sessionManager = new QuizSessionManager();
-        QuizTimerService timerService = mock(QuizTimerService.class);
-        QuizRepository quizRepository = mock(QuizRepository.class);
-        QuestionRepository questionRepository = mock(QuestionRepository.class);
-        TeamRepository teamRepository = mock(TeamRepository.class);
-        SubmissionRepository submissionRepository = mock(SubmissionRepository.class);
-        AnswerDistributionService distributionService = mock(AnswerDistributionService.class);
-        
+    void submissionRejectedWhenNotInActiveState() throws IOException {
+        Fixture f = new Fixture();
+
         Long quizId = 1L;
         String sessionId = "session-123";
-        
+
         // Set state to GRADING (not ACTIVE)
-        sessionManager.setCurrentState(quizId, GameState.GRADING);
-        
-        GameFlowService gameFlowService = new GameFlowService(
-                timerService, broadcastService, sessionManager,
-                quizRepository, questionRepository, teamRepository,
-                submissionRepository, distributionService
-        );
-        
-        gameFlowService.handleSubmission(quizId, 10L, 100L, "B", sessionId);
-        
+        f.sessionManager.setCurrentState(quizId, GameState.GRADING);
+
+        f.gameFlowService.handleSubmission(quizId, 10L, 100L, "B", sessionId);
+
         // Verify error was sent
-        verify(broadcastService).sendError(eq(sessionId), argThat(error -> 
+        verify(f.broadcastService).sendError(eq(sessionId), argThat(error ->
                 error.code().equals("INVALID_STATE")
         ));
-        
-        // Verify no submission was saved
-        verify(submissionRepository, never()).save(any());
+
+        // Verify nothing was buffered
+        assertThat(f.submissionBuffer.getSubmissionCount(100L)).isZero();
+    }
+
+    /**
+     * Wires a GameFlowService with mocked collaborators and a real buffer and journal.
+     */
+    private static class Fixture {
+        final QuizBroadcastService broadcastService = mock(QuizBroadcastService.class);
+        final HostNotificationCoalescer hostNotifications = mock(HostNotificationCoalescer.class);
+        final QuizSessionManager sessionManager = new QuizSessionManager();
+        final QuizTimerService timerService = mock(QuizTimerService.class);
+        final QuizRepository quizRepository = mock(QuizRepository.class);
+        final QuestionRepository questionRepository = mock(QuestionRepository.class);
+        final QuestionGradingRepository gradingRepository = mock(QuestionGradingRepository.class);
+        final AnswerDistributionService distributionService = mock(AnswerDistributionService.class);
+        final SubmissionBatchRepository batchRepository = mock(SubmissionBatchRepository.class);
+        final SubmissionBuffer submissionBuffer;
+        final ClockSyncService clockSyncService;
+        final GameFlowService gameFlowService;
+        final GameProperties gameProperties = new GameProperties();
+
+        Fixture() throws IOException {
+            gameProperties.setJournalDirectory(Files.createTempDirectory("journal").toString());
+            gameProperties.setJournalFsync(false);
+            submissionBuffer = new SubmissionBuffer(new SubmissionJournal(gameProperties), batchRepository);
+            clockSyncService = new ClockSyncService(gameProperties);
+            gameFlowService = new GameFlowService(
+                    timerService, broadcastService, hostNotifications, sessionManager,
+                    quizRepository, new QuizDeckCache(quizRepository, questionRepository),
+                    gradingRepository, distributionService,
+                    new AnswerTallyService(broadcastService, new GameExecutors(gameProperties), gameProperties),
+                    submissionBuffer, clockSyncService,
+                    new LeaderboardService(),
+                    gameProperties,
+                    new QuizActors(gameProperties),
+                    new QuizCheckpoints(gameProperties, sessionManager, timerService)
+            );
+        }
+
+        @SuppressWarnings("unchecked")
+        List<PendingAnswer> flushedAnswers(Long questionId) {
+            ArgumentCaptor<Collection<PendingAnswer>> captor = ArgumentCaptor.forClass(Collection.class);
+            verify(batchRepository).upsertAnswers(eq(questionId), captor.capture());
+            return List.copyOf(captor.getValue());
+        }
     }
 }
@@ -0,0 +1,184 @@
+package com.intelliquiz.api.infrastructure.websocket;
+
+import com.intelliquiz.api.domain.ports.SubmissionBatchRepository;
+import com.intelliquiz.api.domain.ports.SubmissionBatchRepository.PendingAnswer;
+import com.intelliquiz.api.infrastructure.config.GameProperties;
+import net.jqwik.api.*;
+import net.jqwik.api.constraints.IntRange;
+import net.jqwik.api.constraints.Size;
+import org.mockito.ArgumentCaptor;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.*;
+import java.util.concurrent.*;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Property-based tests for dense team numbering and the bitsets and arrays indexed by it.
+ * Feature: websocket-realtime
+ */
+class TeamIndexPropertyTest {
+
+    /**
+     * Property: Teams are numbered 0..N-1 in first-seen order, and every number maps back to its team.
+     */
+    @Property(tries = 50)
+    void teamsAreNumberedDenselyInFirstSeenOrder(@ForAll @Size(max = 300) List<@IntRange(min = -1000, max = 1000) Integer> ids) {
+        List<Long> distinct = ids.stream().map(Integer::longValue).distinct().toList();
+        TeamIndex index = TeamIndex.empty();
+
+        for (Integer id : ids) {
+            index.indexOrAdd(id);
+        }
+
+        assertThat(index.size()).isEqualTo(distinct.size());
+        for (int i = 0; i < distinct.size(); i++) {
+            assertThat(index.indexOf(distinct.get(i))).isEqualTo(i);
+            assertThat(index.teamId(i)).isEqualTo(distinct.get(i));
+        }
+        assertThat(index.indexOf(5_000L)).isEqualTo(TeamIndex.NOT_FOUND);
+    }
+
+    /**
+     * Property: Teams added concurrently each get exactly one number, and no number is given twice.
+     */
+    @Property(tries = 10)
+    void concurrentAddsNumberEachTeamOnce(@ForAll @IntRange(min = 2, max = 8) int threads) throws Exception {
+        TeamIndex index = TeamIndex.of(List.of(1L, 2L, 3L), 3);
+        int teams = 2_000;
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<int[]>> results = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                results.add(pool.submit(() -> {
+                    int[] numbers = new int[teams];
+                    for (int team = 0; team < teams; team++) {
+                        numbers[team] = index.indexOrAdd(team + 1L);
+                    }
+                    return numbers;
+                }));
+            }
+            int[] first = results.get(0).get();
+            for (Future<int[]> result : results) {
+                assertThat(result.get()).containsExactly(first);
+            }
+            assertThat(index.size()).isEqualTo(teams);
+            assertThat(Arrays.stream(first).distinct().count()).isEqualTo(teams);
+            for (int team = 0; team < teams; team++) {
+                assertThat(index.teamId(first[team])).isEqualTo(team + 1L);
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    /**
+     * Property: The bitset agrees with a reference set, including its count and iteration order.
+     */
+    @Property(tries = 50)
+    void bitsetMatchesReferenceSet(@ForAll @Size(max = 500) List<@IntRange(min = 0, max = 20_000) Integer> toggles) {
+        AtomicBitSet bits = new AtomicBitSet(64);
+        TreeSet<Integer> reference = new TreeSet<>();
+
+        for (Integer bit : toggles) {
+            if (reference.add(bit)) {
+                assertThat(bits.set(bit)).isTrue();
+            } else {
+                reference.remove(bit);
+                assertThat(bits.clear(bit)).isTrue();
+            }
+        }
+
+        assertThat(bits.cardinality()).isEqualTo(reference.size());
+        List<Integer> walked = new ArrayList<>();
+        bits.forEach(walked::add);
+        assertThat(walked).containsExactlyElementsOf(reference);
+        assertThat(bits.get(25_000)).isFalse();
+        assertThat(bits.clear(25_000)).isFalse();
+    }
+
+    /**
+     * Property: Bits set concurrently, across segment growth, are all kept and counted once.
+     */
+    @Property(tries = 10)
+    void concurrentSetsAreNeverLost(@ForAll @IntRange(min = 2, max = 8) int threads) throws Exception {
+        AtomicBitSet bits = new AtomicBitSet(0);
+        int perThread = 5_000;
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<?>> results = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                int offset = t;
+                // Interleaved bits so the threads share words and race to grow the same segments
+                results.add(pool.submit(() -> {
+                    for (int i = 0; i < perThread; i++) {
+                        bits.set(i * threads + offset);
+                        bits.set(i * threads + offset);
+                    }
+                }));
+            }
+            for (Future<?> result : results) {
+                result.get();
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+
+        assertThat(bits.cardinality()).isEqualTo(threads * perThread);
+        for (int i = 0; i < threads * perThread; i++) {
+            assertThat(bits.get(i)).isTrue();
+        }
+    }
+
+    /**
+     * Property: A question buffer opened with the quiz's numbering keeps the latest answer of every
+     * team, including teams numbered after the question opened, and flushes exactly those answers.
+     */
+    @Property(tries = 20)
+    @SuppressWarnings("unchecked")
+    void bufferKeepsLatestAnswerPerTeamAcrossGrowth(
+            @ForAll @IntRange(min = 0, max = 50) int knownTeams,
+            @ForAll @Size(min = 1, max = 200) List<@IntRange(min = 1, max = 120) Integer> submitters
+    ) throws IOException {
+        GameProperties gameProperties = new GameProperties();
+        gameProperties.setJournalDirectory(Files.createTempDirectory("team-index-journal").toString());
+        gameProperties.setJournalFsync(false);
+        SubmissionBatchRepository batchRepository = mock(SubmissionBatchRepository.class);
+        SubmissionBuffer buffer = new SubmissionBuffer(new SubmissionJournal(gameProperties), batchRepository);
+        List<Long> known = new ArrayList<>();
+        for (long team = 1; team <= knownTeams; team++) {
+            known.add(team);
+        }
+        TeamIndex teams = TeamIndex.of(known, knownTeams);
+
+        Map<Long, String> latest = new HashMap<>();
+        buffer.open(1L, 100L, teams);
+        for (int i = 0; i < submitters.size(); i++) {
+            long teamId = submitters.get(i);
+            String answer = "answer-" + i;
+            SubmissionBuffer.AcceptResult result = buffer.accept(1L, 100L, teamId, answer);
+            assertThat(result).isEqualTo(latest.containsKey(teamId)
+                    ? SubmissionBuffer.AcceptResult.UPDATED
+                    : SubmissionBuffer.AcceptResult.FIRST);
+            latest.put(teamId, answer);
+        }
+
+        assertThat(buffer.getSubmissionCount(100L)).isEqualTo(latest.size());
+        latest.forEach((teamId, answer) ->
+                assertThat(buffer.getAnswer(100L, teamId)).get().extracting(SubmissionBuffer.BufferedAnswer::answer).isEqualTo(answer));
+
+        buffer.closeAndFlush(100L);
+
+        ArgumentCaptor<Collection<PendingAnswer>> rows = ArgumentCaptor.forClass(Collection.class);
+        verify(batchRepository).upsertAnswers(eq(100L), rows.capture());
+        Map<Long, String> flushed = new HashMap<>();
+        rows.getValue().forEach(row -> flushed.put(row.teamId(), row.answer()));
+        assertThat(flushed).isEqualTo(latest);
+        assertThat(buffer.getSubmissionCount(100L)).isZero();
+        buffer.closeQuiz(1L);
+    }
+}
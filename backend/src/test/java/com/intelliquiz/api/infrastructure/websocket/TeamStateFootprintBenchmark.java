@@ -0,0 +1,174 @@
+package com.intelliquiz.api.infrastructure.websocket;
+
+import com.intelliquiz.api.infrastructure.config.LiveQuizSession;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.lang.ref.Reference;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Supplier;
+
+/**
+ * Heap footprint and GC pressure of per-team live state for one large quiz: the former boxed
+ * maps and sets keyed by team ID, versus {@link TeamIndex} numbers with bitsets and arrays.
+ *
+ * For every question each team connects (once), submits an answer, changes it once, and the
+ * question is then walked for flushing. "Retained" is the heap still used after a full GC with
+ * all questions of the quiz held; "allocated" is what the measuring thread allocated while
+ * playing the quiz, from {@code com.sun.management.ThreadMXBean}; GC count and time are summed
+ * over all collectors. Only the team-state structures are exercised, not the journal or broker.
+ *
+ * Not part of the test suite. Run with:
+ * <pre>
+ * mvn -q test-compile exec:java -Dexec.classpathScope=test \
+ *     -Dexec.mainClass=com.intelliquiz.api.infrastructure.websocket.TeamStateFootprintBenchmark \
+ *     -Dexec.args="5000 20"
+ * </pre>
+ * The optional arguments are the number of teams (default 5000) and questions (default 20).
+ */
+public class TeamStateFootprintBenchmark {
+
+    private static final int ROUNDS = 5;
+    private static final String[] ANSWERS = {"A", "B", "C", "D"};
+
+    public static void main(String[] args) {
+        int teams = args.length > 0 ? Integer.parseInt(args[0]) : 5_000;
+        int questions = args.length > 1 ? Integer.parseInt(args[1]) : 20;
+
+        // Warm both paths up before measuring
+        for (int i = 0; i < ROUNDS; i++) {
+            playBoxed(teams, questions);
+            playDense(teams, questions);
+        }
+
+        System.out.printf("%-8s %-10s %14s %14s %8s %10s%n",
+                "teams", "design", "retained KiB", "allocated KiB", "GCs", "GC ms");
+        print(teams, "boxed", measure(() -> playBoxed(teams, questions)));
+        print(teams, "dense", measure(() -> playDense(teams, questions)));
+    }
+
+    /**
+     * The former layout: connected and submitted teams as concurrent sets of boxed IDs,
+     * latest answers in a concurrent map per question.
+     */
+    private static Object playBoxed(int teams, int questions) {
+        Set<Long> connected = ConcurrentHashMap.newKeySet();
+        List<Object> held = new ArrayList<>();
+        for (long team = 1; team <= teams; team++) {
+            connected.add(team);
+        }
+        for (int q = 0; q < questions; q++) {
+            Set<Long> submitted = ConcurrentHashMap.newKeySet();
+            Map<Long, SubmissionBuffer.BufferedAnswer> answers = new ConcurrentHashMap<>();
+            for (long team = 1; team <= teams; team++) {
+                if (!connected.contains(team)) {
+                    continue;
+                }
+                submitted.add(team);
+                answers.put(team, new SubmissionBuffer.BufferedAnswer(team, ANSWERS[q & 3], q));
+                answers.put(team, new SubmissionBuffer.BufferedAnswer(team, ANSWERS[(q + 1) & 3], q + 1));
+            }
+            long checksum = 0;
+            for (SubmissionBuffer.BufferedAnswer answer : answers.values()) {
+                checksum += answer.submittedAtMillis();
+            }
+            held.add(new Object[]{submitted, answers, checksum});
+        }
+        held.add(connected);
+        return held;
+    }
+
+    /**
+     * The dense layout: one numbering per quiz, bitsets for connected and submitted,
+     * and latest answers in arrays indexed by team number.
+     */
+    private static Object playDense(int teams, int questions) {
+        List<Long> teamIds = new ArrayList<>(teams);
+        for (long team = 1; team <= teams; team++) {
+            teamIds.add(team);
+        }
+        TeamIndex index = TeamIndex.of(teamIds, teams);
+        LiveQuizSession session = new LiveQuizSession(1L, index);
+        AtomicBitSet connected = new AtomicBitSet(teams);
+        List<Object> held = new ArrayList<>();
+        for (int slot = 0; slot < teams; slot++) {
+            connected.set(slot);
+        }
+        for (int q = 0; q < questions; q++) {
+            AtomicBitSet submitted = new AtomicBitSet(teams);
+            AtomicReferenceArray<String> answers = new AtomicReferenceArray<>(teams);
+            AtomicLongArray submittedAt = new AtomicLongArray(teams);
+            for (long team = 1; team <= teams; team++) {
+                int slot = index.indexOf(team);
+                if (!connected.get(slot)) {
+                    continue;
+                }
+                submitted.set(slot);
+                answers.set(slot, ANSWERS[q & 3]);
+                submittedAt.set(slot, q);
+                answers.set(slot, ANSWERS[(q + 1) & 3]);
+                submittedAt.set(slot, q + 1);
+            }
+            long[] checksum = new long[1];
+            submitted.forEach(slot -> checksum[0] += submittedAt.get(slot));
+            held.add(new Object[]{submitted, answers, submittedAt, checksum[0]});
+        }
+        held.add(connected);
+        held.add(session);
+        return held;
+    }
+
+    private static Result measure(Supplier<Object> play) {
+        MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long threadId = Thread.currentThread().threadId();
+
+        settle(memory);
+        long heapBefore = memory.getHeapMemoryUsage().getUsed();
+        long gcCountBefore = gcCount();
+        long gcTimeBefore = gcTime();
+        long allocatedBefore = threads.getThreadAllocatedBytes(threadId);
+
+        Object state = play.get();
+
+        long allocated = threads.getThreadAllocatedBytes(threadId) - allocatedBefore;
+        long gcCount = gcCount() - gcCountBefore;
+        long gcTime = gcTime() - gcTimeBefore;
+        settle(memory);
+        long retained = memory.getHeapMemoryUsage().getUsed() - heapBefore;
+        // Keep the state reachable until it has been measured
+        Reference.reachabilityFence(state);
+        return new Result(retained, allocated, gcCount, gcTime);
+    }
+
+    private static void settle(MemoryMXBean memory) {
+        for (int i = 0; i < 3; i++) {
+            memory.gc();
+        }
+    }
+
+    private static long gcCount() {
+        return ManagementFactory.getGarbageCollectorMXBeans().stream()
+                .mapToLong(GarbageCollectorMXBean::getCollectionCount).filter(c -> c > 0).sum();
+    }
+
+    private static long gcTime() {
+        return ManagementFactory.getGarbageCollectorMXBeans().stream()
+                .mapToLong(GarbageCollectorMXBean::getCollectionTime).filter(t -> t > 0).sum();
+    }
+
+    private static void print(int teams, String design, Result result) {
+        System.out.printf("%-8d %-10s %14d %14d %8d %10d%n",
+                teams, design, result.retainedBytes() / 1024, result.allocatedBytes() / 1024,
+                result.gcCount(), result.gcMillis());
+    }
+
+    private record Result(long retainedBytes, long allocatedBytes, long gcCount, long gcMillis) {}
+}
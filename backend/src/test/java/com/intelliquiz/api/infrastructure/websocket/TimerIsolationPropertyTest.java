@@ -0,0 +1,181 @@
+package com.intelliquiz.api.infrastructure.websocket;
+
+import com.intelliquiz.api.infrastructure.config.GameProperties;
+import com.intelliquiz.api.infrastructure.config.QuizBroadcastService;
+import com.intelliquiz.api.infrastructure.config.QuizSessionManager;
+import com.intelliquiz.api.infrastructure.websocket.dto.GameStateMessage;
+import net.jqwik.api.*;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests that grading work cannot delay timer ticks of other quizzes.
+ * Feature: websocket-realtime
+ */
+class TimerIsolationPropertyTest {
+
+    private static final int OTHER_QUIZZES = 50;
+    private static final int QUESTION_SECONDS = 3;
+    private static final long TOLERANCE_MILLIS = 150;
+
+    /**
+     * Property: While one quiz's grading is stalled (holding the only grading thread),
+     * the ticks and expiry of 50 other quizzes still fire on time, and their grading
+     * waits in the bounded grading queue until the stall clears.
+     *
+     * **Validates: Requirements 3.3, 3.4**
+     */
+    @Example
+    void stalledGradingDoesNotDelayOtherQuizzesTicks() throws InterruptedException {
+        GameProperties gameProperties = new GameProperties();
+        gameProperties.setGradingThreads(1);
+        GameExecutors executors = new GameExecutors(gameProperties);
+        RecordingBroadcastService broadcastService = new RecordingBroadcastService();
+        QuizTimerService timerService = new QuizTimerService(broadcastService, new QuizSessionManager(),
+                gameProperties, new ClockSyncService(gameProperties), executors);
+
+        try {
+            CountDownLatch stallStarted = new CountDownLatch(1);
+            CountDownLatch releaseStall = new CountDownLatch(1);
+            timerService.startQuestionTimer(1L, 1L, 1, (qId) -> {
+                stallStarted.countDown();
+                awaitQuietly(releaseStall, 10);
+            });
+
+            CountDownLatch othersGraded = new CountDownLatch(OTHER_QUIZZES);
+            Map<Long, Long> startedAt = new ConcurrentHashMap<>();
+            for (long quizId = 100; quizId < 100 + OTHER_QUIZZES; quizId++) {
+                startedAt.put(quizId, System.nanoTime());
+                timerService.startQuestionTimer(quizId, quizId, QUESTION_SECONDS, (qId) -> othersGraded.countDown());
+            }
+
+            assertThat(stallStarted.await(3, TimeUnit.SECONDS)).as("Grading of quiz 1 should be stalled").isTrue();
+
+            // Wait for every other quiz to expire while grading is still stalled
+            Thread.sleep(TimeUnit.SECONDS.toMillis(QUESTION_SECONDS) + 2 * TOLERANCE_MILLIS);
+
+            for (long quizId = 100; quizId < 100 + OTHER_QUIZZES; quizId++) {
+                List<Event> events = broadcastService.events(quizId);
+                assertThat(events)
+                        .as("Quiz %d should get ticks 2, 1 and the expiry", quizId)
+                        .extracting(Event::remaining)
+                        .containsExactly(2, 1, 0);
+                for (Event event : events) {
+                    long expectedMillis = TimeUnit.SECONDS.toMillis(QUESTION_SECONDS - event.remaining());
+                    long actualMillis = TimeUnit.NANOSECONDS.toMillis(event.at() - startedAt.get(quizId));
+                    assertThat(actualMillis - expectedMillis)
+                            .as("Quiz %d tick %d lateness", quizId, event.remaining())
+                            .isBetween(-TOLERANCE_MILLIS, TOLERANCE_MILLIS);
+                }
+            }
+
+            assertThat(othersGraded.getCount()).as("Other gradings queue behind the stall").isEqualTo(OTHER_QUIZZES);
+            assertThat(executors.grading().getQueueDepth()).isEqualTo(OTHER_QUIZZES);
+
+            releaseStall.countDown();
+            assertThat(othersGraded.await(5, TimeUnit.SECONDS)).as("Queued gradings run once the stall clears").isTrue();
+            assertThat(executors.grading().snapshot().maxQueueWaitMicros()).isGreaterThan(0);
+        } finally {
+            timerService.shutdown();
+            executors.shutdown();
+        }
+    }
+
+    /**
+     * Property: When the grading queue is full, question expiries and buffer completions still
+     * all run once grading catches up; none is dropped.
+     */
+    @Example
+    void expiriesAreNotDroppedWhenGradingIsSaturated() throws InterruptedException {
+        GameProperties gameProperties = new GameProperties();
+        gameProperties.setGradingThreads(1);
+        gameProperties.setGradingQueueCapacity(1);
+        GameExecutors executors = new GameExecutors(gameProperties);
+        QuizTimerService timerService = new QuizTimerService(new RecordingBroadcastService(), new QuizSessionManager(),
+                gameProperties, new ClockSyncService(gameProperties), executors);
+
+        try {
+            CountDownLatch stallStarted = new CountDownLatch(1);
+            CountDownLatch releaseStall = new CountDownLatch(1);
+            timerService.startQuestionTimer(1L, 1L, 0, (qId) -> {
+                stallStarted.countDown();
+                awaitQuietly(releaseStall, 10);
+            });
+            assertThat(stallStarted.await(3, TimeUnit.SECONDS)).isTrue();
+
+            CountDownLatch completed = new CountDownLatch(2 * OTHER_QUIZZES);
+            for (long quizId = 100; quizId < 100 + OTHER_QUIZZES; quizId++) {
+                timerService.startQuestionTimer(quizId, quizId, 0, (qId) -> completed.countDown());
+                timerService.startBufferCountdown(quizId + OTHER_QUIZZES, 0, "EASY", completed::countDown);
+            }
+            Thread.sleep(2 * TOLERANCE_MILLIS);
+            assertThat(executors.grading().getQueueDepth())
+                    .as("Completions queue past the grading capacity")
+                    .isEqualTo(2 * OTHER_QUIZZES);
+
+            releaseStall.countDown();
+            assertThat(completed.await(5, TimeUnit.SECONDS)).as("Every completion runs").isTrue();
+        } finally {
+            timerService.shutdown();
+            executors.shutdown();
+        }
+    }
+
+    private static void awaitQuietly(CountDownLatch latch, int seconds) {
+        try {
+            latch.await(seconds, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private record Event(int remaining, long at) {}
+
+    /**
+     * Records when each timer broadcast happens, per quiz.
+     */
+    private static class RecordingBroadcastService extends QuizBroadcastService {
+        private final Map<Long, List<Event>> events = new ConcurrentHashMap<>();
+
+        RecordingBroadcastService() {
+            super(null, new QuizSessionManager(), new GameProperties());
+        }
+
+        List<Event> events(Long quizId) {
+            return events.getOrDefault(quizId, List.of());
+        }
+
+        @Override
+        public void broadcastGameState(Long quizId, GameStateMessage stateMessage) {
+        }
+
+        @Override
+        public void broadcastBufferTick(Long quizId, int remainingSeconds, String roundName) {
+        }
+
+        @Override
+        public void broadcastTimerTick(Long quizId, int remainingSeconds, int totalSeconds) {
+            long now = System.nanoTime();
+            // The initial tick is sent when the timer starts; only scheduled ticks are timed
+            if (remainingSeconds < totalSeconds) {
+                record(quizId, remainingSeconds, now);
+            }
+        }
+
+        @Override
+        public void broadcastTimerExpired(Long quizId, int totalSeconds) {
+            record(quizId, 0, System.nanoTime());
+        }
+
+        private void record(Long quizId, int remaining, long at) {
+            events.computeIfAbsent(quizId, id -> new CopyOnWriteArrayList<>()).add(new Event(remaining, at));
+        }
+    }
+}
@@ -0,0 +1,173 @@
+package com.intelliquiz.api.infrastructure.websocket;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Tick jitter and CPU cost of quiz countdowns: the shared {@link TimingWheel}
+ * versus the former one-{@code scheduleAtFixedRate}-per-quiz pool of 4 threads.
+ *
+ * Each timer ticks once per second (like a question countdown), starting at a random
+ * offset within the first second. Lateness is measured against the ideal tick time;
+ * CPU is the time spent on the scheduler threads, normalised per second of wall clock.
+ *
+ * Not part of the test suite. Run with:
+ * <pre>
+ * mvn -q test-compile exec:java -Dexec.classpathScope=test \
+ *     -Dexec.mainClass=com.intelliquiz.api.infrastructure.websocket.TimingWheelBenchmark \
+ *     -Dexec.args="10"
+ * </pre>
+ * The optional argument is the run length in seconds per scenario (default 10).
+ */
+public class TimingWheelBenchmark {
+
+    private static final int[] TIMER_COUNTS = {10, 100, 1_000};
+    private static final long ONE_SECOND_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    public static void main(String[] args) throws Exception {
+        int seconds = args.length > 0 ? Integer.parseInt(args[0]) : 10;
+
+        System.out.printf("%-8s %-22s %10s %10s %10s %10s %14s%n",
+                "timers", "scheduler", "ticks", "p50 ms", "p99 ms", "max ms", "cpu ms/sec");
+        for (int timers : TIMER_COUNTS) {
+            print(timers, "timing wheel (1 thread)", runWheel(timers, seconds));
+            print(timers, "fixed-rate pool (4)", runScheduledPool(timers, seconds));
+        }
+    }
+
+    private static Result runWheel(int timers, int seconds) throws InterruptedException {
+        TimingWheel wheel = new TimingWheel("bench-wheel", 10, TimeUnit.MILLISECONDS, 128);
+        Recorder recorder = new Recorder(timers * (seconds + 1));
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+
+        // Warm the worker up so it exists before sampling CPU
+        wheel.schedule(() -> {}, 0, TimeUnit.MILLISECONDS);
+        Thread.sleep(50);
+        long cpuBefore = threads.getThreadCpuTime(wheel.workerThread().threadId());
+        long wallBefore = System.nanoTime();
+
+        long stopAt = wallBefore + seconds * ONE_SECOND_NANOS;
+        for (int i = 0; i < timers; i++) {
+            long first = wallBefore + ThreadLocalRandom.current().nextLong(ONE_SECOND_NANOS);
+            new WheelTicker(wheel, recorder, stopAt).arm(first);
+        }
+        Thread.sleep(TimeUnit.NANOSECONDS.toMillis(stopAt - System.nanoTime()) + 1_100);
+
+        long cpu = threads.getThreadCpuTime(wheel.workerThread().threadId()) - cpuBefore;
+        long wall = System.nanoTime() - wallBefore;
+        wheel.stop();
+        return recorder.result(cpu, wall);
+    }
+
+    private static Result runScheduledPool(int timers, int seconds) throws InterruptedException {
+        List<Thread> poolThreads = new CopyOnWriteArrayList<>();
+        ScheduledExecutorService pool = Executors.newScheduledThreadPool(4, r -> {
+            Thread thread = new Thread(r, "bench-pool");
+            thread.setDaemon(true);
+            poolThreads.add(thread);
+            return thread;
+        });
+        Recorder recorder = new Recorder(timers * (seconds + 1));
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+
+        long wallBefore = System.nanoTime();
+        long stopAt = wallBefore + seconds * ONE_SECOND_NANOS;
+        for (int i = 0; i < timers; i++) {
+            long offset = ThreadLocalRandom.current().nextLong(ONE_SECOND_NANOS);
+            long first = wallBefore + offset;
+            AtomicInteger tick = new AtomicInteger();
+            pool.scheduleAtFixedRate(() -> {
+                long ideal = first + tick.getAndIncrement() * ONE_SECOND_NANOS;
+                if (ideal < stopAt) {
+                    recorder.record(System.nanoTime() - ideal);
+                }
+            }, offset, ONE_SECOND_NANOS, TimeUnit.NANOSECONDS);
+        }
+        Thread.sleep(TimeUnit.NANOSECONDS.toMillis(stopAt - System.nanoTime()) + 1_100);
+
+        long cpu = poolThreads.stream().mapToLong(t -> Math.max(threads.getThreadCpuTime(t.threadId()), 0)).sum();
+        long wall = System.nanoTime() - wallBefore;
+        pool.shutdownNow();
+        return recorder.result(cpu, wall);
+    }
+
+    private static void print(int timers, String scheduler, Result result) {
+        System.out.printf("%-8d %-22s %10d %10.2f %10.2f %10.2f %14.3f%n",
+                timers, scheduler, result.ticks(), result.p50Millis(), result.p99Millis(),
+                result.maxMillis(), result.cpuMillisPerSecond());
+    }
+
+    /**
+     * One countdown re-arming itself from its previous deadline, as QuizTimerService does.
+     */
+    private static final class WheelTicker {
+        private final TimingWheel wheel;
+        private final Recorder recorder;
+        private final long stopAt;
+        private long deadline;
+
+        WheelTicker(TimingWheel wheel, Recorder recorder, long stopAt) {
+            this.wheel = wheel;
+            this.recorder = recorder;
+            this.stopAt = stopAt;
+        }
+
+        void arm(long firstDeadline) {
+            deadline = firstDeadline;
+            wheel.scheduleAt(this::tick, deadline);
+        }
+
+        private void tick() {
+            recorder.record(System.nanoTime() - deadline);
+            deadline += ONE_SECOND_NANOS;
+            if (deadline < stopAt) {
+                wheel.scheduleAt(this::tick, deadline);
+            }
+        }
+    }
+
+    private static final class Recorder {
+        private final long[] latenessNanos;
+        private final AtomicInteger count = new AtomicInteger();
+
+        Recorder(int capacity) {
+            this.latenessNanos = new long[capacity];
+        }
+
+        void record(long nanos) {
+            int index = count.getAndIncrement();
+            if (index < latenessNanos.length) {
+                latenessNanos[index] = nanos;
+            }
+        }
+
+        Result result(long cpuNanos, long wallNanos) {
+            long[] samples = Arrays.copyOf(latenessNanos, Math.min(count.get(), latenessNanos.length));
+            Arrays.sort(samples);
+            return new Result(
+                    samples.length,
+                    percentile(samples, 0.50),
+                    percentile(samples, 0.99),
+                    samples.length > 0 ? samples[samples.length - 1] / 1e6 : 0,
+                    cpuNanos / 1e6 / (wallNanos / 1e9)
+            );
+        }
+
+        private static double percentile(long[] sorted, double p) {
+            if (sorted.length == 0) {
+                return 0;
+            }
+            return sorted[(int) Math.min(sorted.length - 1, Math.ceil(p * sorted.length) - 1)] / 1e6;
+        }
+    }
+
+    private record Result(int ticks, double p50Millis, double p99Millis, double maxMillis, double cpuMillisPerSecond) {}
+}
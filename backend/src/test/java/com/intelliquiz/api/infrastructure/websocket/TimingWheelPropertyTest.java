@@ -0,0 +1,110 @@
+package com.intelliquiz.api.infrastructure.websocket;
+
+import net.jqwik.api.*;
+import net.jqwik.api.constraints.IntRange;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Property-based tests for the hashed timing wheel behind quiz timers.
+ * Feature: websocket-realtime
+ */
+class TimingWheelPropertyTest {
+
+    /**
+     * Property: A timeout never fires before its deadline, and fires within a few ticks after it,
+     * including delays longer than one revolution of the wheel.
+     */
+    @Property(tries = 10)
+    void timeoutFiresAtOrShortlyAfterDeadline(
+            @ForAll @IntRange(min = 0, max = 120) int delayMillis
+    ) throws InterruptedException {
+        // 8 slots of 5 ms: anything over 40 ms needs more than one revolution
+        TimingWheel wheel = new TimingWheel("test-wheel", 5, TimeUnit.MILLISECONDS, 8);
+        try {
+            CountDownLatch fired = new CountDownLatch(1);
+            long[] firedAt = new long[1];
+            TimingWheel.Timeout timeout = wheel.schedule(() -> {
+                firedAt[0] = System.nanoTime();
+                fired.countDown();
+            }, delayMillis, TimeUnit.MILLISECONDS);
+
+            assertThat(fired.await(2, TimeUnit.SECONDS)).as("Timeout should fire").isTrue();
+            long lateMillis = TimeUnit.NANOSECONDS.toMillis(firedAt[0] - timeout.deadlineNanoTime());
+            assertThat(firedAt[0]).as("Never early").isGreaterThanOrEqualTo(timeout.deadlineNanoTime());
+            assertThat(lateMillis).as("Late by at most a few ticks").isLessThan(100);
+            assertThat(timeout.isExpired()).isTrue();
+            assertThat(wheel.pendingTimeouts()).isZero();
+        } finally {
+            wheel.stop();
+        }
+    }
+
+    /**
+     * Property: A cancelled timeout never fires and no longer counts as pending.
+     */
+    @Example
+    void cancelledTimeoutNeverFires() throws InterruptedException {
+        TimingWheel wheel = new TimingWheel("test-wheel", 5, TimeUnit.MILLISECONDS, 8);
+        try {
+            AtomicInteger runs = new AtomicInteger();
+            TimingWheel.Timeout cancelled = wheel.schedule(runs::incrementAndGet, 50, TimeUnit.MILLISECONDS);
+            CountDownLatch later = new CountDownLatch(1);
+            wheel.schedule(later::countDown, 100, TimeUnit.MILLISECONDS);
+
+            assertThat(cancelled.cancel()).isTrue();
+            assertThat(cancelled.cancel()).as("Second cancel is a no-op").isFalse();
+
+            assertThat(later.await(2, TimeUnit.SECONDS)).isTrue();
+            assertThat(runs.get()).isZero();
+            assertThat(cancelled.isCancelled()).isTrue();
+            assertThat(wheel.pendingTimeouts()).isZero();
+        } finally {
+            wheel.stop();
+        }
+    }
+
+    /**
+     * Property: Timeouts fire in deadline order when their deadlines are at least a tick apart.
+     */
+    @Example
+    void timeoutsFireInDeadlineOrder() throws InterruptedException {
+        TimingWheel wheel = new TimingWheel("test-wheel", 5, TimeUnit.MILLISECONDS, 16);
+        try {
+            List<Integer> order = new CopyOnWriteArrayList<>();
+            CountDownLatch done = new CountDownLatch(3);
+            long base = System.nanoTime();
+            wheel.scheduleAt(() -> { order.add(3); done.countDown(); }, base + TimeUnit.MILLISECONDS.toNanos(90));
+            wheel.scheduleAt(() -> { order.add(1); done.countDown(); }, base + TimeUnit.MILLISECONDS.toNanos(30));
+            wheel.scheduleAt(() -> { order.add(2); done.countDown(); }, base + TimeUnit.MILLISECONDS.toNanos(60));
+
+            assertThat(done.await(2, TimeUnit.SECONDS)).isTrue();
+            assertThat(order).containsExactly(1, 2, 3);
+        } finally {
+            wheel.stop();
+        }
+    }
+
+    /**
+     * Property: A task that throws does not stop the wheel.
+     */
+    @Example
+    void failingTaskDoesNotStopWheel() throws InterruptedException {
+        TimingWheel wheel = new TimingWheel("test-wheel", 5, TimeUnit.MILLISECONDS, 8);
+        try {
+            wheel.schedule(() -> { throw new IllegalStateException("boom"); }, 10, TimeUnit.MILLISECONDS);
+            CountDownLatch later = new CountDownLatch(1);
+            wheel.schedule(later::countDown, 30, TimeUnit.MILLISECONDS);
+
+            assertThat(later.await(2, TimeUnit.SECONDS)).isTrue();
+        } finally {
+            wheel.stop();
+        }
+    }
+}
@@ -5,14 +5,22 @@ import com.intelliquiz.api.domain.entities.Quiz;
 import com.intelliquiz.api.domain.entities.Team;
 import com.intelliquiz.api.domain.enums.QuizStatus;
 import com.intelliquiz.api.domain.exceptions.EntityNotFoundException;
+import com.intelliquiz.api.infrastructure.config.ParticipantTokenService;
 import com.intelliquiz.api.presentation.dto.request.AccessCodeRequest;
 import com.intelliquiz.api.presentation.dto.response.AccessResolutionResponse;
+import com.intelliquiz.api.presentation.dto.response.TeamResponse;
 import net.jqwik.api.*;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 /**
@@ -29,7 +37,7 @@ class HttpStatusCodePropertyTest {
     void accessControllerReturns200ForValidAccessCode(@ForAll("validAccessCodes") String code) {
         // Given
         AccessResolutionService mockService = mock(AccessResolutionService.class);
-        AccessController controller = new AccessController(mockService);
+        AccessController controller = new AccessController(mockService, mock(ParticipantTokenService.class));
         
         Team team = new Team();
         team.setId(1L);
@@ -57,7 +65,7 @@ class HttpStatusCodePropertyTest {
     void accessControllerReturns200ForInvalidAccessCode(@ForAll("invalidAccessCodes") String code) {
         // Given
         AccessResolutionService mockService = mock(AccessResolutionService.class);
-        AccessController controller = new AccessController(mockService);
+        AccessController controller = new AccessController(mockService, mock(ParticipantTokenService.class));
         
         when(mockService.resolve(code)).thenReturn(AccessResolutionResult.invalid("Invalid access code"));
         
@@ -144,6 +152,31 @@ class HttpStatusCodePropertyTest {
         assertThat(response.getStatusCode()).isEqualTo(HttpStatus.NO_CONTENT);
     }
 
+    // ==================== TeamController Tests ====================
+
+    @Property(tries = 10)
+    void teamControllerReturns201ForBulkCsvRegistration(@ForAll("positiveIds") Long quizId) throws Exception {
+        // Given
+        TeamRegistrationService mockService = mock(TeamRegistrationService.class);
+        TeamController controller = new TeamController(mockService);
+        Quiz quiz = new Quiz("Test Quiz", "Description", "1234", QuizStatus.READY);
+        quiz.setId(quizId);
+        when(mockService.registerTeams(eq(quizId), anyList())).thenAnswer(inv -> {
+            List<String> names = inv.getArgument(1);
+            return names.stream().map(name -> new Team(quiz, name, "ABC-DEF")).toList();
+        });
+        String csv = "\uFEFFname,school\n\"Alpha, Inc.\",North\n\n  Beta  \n\"Say \"\"Hi\"\"\"\n";
+
+        // When
+        ResponseEntity<List<TeamResponse>> response = controller.registerTeamsFromCsv(
+                quizId, new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)));
+
+        // Then
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.CREATED);
+        assertThat(response.getBody()).extracting(TeamResponse::name)
+                .containsExactly("Alpha, Inc.", "Beta", "Say \"Hi\"");
+    }
+
     // ==================== Arbitraries ====================
 
     @Provide